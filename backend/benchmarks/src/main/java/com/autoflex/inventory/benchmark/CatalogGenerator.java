@@ -0,0 +1,131 @@
+package com.autoflex.inventory.benchmark;
+
+import com.autoflex.inventory.dto.BomLineDTO;
+import com.autoflex.inventory.entity.Product;
+import com.autoflex.inventory.entity.ProductRawMaterial;
+import com.autoflex.inventory.entity.RawMaterial;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Builds synthetic catalogs for the benchmarks, with ids assigned as if they
+ * had been persisted.
+ *
+ * Each product needs {@code materialsPerProduct} distinct raw materials drawn
+ * uniformly from {@code materialCount}. With {@code families} above 1 the
+ * materials are split into that many equal blocks and product {@code p} only
+ * draws from block {@code p % families}, so product families share no
+ * material. Stock follows a power law over the
+ * material index: material {@code i} holds {@code baseStock / (i + 1)^stockSkew},
+ * so a skew of 0 gives every material the same stock and larger skews leave a
+ * few materials plentiful and most of them scarce.
+ *
+ * The same seed always yields the same catalog, so runs can be compared.
+ */
+public final class CatalogGenerator {
+
+    private static final long SEED = 20240601L;
+    private static final BigDecimal BASE_STOCK = new BigDecimal("10000");
+
+    private final int productCount;
+    private final int materialsPerProduct;
+    private final int materialCount;
+    private final double stockSkew;
+    private final int families;
+
+    public CatalogGenerator(int productCount, int materialsPerProduct, int materialCount, double stockSkew) {
+        this(productCount, materialsPerProduct, materialCount, stockSkew, 1);
+    }
+
+    public CatalogGenerator(int productCount, int materialsPerProduct, int materialCount, double stockSkew,
+                            int families) {
+        if (materialsPerProduct > materialCount / families) {
+            throw new IllegalArgumentException("materialsPerProduct (" + materialsPerProduct
+                    + ") cannot exceed the materials of a family (" + materialCount / families + ")");
+        }
+        this.productCount = productCount;
+        this.materialsPerProduct = materialsPerProduct;
+        this.materialCount = materialCount;
+        this.stockSkew = stockSkew;
+        this.families = families;
+    }
+
+    public List<RawMaterial> rawMaterials() {
+        List<RawMaterial> rawMaterials = new ArrayList<>(materialCount);
+        for (int i = 0; i < materialCount; i++) {
+            BigDecimal stock = BASE_STOCK.multiply(BigDecimal.valueOf(Math.pow(i + 1, -stockSkew)))
+                    .setScale(4, RoundingMode.DOWN);
+            RawMaterial rawMaterial = new RawMaterial("Raw material " + (i + 1), stock);
+            rawMaterial.setId((long) i + 1);
+            rawMaterials.add(rawMaterial);
+        }
+        return rawMaterials;
+    }
+
+    /**
+     * Products with their bill of materials, highest value first like
+     * {@code ProductRepository} returns them.
+     */
+    public List<Product> products() {
+        return products(rawMaterials());
+    }
+
+    /**
+     * The same catalog as the rows of {@code ProductRepository.streamBomLinesOrderByValueDesc},
+     * ready for {@code BomMatrix.compile}.
+     */
+    public List<BomLineDTO> bomLines() {
+        List<BomLineDTO> lines = new ArrayList<>(productCount * materialsPerProduct);
+        for (Product product : products()) {
+            for (ProductRawMaterial prm : product.getRawMaterials()) {
+                lines.add(new BomLineDTO(product.getId(), product.getName(), product.getValue(),
+                        prm.getRawMaterial().getId(), prm.getRequiredQuantity(),
+                        prm.getRawMaterial().getStockQuantity()));
+            }
+        }
+        return lines;
+    }
+
+    public List<Product> products(List<RawMaterial> rawMaterials) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        List<Product> products = new ArrayList<>(productCount);
+        int[] picked = new int[materialsPerProduct];
+        int familySize = materialCount / families;
+
+        for (int p = 0; p < productCount; p++) {
+            BigDecimal value = BigDecimal.valueOf(random.nextLong(1_000, 100_000), 2);
+            Product product = new Product("Product " + (p + 1), value);
+            product.setId((long) p + 1);
+
+            for (int k = 0; k < materialsPerProduct; k++) {
+                picked[k] = pickDistinct(random, picked, k, (p % families) * familySize, familySize);
+                BigDecimal required = BigDecimal.valueOf(random.nextLong(1_0000, 50_0000), 4);
+                product.addRawMaterial(rawMaterials.get(picked[k]), required);
+            }
+            products.add(product);
+        }
+
+        products.sort(Comparator.comparing(Product::getValue).reversed().thenComparing(Product::getId));
+        return products;
+    }
+
+    private int pickDistinct(SplittableRandom random, int[] picked, int count, int from, int size) {
+        while (true) {
+            int candidate = from + random.nextInt(size);
+            boolean duplicate = false;
+            for (int i = 0; i < count; i++) {
+                if (picked[i] == candidate) {
+                    duplicate = true;
+                    break;
+                }
+            }
+            if (!duplicate) {
+                return candidate;
+            }
+        }
+    }
+}
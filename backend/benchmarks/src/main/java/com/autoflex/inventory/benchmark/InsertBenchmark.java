@@ -0,0 +1,162 @@
+package com.autoflex.inventory.benchmark;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Insert throughput of raw material rows with the JDBC traffic Hibernate
+ * produces for each id strategy:
+ *
+ * - {@code identity}: one INSERT per row, executed at persist time to read
+ *   back the generated key. Batching is impossible.
+ * - {@code pooledSequence}: one sequence call per 50 rows, inserts sent in
+ *   JDBC batches of {@code batchSize}.
+ *
+ * Results are per inserted row. The in-memory H2 default has no network round
+ * trips and understates the gap; point {@code jdbcUrl} at PostgreSQL
+ * ({@code -p jdbcUrl=jdbc:postgresql://localhost:5432/inventory_db -p user=postgres -p password=postgres})
+ * for realistic numbers. The benchmark uses its own tables.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InsertBenchmark {
+
+    private static final int ROWS = 1000;
+    private static final int ALLOCATION_SIZE = 50;
+
+    @Param({"jdbc:h2:mem:insert-benchmark;MODE=PostgreSQL;DB_CLOSE_DELAY=-1"})
+    String jdbcUrl;
+
+    @Param({"sa"})
+    String user;
+
+    @Param({""})
+    String password;
+
+    @Param({"50"})
+    int batchSize;
+
+    private Connection connection;
+    private long nextSequenceValue;
+    private long sequenceLimit;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(jdbcUrl, user, password);
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("DROP TABLE IF EXISTS bench_identity_materials");
+            ddl.execute("DROP TABLE IF EXISTS bench_sequence_materials");
+            ddl.execute("DROP SEQUENCE IF EXISTS bench_materials_seq");
+            ddl.execute("CREATE TABLE bench_identity_materials (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+                    + "name VARCHAR(255) NOT NULL, stock_quantity NUMERIC(15, 4) NOT NULL)");
+            ddl.execute("CREATE TABLE bench_sequence_materials (id BIGINT PRIMARY KEY, "
+                    + "name VARCHAR(255) NOT NULL, stock_quantity NUMERIC(15, 4) NOT NULL)");
+            ddl.execute("CREATE SEQUENCE bench_materials_seq START WITH " + ALLOCATION_SIZE
+                    + " INCREMENT BY " + ALLOCATION_SIZE);
+        }
+        connection.setAutoCommit(false);
+    }
+
+    @Setup(Level.Iteration)
+    public void emptyTables() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DELETE FROM bench_identity_materials");
+            statement.execute("DELETE FROM bench_sequence_materials");
+        }
+        connection.commit();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("DROP TABLE bench_identity_materials");
+            ddl.execute("DROP TABLE bench_sequence_materials");
+            ddl.execute("DROP SEQUENCE bench_materials_seq");
+        }
+        connection.commit();
+        connection.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public long identity() throws SQLException {
+        long lastId = 0;
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO bench_identity_materials (name, stock_quantity) VALUES (?, ?)",
+                Statement.RETURN_GENERATED_KEYS)) {
+            for (int i = 0; i < ROWS; i++) {
+                insert.setString(1, "Material " + i);
+                insert.setBigDecimal(2, BigDecimal.valueOf(i));
+                insert.executeUpdate();
+                try (ResultSet keys = insert.getGeneratedKeys()) {
+                    keys.next();
+                    lastId = keys.getLong(1);
+                }
+            }
+        }
+        connection.commit();
+        return lastId;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public long pooledSequence() throws SQLException {
+        long lastId = 0;
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO bench_sequence_materials (id, name, stock_quantity) VALUES (?, ?, ?)")) {
+            for (int i = 0; i < ROWS; i++) {
+                lastId = nextId();
+                insert.setLong(1, lastId);
+                insert.setString(2, "Material " + i);
+                insert.setBigDecimal(3, BigDecimal.valueOf(i));
+                insert.addBatch();
+                if ((i + 1) % batchSize == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+        return lastId;
+    }
+
+    /**
+     * Hibernate's pooled optimizer: each sequence value is the top of a block
+     * of {@link #ALLOCATION_SIZE} ids.
+     */
+    private long nextId() throws SQLException {
+        if (nextSequenceValue == sequenceLimit) {
+            try (Statement statement = connection.createStatement();
+                 ResultSet value = statement.executeQuery("SELECT nextval('bench_materials_seq')")) {
+                value.next();
+                sequenceLimit = value.getLong(1);
+                nextSequenceValue = sequenceLimit - ALLOCATION_SIZE;
+            }
+        }
+        return ++nextSequenceValue;
+    }
+}
@@ -0,0 +1,71 @@
+package com.autoflex.inventory.benchmark;
+
+import com.autoflex.inventory.dto.ProductDTO;
+import com.autoflex.inventory.dto.RawMaterialDTO;
+import com.autoflex.inventory.entity.Product;
+import com.autoflex.inventory.entity.RawMaterial;
+import com.autoflex.inventory.mapper.ProductMapper;
+import com.autoflex.inventory.mapper.RawMaterialMapper;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Entity to DTO mapping of the list endpoints.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    int productCount;
+
+    @Param({"3", "10"})
+    int materialsPerProduct;
+
+    @Param({"500"})
+    int materialCount;
+
+    private final ProductMapper productMapper = new ProductMapper();
+    private final RawMaterialMapper rawMaterialMapper = new RawMaterialMapper();
+
+    private List<Product> products;
+    private List<RawMaterial> rawMaterials;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        CatalogGenerator generator = new CatalogGenerator(productCount, materialsPerProduct, materialCount, 0.0);
+        rawMaterials = generator.rawMaterials();
+        products = generator.products(rawMaterials);
+    }
+
+    @Benchmark
+    public List<ProductDTO> productsWithRawMaterials() {
+        return productMapper.toDTOList(products);
+    }
+
+    @Benchmark
+    public List<ProductDTO> productsWithoutRawMaterials() {
+        return productMapper.toDTOListWithoutRawMaterials(products);
+    }
+
+    @Benchmark
+    public List<RawMaterialDTO> rawMaterials() {
+        return rawMaterialMapper.toDTOList(rawMaterials);
+    }
+}
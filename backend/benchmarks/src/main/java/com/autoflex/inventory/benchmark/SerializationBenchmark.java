@@ -0,0 +1,82 @@
+package com.autoflex.inventory.benchmark;
+
+import com.autoflex.inventory.dto.ProductDTO;
+import com.autoflex.inventory.dto.ProductionItemDTO;
+import com.autoflex.inventory.dto.ProductionSuggestionDTO;
+import com.autoflex.inventory.mapper.ProductMapper;
+import com.autoflex.inventory.planner.BomMatrix;
+import com.autoflex.inventory.planner.GreedyOptimizer;
+import com.autoflex.inventory.planner.ProductionPlan;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Jackson serialization of the response bodies.
+ *
+ * Every product gets at least one unit in the suggestion, so the item count
+ * follows {@code productCount} rather than what the stock happens to allow.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    int productCount;
+
+    private ObjectWriter writer;
+    private ProductionSuggestionDTO suggestion;
+    private List<ProductDTO> products;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        writer = new ObjectMapper().writer();
+
+        CatalogGenerator generator = new CatalogGenerator(productCount, 3, 50, 0.0);
+        BomMatrix matrix = BomMatrix.compile(generator.bomLines().stream());
+        ProductionPlan plan = new GreedyOptimizer().optimize(matrix, Long.MAX_VALUE);
+
+        List<ProductionItemDTO> items = new ArrayList<>();
+        BigDecimal totalValue = BigDecimal.ZERO;
+        for (int p = 0; p < matrix.productCount(); p++) {
+            int units = Math.max(1, plan.quantity(p));
+            ProductionItemDTO item = new ProductionItemDTO(
+                    matrix.productId(p), matrix.productName(p), matrix.productValue(p), units);
+            items.add(item);
+            totalValue = totalValue.add(item.getSubtotal());
+        }
+        suggestion = new ProductionSuggestionDTO(items, totalValue, plan.isOptimal());
+
+        products = new ProductMapper().toDTOList(generator.products());
+    }
+
+    @Benchmark
+    public byte[] productionSuggestion() throws JsonProcessingException {
+        return writer.writeValueAsBytes(suggestion);
+    }
+
+    @Benchmark
+    public byte[] productList() throws JsonProcessingException {
+        return writer.writeValueAsBytes(products);
+    }
+}
@@ -0,0 +1,94 @@
+package com.autoflex.inventory.planner;
+
+import com.autoflex.inventory.benchmark.CatalogGenerator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Branch and bound on the whole catalog against {@link ComponentOptimizer} on
+ * catalogs split into {@code families} of products that share no material.
+ *
+ * With one family the catalog is almost surely one component and both run the
+ * same search; run with {@code -p parallelism=1,2,4,8} to see how the
+ * component planner scales with cores.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ComponentPlannerBenchmark {
+
+    @Param({"1000", "3000"})
+    int productCount;
+
+    @Param({"3"})
+    int materialsPerProduct;
+
+    @Param({"512"})
+    int materialCount;
+
+    @Param({"1", "16", "64"})
+    int families;
+
+    @Param({"0"})
+    int parallelism;
+
+    @Param({"2000"})
+    long timeBudgetMs;
+
+    private BomMatrix matrix;
+    private BranchAndBoundOptimizer branchAndBound;
+    private ComponentOptimizer components;
+    private ForkJoinPool pool;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        matrix = BomMatrix.compile(new CatalogGenerator(productCount, materialsPerProduct, materialCount, 0.0, families)
+                .bomLines().stream());
+        branchAndBound = PlannerBenchmark.newBranchAndBoundOptimizer();
+        // 0 uses the common pool, as the service does
+        pool = parallelism > 0 ? new ForkJoinPool(parallelism) : ForkJoinPool.commonPool();
+        components = new ComponentOptimizer(branchAndBound, pool);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (pool != ForkJoinPool.commonPool()) {
+            pool.shutdown();
+        }
+    }
+
+    @Benchmark
+    public int[][] findComponents() {
+        return matrix.components();
+    }
+
+    @Benchmark
+    public ProductionPlan wholeCatalog() {
+        return branchAndBound.optimize(matrix, deadline());
+    }
+
+    @Benchmark
+    public ProductionPlan byComponent() {
+        return components.optimize(matrix, deadline());
+    }
+
+    private long deadline() {
+        return System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeBudgetMs);
+    }
+}
@@ -0,0 +1,89 @@
+package com.autoflex.inventory.planner;
+
+import com.autoflex.inventory.benchmark.CatalogGenerator;
+import com.autoflex.inventory.dto.BomLineDTO;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compiling the bill of materials and running each optimizer on it.
+ *
+ * The branch and bound benchmark is capped by {@code timeBudgetMs}, like the
+ * service; catalogs it cannot prove optimal in time measure the budget.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PlannerBenchmark {
+
+    @Param({"100", "1000", "3000"})
+    int productCount;
+
+    @Param({"3", "10"})
+    int materialsPerProduct;
+
+    @Param({"50", "500"})
+    int materialCount;
+
+    @Param({"0.0", "1.0"})
+    double stockSkew;
+
+    @Param({"2000"})
+    long timeBudgetMs;
+
+    private List<BomLineDTO> lines;
+    private BomMatrix matrix;
+    private GreedyOptimizer greedy;
+    private BranchAndBoundOptimizer branchAndBound;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        lines = new CatalogGenerator(productCount, materialsPerProduct, materialCount, stockSkew).bomLines();
+        matrix = BomMatrix.compile(lines.stream());
+        greedy = new GreedyOptimizer();
+        branchAndBound = newBranchAndBoundOptimizer();
+    }
+
+    /**
+     * The optimizers wired the way CDI would, for benchmarks outside this package.
+     */
+    public static BranchAndBoundOptimizer newBranchAndBoundOptimizer() {
+        BranchAndBoundOptimizer optimizer = new BranchAndBoundOptimizer();
+        optimizer.greedyOptimizer = new GreedyOptimizer();
+        return optimizer;
+    }
+
+    @Benchmark
+    public BomMatrix compile() {
+        return BomMatrix.compile(lines.stream());
+    }
+
+    @Benchmark
+    public ProductionPlan greedy() {
+        return greedy.optimize(matrix, deadline());
+    }
+
+    @Benchmark
+    public ProductionPlan branchAndBound() {
+        return branchAndBound.optimize(matrix, deadline());
+    }
+
+    private long deadline() {
+        return System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeBudgetMs);
+    }
+}
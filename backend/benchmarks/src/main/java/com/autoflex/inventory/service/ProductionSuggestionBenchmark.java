@@ -0,0 +1,69 @@
+package com.autoflex.inventory.service;
+
+import com.autoflex.inventory.benchmark.CatalogGenerator;
+import com.autoflex.inventory.dto.ProductionSuggestionDTO;
+import com.autoflex.inventory.planner.BomMatrix;
+import com.autoflex.inventory.planner.BranchAndBoundOptimizer;
+import com.autoflex.inventory.planner.PlannerBenchmark;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link ProductionSuggestionService} from a compiled bill of materials to the
+ * response DTO, without the database read.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductionSuggestionBenchmark {
+
+    @Param({"100", "1000", "3000"})
+    int productCount;
+
+    @Param({"3", "10"})
+    int materialsPerProduct;
+
+    @Param({"50", "500"})
+    int materialCount;
+
+    @Param({"0.0", "1.0"})
+    double stockSkew;
+
+    @Param({"2000"})
+    long timeBudgetMs;
+
+    private ProductionSuggestionService service;
+    private BomMatrix matrix;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        matrix = BomMatrix.compile(
+                new CatalogGenerator(productCount, materialsPerProduct, materialCount, stockSkew).bomLines().stream());
+        service = new ProductionSuggestionService();
+        service.optimizer = PlannerBenchmark.newBranchAndBoundOptimizer();
+        service.timeBudgetMs = timeBudgetMs;
+        service.optimizerName = BranchAndBoundOptimizer.NAME;
+        service.registry = new SimpleMeterRegistry();
+        service.registerMeters();
+    }
+
+    @Benchmark
+    public ProductionSuggestionDTO calculateProductionSuggestion() {
+        return service.calculateProductionSuggestion(matrix);
+    }
+}
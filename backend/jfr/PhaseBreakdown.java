@@ -0,0 +1,118 @@
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Per-phase breakdown of the application's events in a JFR recording: time
+ * spent reading the catalog, loading the bill of materials, planning,
+ * mapping and serializing, with the rows, statements and bytes involved.
+ *
+ * Runs from source, without building:
+ *
+ *   java jfr/PhaseBreakdown.java inventory.jfr [slowest]
+ *
+ * where {@code slowest} is how many of the slowest events to list (10).
+ */
+public class PhaseBreakdown {
+
+    private static final String PREFIX = "com.autoflex.inventory.";
+    private static final String[] DETAILS = {"query", "mapper", "optimizer", "type", "readPath"};
+    private static final String[] AMOUNTS = {"rows", "entities", "products", "materials", "lines", "iterations", "statements", "bytes"};
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: java jfr/PhaseBreakdown.java <recording.jfr> [slowest]");
+            System.exit(2);
+        }
+        int slowest = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+
+        Map<String, Phase> phases = new LinkedHashMap<>();
+        List<RecordedEvent> events = new ArrayList<>();
+        for (RecordedEvent event : RecordingFile.readAllEvents(Path.of(args[0]))) {
+            String name = event.getEventType().getName();
+            if (name.startsWith(PREFIX)) {
+                events.add(event);
+                phases.computeIfAbsent(phaseOf(event), Phase::new).add(event);
+            }
+        }
+        if (events.isEmpty()) {
+            System.out.println("No " + PREFIX + "* events in " + args[0]);
+            return;
+        }
+
+        long totalNanos = phases.values().stream().mapToLong(p -> p.totalNanos).sum();
+        System.out.printf("%-52s %7s %10s %6s %9s %9s %9s  %s%n",
+                "Phase", "Count", "Total ms", "%", "Mean ms", "p99 ms", "Max ms", "Sums");
+        phases.values().stream()
+                .sorted(Comparator.comparingLong((Phase p) -> p.totalNanos).reversed())
+                .forEach(p -> System.out.printf("%-52s %7d %10.1f %5.1f%% %9.2f %9.2f %9.2f  %s%n",
+                        p.name, p.durations.size(), millis(p.totalNanos), 100.0 * p.totalNanos / totalNanos,
+                        millis(p.totalNanos / p.durations.size()), millis(p.percentile(0.99)),
+                        millis(p.percentile(1.0)), p.sums()));
+
+        System.out.println();
+        System.out.println("Slowest events:");
+        events.stream()
+                .sorted(Comparator.comparing((RecordedEvent e) -> e.getDuration()).reversed())
+                .limit(slowest)
+                .forEach(e -> System.out.printf("  %9.2f ms  %-52s %s  %s%n", millis(e.getDuration().toNanos()),
+                        phaseOf(e), e.getStartTime(), e.getThread() != null ? e.getThread().getJavaName() : ""));
+    }
+
+    private static String phaseOf(RecordedEvent event) {
+        String phase = event.getEventType().getName().substring(PREFIX.length());
+        for (String field : DETAILS) {
+            if (event.hasField(field)) {
+                phase += " " + event.getString(field);
+            }
+        }
+        return phase;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static final class Phase {
+
+        final String name;
+        final List<Long> durations = new ArrayList<>();
+        final Map<String, Long> sums = new LinkedHashMap<>();
+        long totalNanos;
+
+        Phase(String name) {
+            this.name = name;
+        }
+
+        void add(RecordedEvent event) {
+            Duration duration = event.getDuration();
+            durations.add(duration.toNanos());
+            totalNanos += duration.toNanos();
+            for (String field : AMOUNTS) {
+                // Negative statement counts come from events outside a request
+                if (event.hasField(field) && event.getLong(field) >= 0) {
+                    sums.merge(field, event.getLong(field), Long::sum);
+                }
+            }
+        }
+
+        long percentile(double p) {
+            List<Long> sorted = new ArrayList<>(durations);
+            sorted.sort(null);
+            return sorted.get((int) Math.ceil(p * sorted.size()) - 1);
+        }
+
+        String sums() {
+            StringBuilder text = new StringBuilder();
+            sums.forEach((field, sum) -> text.append(field).append('=').append(sum).append(' '));
+            return text.toString().trim();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+// Read load on the endpoints served by the second-level cache, for comparing
+// the backend with and without it. Run through cache.sh, or directly:
+//
+//   k6 run -e BASE_URL=http://localhost:8080 -e VUS=200 -e MODE=cached loadtest/cache.js
+//
+// Same ramp and seeded catalog as crud.js; each virtual user lists the full
+// product catalog, opens a product, or asks for the production suggestion.
+// The summary adds p50 and p99 per endpoint.
+import http from 'k6/http';
+import { check, sleep } from 'k6';
+import { options as crudOptions, setup as seed, handleSummary as crudSummary } from './crud.js';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const MODE = __ENV.MODE || 'run';
+const RESULT_DIR = __ENV.RESULT_DIR || '.';
+const ENDPOINTS = ['all products', 'product by id', 'production suggestion'];
+
+// A threshold per endpoint makes k6 keep its latencies apart in the summary
+export const options = Object.assign({}, crudOptions, {
+  thresholds: Object.fromEntries(ENDPOINTS.map((name) => [`http_req_duration{name:${name}}`, ['max>=0']])),
+});
+
+export function setup() {
+  seed();
+  const products = http.get(`${BASE_URL}/api/products?limit=500`).json().map((p) => p.id);
+  return { products };
+}
+
+export default function (data) {
+  const roll = Math.random();
+  let response;
+
+  if (roll < 0.2) {
+    response = http.get(`${BASE_URL}/api/products`, { tags: { name: 'all products' } });
+  } else if (roll < 0.9) {
+    const id = data.products[Math.floor(Math.random() * data.products.length)];
+    response = http.get(`${BASE_URL}/api/products/${id}`, { tags: { name: 'product by id' } });
+  } else {
+    response = http.get(`${BASE_URL}/api/production/suggestion`, { tags: { name: 'production suggestion' } });
+  }
+
+  check(response, { 'status 200': (r) => r.status === 200 });
+  sleep(0.05 + Math.random() * 0.2);
+}
+
+export function handleSummary(data) {
+  const summary = crudSummary(data);
+  const lines = ENDPOINTS.map((name) => {
+    const duration = data.metrics[`http_req_duration{name:${name}}`].values;
+    return `  ${name.padEnd(22)}  p50 ${duration['p(50)'].toFixed(1)} ms  p99 ${duration['p(99)'].toFixed(1)} ms`;
+  }).join('\n');
+  summary.stdout += `${lines}\n`;
+  summary[`${RESULT_DIR}/${MODE}.txt`] += `${lines}\n`;
+  return summary;
+}
@@ -0,0 +1,123 @@
+#!/usr/bin/env bash
+# Runs the same read load (cache.js) against the backend twice, first built
+# without the second-level cache and then with it, and prints throughput and
+# latency per endpoint with the SQL statements each endpoint ran per request
+# and the hit ratio of each cache region.
+#
+# The second-level cache is switched at build time, so both packages are
+# needed:
+#
+#   mvn package -DskipTests
+#   mvn package -DskipTests -Dquarkus.hibernate-orm.second-level-caching-enabled=false \
+#       -Dquarkus.package.output-directory=quarkus-app-no-cache
+#
+# Needs Java 21 and Docker (for PostgreSQL, and for k6 when it is not
+# installed).
+#
+#   VUS=200 DURATION=60s POOL_SIZE=50 loadtest/cache.sh
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+VUS=${VUS:-200}
+DURATION=${DURATION:-60s}
+POOL_SIZE=${POOL_SIZE:-50}
+DB_PORT=${DB_PORT:-5433}
+RESULT_DIR=${RESULT_DIR:-loadtest/results}
+DB=inventory-loadtest-db
+
+java_major=$(java -version 2>&1 | sed -n 's/.*version "\([0-9]*\).*/\1/p')
+if [ "${java_major:-0}" -lt 21 ]; then
+    echo "Java 21 or newer is needed (found ${java_major:-none})" >&2
+    exit 1
+fi
+for app in target/quarkus-app target/quarkus-app-no-cache; do
+    if [ ! -f "$app/quarkus-run.jar" ]; then
+        echo "Missing $app; package the backend with and without the cache first (see loadtest/cache.sh)" >&2
+        exit 1
+    fi
+done
+
+mkdir -p "$RESULT_DIR"
+app_pid=
+
+cleanup() {
+    if [ -n "$app_pid" ]; then
+        kill "$app_pid" 2>/dev/null || true
+    fi
+    docker rm -f "$DB" >/dev/null 2>&1 || true
+}
+trap cleanup EXIT
+
+run_k6() {
+    local mode=$1
+    if command -v k6 >/dev/null; then
+        k6 run --quiet -e VUS="$VUS" -e DURATION="$DURATION" -e MODE="$mode" \
+            -e RESULT_DIR="$RESULT_DIR" loadtest/cache.js
+    else
+        docker run --rm --network host -v "$PWD/loadtest:/loadtest" \
+            -v "$(cd "$RESULT_DIR" && pwd):/results" grafana/k6 run --quiet \
+            -e VUS="$VUS" -e DURATION="$DURATION" -e MODE="$mode" \
+            -e RESULT_DIR=/results /loadtest/cache.js
+    fi
+}
+
+# SQL statements per request of the benchmarked endpoints, and cache hit ratios
+round_trips() {
+    awk '
+        /^inventory_http_sql_statements_(sum|count)\{/ {
+            match($0, /endpoint="[^"]*"/)
+            endpoint = substr($0, RSTART + 10, RLENGTH - 11)
+            if ($0 ~ /_sum\{/) sum[endpoint] = $NF; else count[endpoint] = $NF
+        }
+        /^inventory_hibernate_cache_hit_ratio\{/ && $NF != "NaN" {
+            match($0, /region="[^"]*"/)
+            printf "  hit ratio %-58s %.3f\n", substr($0, RSTART + 8, RLENGTH - 9), $NF
+        }
+        END {
+            split("ProductController.findAll ProductController.findById ProductionController.getProductionSuggestion", endpoints, " ")
+            for (i = 1; i <= 3; i++) {
+                e = endpoints[i]
+                if (count[e] > 0) printf "  %-45s %.2f statements/request\n", e, sum[e] / count[e]
+            }
+        }
+    ' "$1"
+}
+
+for mode in no-cache cached; do
+    # Each mode starts from an empty database, seeded again by the k6 setup
+    docker rm -f "$DB" >/dev/null 2>&1 || true
+    docker run -d --name "$DB" -p "$DB_PORT":5432 \
+        -e POSTGRES_DB=inventory_db -e POSTGRES_USER=postgres -e POSTGRES_PASSWORD=postgres \
+        postgres:15-alpine >/dev/null
+    until docker exec "$DB" pg_isready -U postgres >/dev/null 2>&1; do
+        sleep 1
+    done
+
+    app=target/quarkus-app/quarkus-run.jar
+    if [ "$mode" = no-cache ]; then
+        app=target/quarkus-app-no-cache/quarkus-run.jar
+    fi
+    java -Dquarkus.datasource.jdbc.url="jdbc:postgresql://localhost:$DB_PORT/inventory_db" \
+        -Dquarkus.datasource.jdbc.max-size="$POOL_SIZE" \
+        -Dquarkus.hibernate-orm.log.sql=false \
+        -Dquarkus.log.category.\"com.autoflex\".level=INFO \
+        -jar "$app" >"$RESULT_DIR/$mode-app.log" 2>&1 &
+    app_pid=$!
+
+    until curl -sf http://localhost:8080/api/production/suggestion/cache >/dev/null; do
+        sleep 1
+    done
+
+    run_k6 "$mode"
+    curl -sf http://localhost:8080/q/metrics >"$RESULT_DIR/$mode-metrics.txt"
+    round_trips "$RESULT_DIR/$mode-metrics.txt" >>"$RESULT_DIR/$mode.txt"
+
+    kill "$app_pid"
+    wait "$app_pid" 2>/dev/null || true
+    app_pid=
+done
+
+echo
+echo "VUs: $VUS, steady state: $DURATION, JDBC pool: $POOL_SIZE"
+cat "$RESULT_DIR/no-cache.txt" "$RESULT_DIR/cached.txt"
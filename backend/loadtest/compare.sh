@@ -0,0 +1,94 @@
+#!/usr/bin/env bash
+# Runs the same k6 load (crud.js) against the backend twice, first on the
+# worker pool and then on virtual threads, and prints throughput and
+# latency for both.
+#
+# Needs Java 21, Docker (for PostgreSQL, and for k6 when it is not
+# installed) and a packaged backend (mvn package -DskipTests).
+#
+#   VUS=1000 DURATION=60s POOL_SIZE=50 loadtest/compare.sh
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+VUS=${VUS:-1000}
+DURATION=${DURATION:-60s}
+POOL_SIZE=${POOL_SIZE:-50}
+DB_PORT=${DB_PORT:-5433}
+RESULT_DIR=${RESULT_DIR:-loadtest/results}
+APP=target/quarkus-app/quarkus-run.jar
+
+java_major=$(java -version 2>&1 | sed -n 's/.*version "\([0-9]*\).*/\1/p')
+if [ "${java_major:-0}" -lt 21 ]; then
+    echo "Java 21 or newer is needed for virtual threads (found ${java_major:-none})" >&2
+    exit 1
+fi
+if [ ! -f "$APP" ]; then
+    echo "Package the backend first: mvn package -DskipTests" >&2
+    exit 1
+fi
+
+mkdir -p "$RESULT_DIR"
+app_pid=
+
+cleanup() {
+    if [ -n "$app_pid" ]; then
+        kill "$app_pid" 2>/dev/null || true
+    fi
+    docker rm -f inventory-loadtest-db >/dev/null 2>&1 || true
+}
+trap cleanup EXIT
+
+docker rm -f inventory-loadtest-db >/dev/null 2>&1 || true
+docker run -d --name inventory-loadtest-db -p "$DB_PORT":5432 \
+    -e POSTGRES_DB=inventory_db -e POSTGRES_USER=postgres -e POSTGRES_PASSWORD=postgres \
+    postgres:15-alpine >/dev/null
+until docker exec inventory-loadtest-db pg_isready -U postgres >/dev/null 2>&1; do
+    sleep 1
+done
+
+run_k6() {
+    local mode=$1
+    if command -v k6 >/dev/null; then
+        k6 run --quiet -e VUS="$VUS" -e DURATION="$DURATION" -e MODE="$mode" \
+            -e RESULT_DIR="$RESULT_DIR" loadtest/crud.js
+    else
+        docker run --rm --network host -v "$PWD/loadtest:/loadtest" \
+            -v "$(cd "$RESULT_DIR" && pwd):/results" grafana/k6 run --quiet \
+            -e VUS="$VUS" -e DURATION="$DURATION" -e MODE="$mode" \
+            -e RESULT_DIR=/results /loadtest/crud.js
+    fi
+}
+
+for mode in worker virtual; do
+    virtual_threads=false
+    if [ "$mode" = virtual ]; then
+        virtual_threads=true
+    fi
+
+    # Same connection pool in both modes; pinned virtual threads are logged
+    java -Dquarkus.virtual-threads.enabled="$virtual_threads" \
+        -Dquarkus.datasource.jdbc.url="jdbc:postgresql://localhost:$DB_PORT/inventory_db" \
+        -Dquarkus.datasource.jdbc.max-size="$POOL_SIZE" \
+        -Dquarkus.hibernate-orm.log.sql=false \
+        -Dquarkus.log.category.\"com.autoflex\".level=INFO \
+        -Djdk.tracePinnedThreads=short \
+        -jar "$APP" >"$RESULT_DIR/$mode-app.log" 2>&1 &
+    app_pid=$!
+
+    until curl -sf http://localhost:8080/api/production/suggestion/cache >/dev/null; do
+        sleep 1
+    done
+
+    run_k6 "$mode"
+
+    kill "$app_pid"
+    wait "$app_pid" 2>/dev/null || true
+    app_pid=
+done
+
+echo
+echo "VUs: $VUS, steady state: $DURATION, connection pool: $POOL_SIZE"
+cat "$RESULT_DIR/worker.txt" "$RESULT_DIR/virtual.txt"
+pinned=$(grep -c "pinned" "$RESULT_DIR/virtual-app.log" || true)
+echo "Pinned virtual thread reports: $pinned (see $RESULT_DIR/virtual-app.log)"
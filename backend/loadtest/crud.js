@@ -0,0 +1,108 @@
+// Shop-floor terminal load on the CRUD endpoints, for comparing the worker
+// pool with virtual threads. Run through compare.sh, or directly:
+//
+//   k6 run -e BASE_URL=http://localhost:8080 -e VUS=1000 -e MODE=worker loadtest/crud.js
+//
+// Each virtual user is one terminal: list a page, open a raw material,
+// search, and now and then update a stock level or ask for the production
+// suggestion, with a short think time between requests.
+import http from 'k6/http';
+import { check, sleep } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const VUS = parseInt(__ENV.VUS || '1000', 10);
+const DURATION = __ENV.DURATION || '60s';
+const MODE = __ENV.MODE || 'run';
+const RESULT_DIR = __ENV.RESULT_DIR || '.';
+const MATERIALS = 2000;
+const PRODUCTS = 500;
+
+export const options = {
+  scenarios: {
+    terminals: {
+      executor: 'ramping-vus',
+      startVUs: 0,
+      stages: [
+        { duration: '15s', target: VUS },
+        { duration: DURATION, target: VUS },
+        { duration: '5s', target: 0 },
+      ],
+      gracefulRampDown: '5s',
+    },
+  },
+  summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+const JSON_HEADERS = { headers: { 'Content-Type': 'application/json' } };
+
+// Seeds a synthetic catalog through the import endpoints, once per database
+export function setup() {
+  const existing = http.get(`${BASE_URL}/api/raw-materials?limit=1`).json();
+  if (existing.length === 0) {
+    const materials = [];
+    for (let i = 0; i < MATERIALS; i++) {
+      materials.push({ name: `Load material ${i}`, stockQuantity: 1000 + (i % 97) * 10 });
+    }
+    http.post(`${BASE_URL}/api/import/raw-materials`, JSON.stringify(materials), JSON_HEADERS);
+
+    const products = [];
+    const lines = [];
+    for (let p = 0; p < PRODUCTS; p++) {
+      products.push({ name: `Load product ${p}`, value: 10 + (p % 50) });
+      for (let k = 0; k < 3; k++) {
+        lines.push({
+          productName: `Load product ${p}`,
+          rawMaterialName: `Load material ${(p * 7 + k * 13) % MATERIALS}`,
+          requiredQuantity: 1 + k,
+        });
+      }
+    }
+    http.post(`${BASE_URL}/api/import/products`, JSON.stringify(products), JSON_HEADERS);
+    http.post(`${BASE_URL}/api/import/bom-lines`, JSON.stringify(lines), JSON_HEADERS);
+  }
+
+  const materials = http.get(`${BASE_URL}/api/raw-materials?limit=500`).json()
+    .map((m) => ({ id: m.id, name: m.name }));
+  return { materials };
+}
+
+export default function (data) {
+  const material = data.materials[Math.floor(Math.random() * data.materials.length)];
+  const roll = Math.random();
+  let response;
+
+  if (roll < 0.35) {
+    response = http.get(`${BASE_URL}/api/products?sort=-value&limit=20`, { tags: { name: 'products page' } });
+  } else if (roll < 0.65) {
+    response = http.get(`${BASE_URL}/api/raw-materials/${material.id}`, { tags: { name: 'raw material by id' } });
+  } else if (roll < 0.85) {
+    const term = `material ${Math.floor(Math.random() * 100)}`;
+    response = http.get(`${BASE_URL}/api/raw-materials/search?name=${encodeURIComponent(term)}&limit=10`,
+      { tags: { name: 'raw material search' } });
+  } else if (roll < 0.95) {
+    response = http.put(`${BASE_URL}/api/raw-materials/${material.id}`,
+      JSON.stringify({ name: material.name, stockQuantity: 500 + Math.floor(Math.random() * 1000) }),
+      Object.assign({ tags: { name: 'stock update' } }, JSON_HEADERS));
+  } else {
+    response = http.get(`${BASE_URL}/api/production/suggestion`, { tags: { name: 'production suggestion' } });
+  }
+
+  check(response, { 'status 200': (r) => r.status === 200 });
+  sleep(0.05 + Math.random() * 0.2);
+}
+
+export function handleSummary(data) {
+  const duration = data.metrics.http_req_duration.values;
+  const line = [
+    MODE.padEnd(8),
+    `${data.metrics.http_reqs.values.rate.toFixed(0)} req/s`,
+    `p50 ${duration['p(50)'].toFixed(1)} ms`,
+    `p99 ${duration['p(99)'].toFixed(1)} ms`,
+    `failed ${(data.metrics.http_req_failed.values.rate * 100).toFixed(2)}%`,
+  ].join('  ');
+  return {
+    stdout: `${line}\n`,
+    [`${RESULT_DIR}/${MODE}.json`]: JSON.stringify(data, null, 2),
+    [`${RESULT_DIR}/${MODE}.txt`]: `${line}\n`,
+  };
+}
@@ -0,0 +1,122 @@
+#!/usr/bin/env bash
+# Runs the same read-only k6 load (reads.js) against the backend twice, first
+# on the blocking read path and then on the reactive one, both on virtual
+# threads, and prints throughput and latency with the peak number of
+# PostgreSQL connections and the peak memory of the JVM and of PostgreSQL.
+#
+# Needs Java 21, Docker (for PostgreSQL, and for k6 when it is not
+# installed) and a packaged backend (mvn package -DskipTests).
+#
+#   VUS=2000 DURATION=60s POOL_SIZE=100 REACTIVE_POOL_SIZE=4 loadtest/read-path.sh
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+VUS=${VUS:-2000}
+DURATION=${DURATION:-60s}
+POOL_SIZE=${POOL_SIZE:-100}
+REACTIVE_POOL_SIZE=${REACTIVE_POOL_SIZE:-4}
+DB_PORT=${DB_PORT:-5433}
+RESULT_DIR=${RESULT_DIR:-loadtest/results}
+APP=target/quarkus-app/quarkus-run.jar
+DB=inventory-loadtest-db
+
+java_major=$(java -version 2>&1 | sed -n 's/.*version "\([0-9]*\).*/\1/p')
+if [ "${java_major:-0}" -lt 21 ]; then
+    echo "Java 21 or newer is needed for virtual threads (found ${java_major:-none})" >&2
+    exit 1
+fi
+if [ ! -f "$APP" ]; then
+    echo "Package the backend first: mvn package -DskipTests" >&2
+    exit 1
+fi
+
+mkdir -p "$RESULT_DIR"
+app_pid=
+sampler_pid=
+
+cleanup() {
+    if [ -n "$sampler_pid" ]; then
+        kill "$sampler_pid" 2>/dev/null || true
+    fi
+    if [ -n "$app_pid" ]; then
+        kill "$app_pid" 2>/dev/null || true
+    fi
+    docker rm -f "$DB" >/dev/null 2>&1 || true
+}
+trap cleanup EXIT
+
+docker rm -f "$DB" >/dev/null 2>&1 || true
+docker run -d --name "$DB" -p "$DB_PORT":5432 \
+    -e POSTGRES_DB=inventory_db -e POSTGRES_USER=postgres -e POSTGRES_PASSWORD=postgres \
+    postgres:15-alpine >/dev/null
+until docker exec "$DB" pg_isready -U postgres >/dev/null 2>&1; do
+    sleep 1
+done
+
+run_k6() {
+    local mode=$1
+    if command -v k6 >/dev/null; then
+        k6 run --quiet -e VUS="$VUS" -e DURATION="$DURATION" -e MODE="$mode" \
+            -e RESULT_DIR="$RESULT_DIR" loadtest/reads.js
+    else
+        docker run --rm --network host -v "$PWD/loadtest:/loadtest" \
+            -v "$(cd "$RESULT_DIR" && pwd):/results" grafana/k6 run --quiet \
+            -e VUS="$VUS" -e DURATION="$DURATION" -e MODE="$mode" \
+            -e RESULT_DIR=/results /loadtest/reads.js
+    fi
+}
+
+# One line per second: open backend connections, JVM RSS (KiB), PostgreSQL container memory (MiB)
+sample() {
+    local pid=$1
+    while true; do
+        connections=$(docker exec "$DB" psql -U postgres -d inventory_db -tAc \
+            "SELECT count(*) FROM pg_stat_activity WHERE datname = 'inventory_db' AND pid <> pg_backend_pid()" || echo 0)
+        jvm_kib=$(ps -o rss= -p "$pid" | tr -d ' ' || echo 0)
+        pg_mib=$(docker stats --no-stream --format '{{.MemUsage}}' "$DB" | awk '{
+            v = $1; n = v + 0
+            if (v ~ /GiB/) n *= 1024; else if (v ~ /KiB/) n /= 1024
+            printf "%.0f", n }' || echo 0)
+        printf '%s\t%s\t%s\n' "$connections" "$jvm_kib" "$pg_mib"
+        sleep 1
+    done
+}
+
+for mode in blocking reactive; do
+    java -Dquarkus.virtual-threads.enabled=true \
+        -Dinventory.read-path="$mode" \
+        -Dquarkus.datasource.jdbc.url="jdbc:postgresql://localhost:$DB_PORT/inventory_db" \
+        -Dquarkus.datasource.jdbc.max-size="$POOL_SIZE" \
+        -Dquarkus.datasource.reactive.url="postgresql://localhost:$DB_PORT/inventory_db" \
+        -Dquarkus.datasource.reactive.max-size="$REACTIVE_POOL_SIZE" \
+        -Dquarkus.hibernate-orm.log.sql=false \
+        -Dquarkus.log.category.\"com.autoflex\".level=INFO \
+        -jar "$APP" >"$RESULT_DIR/$mode-app.log" 2>&1 &
+    app_pid=$!
+
+    until curl -sf http://localhost:8080/api/production/suggestion/cache >/dev/null; do
+        sleep 1
+    done
+
+    sample "$app_pid" >"$RESULT_DIR/$mode-samples.tsv" &
+    sampler_pid=$!
+    run_k6 "$mode"
+    kill "$sampler_pid"
+    wait "$sampler_pid" 2>/dev/null || true
+    sampler_pid=
+
+    awk -F '\t' -v mode="$mode" '
+        $1 > c { c = $1 } $2 > j { j = $2 } $3 > p { p = $3 }
+        END { printf "%-8s  peak connections %d  peak JVM RSS %d MiB  peak PostgreSQL %d MiB\n", mode, c, j / 1024, p }
+    ' "$RESULT_DIR/$mode-samples.tsv" >"$RESULT_DIR/$mode-resources.txt"
+
+    kill "$app_pid"
+    wait "$app_pid" 2>/dev/null || true
+    app_pid=
+done
+
+echo
+echo "VUs: $VUS, steady state: $DURATION, JDBC pool: $POOL_SIZE, reactive pool: $REACTIVE_POOL_SIZE"
+cat "$RESULT_DIR/blocking.txt" "$RESULT_DIR/reactive.txt"
+cat "$RESULT_DIR/blocking-resources.txt" "$RESULT_DIR/reactive-resources.txt"
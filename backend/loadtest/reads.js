@@ -0,0 +1,30 @@
+// Read-only load on the whole-catalog reads, for comparing the blocking and
+// reactive read paths. Run through read-path.sh, or directly:
+//
+//   k6 run -e BASE_URL=http://localhost:8080 -e VUS=2000 -e MODE=blocking loadtest/reads.js
+//
+// Same ramp, seeded catalog and summary as crud.js; each virtual user lists
+// the full product or raw material catalog, or asks for the production
+// suggestion (read once, then served from its cache while nothing changes).
+import http from 'k6/http';
+import { check, sleep } from 'k6';
+
+export { options, setup, handleSummary } from './crud.js';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+
+export default function () {
+  const roll = Math.random();
+  let response;
+
+  if (roll < 0.45) {
+    response = http.get(`${BASE_URL}/api/products`, { tags: { name: 'all products' } });
+  } else if (roll < 0.9) {
+    response = http.get(`${BASE_URL}/api/raw-materials`, { tags: { name: 'all raw materials' } });
+  } else {
+    response = http.get(`${BASE_URL}/api/production/suggestion`, { tags: { name: 'production suggestion' } });
+  }
+
+  check(response, { 'status 200': (r) => r.status === 200 });
+  sleep(0.05 + Math.random() * 0.2);
+}
@@ -0,0 +1,69 @@
+package com.autoflex.inventory.controller;
+
+import com.autoflex.inventory.dto.AutocompleteStatsDTO;
+import com.autoflex.inventory.dto.NameSuggestionDTO;
+import com.autoflex.inventory.service.AutocompleteService;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.MediaType;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponses;
+import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+import java.util.List;
+
+@Path("/api/autocomplete")
+@Produces(MediaType.APPLICATION_JSON)
+@Tag(name = "Autocomplete", description = "Name suggestions served from memory")
+public class AutocompleteController {
+
+    @Inject
+    AutocompleteService autocompleteService;
+
+    @GET
+    @Path("/products")
+    @Operation(summary = "Suggest product names",
+            description = "Products with a word of their name starting with the prefix (case and accent "
+                    + "insensitive), those whose name starts with it first. Answered without querying the database")
+    @APIResponses({
+            @APIResponse(responseCode = "200", description = "Suggestions retrieved successfully"),
+            @APIResponse(responseCode = "400", description = "Invalid limit")
+    })
+    public List<NameSuggestionDTO> suggestProducts(
+            @Parameter(description = "Typed prefix")
+            @QueryParam("prefix") String prefix,
+            @Parameter(description = "Maximum suggestions, 1 to 50 (default 10)")
+            @QueryParam("limit") Integer limit) {
+        return autocompleteService.suggestProducts(prefix, limit);
+    }
+
+    @GET
+    @Path("/raw-materials")
+    @Operation(summary = "Suggest raw material names",
+            description = "Raw materials with a word of their name starting with the prefix (case and accent "
+                    + "insensitive), those whose name starts with it first. Answered without querying the database")
+    @APIResponses({
+            @APIResponse(responseCode = "200", description = "Suggestions retrieved successfully"),
+            @APIResponse(responseCode = "400", description = "Invalid limit")
+    })
+    public List<NameSuggestionDTO> suggestRawMaterials(
+            @Parameter(description = "Typed prefix")
+            @QueryParam("prefix") String prefix,
+            @Parameter(description = "Maximum suggestions, 1 to 50 (default 10)")
+            @QueryParam("limit") Integer limit) {
+        return autocompleteService.suggestRawMaterials(prefix, limit);
+    }
+
+    @GET
+    @Path("/stats")
+    @Operation(summary = "Get autocomplete index statistics",
+            description = "Size, estimated memory, full loads and in-place updates of each index")
+    @APIResponse(responseCode = "200", description = "Index statistics retrieved successfully")
+    public AutocompleteStatsDTO getStats() {
+        return autocompleteService.getStats();
+    }
+}
@@ -0,0 +1,95 @@
+package com.autoflex.inventory.controller;
+
+import com.autoflex.inventory.service.CatalogVersion;
+import jakarta.annotation.Priority;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.Priorities;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.core.CacheControl;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.Provider;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Conditional GET for {@link CatalogVersioned} resources. Responses carry a
+ * strong ETag made from the catalog version, and a request whose
+ * {@code If-None-Match} holds the current tag is answered 304 before the
+ * resource method runs: no query, no serialization.
+ *
+ * {@code Cache-Control} lets clients keep the body for
+ * {@code inventory.http.catalog-max-age-seconds}, and makes them revalidate
+ * after that (always, by default). A resource that sets its own
+ * {@code Cache-Control}, for a body older than the version, gets neither.
+ */
+@Provider
+@CatalogVersioned
+// After the statement counter has started, so a 304 reports its zero statements
+@Priority(Priorities.USER + 100)
+public class CatalogETagFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+    private static final String ETAG_PROPERTY = CatalogETagFilter.class.getName() + ".etag";
+
+    @Inject
+    CatalogVersion catalogVersion;
+
+    @ConfigProperty(name = "inventory.http.catalog-max-age-seconds", defaultValue = "0")
+    int maxAgeSeconds;
+
+    @Override
+    public void filter(ContainerRequestContext requestContext) {
+        // Read before the resource runs, so the tag never claims newer data than the body has
+        EntityTag etag = new EntityTag(catalogVersion.tag(catalogVersion.current()));
+        requestContext.setProperty(ETAG_PROPERTY, etag);
+
+        if (matches(requestContext.getHeaderString(HttpHeaders.IF_NONE_MATCH), etag)) {
+            requestContext.abortWith(Response.notModified(etag).cacheControl(cacheControl()).build());
+        }
+    }
+
+    @Override
+    public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
+        Object etag = requestContext.getProperty(ETAG_PROPERTY);
+        if (etag != null && responseContext.getStatus() == Response.Status.OK.getStatusCode()
+                && !responseContext.getHeaders().containsKey(HttpHeaders.CACHE_CONTROL)) {
+            responseContext.getHeaders().putSingle(HttpHeaders.ETAG, etag);
+            responseContext.getHeaders().putSingle(HttpHeaders.CACHE_CONTROL, cacheControl());
+        }
+    }
+
+    /**
+     * Weak comparison, as If-None-Match requires: a {@code W/} prefix is ignored.
+     */
+    static boolean matches(String ifNoneMatch, EntityTag etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String current = "\"" + etag.getValue() + "\"";
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(current)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private CacheControl cacheControl() {
+        CacheControl cacheControl = new CacheControl();
+        cacheControl.setNoTransform(false);
+        if (maxAgeSeconds > 0) {
+            cacheControl.setMaxAge(maxAgeSeconds);
+            cacheControl.setMustRevalidate(true);
+        } else {
+            cacheControl.setNoCache(true);
+        }
+        return cacheControl;
+    }
+}
@@ -0,0 +1,18 @@
+package com.autoflex.inventory.controller;
+
+import jakarta.ws.rs.NameBinding;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks GET resources whose response depends only on the request and the
+ * catalog, so {@link CatalogETagFilter} can tag them with the catalog
+ * version and answer {@code If-None-Match} with 304.
+ */
+@NameBinding
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface CatalogVersioned {
+}
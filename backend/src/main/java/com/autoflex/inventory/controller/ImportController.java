@@ -0,0 +1,100 @@
+package com.autoflex.inventory.controller;
+
+import com.autoflex.inventory.dto.BomLineImportDTO;
+import com.autoflex.inventory.dto.ImportResultDTO;
+import com.autoflex.inventory.dto.ProductDTO;
+import com.autoflex.inventory.dto.RawMaterialDTO;
+import com.autoflex.inventory.service.CatalogImportService;
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponses;
+import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+import java.util.List;
+
+@Path("/api/import")
+@Produces(MediaType.APPLICATION_JSON)
+@Tag(name = "Import", description = "Bulk catalog import operations")
+@RunOnVirtualThread
+public class ImportController {
+
+    private static final String TEXT_CSV = "text/csv";
+
+    @Inject
+    CatalogImportService catalogImportService;
+
+    @POST
+    @Path("/raw-materials")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Operation(summary = "Import raw materials", description = "Creates raw materials from a JSON array; invalid rows are reported and skipped")
+    @APIResponses({
+            @APIResponse(responseCode = "200", description = "Import finished, see the per-row errors")
+    })
+    public ImportResultDTO importRawMaterials(List<RawMaterialDTO> rawMaterials) {
+        return catalogImportService.importRawMaterials(rawMaterials);
+    }
+
+    @POST
+    @Path("/raw-materials")
+    @Consumes(TEXT_CSV)
+    @Operation(summary = "Import raw materials from CSV", description = "Creates raw materials from CSV with the header name,stock_quantity")
+    @APIResponses({
+            @APIResponse(responseCode = "200", description = "Import finished, see the per-row errors"),
+            @APIResponse(responseCode = "400", description = "Missing or wrong CSV header")
+    })
+    public ImportResultDTO importRawMaterialsCsv(String csv) {
+        return catalogImportService.importRawMaterialsCsv(csv);
+    }
+
+    @POST
+    @Path("/products")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Operation(summary = "Import products", description = "Creates products, with optional bills of materials, from a JSON array; invalid rows are reported and skipped")
+    @APIResponses({
+            @APIResponse(responseCode = "200", description = "Import finished, see the per-row errors")
+    })
+    public ImportResultDTO importProducts(List<ProductDTO> products) {
+        return catalogImportService.importProducts(products);
+    }
+
+    @POST
+    @Path("/products")
+    @Consumes(TEXT_CSV)
+    @Operation(summary = "Import products from CSV", description = "Creates products from CSV with the header name,value")
+    @APIResponses({
+            @APIResponse(responseCode = "200", description = "Import finished, see the per-row errors"),
+            @APIResponse(responseCode = "400", description = "Missing or wrong CSV header")
+    })
+    public ImportResultDTO importProductsCsv(String csv) {
+        return catalogImportService.importProductsCsv(csv);
+    }
+
+    @POST
+    @Path("/bom-lines")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Operation(summary = "Import bill of materials lines", description = "Adds raw materials to products, both referenced by name, from a JSON array; invalid rows are reported and skipped")
+    @APIResponses({
+            @APIResponse(responseCode = "200", description = "Import finished, see the per-row errors")
+    })
+    public ImportResultDTO importBomLines(List<BomLineImportDTO> lines) {
+        return catalogImportService.importBomLines(lines);
+    }
+
+    @POST
+    @Path("/bom-lines")
+    @Consumes(TEXT_CSV)
+    @Operation(summary = "Import bill of materials lines from CSV", description = "Adds raw materials to products from CSV with the header product_name,raw_material_name,required_quantity")
+    @APIResponses({
+            @APIResponse(responseCode = "200", description = "Import finished, see the per-row errors"),
+            @APIResponse(responseCode = "400", description = "Missing or wrong CSV header")
+    })
+    public ImportResultDTO importBomLinesCsv(String csv) {
+        return catalogImportService.importBomLinesCsv(csv);
+    }
+}
@@ -0,0 +1,26 @@
+package com.autoflex.inventory.controller;
+
+import com.autoflex.inventory.dto.PageDTO;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.UriInfo;
+
+/**
+ * Responses of the keyset-paginated listings: the body stays a plain JSON
+ * array and the cursor of the next page travels in the headers.
+ */
+final class PageResponses {
+
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private PageResponses() {
+    }
+
+    static Response ok(PageDTO<?> page, UriInfo uriInfo) {
+        Response.ResponseBuilder response = Response.ok(page.getItems());
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor())
+                    .link(uriInfo.getRequestUriBuilder().replaceQueryParam("after", page.getNextCursor()).build(), "next");
+        }
+        return response.build();
+    }
+}
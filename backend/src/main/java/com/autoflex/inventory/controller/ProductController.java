@@ -1,18 +1,27 @@
 package com.autoflex.inventory.controller;
 
+import com.autoflex.inventory.dto.ProductComponentDTO;
 import com.autoflex.inventory.dto.ProductDTO;
 import com.autoflex.inventory.dto.ProductRawMaterialDTO;
+import com.autoflex.inventory.exception.BusinessException;
+import com.autoflex.inventory.service.BomExplosionService;
+import com.autoflex.inventory.service.CatalogExportService;
 import com.autoflex.inventory.service.ProductService;
+import io.smallrye.common.annotation.RunOnVirtualThread;
 import jakarta.inject.Inject;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import jakarta.ws.rs.core.UriInfo;
 import org.eclipse.microprofile.openapi.annotations.Operation;
 import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponses;
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+import java.math.BigDecimal;
 import java.net.URI;
 import java.util.List;
 
@@ -20,16 +29,98 @@ import java.util.List;
 @Produces(MediaType.APPLICATION_JSON)
 @Consumes(MediaType.APPLICATION_JSON)
 @Tag(name = "Products", description = "Product management operations")
+@RunOnVirtualThread
 public class ProductController {
 
     @Inject
     ProductService productService;
 
+    @Inject
+    CatalogExportService catalogExportService;
+
+    @Inject
+    BomExplosionService bomExplosionService;
+
+    @GET
+    @CatalogVersioned
+    @Operation(summary = "Get all products",
+            description = "Retrieves a list of all products. When any filter, sort or paging parameter is given, "
+                    + "retrieves one keyset page instead; the cursor of the next page is returned in the "
+                    + "X-Next-Cursor header and as a Link with rel=\"next\"")
+    @APIResponses({
+            @APIResponse(responseCode = "200", description = "List of products retrieved successfully"),
+            @APIResponse(responseCode = "400", description = "Invalid sort, cursor or limit")
+    })
+    public Response findAll(
+            @Parameter(description = "Name contains (case-insensitive)")
+            @QueryParam("name") String name,
+            @Parameter(description = "Minimum product value")
+            @QueryParam("minValue") BigDecimal minValue,
+            @Parameter(description = "Maximum product value")
+            @QueryParam("maxValue") BigDecimal maxValue,
+            @Parameter(description = "name, -name, value or -value (default name)")
+            @QueryParam("sort") String sort,
+            @Parameter(description = "Cursor of the next page, from the X-Next-Cursor header")
+            @QueryParam("after") String after,
+            @Parameter(description = "Page size, 1 to 500 (default 50)")
+            @QueryParam("limit") Integer limit,
+            @Context UriInfo uriInfo) {
+        if (name == null && minValue == null && maxValue == null && sort == null && after == null && limit == null) {
+            return Response.ok(productService.findAll()).build();
+        }
+        return PageResponses.ok(productService.findPage(name, minValue, maxValue, sort, after, limit), uriInfo);
+    }
+
     @GET
-    @Operation(summary = "Get all products", description = "Retrieves a list of all products")
-    @APIResponse(responseCode = "200", description = "List of products retrieved successfully")
-    public List<ProductDTO> findAll() {
-        return productService.findAll();
+    @Path("/search")
+    @Operation(summary = "Search products",
+            description = "Products whose name contains or resembles the term, best match first; tolerates typos. "
+                    + "The cursor of the next page is returned in the X-Next-Cursor header and as a Link with rel=\"next\"")
+    @APIResponses({
+            @APIResponse(responseCode = "200", description = "Search results retrieved successfully"),
+            @APIResponse(responseCode = "400", description = "Invalid cursor or limit")
+    })
+    public Response search(
+            @Parameter(description = "Search term")
+            @QueryParam("name") String name,
+            @Parameter(description = "Cursor of the next page, from the X-Next-Cursor header")
+            @QueryParam("after") String after,
+            @Parameter(description = "Page size, 1 to 500 (default 50)")
+            @QueryParam("limit") Integer limit,
+            @Context UriInfo uriInfo) {
+        return PageResponses.ok(productService.search(name, after, limit), uriInfo);
+    }
+
+    @GET
+    @Path("/export")
+    @Produces({"application/x-ndjson", "text/csv"})
+    @Operation(summary = "Export the catalog",
+            description = "Streams every product with its bill of materials, as NDJSON (one product per line) "
+                    + "or CSV (one bill of materials line per row)")
+    @APIResponses({
+            @APIResponse(responseCode = "200", description = "Catalog export streamed"),
+            @APIResponse(responseCode = "400", description = "Unknown format")
+    })
+    public Response export(
+            @Parameter(description = "ndjson (default) or csv")
+            @QueryParam("format") @DefaultValue("ndjson") String format) {
+        StreamingOutput body;
+        String mediaType;
+        switch (format) {
+            case "ndjson":
+                body = catalogExportService::exportNdjson;
+                mediaType = "application/x-ndjson";
+                break;
+            case "csv":
+                body = catalogExportService::exportCsv;
+                mediaType = "text/csv";
+                break;
+            default:
+                throw new BusinessException("Unknown export format '" + format + "'; use ndjson or csv");
+        }
+        return Response.ok(body, mediaType)
+                .header("Content-Disposition", "attachment; filename=\"catalog." + format + "\"")
+                .build();
     }
 
     @GET
@@ -133,4 +224,79 @@ public class ProductController {
             @PathParam("rawMaterialId") Long rawMaterialId) {
         return productService.removeRawMaterial(productId, rawMaterialId);
     }
+
+    // Component (sub-assembly) endpoints
+
+    @GET
+    @Path("/{productId}/components")
+    @Operation(summary = "Get product components", description = "Lists the products used as components of a product")
+    @APIResponses({
+            @APIResponse(responseCode = "200", description = "Components retrieved successfully"),
+            @APIResponse(responseCode = "404", description = "Product not found")
+    })
+    public List<ProductComponentDTO> findComponents(
+            @Parameter(description = "Product ID", required = true)
+            @PathParam("productId") Long productId) {
+        return productService.findComponents(productId);
+    }
+
+    @POST
+    @Path("/{productId}/components")
+    @Operation(summary = "Add component to product", description = "Uses another product as a component of a product")
+    @APIResponses({
+            @APIResponse(responseCode = "200", description = "Component added successfully"),
+            @APIResponse(responseCode = "404", description = "Product or component not found"),
+            @APIResponse(responseCode = "400", description = "Invalid data, component already associated or a cycle")
+    })
+    public List<ProductComponentDTO> addComponent(
+            @Parameter(description = "Product ID", required = true)
+            @PathParam("productId") Long productId,
+            @Valid ProductComponentDTO dto) {
+        return productService.addComponent(productId, dto);
+    }
+
+    @PUT
+    @Path("/{productId}/components/{componentId}")
+    @Operation(summary = "Update component quantity", description = "Updates the units of a component a product requires")
+    @APIResponses({
+            @APIResponse(responseCode = "200", description = "Component quantity updated successfully"),
+            @APIResponse(responseCode = "404", description = "Component association not found")
+    })
+    public List<ProductComponentDTO> updateComponent(
+            @Parameter(description = "Product ID", required = true)
+            @PathParam("productId") Long productId,
+            @Parameter(description = "Component product ID", required = true)
+            @PathParam("componentId") Long componentId,
+            @Valid ProductComponentDTO dto) {
+        return productService.updateComponent(productId, componentId, dto);
+    }
+
+    @DELETE
+    @Path("/{productId}/components/{componentId}")
+    @Operation(summary = "Remove component from product", description = "Removes a component from a product")
+    @APIResponses({
+            @APIResponse(responseCode = "200", description = "Component removed successfully"),
+            @APIResponse(responseCode = "404", description = "Component association not found")
+    })
+    public List<ProductComponentDTO> removeComponent(
+            @Parameter(description = "Product ID", required = true)
+            @PathParam("productId") Long productId,
+            @Parameter(description = "Component product ID", required = true)
+            @PathParam("componentId") Long componentId) {
+        return productService.removeComponent(productId, componentId);
+    }
+
+    @GET
+    @Path("/{productId}/explosion")
+    @Operation(summary = "Explode bill of materials",
+            description = "Raw materials one unit of a product takes, through all levels of its components")
+    @APIResponses({
+            @APIResponse(responseCode = "200", description = "Bill of materials exploded successfully"),
+            @APIResponse(responseCode = "404", description = "Product not found")
+    })
+    public List<ProductRawMaterialDTO> explode(
+            @Parameter(description = "Product ID", required = true)
+            @PathParam("productId") Long productId) {
+        return bomExplosionService.explode(productId);
+    }
 }
@@ -1,33 +1,126 @@
 package com.autoflex.inventory.controller;
 
-import com.autoflex.inventory.dto.ProductionSuggestionDTO;
-import com.autoflex.inventory.service.ProductionSuggestionService;
+import com.autoflex.inventory.dto.DemandDTO;
+import com.autoflex.inventory.dto.MaterialRequirementsDTO;
+import com.autoflex.inventory.dto.ProductionAnalysisDTO;
+import com.autoflex.inventory.dto.ScenarioBatchDTO;
+import com.autoflex.inventory.dto.ScenarioComparisonDTO;
+import com.autoflex.inventory.dto.SuggestionCacheStatsDTO;
+import com.autoflex.inventory.service.MaterialRequirementsService;
+import com.autoflex.inventory.service.ProductionAnalysisService;
+import com.autoflex.inventory.service.ProductionSuggestionCache;
+import com.autoflex.inventory.service.ScenarioService;
+import io.smallrye.common.annotation.RunOnVirtualThread;
 import jakarta.inject.Inject;
+import jakarta.validation.Valid;
+import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.CacheControl;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
 import org.eclipse.microprofile.openapi.annotations.Operation;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponses;
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
 
 @Path("/api/production")
 @Produces(MediaType.APPLICATION_JSON)
 @Tag(name = "Production", description = "Production suggestion operations")
+@RunOnVirtualThread
 public class ProductionController {
 
     @Inject
-    ProductionSuggestionService productionSuggestionService;
+    ProductionSuggestionCache productionSuggestionCache;
+
+    @Inject
+    ScenarioService scenarioService;
+
+    @Inject
+    ProductionAnalysisService productionAnalysisService;
+
+    @Inject
+    MaterialRequirementsService materialRequirementsService;
 
     @GET
+    @CatalogVersioned
     @Path("/suggestion")
     @Operation(
             summary = "Get production suggestion",
             description = "Calculates which products can be produced with available raw materials, " +
-                    "prioritizing products with higher value"
+                    "maximizing the total value. Served from cache until products, raw materials or " +
+                    "bills of materials change. While it is recomputed after a change, concurrent calls " +
+                    "share one computation, or briefly get the previous suggestion with no ETag"
     )
     @APIResponse(responseCode = "200", description = "Production suggestion calculated successfully")
-    public ProductionSuggestionDTO getProductionSuggestion() {
-        return productionSuggestionService.calculateProductionSuggestion();
+    public Response getProductionSuggestion() {
+        ProductionSuggestionCache.Result result = productionSuggestionCache.lookup();
+        Response.ResponseBuilder response = Response.ok(result.getSuggestion());
+        if (result.isStale()) {
+            // Older than the catalog version: must not be stored under its ETag
+            CacheControl cacheControl = new CacheControl();
+            cacheControl.setNoTransform(false);
+            cacheControl.setNoStore(true);
+            response.cacheControl(cacheControl);
+        }
+        return response.build();
+    }
+
+    @GET
+    @CatalogVersioned
+    @Path("/analysis")
+    @Operation(
+            summary = "Get raw material bottlenecks",
+            description = "For each raw material in a bill of materials: stock used and left over by the current " +
+                    "suggestion, and its shadow price, the value one more unit of stock would add. Materials " +
+                    "with a positive shadow price are the ones limiting production"
+    )
+    @APIResponse(responseCode = "200", description = "Analysis calculated successfully")
+    public ProductionAnalysisDTO getProductionAnalysis() {
+        return productionAnalysisService.analyze();
+    }
+
+    @GET
+    @Path("/suggestion/cache")
+    @Operation(summary = "Get suggestion cache statistics", description = "Hit, miss, coalesced, stale, recompute and repair counters")
+    @APIResponse(responseCode = "200", description = "Cache statistics retrieved successfully")
+    public SuggestionCacheStatsDTO getSuggestionCacheStats() {
+        return productionSuggestionCache.getStats();
+    }
+
+    @POST
+    @Path("/scenarios")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Operation(
+            summary = "Compare what-if scenarios",
+            description = "Plans production for each scenario, a set of stock changes and excluded products, " +
+                    "against the same snapshot of the current catalog, and compares it with the current " +
+                    "suggestion. Nothing is saved"
+    )
+    @APIResponses({
+            @APIResponse(responseCode = "200", description = "Scenarios compared successfully"),
+            @APIResponse(responseCode = "400", description = "Invalid or too many scenarios")
+    })
+    public ScenarioComparisonDTO compareScenarios(@Valid ScenarioBatchDTO batch) {
+        return scenarioService.compare(batch.getScenarios());
+    }
+
+    @POST
+    @Path("/requirements")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Operation(
+            summary = "Plan raw material requirements",
+            description = "For a demand, a list of products and quantities, the raw materials it takes through " +
+                    "all levels of the bills of materials, the stock of each, and the quantity to buy. " +
+                    "Repeated products add up. Nothing is saved"
+    )
+    @APIResponses({
+            @APIResponse(responseCode = "200", description = "Requirements planned successfully"),
+            @APIResponse(responseCode = "400", description = "Invalid demand, unknown products or too many lines")
+    })
+    public MaterialRequirementsDTO planRequirements(@Valid DemandDTO demand) {
+        return materialRequirementsService.plan(demand.getLines());
     }
 }
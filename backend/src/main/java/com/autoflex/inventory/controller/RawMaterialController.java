@@ -2,33 +2,60 @@ package com.autoflex.inventory.controller;
 
 import com.autoflex.inventory.dto.RawMaterialDTO;
 import com.autoflex.inventory.service.RawMaterialService;
+import io.smallrye.common.annotation.RunOnVirtualThread;
 import jakarta.inject.Inject;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.UriInfo;
 import org.eclipse.microprofile.openapi.annotations.Operation;
 import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponses;
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+import java.math.BigDecimal;
 import java.net.URI;
-import java.util.List;
 
 @Path("/api/raw-materials")
 @Produces(MediaType.APPLICATION_JSON)
 @Consumes(MediaType.APPLICATION_JSON)
 @Tag(name = "Raw Materials", description = "Raw material management operations")
+@RunOnVirtualThread
 public class RawMaterialController {
 
     @Inject
     RawMaterialService rawMaterialService;
 
     @GET
-    @Operation(summary = "Get all raw materials", description = "Retrieves a list of all raw materials")
-    @APIResponse(responseCode = "200", description = "List of raw materials retrieved successfully")
-    public List<RawMaterialDTO> findAll() {
-        return rawMaterialService.findAll();
+    @CatalogVersioned
+    @Operation(summary = "Get all raw materials",
+            description = "Retrieves a list of all raw materials. When any filter, sort or paging parameter is given, "
+                    + "retrieves one keyset page instead; the cursor of the next page is returned in the "
+                    + "X-Next-Cursor header and as a Link with rel=\"next\"")
+    @APIResponses({
+            @APIResponse(responseCode = "200", description = "List of raw materials retrieved successfully"),
+            @APIResponse(responseCode = "400", description = "Invalid sort, cursor or limit")
+    })
+    public Response findAll(
+            @Parameter(description = "Name contains (case-insensitive)")
+            @QueryParam("name") String name,
+            @Parameter(description = "Minimum stock quantity")
+            @QueryParam("minStock") BigDecimal minStock,
+            @Parameter(description = "Maximum stock quantity")
+            @QueryParam("maxStock") BigDecimal maxStock,
+            @Parameter(description = "name, -name, stock or -stock (default name)")
+            @QueryParam("sort") String sort,
+            @Parameter(description = "Cursor of the next page, from the X-Next-Cursor header")
+            @QueryParam("after") String after,
+            @Parameter(description = "Page size, 1 to 500 (default 50)")
+            @QueryParam("limit") Integer limit,
+            @Context UriInfo uriInfo) {
+        if (name == null && minStock == null && maxStock == null && sort == null && after == null && limit == null) {
+            return Response.ok(rawMaterialService.findAll()).build();
+        }
+        return PageResponses.ok(rawMaterialService.findPage(name, minStock, maxStock, sort, after, limit), uriInfo);
     }
 
     @GET
@@ -46,12 +73,22 @@ public class RawMaterialController {
 
     @GET
     @Path("/search")
-    @Operation(summary = "Search raw materials", description = "Search raw materials by name")
-    @APIResponse(responseCode = "200", description = "Search results retrieved successfully")
-    public List<RawMaterialDTO> search(
+    @Operation(summary = "Search raw materials",
+            description = "Raw materials whose name contains or resembles the term, best match first; tolerates typos. "
+                    + "The cursor of the next page is returned in the X-Next-Cursor header and as a Link with rel=\"next\"")
+    @APIResponses({
+            @APIResponse(responseCode = "200", description = "Search results retrieved successfully"),
+            @APIResponse(responseCode = "400", description = "Invalid cursor or limit")
+    })
+    public Response search(
             @Parameter(description = "Search term")
-            @QueryParam("name") String name) {
-        return rawMaterialService.search(name);
+            @QueryParam("name") String name,
+            @Parameter(description = "Cursor of the next page, from the X-Next-Cursor header")
+            @QueryParam("after") String after,
+            @Parameter(description = "Page size, 1 to 500 (default 50)")
+            @QueryParam("limit") Integer limit,
+            @Context UriInfo uriInfo) {
+        return PageResponses.ok(rawMaterialService.search(name, after, limit), uriInfo);
     }
 
     @POST
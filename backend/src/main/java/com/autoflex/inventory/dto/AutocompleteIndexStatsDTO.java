@@ -0,0 +1,89 @@
+package com.autoflex.inventory.dto;
+
+public class AutocompleteIndexStatsDTO {
+
+    private boolean loaded;
+    private int names;
+    private int keys;
+    private long estimatedBytes;
+    private long rebuilds;
+    private long updates;
+
+    public AutocompleteIndexStatsDTO() {
+    }
+
+    public AutocompleteIndexStatsDTO(boolean loaded, int names, int keys, long estimatedBytes,
+                                     long rebuilds, long updates) {
+        this.loaded = loaded;
+        this.names = names;
+        this.keys = keys;
+        this.estimatedBytes = estimatedBytes;
+        this.rebuilds = rebuilds;
+        this.updates = updates;
+    }
+
+    // Getters and Setters
+
+    /**
+     * False until the first lookup, and after a bulk import until the next one.
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public void setLoaded(boolean loaded) {
+        this.loaded = loaded;
+    }
+
+    public int getNames() {
+        return names;
+    }
+
+    public void setNames(int names) {
+        this.names = names;
+    }
+
+    /**
+     * Word starts indexed, at least one per name.
+     */
+    public int getKeys() {
+        return keys;
+    }
+
+    public void setKeys(int keys) {
+        this.keys = keys;
+    }
+
+    /**
+     * Approximate heap used by the index.
+     */
+    public long getEstimatedBytes() {
+        return estimatedBytes;
+    }
+
+    public void setEstimatedBytes(long estimatedBytes) {
+        this.estimatedBytes = estimatedBytes;
+    }
+
+    /**
+     * Full loads from the database.
+     */
+    public long getRebuilds() {
+        return rebuilds;
+    }
+
+    public void setRebuilds(long rebuilds) {
+        this.rebuilds = rebuilds;
+    }
+
+    /**
+     * Names added, renamed or removed in place.
+     */
+    public long getUpdates() {
+        return updates;
+    }
+
+    public void setUpdates(long updates) {
+        this.updates = updates;
+    }
+}
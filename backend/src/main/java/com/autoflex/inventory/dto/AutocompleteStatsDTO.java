@@ -0,0 +1,32 @@
+package com.autoflex.inventory.dto;
+
+public class AutocompleteStatsDTO {
+
+    private AutocompleteIndexStatsDTO products;
+    private AutocompleteIndexStatsDTO rawMaterials;
+
+    public AutocompleteStatsDTO() {
+    }
+
+    public AutocompleteStatsDTO(AutocompleteIndexStatsDTO products, AutocompleteIndexStatsDTO rawMaterials) {
+        this.products = products;
+        this.rawMaterials = rawMaterials;
+    }
+
+    // Getters and Setters
+    public AutocompleteIndexStatsDTO getProducts() {
+        return products;
+    }
+
+    public void setProducts(AutocompleteIndexStatsDTO products) {
+        this.products = products;
+    }
+
+    public AutocompleteIndexStatsDTO getRawMaterials() {
+        return rawMaterials;
+    }
+
+    public void setRawMaterials(AutocompleteIndexStatsDTO rawMaterials) {
+        this.rawMaterials = rawMaterials;
+    }
+}
@@ -0,0 +1,52 @@
+package com.autoflex.inventory.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * One bill of materials line with everything the production planner needs,
+ * read in a single projection query.
+ */
+public class BomLineDTO {
+
+    private final Long productId;
+    private final String productName;
+    private final BigDecimal productValue;
+    private final Long rawMaterialId;
+    private final BigDecimal requiredQuantity;
+    private final BigDecimal stockQuantity;
+
+    public BomLineDTO(Long productId, String productName, BigDecimal productValue,
+                      Long rawMaterialId, BigDecimal requiredQuantity, BigDecimal stockQuantity) {
+        this.productId = productId;
+        this.productName = productName;
+        this.productValue = productValue;
+        this.rawMaterialId = rawMaterialId;
+        this.requiredQuantity = requiredQuantity;
+        this.stockQuantity = stockQuantity;
+    }
+
+    // Getters
+    public Long getProductId() {
+        return productId;
+    }
+
+    public String getProductName() {
+        return productName;
+    }
+
+    public BigDecimal getProductValue() {
+        return productValue;
+    }
+
+    public Long getRawMaterialId() {
+        return rawMaterialId;
+    }
+
+    public BigDecimal getRequiredQuantity() {
+        return requiredQuantity;
+    }
+
+    public BigDecimal getStockQuantity() {
+        return stockQuantity;
+    }
+}
@@ -0,0 +1,53 @@
+package com.autoflex.inventory.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import java.math.BigDecimal;
+
+public class BomLineImportDTO {
+
+    @NotBlank(message = "Product name is required")
+    private String productName;
+
+    @NotBlank(message = "Raw material name is required")
+    private String rawMaterialName;
+
+    @NotNull(message = "Required quantity is mandatory")
+    @Positive(message = "Required quantity must be positive")
+    private BigDecimal requiredQuantity;
+
+    public BomLineImportDTO() {
+    }
+
+    public BomLineImportDTO(String productName, String rawMaterialName, BigDecimal requiredQuantity) {
+        this.productName = productName;
+        this.rawMaterialName = rawMaterialName;
+        this.requiredQuantity = requiredQuantity;
+    }
+
+    // Getters and Setters
+    public String getProductName() {
+        return productName;
+    }
+
+    public void setProductName(String productName) {
+        this.productName = productName;
+    }
+
+    public String getRawMaterialName() {
+        return rawMaterialName;
+    }
+
+    public void setRawMaterialName(String rawMaterialName) {
+        this.rawMaterialName = rawMaterialName;
+    }
+
+    public BigDecimal getRequiredQuantity() {
+        return requiredQuantity;
+    }
+
+    public void setRequiredQuantity(BigDecimal requiredQuantity) {
+        this.requiredQuantity = requiredQuantity;
+    }
+}
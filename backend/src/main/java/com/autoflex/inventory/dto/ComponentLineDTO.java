@@ -0,0 +1,33 @@
+package com.autoflex.inventory.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * One component line of a multi-level bill of materials: units of
+ * {@code componentId} that one unit of {@code productId} takes.
+ */
+public class ComponentLineDTO {
+
+    private final Long productId;
+    private final Long componentId;
+    private final BigDecimal requiredQuantity;
+
+    public ComponentLineDTO(Long productId, Long componentId, BigDecimal requiredQuantity) {
+        this.productId = productId;
+        this.componentId = componentId;
+        this.requiredQuantity = requiredQuantity;
+    }
+
+    // Getters
+    public Long getProductId() {
+        return productId;
+    }
+
+    public Long getComponentId() {
+        return componentId;
+    }
+
+    public BigDecimal getRequiredQuantity() {
+        return requiredQuantity;
+    }
+}
@@ -0,0 +1,28 @@
+package com.autoflex.inventory.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import java.util.List;
+
+public class DemandDTO {
+
+    @NotEmpty(message = "At least one demand line is required")
+    @Valid
+    private List<DemandLineDTO> lines;
+
+    public DemandDTO() {
+    }
+
+    public DemandDTO(List<DemandLineDTO> lines) {
+        this.lines = lines;
+    }
+
+    // Getters and Setters
+    public List<DemandLineDTO> getLines() {
+        return lines;
+    }
+
+    public void setLines(List<DemandLineDTO> lines) {
+        this.lines = lines;
+    }
+}
@@ -0,0 +1,36 @@
+package com.autoflex.inventory.dto;
+
+public class ImportErrorDTO {
+
+    private int row;
+    private String message;
+
+    public ImportErrorDTO() {
+    }
+
+    public ImportErrorDTO(int row, String message) {
+        this.row = row;
+        this.message = message;
+    }
+
+    // Getters and Setters
+
+    /**
+     * 1-based position of the row in the input, not counting a CSV header.
+     */
+    public int getRow() {
+        return row;
+    }
+
+    public void setRow(int row) {
+        this.row = row;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
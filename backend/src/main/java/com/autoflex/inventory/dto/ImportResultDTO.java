@@ -0,0 +1,44 @@
+package com.autoflex.inventory.dto;
+
+import java.util.List;
+
+public class ImportResultDTO {
+
+    private int received;
+    private int imported;
+    private List<ImportErrorDTO> errors;
+
+    public ImportResultDTO() {
+    }
+
+    public ImportResultDTO(int received, int imported, List<ImportErrorDTO> errors) {
+        this.received = received;
+        this.imported = imported;
+        this.errors = errors;
+    }
+
+    // Getters and Setters
+    public int getReceived() {
+        return received;
+    }
+
+    public void setReceived(int received) {
+        this.received = received;
+    }
+
+    public int getImported() {
+        return imported;
+    }
+
+    public void setImported(int imported) {
+        this.imported = imported;
+    }
+
+    public List<ImportErrorDTO> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<ImportErrorDTO> errors) {
+        this.errors = errors;
+    }
+}
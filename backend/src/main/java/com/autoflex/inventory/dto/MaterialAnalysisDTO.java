@@ -0,0 +1,87 @@
+package com.autoflex.inventory.dto;
+
+import java.math.BigDecimal;
+
+public class MaterialAnalysisDTO {
+
+    private Long rawMaterialId;
+    private String rawMaterialName;
+    private BigDecimal stockQuantity;
+    private BigDecimal usedQuantity;
+    private BigDecimal leftoverQuantity;
+    // Value added to the plan per extra unit of stock; null when it could not be computed in time
+    private BigDecimal shadowPrice;
+    private boolean binding;
+
+    public MaterialAnalysisDTO() {
+    }
+
+    public MaterialAnalysisDTO(Long rawMaterialId, String rawMaterialName, BigDecimal stockQuantity,
+                               BigDecimal usedQuantity, BigDecimal leftoverQuantity, BigDecimal shadowPrice,
+                               boolean binding) {
+        this.rawMaterialId = rawMaterialId;
+        this.rawMaterialName = rawMaterialName;
+        this.stockQuantity = stockQuantity;
+        this.usedQuantity = usedQuantity;
+        this.leftoverQuantity = leftoverQuantity;
+        this.shadowPrice = shadowPrice;
+        this.binding = binding;
+    }
+
+    // Getters and Setters
+    public Long getRawMaterialId() {
+        return rawMaterialId;
+    }
+
+    public void setRawMaterialId(Long rawMaterialId) {
+        this.rawMaterialId = rawMaterialId;
+    }
+
+    public String getRawMaterialName() {
+        return rawMaterialName;
+    }
+
+    public void setRawMaterialName(String rawMaterialName) {
+        this.rawMaterialName = rawMaterialName;
+    }
+
+    public BigDecimal getStockQuantity() {
+        return stockQuantity;
+    }
+
+    public void setStockQuantity(BigDecimal stockQuantity) {
+        this.stockQuantity = stockQuantity;
+    }
+
+    public BigDecimal getUsedQuantity() {
+        return usedQuantity;
+    }
+
+    public void setUsedQuantity(BigDecimal usedQuantity) {
+        this.usedQuantity = usedQuantity;
+    }
+
+    public BigDecimal getLeftoverQuantity() {
+        return leftoverQuantity;
+    }
+
+    public void setLeftoverQuantity(BigDecimal leftoverQuantity) {
+        this.leftoverQuantity = leftoverQuantity;
+    }
+
+    public BigDecimal getShadowPrice() {
+        return shadowPrice;
+    }
+
+    public void setShadowPrice(BigDecimal shadowPrice) {
+        this.shadowPrice = shadowPrice;
+    }
+
+    public boolean isBinding() {
+        return binding;
+    }
+
+    public void setBinding(boolean binding) {
+        this.binding = binding;
+    }
+}
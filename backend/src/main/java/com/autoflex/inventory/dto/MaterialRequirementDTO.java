@@ -0,0 +1,65 @@
+package com.autoflex.inventory.dto;
+
+import java.math.BigDecimal;
+
+public class MaterialRequirementDTO {
+
+    private Long rawMaterialId;
+    private String rawMaterialName;
+    private BigDecimal grossQuantity;
+    private BigDecimal stockQuantity;
+    private BigDecimal purchaseQuantity;
+
+    public MaterialRequirementDTO() {
+    }
+
+    public MaterialRequirementDTO(Long rawMaterialId, String rawMaterialName, BigDecimal grossQuantity,
+                                  BigDecimal stockQuantity, BigDecimal purchaseQuantity) {
+        this.rawMaterialId = rawMaterialId;
+        this.rawMaterialName = rawMaterialName;
+        this.grossQuantity = grossQuantity;
+        this.stockQuantity = stockQuantity;
+        this.purchaseQuantity = purchaseQuantity;
+    }
+
+    // Getters and Setters
+    public Long getRawMaterialId() {
+        return rawMaterialId;
+    }
+
+    public void setRawMaterialId(Long rawMaterialId) {
+        this.rawMaterialId = rawMaterialId;
+    }
+
+    public String getRawMaterialName() {
+        return rawMaterialName;
+    }
+
+    public void setRawMaterialName(String rawMaterialName) {
+        this.rawMaterialName = rawMaterialName;
+    }
+
+    public BigDecimal getGrossQuantity() {
+        return grossQuantity;
+    }
+
+    public void setGrossQuantity(BigDecimal grossQuantity) {
+        this.grossQuantity = grossQuantity;
+    }
+
+    public BigDecimal getStockQuantity() {
+        return stockQuantity;
+    }
+
+    public void setStockQuantity(BigDecimal stockQuantity) {
+        this.stockQuantity = stockQuantity;
+    }
+
+    public BigDecimal getPurchaseQuantity() {
+        return purchaseQuantity;
+    }
+
+    public void setPurchaseQuantity(BigDecimal purchaseQuantity) {
+        this.purchaseQuantity = purchaseQuantity;
+    }
+}
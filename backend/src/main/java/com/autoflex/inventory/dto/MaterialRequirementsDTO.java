@@ -0,0 +1,34 @@
+package com.autoflex.inventory.dto;
+
+import java.util.List;
+
+public class MaterialRequirementsDTO {
+
+    private int products;
+    private List<MaterialRequirementDTO> materials;
+
+    public MaterialRequirementsDTO() {
+    }
+
+    public MaterialRequirementsDTO(int products, List<MaterialRequirementDTO> materials) {
+        this.products = products;
+        this.materials = materials;
+    }
+
+    // Getters and Setters
+    public int getProducts() {
+        return products;
+    }
+
+    public void setProducts(int products) {
+        this.products = products;
+    }
+
+    public List<MaterialRequirementDTO> getMaterials() {
+        return materials;
+    }
+
+    public void setMaterials(List<MaterialRequirementDTO> materials) {
+        this.materials = materials;
+    }
+}
@@ -0,0 +1,32 @@
+package com.autoflex.inventory.dto;
+
+public class NameSuggestionDTO {
+
+    private Long id;
+    private String name;
+
+    public NameSuggestionDTO() {
+    }
+
+    public NameSuggestionDTO(Long id, String name) {
+        this.id = id;
+        this.name = name;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+}
@@ -0,0 +1,37 @@
+package com.autoflex.inventory.dto;
+
+import java.util.List;
+
+public class PageDTO<T> {
+
+    private List<T> items;
+    private String nextCursor;
+
+    public PageDTO() {
+    }
+
+    public PageDTO(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters and Setters
+    public List<T> getItems() {
+        return items;
+    }
+
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+
+    /**
+     * Cursor of the next page, or null on the last page.
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -0,0 +1,62 @@
+package com.autoflex.inventory.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import java.math.BigDecimal;
+
+public class ProductComponentDTO {
+
+    private Long id;
+
+    @NotNull(message = "Component ID is required")
+    private Long componentId;
+
+    private String componentName;
+
+    @NotNull(message = "Required quantity is mandatory")
+    @Positive(message = "Required quantity must be positive")
+    private BigDecimal requiredQuantity;
+
+    public ProductComponentDTO() {
+    }
+
+    public ProductComponentDTO(Long id, Long componentId, String componentName, BigDecimal requiredQuantity) {
+        this.id = id;
+        this.componentId = componentId;
+        this.componentName = componentName;
+        this.requiredQuantity = requiredQuantity;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getComponentId() {
+        return componentId;
+    }
+
+    public void setComponentId(Long componentId) {
+        this.componentId = componentId;
+    }
+
+    public String getComponentName() {
+        return componentName;
+    }
+
+    public void setComponentName(String componentName) {
+        this.componentName = componentName;
+    }
+
+    public BigDecimal getRequiredQuantity() {
+        return requiredQuantity;
+    }
+
+    public void setRequiredQuantity(BigDecimal requiredQuantity) {
+        this.requiredQuantity = requiredQuantity;
+    }
+}
@@ -0,0 +1,46 @@
+package com.autoflex.inventory.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public class ProductionAnalysisDTO {
+
+    private BigDecimal totalValue;
+    private boolean optimal;
+    // Most valuable to restock first
+    private List<MaterialAnalysisDTO> materials;
+
+    public ProductionAnalysisDTO() {
+    }
+
+    public ProductionAnalysisDTO(BigDecimal totalValue, boolean optimal, List<MaterialAnalysisDTO> materials) {
+        this.totalValue = totalValue;
+        this.optimal = optimal;
+        this.materials = materials;
+    }
+
+    // Getters and Setters
+    public BigDecimal getTotalValue() {
+        return totalValue;
+    }
+
+    public void setTotalValue(BigDecimal totalValue) {
+        this.totalValue = totalValue;
+    }
+
+    public boolean isOptimal() {
+        return optimal;
+    }
+
+    public void setOptimal(boolean optimal) {
+        this.optimal = optimal;
+    }
+
+    public List<MaterialAnalysisDTO> getMaterials() {
+        return materials;
+    }
+
+    public void setMaterials(List<MaterialAnalysisDTO> materials) {
+        this.materials = materials;
+    }
+}
@@ -7,6 +7,7 @@ public class ProductionSuggestionDTO {
 
     private List<ProductionItemDTO> items;
     private BigDecimal totalValue;
+    private boolean optimal;
 
     public ProductionSuggestionDTO() {
     }
@@ -16,6 +17,12 @@ public class ProductionSuggestionDTO {
         this.totalValue = totalValue;
     }
 
+    public ProductionSuggestionDTO(List<ProductionItemDTO> items, BigDecimal totalValue, boolean optimal) {
+        this.items = items;
+        this.totalValue = totalValue;
+        this.optimal = optimal;
+    }
+
     // Getters and Setters
     public List<ProductionItemDTO> getItems() {
         return items;
@@ -32,4 +39,12 @@ public class ProductionSuggestionDTO {
     public void setTotalValue(BigDecimal totalValue) {
         this.totalValue = totalValue;
     }
+
+    public boolean isOptimal() {
+        return optimal;
+    }
+
+    public void setOptimal(boolean optimal) {
+        this.optimal = optimal;
+    }
 }
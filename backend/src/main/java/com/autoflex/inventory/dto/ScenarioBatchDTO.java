@@ -0,0 +1,28 @@
+package com.autoflex.inventory.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import java.util.List;
+
+public class ScenarioBatchDTO {
+
+    @NotEmpty(message = "At least one scenario is required")
+    @Valid
+    private List<ScenarioDTO> scenarios;
+
+    public ScenarioBatchDTO() {
+    }
+
+    public ScenarioBatchDTO(List<ScenarioDTO> scenarios) {
+        this.scenarios = scenarios;
+    }
+
+    // Getters and Setters
+    public List<ScenarioDTO> getScenarios() {
+        return scenarios;
+    }
+
+    public void setScenarios(List<ScenarioDTO> scenarios) {
+        this.scenarios = scenarios;
+    }
+}
@@ -0,0 +1,34 @@
+package com.autoflex.inventory.dto;
+
+import java.util.List;
+
+public class ScenarioComparisonDTO {
+
+    private ScenarioResultDTO baseline;
+    private List<ScenarioResultDTO> scenarios;
+
+    public ScenarioComparisonDTO() {
+    }
+
+    public ScenarioComparisonDTO(ScenarioResultDTO baseline, List<ScenarioResultDTO> scenarios) {
+        this.baseline = baseline;
+        this.scenarios = scenarios;
+    }
+
+    // Getters and Setters
+    public ScenarioResultDTO getBaseline() {
+        return baseline;
+    }
+
+    public void setBaseline(ScenarioResultDTO baseline) {
+        this.baseline = baseline;
+    }
+
+    public List<ScenarioResultDTO> getScenarios() {
+        return scenarios;
+    }
+
+    public void setScenarios(List<ScenarioResultDTO> scenarios) {
+        this.scenarios = scenarios;
+    }
+}
@@ -0,0 +1,52 @@
+package com.autoflex.inventory.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ScenarioDTO {
+
+    @NotBlank(message = "Scenario name is required")
+    private String name;
+
+    // Quantities added to (or, when negative, taken from) the current stock
+    @Valid
+    private List<StockChangeDTO> stockChanges = new ArrayList<>();
+
+    private List<Long> excludedProductIds = new ArrayList<>();
+
+    public ScenarioDTO() {
+    }
+
+    public ScenarioDTO(String name, List<StockChangeDTO> stockChanges, List<Long> excludedProductIds) {
+        this.name = name;
+        this.stockChanges = stockChanges;
+        this.excludedProductIds = excludedProductIds;
+    }
+
+    // Getters and Setters
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public List<StockChangeDTO> getStockChanges() {
+        return stockChanges;
+    }
+
+    public void setStockChanges(List<StockChangeDTO> stockChanges) {
+        this.stockChanges = stockChanges;
+    }
+
+    public List<Long> getExcludedProductIds() {
+        return excludedProductIds;
+    }
+
+    public void setExcludedProductIds(List<Long> excludedProductIds) {
+        this.excludedProductIds = excludedProductIds;
+    }
+}
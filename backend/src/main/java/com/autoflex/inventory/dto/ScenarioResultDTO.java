@@ -0,0 +1,67 @@
+package com.autoflex.inventory.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public class ScenarioResultDTO {
+
+    private String name;
+    private BigDecimal totalValue;
+    // Difference from the total value of the current catalog
+    private BigDecimal valueChange;
+    private boolean optimal;
+    private List<ProductionItemDTO> items;
+
+    public ScenarioResultDTO() {
+    }
+
+    public ScenarioResultDTO(String name, BigDecimal totalValue, BigDecimal valueChange, boolean optimal,
+                             List<ProductionItemDTO> items) {
+        this.name = name;
+        this.totalValue = totalValue;
+        this.valueChange = valueChange;
+        this.optimal = optimal;
+        this.items = items;
+    }
+
+    // Getters and Setters
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public BigDecimal getTotalValue() {
+        return totalValue;
+    }
+
+    public void setTotalValue(BigDecimal totalValue) {
+        this.totalValue = totalValue;
+    }
+
+    public BigDecimal getValueChange() {
+        return valueChange;
+    }
+
+    public void setValueChange(BigDecimal valueChange) {
+        this.valueChange = valueChange;
+    }
+
+    public boolean isOptimal() {
+        return optimal;
+    }
+
+    public void setOptimal(boolean optimal) {
+        this.optimal = optimal;
+    }
+
+    public List<ProductionItemDTO> getItems() {
+        return items;
+    }
+
+    public void setItems(List<ProductionItemDTO> items) {
+        this.items = items;
+    }
+}
@@ -0,0 +1,41 @@
+package com.autoflex.inventory.dto;
+
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotNull;
+import java.math.BigDecimal;
+
+public class StockChangeDTO {
+
+    @NotNull(message = "Raw material ID is required")
+    private Long rawMaterialId;
+
+    // Same precision as the stock_quantity column
+    @NotNull(message = "Quantity is required")
+    @Digits(integer = 11, fraction = 4, message = "Quantity must have at most 11 integer digits and 4 decimals")
+    private BigDecimal quantity;
+
+    public StockChangeDTO() {
+    }
+
+    public StockChangeDTO(Long rawMaterialId, BigDecimal quantity) {
+        this.rawMaterialId = rawMaterialId;
+        this.quantity = quantity;
+    }
+
+    // Getters and Setters
+    public Long getRawMaterialId() {
+        return rawMaterialId;
+    }
+
+    public void setRawMaterialId(Long rawMaterialId) {
+        this.rawMaterialId = rawMaterialId;
+    }
+
+    public BigDecimal getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(BigDecimal quantity) {
+        this.quantity = quantity;
+    }
+}
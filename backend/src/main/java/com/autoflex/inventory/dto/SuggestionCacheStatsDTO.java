@@ -0,0 +1,72 @@
+package com.autoflex.inventory.dto;
+
+public class SuggestionCacheStatsDTO {
+
+    private long hits;
+    private long misses;
+    private long coalesced;
+    private long stale;
+    private long recomputes;
+    private long repairs;
+
+    public SuggestionCacheStatsDTO() {
+    }
+
+    public SuggestionCacheStatsDTO(long hits, long misses, long coalesced, long stale, long recomputes, long repairs) {
+        this.hits = hits;
+        this.misses = misses;
+        this.coalesced = coalesced;
+        this.stale = stale;
+        this.recomputes = recomputes;
+        this.repairs = repairs;
+    }
+
+    // Getters and Setters
+    public long getHits() {
+        return hits;
+    }
+
+    public void setHits(long hits) {
+        this.hits = hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public void setMisses(long misses) {
+        this.misses = misses;
+    }
+
+    public long getCoalesced() {
+        return coalesced;
+    }
+
+    public void setCoalesced(long coalesced) {
+        this.coalesced = coalesced;
+    }
+
+    public long getStale() {
+        return stale;
+    }
+
+    public void setStale(long stale) {
+        this.stale = stale;
+    }
+
+    public long getRecomputes() {
+        return recomputes;
+    }
+
+    public void setRecomputes(long recomputes) {
+        this.recomputes = recomputes;
+    }
+
+    public long getRepairs() {
+        return repairs;
+    }
+
+    public void setRepairs(long repairs) {
+        this.repairs = repairs;
+    }
+}
@@ -8,13 +8,22 @@ import jakarta.validation.constraints.Positive;
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
-@Table(name = "products")
+@Cacheable
+@Table(name = "products", indexes = {
+        // Keyset pagination seeks on (sort column, id)
+        @Index(name = "idx_products_name_id", columnList = "name, id"),
+        @Index(name = "idx_products_value_id", columnList = "value, id")
+})
 public class Product extends PanacheEntityBase {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Pooled sequence: ids are reserved 50 at a time, so inserts can be batched
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "products_seq")
+    @SequenceGenerator(name = "products_seq", sequenceName = "products_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Product name is required")
@@ -26,7 +35,9 @@ public class Product extends PanacheEntityBase {
     @Column(nullable = false, precision = 15, scale = 2)
     private BigDecimal value;
 
+    // Cached as the ids of the lines; the lines and their raw materials come from their own regions
     @OneToMany(mappedBy = "product", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     private List<ProductRawMaterial> rawMaterials = new ArrayList<>();
 
     public Product() {
@@ -0,0 +1,96 @@
+package com.autoflex.inventory.entity;
+
+import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * A product used as a sub-assembly of another: making one unit of
+ * {@code product} takes {@code requiredQuantity} units of {@code component}.
+ */
+@Entity
+@Table(name = "product_components", uniqueConstraints = {
+        @UniqueConstraint(name = "ux_product_components_product_component",
+                columnNames = {"product_id", "component_id"})
+})
+public class ProductComponent extends PanacheEntityBase {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_components_seq")
+    @SequenceGenerator(name = "product_components_seq", sequenceName = "product_components_seq", allocationSize = 50)
+    private Long id;
+
+    @NotNull
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "product_id", nullable = false)
+    private Product product;
+
+    @NotNull
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "component_id", nullable = false)
+    private Product component;
+
+    @NotNull(message = "Required quantity is mandatory")
+    @Positive(message = "Required quantity must be positive")
+    @Column(name = "required_quantity", nullable = false, precision = 15, scale = 4)
+    private BigDecimal requiredQuantity;
+
+    public ProductComponent() {
+    }
+
+    public ProductComponent(Product product, Product component, BigDecimal requiredQuantity) {
+        this.product = product;
+        this.component = component;
+        this.requiredQuantity = requiredQuantity;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Product getProduct() {
+        return product;
+    }
+
+    public void setProduct(Product product) {
+        this.product = product;
+    }
+
+    public Product getComponent() {
+        return component;
+    }
+
+    public void setComponent(Product component) {
+        this.component = component;
+    }
+
+    public BigDecimal getRequiredQuantity() {
+        return requiredQuantity;
+    }
+
+    public void setRequiredQuantity(BigDecimal requiredQuantity) {
+        this.requiredQuantity = requiredQuantity;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ProductComponent that = (ProductComponent) o;
+        return Objects.equals(product, that.product) &&
+               Objects.equals(component, that.component);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(product, component);
+    }
+}
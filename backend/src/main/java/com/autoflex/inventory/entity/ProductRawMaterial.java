@@ -8,11 +8,16 @@ import java.math.BigDecimal;
 import java.util.Objects;
 
 @Entity
-@Table(name = "product_raw_materials")
+@Cacheable
+@Table(name = "product_raw_materials", uniqueConstraints = {
+        @UniqueConstraint(name = "ux_product_raw_materials_product_material",
+                columnNames = {"product_id", "raw_material_id"})
+})
 public class ProductRawMaterial extends PanacheEntityBase {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_raw_materials_seq")
+    @SequenceGenerator(name = "product_raw_materials_seq", sequenceName = "product_raw_materials_seq", allocationSize = 50)
     private Long id;
 
     @NotNull
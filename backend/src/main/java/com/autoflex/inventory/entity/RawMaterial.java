@@ -10,11 +10,17 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "raw_materials")
+@Cacheable
+@Table(name = "raw_materials", indexes = {
+        // Keyset pagination seeks on (sort column, id)
+        @Index(name = "idx_raw_materials_name_id", columnList = "name, id"),
+        @Index(name = "idx_raw_materials_stock_id", columnList = "stock_quantity, id")
+})
 public class RawMaterial extends PanacheEntityBase {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "raw_materials_seq")
+    @SequenceGenerator(name = "raw_materials_seq", sequenceName = "raw_materials_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Raw material name is required")
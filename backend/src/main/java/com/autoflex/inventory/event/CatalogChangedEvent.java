@@ -0,0 +1,72 @@
+package com.autoflex.inventory.event;
+
+import java.math.BigDecimal;
+
+/**
+ * Fired by the services whenever products, raw materials or bills of materials
+ * change. Observers that cache derived data should listen after the
+ * transaction succeeds.
+ */
+public class CatalogChangedEvent {
+
+    public enum Type {
+        RAW_MATERIAL_CREATED,
+        RAW_MATERIAL_UPDATED,
+        RAW_MATERIAL_DELETED,
+        PRODUCT_CREATED,
+        PRODUCT_UPDATED,
+        PRODUCT_DELETED,
+        BILL_OF_MATERIALS_CHANGED
+    }
+
+    private final Type type;
+    private final Long id;
+    private final String name;
+    private final BigDecimal stockQuantity;
+
+    private CatalogChangedEvent(Type type, Long id, String name, BigDecimal stockQuantity) {
+        this.type = type;
+        this.id = id;
+        this.name = name;
+        this.stockQuantity = stockQuantity;
+    }
+
+    public static CatalogChangedEvent of(Type type, Long id) {
+        return new CatalogChangedEvent(type, id, null, null);
+    }
+
+    public static CatalogChangedEvent of(Type type, Long id, String name) {
+        return new CatalogChangedEvent(type, id, name, null);
+    }
+
+    public static CatalogChangedEvent rawMaterialUpdated(Long id, String name, BigDecimal stockQuantity) {
+        return new CatalogChangedEvent(Type.RAW_MATERIAL_UPDATED, id, name, stockQuantity);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Id of the changed raw material or product. For bill of materials changes
+     * it is the product id. Null when a bulk import changed several at once.
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Current name of a created or updated raw material or product, null for
+     * other events.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * New stock of an updated raw material, null for other events.
+     */
+    public BigDecimal getStockQuantity() {
+        return stockQuantity;
+    }
+}
@@ -2,6 +2,7 @@ package com.autoflex.inventory.exception;
 
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
+import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.ext.ExceptionMapper;
 import jakarta.ws.rs.ext.Provider;
@@ -47,6 +48,7 @@ public class GlobalExceptionMapper implements ExceptionMapper<Exception> {
         body.put("errors", errors);
 
         return Response.status(Response.Status.BAD_REQUEST)
+                .type(MediaType.APPLICATION_JSON)
                 .entity(body)
                 .build();
     }
@@ -56,7 +58,9 @@ public class GlobalExceptionMapper implements ExceptionMapper<Exception> {
         body.put("message", message);
         body.put("status", status.getStatusCode());
 
+        // JSON even when the endpoint produces something else, like the catalog export
         return Response.status(status)
+                .type(MediaType.APPLICATION_JSON)
                 .entity(body)
                 .build();
     }
@@ -0,0 +1,51 @@
+package com.autoflex.inventory.jfr;
+
+import com.autoflex.inventory.planner.BomMatrix;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The production planner reading the bill of materials and compiling it into
+ * a matrix.
+ */
+@Name("com.autoflex.inventory.BomLoad")
+@Label("Bill of Materials Load")
+@Category({"Autoflex Inventory", "Planner"})
+@Description("Bill of materials read and compiled for the planner")
+@StackTrace(false)
+public class BomLoadEvent extends jdk.jfr.Event {
+
+    @Label("Read Path")
+    String readPath;
+
+    @Label("Products")
+    int products;
+
+    @Label("Materials")
+    int materials;
+
+    @Label("Lines")
+    int lines;
+
+    public static BomLoadEvent start(String readPath) {
+        BomLoadEvent event = new BomLoadEvent();
+        if (event.isEnabled()) {
+            event.readPath = readPath;
+            event.begin();
+        }
+        return event;
+    }
+
+    public void finish(BomMatrix matrix) {
+        end();
+        if (shouldCommit()) {
+            products = matrix.productCount();
+            materials = matrix.materialCount();
+            lines = matrix.rowStart(matrix.productCount());
+            commit();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.autoflex.inventory.jfr;
+
+import com.autoflex.inventory.metrics.StatementCounter;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Entities turned into DTOs by a mapper. Statements run while mapping are
+ * lazy loads.
+ */
+@Name("com.autoflex.inventory.Mapping")
+@Label("DTO Mapping")
+@Category({"Autoflex Inventory", "Mapping"})
+@Description("Entities mapped to DTOs")
+@StackTrace(false)
+public class MappingEvent extends jdk.jfr.Event {
+
+    @Label("Mapper")
+    String mapper;
+
+    @Label("Entities")
+    int entities;
+
+    @Label("Statements")
+    @Description("SQL statements run while mapping (lazy loads), -1 outside a request")
+    long statements;
+
+    private transient long statementsBefore;
+
+    public static MappingEvent start(String mapper, int entities) {
+        MappingEvent event = new MappingEvent();
+        if (event.isEnabled()) {
+            event.mapper = mapper;
+            event.entities = entities;
+            event.statementsBefore = StatementCounter.current();
+            event.begin();
+        }
+        return event;
+    }
+
+    public void finish() {
+        end();
+        if (shouldCommit()) {
+            this.statements = Phases.statementsSince(statementsBefore);
+            commit();
+        }
+    }
+}
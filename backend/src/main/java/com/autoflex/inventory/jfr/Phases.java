@@ -0,0 +1,14 @@
+package com.autoflex.inventory.jfr;
+
+import com.autoflex.inventory.metrics.StatementCounter;
+
+final class Phases {
+
+    private Phases() {
+    }
+
+    static long statementsSince(long before) {
+        long now = StatementCounter.current();
+        return before < 0 || now < 0 ? -1 : now - before;
+    }
+}
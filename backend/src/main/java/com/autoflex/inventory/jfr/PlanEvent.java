@@ -0,0 +1,51 @@
+package com.autoflex.inventory.jfr;
+
+import com.autoflex.inventory.planner.ProductionPlan;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One run of the production optimizer over a compiled bill of materials.
+ */
+@Name("com.autoflex.inventory.Plan")
+@Label("Production Plan")
+@Category({"Autoflex Inventory", "Planner"})
+@Description("Production optimizer run")
+@StackTrace(false)
+public class PlanEvent extends jdk.jfr.Event {
+
+    @Label("Optimizer")
+    String optimizer;
+
+    @Label("Products")
+    int products;
+
+    @Label("Iterations")
+    @Description("Products visited by the greedy pass, nodes explored by branch and bound")
+    long iterations;
+
+    @Label("Optimal")
+    boolean optimal;
+
+    public static PlanEvent start(String optimizer, int products) {
+        PlanEvent event = new PlanEvent();
+        if (event.isEnabled()) {
+            event.optimizer = optimizer;
+            event.products = products;
+            event.begin();
+        }
+        return event;
+    }
+
+    public void finish(ProductionPlan plan) {
+        end();
+        if (shouldCommit()) {
+            iterations = plan.iterations();
+            optimal = plan.isOptimal();
+            commit();
+        }
+    }
+}
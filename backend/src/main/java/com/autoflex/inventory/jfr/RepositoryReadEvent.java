@@ -0,0 +1,50 @@
+package com.autoflex.inventory.jfr;
+
+import com.autoflex.inventory.metrics.StatementCounter;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One catalog read through Hibernate, from the query to the loaded entities.
+ */
+@Name("com.autoflex.inventory.RepositoryRead")
+@Label("Repository Read")
+@Category({"Autoflex Inventory", "Repository"})
+@Description("Catalog read through Hibernate")
+@StackTrace(false)
+public class RepositoryReadEvent extends jdk.jfr.Event {
+
+    @Label("Query")
+    String query;
+
+    @Label("Rows")
+    int rows;
+
+    @Label("Statements")
+    @Description("SQL statements run by the read, -1 outside a request")
+    long statements;
+
+    private transient long statementsBefore;
+
+    public static RepositoryReadEvent start(String query) {
+        RepositoryReadEvent event = new RepositoryReadEvent();
+        if (event.isEnabled()) {
+            event.query = query;
+            event.statementsBefore = StatementCounter.current();
+            event.begin();
+        }
+        return event;
+    }
+
+    public void finish(int rows) {
+        end();
+        if (shouldCommit()) {
+            this.rows = rows;
+            this.statements = Phases.statementsSince(statementsBefore);
+            commit();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.autoflex.inventory.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A response body written by a message body writer (Jackson for JSON).
+ */
+@Name("com.autoflex.inventory.Serialization")
+@Label("Response Serialization")
+@Category({"Autoflex Inventory", "Serialization"})
+@Description("Response entity written to the client")
+@StackTrace(false)
+public class SerializationEvent extends jdk.jfr.Event {
+
+    @Label("Type")
+    String type;
+
+    @Label("Media Type")
+    String mediaType;
+
+    @Label("Bytes")
+    @DataAmount
+    long bytes;
+}
@@ -0,0 +1,60 @@
+package com.autoflex.inventory.jfr;
+
+import jakarta.ws.rs.ext.Provider;
+import jakarta.ws.rs.ext.WriterInterceptor;
+import jakarta.ws.rs.ext.WriterInterceptorContext;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Emits a {@link SerializationEvent} around every response body write while
+ * a recording has the event enabled.
+ */
+@Provider
+public class SerializationEventInterceptor implements WriterInterceptor {
+
+    @Override
+    public void aroundWriteTo(WriterInterceptorContext context) throws IOException {
+        SerializationEvent event = new SerializationEvent();
+        if (!event.isEnabled()) {
+            context.proceed();
+            return;
+        }
+        CountingOutputStream out = new CountingOutputStream(context.getOutputStream());
+        context.setOutputStream(out);
+        event.begin();
+        try {
+            context.proceed();
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.type = context.getType().getSimpleName();
+                event.mediaType = String.valueOf(context.getMediaType());
+                event.bytes = out.count;
+                event.commit();
+            }
+        }
+    }
+
+    private static final class CountingOutputStream extends FilterOutputStream {
+
+        long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
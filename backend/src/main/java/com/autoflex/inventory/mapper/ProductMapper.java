@@ -1,9 +1,12 @@
 package com.autoflex.inventory.mapper;
 
+import com.autoflex.inventory.dto.ProductComponentDTO;
 import com.autoflex.inventory.dto.ProductDTO;
 import com.autoflex.inventory.dto.ProductRawMaterialDTO;
 import com.autoflex.inventory.entity.Product;
+import com.autoflex.inventory.entity.ProductComponent;
 import com.autoflex.inventory.entity.ProductRawMaterial;
+import com.autoflex.inventory.jfr.MappingEvent;
 import jakarta.enterprise.context.ApplicationScoped;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -66,10 +69,31 @@ public class ProductMapper {
         );
     }
 
+    public ProductComponentDTO toProductComponentDTO(ProductComponent pc) {
+        if (pc == null) {
+            return null;
+        }
+        return new ProductComponentDTO(
+                pc.getId(),
+                pc.getComponent().getId(),
+                pc.getComponent().getName(),
+                pc.getRequiredQuantity()
+        );
+    }
+
+    public List<ProductComponentDTO> toProductComponentDTOList(List<ProductComponent> components) {
+        return components.stream()
+                .map(this::toProductComponentDTO)
+                .collect(Collectors.toList());
+    }
+
     public List<ProductDTO> toDTOList(List<Product> products) {
-        return products.stream()
+        MappingEvent event = MappingEvent.start("ProductMapper", products.size());
+        List<ProductDTO> dtos = products.stream()
                 .map(this::toDTO)
                 .collect(Collectors.toList());
+        event.finish();
+        return dtos;
     }
 
     public List<ProductDTO> toDTOListWithoutRawMaterials(List<Product> products) {
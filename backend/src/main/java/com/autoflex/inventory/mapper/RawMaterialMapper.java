@@ -2,6 +2,7 @@ package com.autoflex.inventory.mapper;
 
 import com.autoflex.inventory.dto.RawMaterialDTO;
 import com.autoflex.inventory.entity.RawMaterial;
+import com.autoflex.inventory.jfr.MappingEvent;
 import jakarta.enterprise.context.ApplicationScoped;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -37,8 +38,11 @@ public class RawMaterialMapper {
     }
 
     public List<RawMaterialDTO> toDTOList(List<RawMaterial> rawMaterials) {
-        return rawMaterials.stream()
+        MappingEvent event = MappingEvent.start("RawMaterialMapper", rawMaterials.size());
+        List<RawMaterialDTO> dtos = rawMaterials.stream()
                 .map(this::toDTO)
                 .collect(Collectors.toList());
+        event.finish();
+        return dtos;
     }
 }
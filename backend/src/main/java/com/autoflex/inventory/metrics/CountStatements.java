@@ -0,0 +1,17 @@
+package com.autoflex.inventory.metrics;
+
+import jakarta.interceptor.InterceptorBinding;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Records the SQL statements run by each call of the annotated bean's
+ * methods, see {@link StatementCountingInterceptor}.
+ */
+@InterceptorBinding
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CountStatements {
+}
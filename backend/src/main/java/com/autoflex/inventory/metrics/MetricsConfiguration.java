@@ -0,0 +1,88 @@
+package com.autoflex.inventory.metrics;
+
+import io.agroal.api.AgroalDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import jakarta.enterprise.inject.Produces;
+import jakarta.inject.Singleton;
+import java.time.Duration;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+
+/**
+ * Meter customizations for the Prometheus registry at {@code /q/metrics}.
+ */
+@Singleton
+public class MetricsConfiguration {
+
+    /**
+     * Histogram buckets for endpoint latencies and the application's own
+     * timers, so percentiles can be aggregated across instances and SLOs
+     * expressed as bucket ratios.
+     */
+    @Produces
+    @Singleton
+    public MeterFilter latencyHistograms() {
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                if (id.getType() != Meter.Type.TIMER
+                        || !(id.getName().startsWith("http.server.requests") || id.getName().startsWith("inventory."))) {
+                    return config;
+                }
+                return DistributionStatisticConfig.builder()
+                        .percentilesHistogram(true)
+                        .minimumExpectedValue((double) Duration.ofMillis(1).toNanos())
+                        .maximumExpectedValue((double) Duration.ofSeconds(30).toNanos())
+                        .build()
+                        .merge(config);
+            }
+        };
+    }
+
+    /**
+     * Share of the JDBC pool in use, next to Agroal's own active, available
+     * and awaiting counts.
+     */
+    @Produces
+    @Singleton
+    public MeterBinder connectionPoolSaturation(AgroalDataSource dataSource) {
+        return registry -> Gauge.builder("inventory.datasource.pool.saturation", dataSource,
+                        ds -> (double) ds.getMetrics().activeCount()
+                                / ds.getConfiguration().connectionPoolConfiguration().maxSize())
+                .description("Connections in use over the pool's maximum size")
+                .register(registry);
+    }
+
+    /**
+     * Hit ratio of each second-level cache region, entities, collections and
+     * queries alike, from Hibernate's statistics. Hibernate's own meters
+     * carry the hit and miss counts behind it.
+     */
+    @Produces
+    @Singleton
+    public MeterBinder secondLevelCacheHitRatio(SessionFactory sessionFactory) {
+        Statistics statistics = sessionFactory.getStatistics();
+        return registry -> {
+            for (String region : statistics.getSecondLevelCacheRegionNames()) {
+                Gauge.builder("inventory.hibernate.cache.hit.ratio", statistics, stats -> hitRatio(stats, region))
+                        .description("Second-level cache hits over lookups since startup")
+                        .tag("region", region)
+                        .register(registry);
+            }
+        };
+    }
+
+    private static double hitRatio(Statistics statistics, String region) {
+        CacheRegionStatistics cache = statistics.getCacheRegionStatistics(region);
+        if (cache == null) {
+            return Double.NaN;
+        }
+        long lookups = cache.getHitCount() + cache.getMissCount();
+        return lookups == 0 ? Double.NaN : (double) cache.getHitCount() / lookups;
+    }
+}
@@ -0,0 +1,75 @@
+package com.autoflex.inventory.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.container.ResourceInfo;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.ext.Provider;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+/**
+ * Records how many SQL statements each request ran, per resource method, as
+ * {@code inventory.http.sql.statements}.
+ *
+ * With {@code inventory.sql.diagnostics} on (dev and test), the count is also
+ * returned in the {@code X-SQL-Statements} header and a statement that ran
+ * {@code inventory.sql.repeated-statement-threshold} times or more in one
+ * request is logged as a likely N+1 query.
+ *
+ * The filters run on the thread that runs the resource method, the one whose
+ * statements {@link StatementCounter} counts.
+ */
+@Provider
+public class SqlStatementMetricsFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+    public static final String HEADER = "X-SQL-Statements";
+
+    private static final Logger LOG = Logger.getLogger(SqlStatementMetricsFilter.class);
+
+    @Inject
+    MeterRegistry registry;
+
+    @ConfigProperty(name = "inventory.sql.diagnostics", defaultValue = "false")
+    boolean diagnostics;
+
+    @ConfigProperty(name = "inventory.sql.repeated-statement-threshold", defaultValue = "5")
+    int repeatedStatementThreshold;
+
+    @Context
+    ResourceInfo resourceInfo;
+
+    @Override
+    public void filter(ContainerRequestContext requestContext) {
+        StatementCounter.start(diagnostics);
+    }
+
+    @Override
+    public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
+        StatementCounter.Count count = StatementCounter.stop();
+        if (count == null || resourceInfo.getResourceMethod() == null) {
+            return;
+        }
+        String endpoint = resourceInfo.getResourceClass().getSimpleName()
+                + "." + resourceInfo.getResourceMethod().getName();
+        DistributionSummary.builder("inventory.http.sql.statements")
+                .description("SQL statements run by one request")
+                .tag("endpoint", endpoint)
+                .serviceLevelObjectives(1, 2, 5, 10, 20, 50, 100)
+                .register(registry)
+                .record(count.statements());
+
+        if (diagnostics) {
+            responseContext.getHeaders().putSingle(HEADER, count.statements());
+            String repeated = count.mostRepeated();
+            if (repeated != null && count.runs(repeated) >= repeatedStatementThreshold) {
+                LOG.warnf("Possible N+1 query in %s: ran %d times: %s", endpoint, count.runs(repeated), repeated);
+            }
+        }
+    }
+}
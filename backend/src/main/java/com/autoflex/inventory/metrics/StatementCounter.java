@@ -0,0 +1,113 @@
+package com.autoflex.inventory.metrics;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread while a
+ * count is open. Registered as Hibernate's statement inspector in
+ * application.properties; the SQL itself is left untouched.
+ *
+ * A count opened with {@code capture} also keeps how often each statement
+ * text ran, so a statement repeated once per row (an N+1 query) can be told
+ * apart from a few distinct ones.
+ *
+ * Reads on the reactive read path do not go through Hibernate and are not
+ * counted.
+ */
+public class StatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<Count> COUNT = new ThreadLocal<>();
+
+    /**
+     * Opens a count on the current thread, discarding any left open.
+     */
+    public static Count start() {
+        return start(false);
+    }
+
+    /**
+     * Opens a count on the current thread, discarding any left open.
+     *
+     * @param capture whether to keep the statement texts
+     */
+    public static Count start(boolean capture) {
+        Count count = new Count(capture);
+        COUNT.set(count);
+        return count;
+    }
+
+    /**
+     * Closes the count of the current thread.
+     *
+     * @return the closed count, or null when none was open
+     */
+    public static Count stop() {
+        Count count = COUNT.get();
+        COUNT.remove();
+        return count;
+    }
+
+    /**
+     * Statements counted so far on the current thread, or -1 when no count is open.
+     */
+    public static long current() {
+        Count count = COUNT.get();
+        return count != null ? count.statements : -1;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        Count count = COUNT.get();
+        if (count != null) {
+            count.add(sql);
+        }
+        return sql;
+    }
+
+    /**
+     * The statements of one count.
+     */
+    public static final class Count {
+
+        private final Map<String, Integer> texts;
+        private long statements;
+
+        private Count(boolean capture) {
+            this.texts = capture ? new HashMap<>() : null;
+        }
+
+        private void add(String sql) {
+            statements++;
+            if (texts != null) {
+                texts.merge(sql, 1, Integer::sum);
+            }
+        }
+
+        public long statements() {
+            return statements;
+        }
+
+        /**
+         * The statement text that ran most often, or null when texts were not
+         * captured or nothing ran.
+         */
+        public String mostRepeated() {
+            if (texts == null) {
+                return null;
+            }
+            return texts.entrySet().stream()
+                    .max(Map.Entry.comparingByValue())
+                    .map(Map.Entry::getKey)
+                    .orElse(null);
+        }
+
+        /**
+         * How many times {@code sql} ran; 0 when texts were not captured.
+         */
+        public int runs(String sql) {
+            return texts != null ? texts.getOrDefault(sql, 0) : 0;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.autoflex.inventory.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.Priority;
+import jakarta.inject.Inject;
+import jakarta.interceptor.AroundInvoke;
+import jakarta.interceptor.Interceptor;
+import jakarta.interceptor.InvocationContext;
+
+/**
+ * Records how many SQL statements a service method ran as
+ * {@code inventory.service.sql.statements}, tagged with the method.
+ *
+ * Runs outside {@code @Transactional}, so statements flushed at commit count
+ * too. Inside a request it measures the difference of the request's count;
+ * elsewhere (background work, tests calling services directly) it opens its own.
+ */
+@CountStatements
+@Interceptor
+@Priority(Interceptor.Priority.PLATFORM_BEFORE + 100)
+public class StatementCountingInterceptor {
+
+    @Inject
+    MeterRegistry registry;
+
+    @AroundInvoke
+    Object count(InvocationContext context) throws Exception {
+        long before = StatementCounter.current();
+        boolean opened = before < 0;
+        if (opened) {
+            StatementCounter.start();
+            before = 0;
+        }
+        try {
+            return context.proceed();
+        } finally {
+            long statements = StatementCounter.current() - before;
+            if (opened) {
+                StatementCounter.stop();
+            }
+            DistributionSummary.builder("inventory.service.sql.statements")
+                    .description("SQL statements run by one service method call")
+                    .tag("method", context.getMethod().getDeclaringClass().getSimpleName()
+                            + "." + context.getMethod().getName())
+                    .serviceLevelObjectives(1, 2, 5, 10, 20, 50, 100)
+                    .register(registry)
+                    .record(statements);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.autoflex.inventory.planner;
+
+import java.util.List;
+
+/**
+ * A product that contains itself, directly or through its components, so its
+ * bill of materials cannot be exploded.
+ */
+public class BomCycleException extends IllegalStateException {
+
+    private final List<Long> cycle;
+
+    public BomCycleException(List<Long> cycle) {
+        super("Bill of materials cycle through products " + cycle);
+        this.cycle = List.copyOf(cycle);
+    }
+
+    /**
+     * Product ids along the cycle, starting and ending with the same one.
+     */
+    public List<Long> getCycle() {
+        return cycle;
+    }
+}
@@ -0,0 +1,215 @@
+package com.autoflex.inventory.planner;
+
+import java.math.BigDecimal;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Flattens multi-level bills of materials: the raw materials one unit of a
+ * product needs, counting those of its components, their components, and so
+ * on down the product DAG.
+ *
+ * Exploded requirements are memoized per product and shared by every product
+ * that uses it as a component, so a sub-assembly is exploded once however
+ * many products and levels include it. When a bill of materials changes,
+ * {@link #invalidate} drops the product and every product exploded through
+ * it; the rest of the memo stays.
+ *
+ * Definitions are read by the caller, who takes a {@link #stamp()} first:
+ * results computed from a read that an invalidation overtook are never
+ * served from the memo. Quantities are exact; the matrix rounds them when it
+ * compiles them.
+ */
+public final class BomExplosion {
+
+    /**
+     * Direct bill of materials of each product, per unit.
+     */
+    public interface Definitions {
+
+        /**
+         * Raw material id to required quantity; empty when there are none.
+         */
+        Map<Long, BigDecimal> materials(long productId);
+
+        /**
+         * Component product id to required units; empty when there are none.
+         */
+        Map<Long, BigDecimal> components(long productId);
+    }
+
+    private final Map<Long, Entry> memo = new ConcurrentHashMap<>();
+    // Component id to the products exploded through it, for invalidation; may hold edges since removed
+    private final Map<Long, Set<Long>> usedIn = new ConcurrentHashMap<>();
+    private final Map<Long, Long> invalidatedAt = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private volatile long clearedAt;
+
+    /**
+     * Stamp to take before reading the definitions passed to {@link #explode}.
+     */
+    public long stamp() {
+        return generation.get();
+    }
+
+    /**
+     * The memoized requirements of a product, or null when they were never
+     * exploded or have been invalidated since.
+     */
+    public Requirements cached(long productId) {
+        Entry entry = memo.get(productId);
+        return entry != null && isCurrent(productId, entry.stamp) ? entry.requirements : null;
+    }
+
+    /**
+     * Raw materials one unit of the product needs, through all levels of
+     * components.
+     *
+     * @param stamp {@link #stamp()} taken before {@code definitions} were read
+     * @throws BomCycleException when the product contains itself
+     */
+    public Requirements explode(long productId, Definitions definitions, long stamp) {
+        return explode(productId, definitions, stamp, new LinkedHashSet<>(), new boolean[1]);
+    }
+
+    /**
+     * @param current set to whether the result, and everything it was
+     *                exploded from, is still current for {@code stamp}
+     */
+    private Requirements explode(long productId, Definitions definitions, long stamp, LinkedHashSet<Long> path,
+                                 boolean[] current) {
+        Requirements cached = cached(productId);
+        if (cached != null) {
+            current[0] = true;
+            return cached;
+        }
+        if (!path.add(productId)) {
+            throw new BomCycleException(cycle(path, productId));
+        }
+
+        boolean memoize = true;
+        TreeMap<Long, BigDecimal> total = new TreeMap<>(definitions.materials(productId));
+        for (Map.Entry<Long, BigDecimal> component : definitions.components(productId).entrySet()) {
+            // Recorded first, so an invalidation while exploding still reaches this product
+            usedIn.computeIfAbsent(component.getKey(), id -> ConcurrentHashMap.newKeySet()).add(productId);
+            Requirements requirements = explode(component.getKey(), definitions, stamp, path, current);
+            // A component read before its last change makes this one out of date too
+            memoize &= current[0];
+            for (int i = 0; i < requirements.size(); i++) {
+                total.merge(requirements.materialId(i), requirements.quantity(i).multiply(component.getValue()),
+                        BigDecimal::add);
+            }
+        }
+        path.remove(productId);
+
+        Requirements requirements = new Requirements(total);
+        current[0] = memoize && isCurrent(productId, stamp);
+        if (current[0]) {
+            memo.put(productId, new Entry(stamp, requirements));
+        }
+        return requirements;
+    }
+
+    /**
+     * Drops the requirements of a product whose bill of materials changed,
+     * and of every product that contains it.
+     */
+    public void invalidate(long productId) {
+        long now = generation.incrementAndGet();
+        Set<Long> seen = new HashSet<>();
+        Deque<Long> pending = new ArrayDeque<>();
+        pending.add(productId);
+        while (!pending.isEmpty()) {
+            Long id = pending.poll();
+            if (!seen.add(id)) {
+                continue;
+            }
+            invalidatedAt.merge(id, now, Math::max);
+            memo.remove(id);
+            pending.addAll(usedIn.getOrDefault(id, Set.of()));
+        }
+    }
+
+    /**
+     * Drops every memoized explosion.
+     */
+    public void clear() {
+        clearedAt = generation.incrementAndGet();
+        memo.clear();
+    }
+
+    private boolean isCurrent(long productId, long stamp) {
+        return stamp >= clearedAt && stamp >= invalidatedAt.getOrDefault(productId, 0L);
+    }
+
+    private static List<Long> cycle(LinkedHashSet<Long> path, long productId) {
+        List<Long> cycle = new ArrayList<>();
+        boolean inCycle = false;
+        for (Long id : path) {
+            inCycle |= id == productId;
+            if (inCycle) {
+                cycle.add(id);
+            }
+        }
+        cycle.add(productId);
+        return cycle;
+    }
+
+    /**
+     * Exploded requirements of one unit of a product, by raw material id.
+     */
+    public static final class Requirements {
+
+        private final long[] materialIds;
+        private final BigDecimal[] quantities;
+
+        Requirements(TreeMap<Long, BigDecimal> byMaterial) {
+            materialIds = new long[byMaterial.size()];
+            quantities = new BigDecimal[byMaterial.size()];
+            int i = 0;
+            for (Map.Entry<Long, BigDecimal> requirement : byMaterial.entrySet()) {
+                materialIds[i] = requirement.getKey();
+                quantities[i] = normalize(requirement.getValue());
+                i++;
+            }
+        }
+
+        public int size() {
+            return materialIds.length;
+        }
+
+        public long materialId(int i) {
+            return materialIds[i];
+        }
+
+        public BigDecimal quantity(int i) {
+            return quantities[i];
+        }
+
+        // Products of quantities gain decimals at every level; keep only the significant ones
+        private static BigDecimal normalize(BigDecimal quantity) {
+            BigDecimal stripped = quantity.stripTrailingZeros();
+            return stripped.scale() < BomMatrix.QUANTITY_SCALE ? stripped.setScale(BomMatrix.QUANTITY_SCALE) : stripped;
+        }
+    }
+
+    private static final class Entry {
+
+        final long stamp;
+        final Requirements requirements;
+
+        Entry(long stamp, Requirements requirements) {
+            this.stamp = stamp;
+            this.requirements = requirements;
+        }
+    }
+}
@@ -0,0 +1,590 @@
+package com.autoflex.inventory.planner;
+
+import com.autoflex.inventory.dto.BomLineDTO;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Compiled bill of materials: the product x raw-material matrix the optimizers
+ * work on, held in primitive arrays.
+ *
+ * Raw materials get dense {@code int} indexes in order of first appearance.
+ * Requirements are stored row by row in CSR form ({@link #rowStart},
+ * {@link #materialIndex}, {@link #required}) as fixed-point longs with
+ * {@link #QUANTITY_SCALE} decimals, like the {@code required_quantity} and
+ * {@code stock_quantity} columns. Product values are kept in cents.
+ *
+ * Only products that need at least one raw material with a positive quantity
+ * take part, in the order they were added (highest value first).
+ */
+public final class BomMatrix {
+
+    public static final int QUANTITY_SCALE = 4;
+    public static final int VALUE_SCALE = 2;
+
+    private final long[] productIds;
+    private final String[] productNames;
+    private final BigDecimal[] productValues;
+    private final long[] valueCents;
+    private final int[] rowStart;
+    private final int[] materialIndex;
+    private final long[] required;
+    private final long[] materialIds;
+    private final long[] stock;
+
+    private BomMatrix(Builder builder) {
+        int products = builder.productCount;
+        int lines = builder.rowStart[products];
+        int materials = builder.materialCount;
+        this.productIds = Arrays.copyOf(builder.productIds, products);
+        this.productNames = Arrays.copyOf(builder.productNames, products);
+        this.productValues = Arrays.copyOf(builder.productValues, products);
+        this.valueCents = Arrays.copyOf(builder.valueCents, products);
+        this.rowStart = Arrays.copyOf(builder.rowStart, products + 1);
+        this.materialIndex = Arrays.copyOf(builder.materialIndex, lines);
+        this.required = Arrays.copyOf(builder.required, lines);
+        this.materialIds = Arrays.copyOf(builder.materialIds, materials);
+        this.stock = Arrays.copyOf(builder.stock, materials);
+    }
+
+    private BomMatrix(long[] productIds, String[] productNames, BigDecimal[] productValues, long[] valueCents,
+                      int[] rowStart, int[] materialIndex, long[] required, long[] materialIds, long[] stock) {
+        this.productIds = productIds;
+        this.productNames = productNames;
+        this.productValues = productValues;
+        this.valueCents = valueCents;
+        this.rowStart = rowStart;
+        this.materialIndex = materialIndex;
+        this.required = required;
+        this.materialIds = materialIds;
+        this.stock = stock;
+    }
+
+    private BomMatrix(BomMatrix source, long[] stock) {
+        this.productIds = source.productIds;
+        this.productNames = source.productNames;
+        this.productValues = source.productValues;
+        this.valueCents = source.valueCents;
+        this.rowStart = source.rowStart;
+        this.materialIndex = source.materialIndex;
+        this.required = source.required;
+        this.materialIds = source.materialIds;
+        this.stock = stock;
+    }
+
+    /**
+     * Compiles bill of materials lines grouped by product, highest value first,
+     * as they are read from the database. Lines without a raw material only
+     * name their product.
+     */
+    public static BomMatrix compile(Stream<BomLineDTO> lines) {
+        Builder builder = builder();
+        Long currentProduct = null;
+        for (Iterator<BomLineDTO> it = lines.iterator(); it.hasNext(); ) {
+            BomLineDTO line = it.next();
+            if (!Objects.equals(currentProduct, line.getProductId())) {
+                currentProduct = line.getProductId();
+                builder.startProduct(line.getProductId(), line.getProductName(), line.getProductValue());
+            }
+            if (line.getRawMaterialId() != null) {
+                builder.addRequirement(line.getRawMaterialId(), line.getRequiredQuantity(), line.getStockQuantity());
+            }
+        }
+        return builder.build();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Converts a quantity to fixed point, rounding in the given direction.
+     */
+    static long toFixed(BigDecimal quantity, RoundingMode rounding) {
+        return quantity.setScale(QUANTITY_SCALE, rounding).unscaledValue().longValueExact();
+    }
+
+    public int productCount() {
+        return productIds.length;
+    }
+
+    public int materialCount() {
+        return stock.length;
+    }
+
+    public long productId(int p) {
+        return productIds[p];
+    }
+
+    public String productName(int p) {
+        return productNames[p];
+    }
+
+    public BigDecimal productValue(int p) {
+        return productValues[p];
+    }
+
+    public long valueCents(int p) {
+        return valueCents[p];
+    }
+
+    public long materialId(int m) {
+        return materialIds[m];
+    }
+
+    /**
+     * First CSR position of product {@code p}; its lines end at {@code rowStart(p + 1)}.
+     */
+    public int rowStart(int p) {
+        return rowStart[p];
+    }
+
+    public int materialIndex(int line) {
+        return materialIndex[line];
+    }
+
+    /**
+     * Required quantity of a line, in fixed point.
+     */
+    public long required(int line) {
+        return required[line];
+    }
+
+    /**
+     * Stock of material {@code m}, in fixed point.
+     */
+    public long stock(int m) {
+        return stock[m];
+    }
+
+    /**
+     * Returns a matrix with the stock of one raw material replaced, sharing
+     * everything else with this one. Returns this matrix when no product uses
+     * the material or the stock is unchanged.
+     */
+    public BomMatrix withStock(long materialId, BigDecimal stockQuantity) {
+        long fixed = toFixed(stockQuantity, RoundingMode.FLOOR);
+        for (int m = 0; m < materialIds.length; m++) {
+            if (materialIds[m] == materialId) {
+                if (stock[m] == fixed) {
+                    return this;
+                }
+                long[] updated = stock.clone();
+                updated[m] = fixed;
+                return new BomMatrix(this, updated);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Returns a matrix with quantities added to the stock of some raw
+     * materials, sharing everything else with this one. A negative quantity
+     * takes stock away, down to zero. Materials no product uses are ignored.
+     *
+     * @param deltas quantity to add per raw material id
+     * @throws ArithmeticException when a quantity does not fit the fixed-point stock
+     */
+    public BomMatrix withStockDeltas(Map<Long, BigDecimal> deltas) {
+        long[] updated = null;
+        for (int m = 0; m < materialIds.length; m++) {
+            BigDecimal delta = deltas.get(materialIds[m]);
+            if (delta == null || delta.signum() == 0) {
+                continue;
+            }
+            if (updated == null) {
+                updated = stock.clone();
+            }
+            updated[m] = Math.max(0, Math.addExact(updated[m], toFixed(delta, RoundingMode.FLOOR)));
+        }
+        return updated != null ? new BomMatrix(this, updated) : this;
+    }
+
+    /**
+     * Returns the matrix without some products, and without the raw materials
+     * only they used. Ids of products that are not in the matrix are ignored.
+     */
+    public BomMatrix withoutProducts(Set<Long> excludedProductIds) {
+        int[] kept = new int[productIds.length];
+        int count = 0;
+        for (int p = 0; p < productIds.length; p++) {
+            if (!excludedProductIds.contains(productIds[p])) {
+                kept[count++] = p;
+            }
+        }
+        return count == productIds.length ? this : subMatrix(Arrays.copyOf(kept, count));
+    }
+
+    /**
+     * Splits the products into connected components: two products are in the
+     * same one when they share a raw material, directly or through other
+     * products. Products of different components never compete for stock.
+     *
+     * @return the product indexes of each component in matrix order, the
+     *         components in order of their first product
+     */
+    public int[][] components() {
+        // Union-find over materials; a product joins all of its materials
+        int[] parent = new int[stock.length];
+        int[] size = new int[stock.length];
+        for (int m = 0; m < parent.length; m++) {
+            parent[m] = m;
+            size[m] = 1;
+        }
+        int products = productIds.length;
+        for (int p = 0; p < products; p++) {
+            int first = materialIndex[rowStart[p]];
+            for (int line = rowStart[p] + 1; line < rowStart[p + 1]; line++) {
+                union(parent, size, first, materialIndex[line]);
+            }
+        }
+
+        // Number the components by their first product and count their members
+        int[] componentOfRoot = new int[stock.length];
+        Arrays.fill(componentOfRoot, -1);
+        int[] componentOf = new int[products];
+        int[] members = new int[products];
+        int components = 0;
+        for (int p = 0; p < products; p++) {
+            int root = find(parent, materialIndex[rowStart[p]]);
+            if (componentOfRoot[root] < 0) {
+                componentOfRoot[root] = components++;
+            }
+            componentOf[p] = componentOfRoot[root];
+            members[componentOf[p]]++;
+        }
+
+        int[][] result = new int[components][];
+        for (int c = 0; c < components; c++) {
+            result[c] = new int[members[c]];
+            members[c] = 0;
+        }
+        for (int p = 0; p < products; p++) {
+            int c = componentOf[p];
+            result[c][members[c]++] = p;
+        }
+        return result;
+    }
+
+    private static int find(int[] parent, int m) {
+        while (parent[m] != m) {
+            parent[m] = parent[parent[m]];
+            m = parent[m];
+        }
+        return m;
+    }
+
+    private static void union(int[] parent, int[] size, int a, int b) {
+        int rootA = find(parent, a);
+        int rootB = find(parent, b);
+        if (rootA == rootB) {
+            return;
+        }
+        if (size[rootA] < size[rootB]) {
+            int swap = rootA;
+            rootA = rootB;
+            rootB = swap;
+        }
+        parent[rootB] = rootA;
+        size[rootA] += size[rootB];
+    }
+
+    /**
+     * Indexes of the raw materials some products use, in the order
+     * {@link #subMatrix} numbers them: material {@code i} of the sub-matrix is
+     * material {@code materialsOf(products)[i]} of this one.
+     */
+    public int[] materialsOf(int[] products) {
+        int lines = 0;
+        for (int p : products) {
+            lines += rowStart[p + 1] - rowStart[p];
+        }
+        int[] materials = new int[Math.min(lines, materialIds.length)];
+        LongIntMap seen = new LongIntMap();
+        int count = 0;
+        for (int p : products) {
+            for (int line = rowStart[p]; line < rowStart[p + 1]; line++) {
+                int m = materialIndex[line];
+                if (seen.get(m) < 0) {
+                    seen.put(m, count);
+                    materials[count++] = m;
+                }
+            }
+        }
+        return Arrays.copyOf(materials, count);
+    }
+
+    /**
+     * Returns the matrix of some of the products, in the given order, with
+     * only the raw materials they use. Product {@code i} of the result is
+     * product {@code products[i]} of this one.
+     */
+    public BomMatrix subMatrix(int[] products) {
+        int n = products.length;
+        int lines = 0;
+        for (int p : products) {
+            lines += rowStart[p + 1] - rowStart[p];
+        }
+        long[] subProductIds = new long[n];
+        String[] subProductNames = new String[n];
+        BigDecimal[] subProductValues = new BigDecimal[n];
+        long[] subValueCents = new long[n];
+        int[] subRowStart = new int[n + 1];
+        int[] subMaterialIndex = new int[lines];
+        long[] subRequired = new long[lines];
+        long[] subMaterialIds = new long[Math.min(lines, materialIds.length)];
+        long[] subStock = new long[subMaterialIds.length];
+
+        // Sized by the component, not the whole catalog, as most components are small
+        LongIntMap local = new LongIntMap();
+        int materials = 0;
+        int line = 0;
+        for (int i = 0; i < n; i++) {
+            int p = products[i];
+            subProductIds[i] = productIds[p];
+            subProductNames[i] = productNames[p];
+            subProductValues[i] = productValues[p];
+            subValueCents[i] = valueCents[p];
+            subRowStart[i] = line;
+            for (int l = rowStart[p]; l < rowStart[p + 1]; l++) {
+                int m = materialIndex[l];
+                int index = local.get(m);
+                if (index < 0) {
+                    index = materials++;
+                    subMaterialIds[index] = materialIds[m];
+                    subStock[index] = stock[m];
+                    local.put(m, index);
+                }
+                subMaterialIndex[line] = index;
+                subRequired[line] = required[l];
+                line++;
+            }
+        }
+        subRowStart[n] = line;
+        return new BomMatrix(subProductIds, subProductNames, subProductValues, subValueCents, subRowStart,
+                subMaterialIndex, subRequired, Arrays.copyOf(subMaterialIds, materials), Arrays.copyOf(subStock, materials));
+    }
+
+    /**
+     * Copies the stock vector into {@code available}.
+     */
+    public void copyStock(long[] available) {
+        System.arraycopy(stock, 0, available, 0, stock.length);
+    }
+
+    /**
+     * Maximum units of product {@code p} that fit in {@code available}.
+     */
+    public int maxUnits(int p, long[] available) {
+        long maxUnits = Integer.MAX_VALUE;
+        for (int line = rowStart[p]; line < rowStart[p + 1]; line++) {
+            long possibleUnits = available[materialIndex[line]] / required[line];
+            if (possibleUnits < maxUnits) {
+                maxUnits = possibleUnits;
+            }
+        }
+        return (int) Math.max(maxUnits, 0);
+    }
+
+    /**
+     * Deducts {@code units} of product {@code p} from {@code available}.
+     * A negative {@code units} gives the stock back.
+     */
+    public void consume(int p, int units, long[] available) {
+        for (int line = rowStart[p]; line < rowStart[p + 1]; line++) {
+            available[materialIndex[line]] -= required[line] * units;
+        }
+    }
+
+    public boolean uses(int p, int m) {
+        for (int line = rowStart[p]; line < rowStart[p + 1]; line++) {
+            if (materialIndex[line] == m) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Total value of a plan, in cents.
+     */
+    public long totalCents(int[] quantities) {
+        long total = 0;
+        for (int p = 0; p < quantities.length; p++) {
+            total += valueCents[p] * quantities[p];
+        }
+        return total;
+    }
+
+    /**
+     * Accumulates a matrix product by product, requirement by requirement,
+     * so rows can be streamed in without materializing entities.
+     */
+    public static final class Builder {
+
+        private long[] productIds = new long[16];
+        private String[] productNames = new String[16];
+        private BigDecimal[] productValues = new BigDecimal[16];
+        private long[] valueCents = new long[16];
+        private int[] rowStart = new int[17];
+        private int productCount;
+        private boolean productOpen;
+
+        private int[] materialIndex = new int[64];
+        private long[] required = new long[64];
+
+        private long[] materialIds = new long[16];
+        private long[] stock = new long[16];
+        private int materialCount;
+        private final LongIntMap materialLookup = new LongIntMap();
+
+        private Builder() {
+        }
+
+        /**
+         * Starts a new product row. A product that gets no requirement with a
+         * positive quantity is dropped, since nothing limits it.
+         */
+        public Builder startProduct(long id, String name, BigDecimal value) {
+            closeProduct();
+            if (productCount == productIds.length) {
+                int capacity = productCount * 2;
+                productIds = Arrays.copyOf(productIds, capacity);
+                productNames = Arrays.copyOf(productNames, capacity);
+                productValues = Arrays.copyOf(productValues, capacity);
+                valueCents = Arrays.copyOf(valueCents, capacity);
+                rowStart = Arrays.copyOf(rowStart, capacity + 1);
+            }
+            rowStart[productCount + 1] = rowStart[productCount];
+            productIds[productCount] = id;
+            productNames[productCount] = name;
+            productValues[productCount] = value;
+            valueCents[productCount] = value.setScale(VALUE_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+            productOpen = true;
+            return this;
+        }
+
+        /**
+         * Adds a requirement to the current product. The stock is only read the
+         * first time a material shows up.
+         */
+        public Builder addRequirement(long materialId, BigDecimal requiredQuantity, BigDecimal stockQuantity) {
+            if (!productOpen) {
+                throw new IllegalStateException("No product started");
+            }
+            // Round requirements up and stock down so a plan never overdraws real stock
+            long quantity = toFixed(requiredQuantity, RoundingMode.CEILING);
+            if (quantity <= 0) {
+                return this;
+            }
+
+            int index = materialLookup.get(materialId);
+            if (index < 0) {
+                if (materialCount == materialIds.length) {
+                    materialIds = Arrays.copyOf(materialIds, materialCount * 2);
+                    stock = Arrays.copyOf(stock, materialCount * 2);
+                }
+                index = materialCount++;
+                materialIds[index] = materialId;
+                stock[index] = toFixed(stockQuantity, RoundingMode.FLOOR);
+                materialLookup.put(materialId, index);
+            }
+
+            // The same material listed twice adds up instead of being checked twice
+            for (int line = rowStart[productCount]; line < rowStart[productCount + 1]; line++) {
+                if (materialIndex[line] == index) {
+                    required[line] += quantity;
+                    return this;
+                }
+            }
+
+            int line = rowStart[productCount + 1]++;
+            if (line == required.length) {
+                materialIndex = Arrays.copyOf(materialIndex, line * 2);
+                required = Arrays.copyOf(required, line * 2);
+            }
+            materialIndex[line] = index;
+            required[line] = quantity;
+            return this;
+        }
+
+        public BomMatrix build() {
+            closeProduct();
+            return new BomMatrix(this);
+        }
+
+        private void closeProduct() {
+            if (!productOpen) {
+                return;
+            }
+            productOpen = false;
+            if (rowStart[productCount + 1] > rowStart[productCount]) {
+                productCount++;
+            }
+        }
+    }
+
+    /**
+     * Open-addressing map from a material id or index to a dense index, without boxing.
+     */
+    private static final class LongIntMap {
+
+        private long[] keys = new long[32];
+        private int[] values = new int[32];
+        private boolean[] used = new boolean[32];
+        private int size;
+
+        int get(long key) {
+            int mask = keys.length - 1;
+            for (int slot = hash(key) & mask; used[slot]; slot = (slot + 1) & mask) {
+                if (keys[slot] == key) {
+                    return values[slot];
+                }
+            }
+            return -1;
+        }
+
+        void put(long key, int value) {
+            if ((size + 1) * 2 > keys.length) {
+                resize();
+            }
+            int mask = keys.length - 1;
+            int slot = hash(key) & mask;
+            while (used[slot] && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            if (!used[slot]) {
+                used[slot] = true;
+                keys[slot] = key;
+                size++;
+            }
+            values[slot] = value;
+        }
+
+        private void resize() {
+            long[] oldKeys = keys;
+            int[] oldValues = values;
+            boolean[] oldUsed = used;
+            keys = new long[oldKeys.length * 2];
+            values = new int[oldKeys.length * 2];
+            used = new boolean[oldKeys.length * 2];
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldUsed[i]) {
+                    put(oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+
+        private static int hash(long key) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+}
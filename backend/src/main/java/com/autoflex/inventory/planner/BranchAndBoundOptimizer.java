@@ -0,0 +1,228 @@
+package com.autoflex.inventory.planner;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import java.util.Arrays;
+
+/**
+ * Exact integer optimizer: depth-first branch and bound over the product
+ * quantities, pruned with the LP relaxation bound.
+ *
+ * The greedy plan is the first incumbent and every node rounds its LP solution
+ * down into a feasible plan, so a good answer is available early. When the
+ * deadline passes the best plan found so far is returned, flagged as not optimal.
+ * So is the greedy plan alone when the relaxation's dense tableau would be too
+ * large to allocate ({@link LinearRelaxation#fits}).
+ *
+ * The search keeps one set of bounds and undoes branching decisions on
+ * backtrack, so it allocates nothing per node once its buffers are sized.
+ */
+@ApplicationScoped
+@Named(BranchAndBoundOptimizer.NAME)
+public class BranchAndBoundOptimizer implements ProductionOptimizer {
+
+    public static final String NAME = "branch-and-bound";
+
+    private static final double INTEGRALITY_TOLERANCE = 1e-6;
+
+    @Inject
+    GreedyOptimizer greedyOptimizer;
+
+    @Override
+    public ProductionPlan optimize(BomMatrix matrix, long deadline) {
+        int n = matrix.productCount();
+        if (n == 0) {
+            return new ProductionPlan(new int[0], true);
+        }
+
+        Search search = new Search(matrix);
+        greedyOptimizer.fill(matrix, search.best, search.available);
+        search.bestCents = matrix.totalCents(search.best);
+        if (!LinearRelaxation.fits(matrix) || System.nanoTime() - deadline > 0) {
+            return new ProductionPlan(search.best, false);
+        }
+
+        boolean exhausted = search.run(new LinearRelaxation(matrix), deadline);
+        return new ProductionPlan(search.best, exhausted, search.nodes);
+    }
+
+    /**
+     * State of one optimization: current bounds, the branching trail, the
+     * incumbent and scratch buffers.
+     */
+    private static final class Search {
+
+        private static final byte UP_BRANCH = 0;
+        private static final byte DOWN_BRANCH = 1;
+
+        final BomMatrix matrix;
+        final double[] lower;
+        final double[] upper;
+        final int[] best;
+        long bestCents;
+
+        final int[] candidate;
+        final long[] available;
+
+        int depth;
+        long nodes;
+        int[] trailProduct = new int[64];
+        double[] trailFloor = new double[64];
+        double[] trailLower = new double[64];
+        double[] trailUpper = new double[64];
+        byte[] trailBranch = new byte[64];
+
+        Search(BomMatrix matrix) {
+            int n = matrix.productCount();
+            this.matrix = matrix;
+            this.lower = new double[n];
+            this.upper = new double[n];
+            this.best = new int[n];
+            this.candidate = new int[n];
+            this.available = new long[matrix.materialCount()];
+
+            matrix.copyStock(available);
+            for (int p = 0; p < n; p++) {
+                upper[p] = matrix.maxUnits(p, available);
+            }
+        }
+
+        /**
+         * @return true when the whole tree was explored, proving the incumbent optimal
+         */
+        boolean run(LinearRelaxation relaxation, long deadline) {
+            while (true) {
+                if (System.nanoTime() - deadline > 0) {
+                    return false;
+                }
+                nodes++;
+                LinearRelaxation.Status status = relaxation.solve(lower, upper, deadline);
+                if (status == LinearRelaxation.Status.TIMED_OUT) {
+                    return false;
+                }
+
+                int branch = -1;
+                if (status == LinearRelaxation.Status.OPTIMAL
+                        && Math.floor(relaxation.objective() + INTEGRALITY_TOLERANCE) > bestCents) {
+                    double[] x = relaxation.solution();
+                    if (roundDown(x)) {
+                        long cents = matrix.totalCents(candidate);
+                        if (cents > bestCents) {
+                            System.arraycopy(candidate, 0, best, 0, candidate.length);
+                            bestCents = cents;
+                        }
+                    }
+                    branch = mostFractional(x);
+                }
+
+                if (branch >= 0) {
+                    // Explore the up branch first: it tends to reach good plans sooner
+                    double floor = Math.floor(relaxation.solution()[branch]);
+                    push(branch, floor);
+                    lower[branch] = floor + 1;
+                } else if (!backtrack()) {
+                    return true;
+                }
+            }
+        }
+
+        private void push(int product, double floor) {
+            if (depth == trailProduct.length) {
+                int capacity = depth * 2;
+                trailProduct = Arrays.copyOf(trailProduct, capacity);
+                trailFloor = Arrays.copyOf(trailFloor, capacity);
+                trailLower = Arrays.copyOf(trailLower, capacity);
+                trailUpper = Arrays.copyOf(trailUpper, capacity);
+                trailBranch = Arrays.copyOf(trailBranch, capacity);
+            }
+            trailProduct[depth] = product;
+            trailFloor[depth] = floor;
+            trailLower[depth] = lower[product];
+            trailUpper[depth] = upper[product];
+            trailBranch[depth] = UP_BRANCH;
+            depth++;
+        }
+
+        /**
+         * Moves to the next unexplored node: the down branch of the deepest
+         * decision whose up branch is done.
+         *
+         * @return false when no node is left
+         */
+        private boolean backtrack() {
+            while (depth > 0) {
+                int top = depth - 1;
+                int product = trailProduct[top];
+                lower[product] = trailLower[top];
+                upper[product] = trailUpper[top];
+                if (trailBranch[top] == UP_BRANCH) {
+                    trailBranch[top] = DOWN_BRANCH;
+                    upper[product] = trailFloor[top];
+                    return true;
+                }
+                depth--;
+            }
+            return false;
+        }
+
+        private int mostFractional(double[] x) {
+            int branch = -1;
+            double best = INTEGRALITY_TOLERANCE;
+            for (int p = 0; p < x.length; p++) {
+                double fraction = x[p] - Math.floor(x[p]);
+                double distance = Math.min(fraction, 1.0 - fraction);
+                if (distance > best) {
+                    best = distance;
+                    branch = p;
+                }
+            }
+            return branch;
+        }
+
+        /**
+         * Rounds an LP solution down into {@link #candidate}, a plan that respects
+         * the node bounds and the stock in exact arithmetic, then fills leftover
+         * stock greedily.
+         *
+         * @return false when no feasible rounding was found
+         */
+        private boolean roundDown(double[] x) {
+            int n = x.length;
+            matrix.copyStock(available);
+            for (int p = 0; p < n; p++) {
+                candidate[p] = (int) Math.max(lower[p], Math.min(upper[p], Math.floor(x[p] + INTEGRALITY_TOLERANCE)));
+                if (candidate[p] > 0) {
+                    matrix.consume(p, candidate[p], available);
+                }
+            }
+
+            // Floating point may overshoot by a unit; give back the cheapest units first
+            for (int m = 0; m < available.length; m++) {
+                while (available[m] < 0) {
+                    int cheapest = -1;
+                    for (int p = 0; p < n; p++) {
+                        if (candidate[p] > lower[p] && matrix.uses(p, m)
+                                && (cheapest < 0 || matrix.valueCents(p) < matrix.valueCents(cheapest))) {
+                            cheapest = p;
+                        }
+                    }
+                    if (cheapest < 0) {
+                        return false;
+                    }
+                    candidate[cheapest]--;
+                    matrix.consume(cheapest, -1, available);
+                }
+            }
+
+            for (int p = 0; p < n; p++) {
+                int units = (int) Math.min(matrix.maxUnits(p, available), upper[p] - candidate[p]);
+                if (units > 0) {
+                    matrix.consume(p, units, available);
+                    candidate[p] += units;
+                }
+            }
+            return true;
+        }
+    }
+}
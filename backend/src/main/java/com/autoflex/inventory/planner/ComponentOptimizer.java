@@ -0,0 +1,52 @@
+package com.autoflex.inventory.planner;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Runs another optimizer on each connected component of the bill of materials
+ * separately, in parallel on a fork-join pool, and merges their plans.
+ *
+ * Products that share no raw material, directly or through other products,
+ * never compete for stock, so the best plans of the components together are
+ * the best plan of the catalog. Each component is also a smaller problem for
+ * the optimizer: the LP relaxation's tableau is products x materials of the
+ * component instead of the whole catalog.
+ *
+ * The merged plan is optimal only when every component's plan is, and all of
+ * them share the caller's deadline.
+ */
+public final class ComponentOptimizer implements ProductionOptimizer {
+
+    private final ProductionOptimizer optimizer;
+    private final ForkJoinPool pool;
+
+    public ComponentOptimizer(ProductionOptimizer optimizer, ForkJoinPool pool) {
+        this.optimizer = optimizer;
+        this.pool = pool;
+    }
+
+    @Override
+    public ProductionPlan optimize(BomMatrix matrix, long deadline) {
+        int[][] components = matrix.components();
+        if (components.length < 2) {
+            return optimizer.optimize(matrix, deadline);
+        }
+
+        ProductionPlan[] plans = new ProductionPlan[components.length];
+        ComponentTasks.invokeAll(matrix, components, pool,
+                c -> plans[c] = optimizer.optimize(matrix.subMatrix(components[c]), deadline));
+
+        int[] quantities = new int[matrix.productCount()];
+        boolean optimal = true;
+        long iterations = 0;
+        for (int c = 0; c < components.length; c++) {
+            int[] products = components[c];
+            for (int i = 0; i < products.length; i++) {
+                quantities[products[i]] = plans[c].quantity(i);
+            }
+            optimal &= plans[c].isOptimal();
+            iterations += plans[c].iterations();
+        }
+        return new ProductionPlan(quantities, optimal, iterations);
+    }
+}
@@ -0,0 +1,72 @@
+package com.autoflex.inventory.planner;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * Runs a task per connected component of a bill of materials on a fork-join
+ * pool. Tasks are grouped by their number of lines rather than their count,
+ * so many small components share a thread and a large one gets its own.
+ */
+final class ComponentTasks {
+
+    // Components are handled in one task until they add up to more lines than this
+    static final int SEQUENTIAL_LINES = 1_024;
+
+    private ComponentTasks() {
+    }
+
+    /**
+     * Calls {@code task} with the index of every component, in parallel, and
+     * returns once all calls have.
+     *
+     * @param components product indexes of each component, as from {@link BomMatrix#components()}
+     */
+    static void invokeAll(BomMatrix matrix, int[][] components, ForkJoinPool pool, IntConsumer task) {
+        if (components.length == 0) {
+            return;
+        }
+        // Lines up to the end of each component, to size tasks by work rather than count
+        long[] linesUpTo = new long[components.length + 1];
+        for (int c = 0; c < components.length; c++) {
+            long lines = 0;
+            for (int p : components[c]) {
+                lines += matrix.rowStart(p + 1) - matrix.rowStart(p);
+            }
+            linesUpTo[c + 1] = linesUpTo[c] + lines;
+        }
+        pool.invoke(new Range(linesUpTo, task, 0, components.length));
+    }
+
+    /**
+     * Components {@code from} (inclusive) to {@code to} (exclusive), halved
+     * while they hold enough work to be worth splitting.
+     */
+    private static final class Range extends RecursiveAction {
+
+        private final long[] linesUpTo;
+        private final IntConsumer task;
+        private final int from;
+        private final int to;
+
+        Range(long[] linesUpTo, IntConsumer task, int from, int to) {
+            this.linesUpTo = linesUpTo;
+            this.task = task;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1 && linesUpTo[to] - linesUpTo[from] > SEQUENTIAL_LINES) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new Range(linesUpTo, task, from, middle), new Range(linesUpTo, task, middle, to));
+                return;
+            }
+            for (int c = from; c < to; c++) {
+                task.accept(c);
+            }
+        }
+    }
+}
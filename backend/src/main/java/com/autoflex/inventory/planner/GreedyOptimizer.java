@@ -0,0 +1,40 @@
+package com.autoflex.inventory.planner;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Named;
+
+/**
+ * Original strategy: make as many units as possible of each product,
+ * highest value first.
+ *
+ * One pass is enough: once a product took its maximum units, one of its raw
+ * materials is exhausted and stock only shrinks afterwards.
+ */
+@ApplicationScoped
+@Named(GreedyOptimizer.NAME)
+public class GreedyOptimizer implements ProductionOptimizer {
+
+    public static final String NAME = "greedy";
+
+    @Override
+    public ProductionPlan optimize(BomMatrix matrix, long deadline) {
+        int[] quantities = new int[matrix.productCount()];
+        long[] available = new long[matrix.materialCount()];
+        fill(matrix, quantities, available);
+        return new ProductionPlan(quantities, false, quantities.length);
+    }
+
+    /**
+     * Runs the greedy pass on caller-provided buffers, without allocating.
+     */
+    void fill(BomMatrix matrix, int[] quantities, long[] available) {
+        matrix.copyStock(available);
+        for (int p = 0; p < quantities.length; p++) {
+            int units = matrix.maxUnits(p, available);
+            quantities[p] = units;
+            if (units > 0) {
+                matrix.consume(p, units, available);
+            }
+        }
+    }
+}
@@ -0,0 +1,316 @@
+package com.autoflex.inventory.planner;
+
+import java.util.Arrays;
+
+/**
+ * LP relaxation of a production problem, solved with a bounded-variable
+ * primal simplex on a dense tableau:
+ *
+ * <pre>
+ *   max  c.x   subject to   A.x &lt;= b,   lower &lt;= x &lt;= upper
+ * </pre>
+ *
+ * A and b are non-negative, so after shifting x by its lower bound the slack
+ * basis is always feasible and no phase one is needed. The workspace is
+ * allocated once and reused by every {@link #solve} call.
+ */
+final class LinearRelaxation {
+
+    enum Status { OPTIMAL, INFEASIBLE, TIMED_OUT }
+
+    private static final double EPS = 1e-9;
+    private static final int DEADLINE_CHECK_INTERVAL = 32;
+    private static final int DEGENERATE_PIVOTS_BEFORE_BLAND = 50;
+
+    // Doubles in A and the tableau together; about 128 MB
+    static final long MAX_CELLS = 16_000_000L;
+
+    private final int rows;
+    private final int cols;
+    private final int vars;
+    private final double[][] a;
+    private final double[] b;
+    private final double[] c;
+    private final double optimalityTolerance;
+
+    private final double[][] tableau;
+    private final double[] reducedCost;
+    private final double[] basicValue;
+    private final int[] basis;
+    private final boolean[] basic;
+    private final boolean[] atUpper;
+    private final double[] range;
+    private final double[] pricingWeight;
+    private final int[] pivotRowNonZero;
+    private final double[] solution;
+    private double objective;
+
+    /**
+     * Whether the dense workspace of a matrix stays within {@link #MAX_CELLS}.
+     * Checked before constructing, which allocates it all at once.
+     */
+    static boolean fits(BomMatrix matrix) {
+        long rows = matrix.materialCount();
+        long cols = matrix.productCount();
+        return rows * (cols + cols + rows) <= MAX_CELLS;
+    }
+
+    LinearRelaxation(BomMatrix matrix) {
+        this.rows = matrix.materialCount();
+        this.cols = matrix.productCount();
+        this.vars = cols + rows;
+        this.a = new double[rows][cols];
+        this.b = new double[rows];
+        this.c = new double[cols];
+
+        // Fixed-point quantities and cents can be used as they are: scaling A and b
+        // alike leaves x unchanged, and the objective is simply in cents
+        for (int m = 0; m < rows; m++) {
+            b[m] = matrix.stock(m);
+        }
+        this.pricingWeight = new double[vars];
+        Arrays.fill(pricingWeight, 1.0);
+        double maxValue = 1.0;
+        for (int p = 0; p < cols; p++) {
+            c[p] = matrix.valueCents(p);
+            maxValue = Math.max(maxValue, c[p]);
+            for (int line = matrix.rowStart(p); line < matrix.rowStart(p + 1); line++) {
+                double required = matrix.required(line);
+                a[matrix.materialIndex(line)][p] = required;
+                pricingWeight[p] += required * required;
+            }
+        }
+        this.optimalityTolerance = EPS * maxValue;
+
+        this.tableau = new double[rows][vars];
+        this.reducedCost = new double[vars];
+        this.basicValue = new double[rows];
+        this.basis = new int[rows];
+        this.basic = new boolean[vars];
+        this.atUpper = new boolean[vars];
+        this.range = new double[vars];
+        this.pivotRowNonZero = new int[vars];
+        this.solution = new double[cols];
+    }
+
+    /**
+     * Solves the relaxation with per-product bounds.
+     *
+     * @param lower lower bound of each product, at least zero
+     * @param upper upper bound of each product
+     */
+    Status solve(double[] lower, double[] upper, long deadline) {
+        for (int m = 0; m < rows; m++) {
+            double rhs = b[m];
+            for (int p = 0; p < cols; p++) {
+                rhs -= a[m][p] * lower[p];
+            }
+            if (rhs < -EPS * Math.max(1.0, b[m])) {
+                return Status.INFEASIBLE;
+            }
+            basicValue[m] = Math.max(rhs, 0.0);
+        }
+        for (int p = 0; p < cols; p++) {
+            range[p] = upper[p] - lower[p];
+            if (range[p] < -EPS) {
+                return Status.INFEASIBLE;
+            }
+            range[p] = Math.max(range[p], 0.0);
+        }
+
+        initTableau();
+
+        int iterations = 0;
+        int degenerate = 0;
+        while (true) {
+            if (++iterations % DEADLINE_CHECK_INTERVAL == 0 && System.nanoTime() - deadline > 0) {
+                return Status.TIMED_OUT;
+            }
+
+            int entering = chooseEntering(degenerate > DEGENERATE_PIVOTS_BEFORE_BLAND);
+            if (entering < 0) {
+                break;
+            }
+            double direction = atUpper[entering] ? -1.0 : 1.0;
+
+            // Ratio test: a bound flip of the entering variable or a basic variable hitting a bound
+            double step = range[entering];
+            int leavingRow = -1;
+            boolean leavesAtUpper = false;
+            for (int r = 0; r < rows; r++) {
+                double alpha = tableau[r][entering] * direction;
+                double ratio;
+                boolean toUpper;
+                if (alpha > EPS) {
+                    ratio = basicValue[r] / alpha;
+                    toUpper = false;
+                } else if (alpha < -EPS && range[basis[r]] != Double.POSITIVE_INFINITY) {
+                    ratio = (range[basis[r]] - basicValue[r]) / -alpha;
+                    toUpper = true;
+                } else {
+                    continue;
+                }
+                if (ratio < step - EPS || (ratio <= step + EPS && leavingRow >= 0 && basis[r] < basis[leavingRow])) {
+                    step = Math.max(ratio, 0.0);
+                    leavingRow = r;
+                    leavesAtUpper = toUpper;
+                }
+            }
+            if (step == Double.POSITIVE_INFINITY) {
+                // Cannot happen with non-negative requirements; treat as a failed solve
+                return Status.TIMED_OUT;
+            }
+            degenerate = step < EPS ? degenerate + 1 : 0;
+
+            for (int r = 0; r < rows; r++) {
+                basicValue[r] -= direction * tableau[r][entering] * step;
+            }
+
+            if (leavingRow < 0) {
+                atUpper[entering] = !atUpper[entering];
+                continue;
+            }
+
+            int leaving = basis[leavingRow];
+            basic[leaving] = false;
+            atUpper[leaving] = leavesAtUpper;
+            basicValue[leavingRow] = atUpper[entering] ? range[entering] - step : step;
+            atUpper[entering] = false;
+            basic[entering] = true;
+            basis[leavingRow] = entering;
+            pivot(leavingRow, entering);
+        }
+
+        objective = 0.0;
+        for (int p = 0; p < cols; p++) {
+            solution[p] = lower[p] + (atUpper[p] ? range[p] : 0.0);
+        }
+        for (int r = 0; r < rows; r++) {
+            if (basis[r] < cols) {
+                solution[basis[r]] = lower[basis[r]] + Math.min(Math.max(basicValue[r], 0.0), range[basis[r]]);
+            }
+        }
+        for (int p = 0; p < cols; p++) {
+            objective += c[p] * solution[p];
+        }
+        return Status.OPTIMAL;
+    }
+
+    /**
+     * Objective of the last optimal solve, in cents.
+     */
+    double objective() {
+        return objective;
+    }
+
+    /**
+     * Product quantities of the last optimal solve. The array is reused.
+     */
+    double[] solution() {
+        return solution;
+    }
+
+    /**
+     * Dual value of each material row of the last optimal solve: how much the
+     * objective would grow, in cents, per fixed-point unit of extra stock.
+     * Zero for materials left over. Only meaningful when no product bound is
+     * binding, that is when solved with infinite upper bounds.
+     */
+    double[] duals() {
+        double[] duals = new double[rows];
+        for (int m = 0; m < rows; m++) {
+            // The reduced cost of a slack is minus the dual of its row
+            duals[m] = Math.max(-reducedCost[cols + m], 0.0);
+        }
+        return duals;
+    }
+
+    private void initTableau() {
+        for (int r = 0; r < rows; r++) {
+            double[] row = tableau[r];
+            System.arraycopy(a[r], 0, row, 0, cols);
+            Arrays.fill(row, cols, vars, 0.0);
+            row[cols + r] = 1.0;
+            basis[r] = cols + r;
+        }
+        System.arraycopy(c, 0, reducedCost, 0, cols);
+        Arrays.fill(reducedCost, cols, vars, 0.0);
+        Arrays.fill(basic, 0, cols, false);
+        Arrays.fill(basic, cols, vars, true);
+        Arrays.fill(atUpper, false);
+        Arrays.fill(range, cols, vars, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Largest reduced cost scaled by the column norm, which takes far fewer
+     * pivots than plain Dantzig on BOM matrices. Switches to Bland's rule while
+     * pivots are degenerate.
+     */
+    private int chooseEntering(boolean bland) {
+        int entering = -1;
+        double best = 0.0;
+        for (int j = 0; j < vars; j++) {
+            if (basic[j]) {
+                continue;
+            }
+            double gain;
+            if (atUpper[j]) {
+                gain = -reducedCost[j];
+            } else if (range[j] > EPS) {
+                gain = reducedCost[j];
+            } else {
+                continue;
+            }
+            if (gain <= optimalityTolerance) {
+                continue;
+            }
+            if (bland) {
+                return j;
+            }
+            double score = gain * gain / pricingWeight[j];
+            if (score > best) {
+                best = score;
+                entering = j;
+            }
+        }
+        return entering;
+    }
+
+    private void pivot(int pivotRow, int pivotCol) {
+        double[] row = tableau[pivotRow];
+        double pivotValue = row[pivotCol];
+        int nonZero = 0;
+        for (int j = 0; j < vars; j++) {
+            if (row[j] != 0.0) {
+                row[j] /= pivotValue;
+                pivotRowNonZero[nonZero++] = j;
+            }
+        }
+        row[pivotCol] = 1.0;
+
+        for (int r = 0; r < rows; r++) {
+            if (r == pivotRow) {
+                continue;
+            }
+            double factor = tableau[r][pivotCol];
+            if (factor == 0.0) {
+                continue;
+            }
+            double[] target = tableau[r];
+            for (int k = 0; k < nonZero; k++) {
+                int j = pivotRowNonZero[k];
+                target[j] -= factor * row[j];
+            }
+            target[pivotCol] = 0.0;
+        }
+
+        double factor = reducedCost[pivotCol];
+        if (factor != 0.0) {
+            for (int k = 0; k < nonZero; k++) {
+                int j = pivotRowNonZero[k];
+                reducedCost[j] -= factor * row[j];
+            }
+            reducedCost[pivotCol] = 0.0;
+        }
+    }
+}
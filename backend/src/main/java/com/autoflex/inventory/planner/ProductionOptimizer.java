@@ -0,0 +1,17 @@
+package com.autoflex.inventory.planner;
+
+/**
+ * Decides how many units of each product to make from the available stock.
+ *
+ * Implementations are CDI beans qualified with {@code @Named}; the one used by
+ * the production suggestion is selected with {@code inventory.planner.optimizer}.
+ */
+public interface ProductionOptimizer {
+
+    /**
+     * @param matrix the products and stock to plan for
+     * @param deadline {@link System#nanoTime()} value after which the optimizer
+     *                 must return the best plan found so far
+     */
+    ProductionPlan optimize(BomMatrix matrix, long deadline);
+}
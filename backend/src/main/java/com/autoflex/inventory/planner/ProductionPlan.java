@@ -0,0 +1,44 @@
+package com.autoflex.inventory.planner;
+
+/**
+ * Units to produce per product of a {@link BomMatrix}.
+ */
+public final class ProductionPlan {
+
+    private final int[] quantities;
+    private final boolean optimal;
+    private final long iterations;
+
+    public ProductionPlan(int[] quantities, boolean optimal) {
+        this(quantities, optimal, 0);
+    }
+
+    public ProductionPlan(int[] quantities, boolean optimal, long iterations) {
+        this.quantities = quantities;
+        this.optimal = optimal;
+        this.iterations = iterations;
+    }
+
+    public int quantity(int p) {
+        return quantities[p];
+    }
+
+    public int[] quantities() {
+        return quantities.clone();
+    }
+
+    /**
+     * True when the plan is proven to have the maximum total value.
+     */
+    public boolean isOptimal() {
+        return optimal;
+    }
+
+    /**
+     * Passes of the optimizer's main loop: products visited by the greedy
+     * pass, nodes explored by branch and bound.
+     */
+    public long iterations() {
+        return iterations;
+    }
+}
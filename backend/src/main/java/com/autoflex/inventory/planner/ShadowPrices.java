@@ -0,0 +1,62 @@
+package com.autoflex.inventory.planner;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Marginal value of each raw material: how much the total value of the plan
+ * would grow per extra unit of its stock.
+ *
+ * These are the dual values of the stock constraints in the LP relaxation,
+ * so one solve prices every material at once. Each connected component of
+ * the bill of materials is solved on its own, in parallel, which keeps the
+ * tableaus small on catalogs with many materials. Being LP values, they
+ * ignore that products come in whole units: they are exact rates for the
+ * fractional plan and a guide, not a promise, for the integer one.
+ */
+public final class ShadowPrices {
+
+    private ShadowPrices() {
+    }
+
+    /**
+     * @param deadline {@link System#nanoTime()} value after which components
+     *                 still unsolved are left unpriced
+     * @return cents per fixed-point unit of stock, by material index;
+     *         {@link Double#NaN} for materials whose component ran out of time
+     *         or is too large for a dense relaxation
+     */
+    public static double[] compute(BomMatrix matrix, ForkJoinPool pool, long deadline) {
+        double[] prices = new double[matrix.materialCount()];
+        Arrays.fill(prices, Double.NaN);
+        int[][] components = matrix.components();
+        ComponentTasks.invokeAll(matrix, components, pool, c -> solve(matrix, components[c], prices, deadline));
+        return prices;
+    }
+
+    /**
+     * Solves the relaxation of one component and writes its duals into
+     * {@code prices}, which components share without overlapping.
+     */
+    static void solve(BomMatrix matrix, int[] products, double[] prices, long deadline) {
+        BomMatrix component = matrix.subMatrix(products);
+        if (!LinearRelaxation.fits(component)) {
+            return;
+        }
+        int[] materials = matrix.materialsOf(products);
+
+        // No product bounds: a binding bound would take the dual its material should get
+        double[] lower = new double[component.productCount()];
+        double[] upper = new double[component.productCount()];
+        Arrays.fill(upper, Double.POSITIVE_INFINITY);
+
+        LinearRelaxation relaxation = new LinearRelaxation(component);
+        if (relaxation.solve(lower, upper, deadline) != LinearRelaxation.Status.OPTIMAL) {
+            return;
+        }
+        double[] duals = relaxation.duals();
+        for (int i = 0; i < materials.length; i++) {
+            prices[materials[i]] = duals[i];
+        }
+    }
+}
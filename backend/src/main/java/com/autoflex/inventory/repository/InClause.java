@@ -0,0 +1,26 @@
+package com.autoflex.inventory.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Splits large IN lists so a single statement stays well under the JDBC
+ * driver's bind parameter limit.
+ */
+final class InClause {
+
+    static final int MAX_PARAMETERS = 1000;
+
+    private InClause() {
+    }
+
+    static <T> List<List<T>> partition(Collection<T> values) {
+        List<T> all = new ArrayList<>(values);
+        List<List<T>> parts = new ArrayList<>();
+        for (int from = 0; from < all.size(); from += MAX_PARAMETERS) {
+            parts.add(all.subList(from, Math.min(all.size(), from + MAX_PARAMETERS)));
+        }
+        return parts;
+    }
+}
@@ -0,0 +1,57 @@
+package com.autoflex.inventory.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Position after the last row of a keyset page: the sort it was taken with,
+ * the sort key of that row and its id as tie-breaker.
+ *
+ * Clients see it as an opaque URL-safe token.
+ */
+public final class KeysetCursor {
+
+    private final String sort;
+    private final String key;
+    private final long id;
+
+    public KeysetCursor(String sort, String key, long id) {
+        this.sort = sort;
+        this.key = key;
+        this.id = id;
+    }
+
+    public String getSort() {
+        return sort;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String encode() {
+        String raw = sort + "\n" + id + "\n" + key;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return empty when the token was not produced by {@link #encode()}
+     */
+    public static Optional<KeysetCursor> decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\n", 3);
+            if (parts.length != 3) {
+                return Optional.empty();
+            }
+            return Optional.of(new KeysetCursor(parts[0], parts[2], Long.parseLong(parts[1])));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+}
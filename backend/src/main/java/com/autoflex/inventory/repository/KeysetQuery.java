@@ -0,0 +1,75 @@
+package com.autoflex.inventory.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds a filtered keyset (seek) query over one entity ordered by
+ * (sort property, id).
+ *
+ * Instead of skipping rows with OFFSET, the next page starts right after the
+ * last row seen, so every page costs the same however deep the client goes.
+ */
+final class KeysetQuery {
+
+    private final String entity;
+    private final List<String> conditions = new ArrayList<>();
+    private final Map<String, Object> parameters = new HashMap<>();
+
+    KeysetQuery(String entity) {
+        this.entity = entity;
+    }
+
+    KeysetQuery nameContains(String name) {
+        if (name != null && !name.isBlank()) {
+            conditions.add("LOWER(e.name) LIKE LOWER(:name) ESCAPE '\\'");
+            parameters.put("name", "%" + NameSearch.escapeLike(name.trim()) + "%");
+        }
+        return this;
+    }
+
+    KeysetQuery atLeast(String property, Object min) {
+        if (min != null) {
+            conditions.add("e." + property + " >= :min" + property);
+            parameters.put("min" + property, min);
+        }
+        return this;
+    }
+
+    KeysetQuery atMost(String property, Object max) {
+        if (max != null) {
+            conditions.add("e." + property + " <= :max" + property);
+            parameters.put("max" + property, max);
+        }
+        return this;
+    }
+
+    <T> List<T> list(EntityManager entityManager, Class<T> type, String property, boolean descending,
+                     Object afterKey, Long afterId, int limit) {
+        String direction = descending ? "DESC" : "ASC";
+        String comparison = descending ? "<" : ">";
+
+        List<String> where = new ArrayList<>(conditions);
+        if (afterId != null) {
+            where.add("(e." + property + " " + comparison + " :afterKey OR (e." + property
+                    + " = :afterKey AND e.id " + comparison + " :afterId))");
+            parameters.put("afterKey", afterKey);
+            parameters.put("afterId", afterId);
+        }
+
+        StringBuilder jpql = new StringBuilder("SELECT e FROM ").append(entity).append(" e");
+        if (!where.isEmpty()) {
+            jpql.append(" WHERE ").append(String.join(" AND ", where));
+        }
+        jpql.append(" ORDER BY e.").append(property).append(' ').append(direction)
+                .append(", e.id ").append(direction);
+
+        TypedQuery<T> query = entityManager.createQuery(jpql.toString(), type);
+        parameters.forEach(query::setParameter);
+        return query.setMaxResults(limit).getResultList();
+    }
+}
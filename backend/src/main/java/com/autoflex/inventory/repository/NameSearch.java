@@ -0,0 +1,128 @@
+package com.autoflex.inventory.repository;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Ranked, typo-tolerant name search shared by the catalog repositories.
+ *
+ * A name matches when it contains the term or when some of its words are
+ * close to it (strict word similarity of at least 0.5, pg_trgm's default).
+ * Names containing the term rank first, then by similarity.
+ *
+ * On PostgreSQL both tests run on the trigram GIN indexes over lower(name)
+ * (migration V4). Other databases, H2 in tests, score every name in memory
+ * the same way.
+ */
+@ApplicationScoped
+public class NameSearch {
+
+    static final double SIMILARITY_THRESHOLD = 0.5;
+
+    @Inject
+    EntityManager entityManager;
+
+    @ConfigProperty(name = "quarkus.datasource.db-kind")
+    String dbKind;
+
+    /**
+     * Ids of the rows of {@code table} (entity {@code entity}) matching
+     * {@code term}, best match first.
+     */
+    List<Long> rankedIds(String table, String entity, String term, int offset, int limit) {
+        String lowerTerm = term.toLowerCase(Locale.ROOT);
+        if ("postgresql".equals(dbKind)) {
+            return trigramIndexSearch(table, lowerTerm, offset, limit);
+        }
+        return inMemorySearch(entity, lowerTerm, offset, limit);
+    }
+
+    /**
+     * Puts entities loaded by id back in the order of {@code ids}.
+     */
+    static <T> List<T> inOrder(List<Long> ids, List<T> entities, Function<T, Long> idOf) {
+        Map<Long, T> byId = new HashMap<>();
+        entities.forEach(entity -> byId.put(idOf.apply(entity), entity));
+        List<T> ordered = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            T entity = byId.get(id);
+            if (entity != null) {
+                ordered.add(entity);
+            }
+        }
+        return ordered;
+    }
+
+    private List<Long> trigramIndexSearch(String table, String term, int offset, int limit) {
+        // LIKE and <<% are both answered by the gin_trgm_ops index; the score
+        // is only computed for the rows that matched
+        return entityManager
+                .createNativeQuery("SELECT t.id FROM " + table + " t "
+                        + "WHERE lower(t.name) LIKE :pattern OR :term <<% lower(t.name) "
+                        + "ORDER BY lower(t.name) LIKE :pattern DESC, "
+                        + "strict_word_similarity(:term, lower(t.name)) DESC, t.name, t.id "
+                        + "OFFSET :offset LIMIT :limit", Long.class)
+                .setParameter("pattern", "%" + escapeLike(term) + "%")
+                .setParameter("term", term)
+                .setParameter("offset", offset)
+                .setParameter("limit", limit)
+                .getResultList();
+    }
+
+    private List<Long> inMemorySearch(String entity, String term, int offset, int limit) {
+        List<Match> matches = new ArrayList<>();
+        entityManager
+                .createQuery("SELECT e.id, e.name FROM " + entity + " e", Object[].class)
+                .getResultList()
+                .forEach(row -> {
+                    String name = (String) row[1];
+                    boolean contains = name.toLowerCase(Locale.ROOT).contains(term);
+                    double similarity = Trigrams.strictWordSimilarity(term, name);
+                    if (contains || similarity >= SIMILARITY_THRESHOLD) {
+                        matches.add(new Match((Long) row[0], name, contains, similarity));
+                    }
+                });
+
+        matches.sort(Comparator.comparing((Match m) -> !m.contains)
+                .thenComparing(m -> -m.similarity)
+                .thenComparing(m -> m.name)
+                .thenComparing(m -> m.id));
+
+        List<Long> ids = new ArrayList<>();
+        for (int i = offset; i < matches.size() && ids.size() < limit; i++) {
+            ids.add(matches.get(i).id);
+        }
+        return ids;
+    }
+
+    /**
+     * Escapes LIKE wildcards with a backslash, so the term matches literally.
+     */
+    static String escapeLike(String term) {
+        return term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private static final class Match {
+
+        final Long id;
+        final String name;
+        final boolean contains;
+        final double similarity;
+
+        Match(Long id, String name, boolean contains, double similarity) {
+            this.id = id;
+            this.name = name;
+            this.contains = contains;
+            this.similarity = similarity;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.autoflex.inventory.repository;
+
+import com.autoflex.inventory.dto.ComponentLineDTO;
+import com.autoflex.inventory.entity.ProductComponent;
+import io.quarkus.hibernate.orm.panache.PanacheRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@ApplicationScoped
+public class ProductComponentRepository implements PanacheRepository<ProductComponent> {
+
+    /**
+     * The components of a product, with the component products loaded.
+     */
+    public List<ProductComponent> findByProductId(Long productId) {
+        return find("FROM ProductComponent pc JOIN FETCH pc.component WHERE pc.product.id = ?1 ORDER BY pc.id",
+                productId).list();
+    }
+
+    public Optional<ProductComponent> findByProductIdAndComponentId(Long productId, Long componentId) {
+        return find("product.id = ?1 AND component.id = ?2", productId, componentId).firstResultOptional();
+    }
+
+    public boolean existsByComponentId(Long componentId) {
+        return count("component.id", componentId) > 0;
+    }
+
+    public void deleteByProductId(Long productId) {
+        delete("product.id", productId);
+    }
+
+    /**
+     * Component lines of the given products, one level down.
+     */
+    public List<ComponentLineDTO> findLinesByProductIds(Collection<Long> productIds) {
+        List<ComponentLineDTO> lines = new ArrayList<>();
+        for (List<Long> part : InClause.partition(productIds)) {
+            lines.addAll(getEntityManager()
+                    .createQuery("SELECT new com.autoflex.inventory.dto.ComponentLineDTO("
+                            + "pc.product.id, pc.component.id, pc.requiredQuantity) FROM ProductComponent pc "
+                            + "WHERE pc.product.id IN :productIds", ComponentLineDTO.class)
+                    .setParameter("productIds", part)
+                    .getResultList());
+        }
+        return lines;
+    }
+}
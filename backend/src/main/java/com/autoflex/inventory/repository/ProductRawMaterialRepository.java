@@ -3,8 +3,13 @@ package com.autoflex.inventory.repository;
 import com.autoflex.inventory.entity.ProductRawMaterial;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @ApplicationScoped
 public class ProductRawMaterialRepository implements PanacheRepository<ProductRawMaterial> {
@@ -32,4 +37,20 @@ public class ProductRawMaterialRepository implements PanacheRepository<ProductRa
     public boolean existsByRawMaterialId(Long rawMaterialId) {
         return count("rawMaterial.id", rawMaterialId) > 0;
     }
+
+    /**
+     * Raw material ids already in the bill of materials of each given product.
+     */
+    public Map<Long, Set<Long>> findRawMaterialIdsByProductIds(Collection<Long> productIds) {
+        Map<Long, Set<Long>> rawMaterialIds = new HashMap<>();
+        for (List<Long> part : InClause.partition(productIds)) {
+            getEntityManager()
+                    .createQuery("SELECT prm.product.id, prm.rawMaterial.id FROM ProductRawMaterial prm "
+                            + "WHERE prm.product.id IN :productIds", Object[].class)
+                    .setParameter("productIds", part)
+                    .getResultList()
+                    .forEach(row -> rawMaterialIds.computeIfAbsent((Long) row[0], id -> new HashSet<>()).add((Long) row[1]));
+        }
+        return rawMaterialIds;
+    }
 }
@@ -1,30 +1,176 @@
 package com.autoflex.inventory.repository;
 
+import com.autoflex.inventory.dto.BomLineDTO;
+import com.autoflex.inventory.dto.ComponentLineDTO;
 import com.autoflex.inventory.entity.Product;
+import com.autoflex.inventory.jfr.RepositoryReadEvent;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.LockModeType;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.StatelessSession;
+import org.hibernate.jpa.HibernateHints;
 
 @ApplicationScoped
 public class ProductRepository implements PanacheRepository<Product> {
 
+    @Inject
+    NameSearch nameSearch;
+
+    /**
+     * Every product with its bill of materials, by id. Served from the query
+     * cache until any product, line or raw material changes.
+     */
     public List<Product> findAllWithRawMaterials() {
-        return getEntityManager()
-                .createQuery("SELECT DISTINCT p FROM Product p LEFT JOIN FETCH p.rawMaterials", Product.class)
+        RepositoryReadEvent event = RepositoryReadEvent.start("Product.findAllWithRawMaterials");
+        List<Product> products = getEntityManager()
+                .createQuery("SELECT DISTINCT p FROM Product p "
+                        + "LEFT JOIN FETCH p.rawMaterials prm LEFT JOIN FETCH prm.rawMaterial "
+                        + "ORDER BY p.id, prm.id", Product.class)
+                .setHint(HibernateHints.HINT_CACHEABLE, true)
                 .getResultList();
+        event.finish(products.size());
+        return products;
     }
 
+    /**
+     * Up to {@code limit} products matching the filters, starting after the
+     * given key and id in the sort order, with their raw materials loaded.
+     * Null filters and a null {@code afterId} are ignored.
+     */
+    public List<Product> findPage(String name, BigDecimal minValue, BigDecimal maxValue,
+                                  ProductSort sort, Object afterKey, Long afterId, int limit) {
+        RepositoryReadEvent event = RepositoryReadEvent.start("Product.findPage");
+        List<Product> page = new KeysetQuery("Product")
+                .nameContains(name)
+                .atLeast("value", minValue)
+                .atMost("value", maxValue)
+                .list(getEntityManager(), Product.class, sort.property(), sort.isDescending(), afterKey, afterId, limit);
+
+        if (!page.isEmpty()) {
+            // A fetch join cannot be limited in SQL, so the page's bills of materials come in a second query
+            getEntityManager()
+                    .createQuery("SELECT DISTINCT p FROM Product p "
+                            + "LEFT JOIN FETCH p.rawMaterials prm LEFT JOIN FETCH prm.rawMaterial "
+                            + "WHERE p IN :page", Product.class)
+                    .setParameter("page", page)
+                    .getResultList();
+        }
+        event.finish(page.size());
+        return page;
+    }
+
+    /**
+     * The product with its bill of materials and their raw materials loaded,
+     * so mapping it to a DTO runs no further queries. Served from the query
+     * cache until any product, line or raw material changes.
+     */
     public Optional<Product> findByIdOptional(Long id) {
-        return find("id", id).firstResultOptional();
+        // A list, not a stream: streamed results bypass the query cache
+        return getEntityManager()
+                .createQuery("SELECT DISTINCT p FROM Product p "
+                        + "LEFT JOIN FETCH p.rawMaterials prm LEFT JOIN FETCH prm.rawMaterial "
+                        + "WHERE p.id = :id ORDER BY prm.id", Product.class)
+                .setParameter("id", id)
+                .setHint(HibernateHints.HINT_CACHEABLE, true)
+                .getResultList()
+                .stream()
+                .findFirst();
+    }
+
+    /**
+     * Streams every bill of materials line with its product and stock in one
+     * query, highest product value first and grouped by product. A product
+     * without raw materials gives one row with null line columns, as it may
+     * still be made of components. The stream must be closed.
+     */
+    public Stream<BomLineDTO> streamBomLinesOrderByValueDesc() {
+        return getEntityManager()
+                .createQuery("SELECT new com.autoflex.inventory.dto.BomLineDTO("
+                        + "p.id, p.name, p.value, rm.id, prm.requiredQuantity, rm.stockQuantity) "
+                        + "FROM Product p LEFT JOIN p.rawMaterials prm LEFT JOIN prm.rawMaterial rm "
+                        + "ORDER BY p.value DESC, p.id, prm.id", BomLineDTO.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, 1000)
+                .getResultStream();
+    }
+
+    /**
+     * Bill of materials lines of the given products, like
+     * {@link #streamBomLinesOrderByValueDesc()} but only products that have
+     * raw materials.
+     */
+    public List<BomLineDTO> findBomLinesByProductIds(Collection<Long> productIds) {
+        List<BomLineDTO> lines = new ArrayList<>();
+        for (List<Long> part : InClause.partition(productIds)) {
+            lines.addAll(getEntityManager()
+                    .createQuery("SELECT new com.autoflex.inventory.dto.BomLineDTO("
+                            + "p.id, p.name, p.value, rm.id, prm.requiredQuantity, rm.stockQuantity) "
+                            + "FROM ProductRawMaterial prm JOIN prm.product p JOIN prm.rawMaterial rm "
+                            + "WHERE p.id IN :productIds ORDER BY p.id, prm.id", BomLineDTO.class)
+                    .setParameter("productIds", part)
+                    .getResultList());
+        }
+        return lines;
+    }
+
+    /**
+     * Every component line of the multi-level bills of materials.
+     */
+    public List<ComponentLineDTO> findComponentLines() {
+        return getEntityManager()
+                .createQuery("SELECT new com.autoflex.inventory.dto.ComponentLineDTO("
+                        + "pc.product.id, pc.component.id, pc.requiredQuantity) FROM ProductComponent pc "
+                        + "ORDER BY pc.product.id, pc.id", ComponentLineDTO.class)
+                .getResultList();
     }
 
-    public List<Product> findAllOrderByValueDesc() {
-        return list("ORDER BY value DESC");
+    /**
+     * Scrolls the whole catalog through a server-side cursor, one row per bill
+     * of materials line, grouped by product in id order. A product without raw
+     * materials gives one row with null line columns.
+     *
+     * Columns: product id, product name, product value, line id, raw material id,
+     * raw material name, required quantity. The results must be closed.
+     */
+    public ScrollableResults<Object[]> scrollCatalogLines(StatelessSession session) {
+        return session
+                .createQuery("SELECT p.id, p.name, p.value, prm.id, rm.id, rm.name, prm.requiredQuantity "
+                        + "FROM Product p LEFT JOIN p.rawMaterials prm LEFT JOIN prm.rawMaterial rm "
+                        + "ORDER BY p.id, prm.id", Object[].class)
+                .setFetchSize(1000)
+                .setReadOnly(true)
+                .scroll(ScrollMode.FORWARD_ONLY);
     }
 
-    public List<Product> findByNameContaining(String name) {
-        return list("LOWER(name) LIKE LOWER(?1)", "%" + name + "%");
+    /**
+     * Products whose name contains or resembles {@code term}, best match
+     * first, with their raw materials loaded.
+     */
+    public List<Product> search(String term, int offset, int limit) {
+        List<Long> ids = nameSearch.rankedIds("products", "Product", term, offset, limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<Product> products = getEntityManager()
+                .createQuery("SELECT DISTINCT p FROM Product p "
+                        + "LEFT JOIN FETCH p.rawMaterials prm LEFT JOIN FETCH prm.rawMaterial "
+                        + "WHERE p.id IN :ids", Product.class)
+                .setParameter("ids", ids)
+                .getResultList();
+        return NameSearch.inOrder(ids, products, Product::getId);
     }
 
     public boolean existsByName(String name) {
@@ -34,4 +180,66 @@ public class ProductRepository implements PanacheRepository<Product> {
     public boolean existsByNameAndIdNot(String name, Long id) {
         return count("LOWER(name) = LOWER(?1) AND id != ?2", name, id) > 0;
     }
+
+    /**
+     * Id and name of every product, without loading the entities.
+     * Columns: id, name.
+     */
+    public List<Object[]> findIdsAndNames() {
+        return getEntityManager()
+                .createQuery("SELECT p.id, p.name FROM Product p", Object[].class)
+                .getResultList();
+    }
+
+    /**
+     * Ids of the products with the given lower-cased names, keyed by lower-cased
+     * name, in one query per 1000 names.
+     */
+    public Map<String, Long> findIdsByLowerNames(Collection<String> lowerNames) {
+        Map<String, Long> ids = new HashMap<>();
+        for (List<String> names : InClause.partition(lowerNames)) {
+            getEntityManager()
+                    .createQuery("SELECT LOWER(p.name), p.id FROM Product p WHERE LOWER(p.name) IN :names", Object[].class)
+                    .setParameter("names", names)
+                    .getResultList()
+                    .forEach(row -> ids.put((String) row[0], (Long) row[1]));
+        }
+        return ids;
+    }
+
+    /**
+     * The subset of the given ids that exist.
+     */
+    public Set<Long> findExistingIds(Collection<Long> ids) {
+        Set<Long> existing = new HashSet<>();
+        for (List<Long> part : InClause.partition(ids)) {
+            existing.addAll(getEntityManager()
+                    .createQuery("SELECT p.id FROM Product p WHERE p.id IN :ids", Long.class)
+                    .setParameter("ids", part)
+                    .getResultList());
+        }
+        return existing;
+    }
+
+    /**
+     * Takes write locks on the rows of the given products until the
+     * transaction ends, in id order so writers locking the same set do not
+     * deadlock.
+     */
+    public void lockByIds(Collection<Long> ids) {
+        for (List<Long> part : InClause.partition(new TreeSet<>(ids))) {
+            getEntityManager()
+                    .createQuery("SELECT p FROM Product p WHERE p.id IN :ids ORDER BY p.id", Product.class)
+                    .setParameter("ids", part)
+                    .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                    .getResultList();
+        }
+    }
+
+    /**
+     * Proxy for associations, without loading the row.
+     */
+    public Product reference(Long id) {
+        return getEntityManager().getReference(Product.class, id);
+    }
 }
@@ -0,0 +1,58 @@
+package com.autoflex.inventory.repository;
+
+import com.autoflex.inventory.entity.Product;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Sort orders of the product listing. Each one is backed by an index on
+ * (column, id) so keyset pages are index range scans.
+ */
+public enum ProductSort {
+
+    NAME("name", "name", false),
+    NAME_DESC("-name", "name", true),
+    VALUE("value", "value", false),
+    VALUE_DESC("-value", "value", true);
+
+    private final String parameter;
+    private final String property;
+    private final boolean descending;
+
+    ProductSort(String parameter, String property, boolean descending) {
+        this.parameter = parameter;
+        this.property = property;
+        this.descending = descending;
+    }
+
+    public static Optional<ProductSort> fromParameter(String parameter) {
+        return Arrays.stream(values()).filter(s -> s.parameter.equals(parameter)).findFirst();
+    }
+
+    public String parameter() {
+        return parameter;
+    }
+
+    String property() {
+        return property;
+    }
+
+    boolean isDescending() {
+        return descending;
+    }
+
+    /**
+     * Sort key of a product, as stored in a {@link KeysetCursor}.
+     */
+    public String keyOf(Product product) {
+        return property.equals("name") ? product.getName() : product.getValue().toPlainString();
+    }
+
+    /**
+     * @throws NumberFormatException when a value key is not a number
+     */
+    public Object parseKey(String key) {
+        return property.equals("name") ? key : new BigDecimal(key);
+    }
+}
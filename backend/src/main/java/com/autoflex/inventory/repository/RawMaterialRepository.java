@@ -1,20 +1,44 @@
 package com.autoflex.inventory.repository;
 
 import com.autoflex.inventory.entity.RawMaterial;
+import com.autoflex.inventory.jfr.RepositoryReadEvent;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import org.hibernate.jpa.HibernateHints;
 
 @ApplicationScoped
 public class RawMaterialRepository implements PanacheRepository<RawMaterial> {
 
+    @Inject
+    NameSearch nameSearch;
+
+    /**
+     * Looked up in the persistence context and the second-level cache before
+     * the database, so resolving many lines to the same raw materials costs
+     * at most one query each.
+     */
     public Optional<RawMaterial> findByIdOptional(Long id) {
-        return find("id", id).firstResultOptional();
+        return Optional.ofNullable(getEntityManager().find(RawMaterial.class, id));
     }
 
-    public List<RawMaterial> findByNameContaining(String name) {
-        return list("LOWER(name) LIKE LOWER(?1)", "%" + name + "%");
+    /**
+     * Raw materials whose name contains or resembles {@code term}, best match first.
+     */
+    public List<RawMaterial> search(String term, int offset, int limit) {
+        List<Long> ids = nameSearch.rankedIds("raw_materials", "RawMaterial", term, offset, limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return NameSearch.inOrder(ids, list("id IN ?1", ids), RawMaterial::getId);
     }
 
     public boolean existsByName(String name) {
@@ -26,6 +50,92 @@ public class RawMaterialRepository implements PanacheRepository<RawMaterial> {
     }
 
     public List<RawMaterial> findAllOrderByName() {
-        return list("ORDER BY name ASC");
+        RepositoryReadEvent event = RepositoryReadEvent.start("RawMaterial.findAllOrderByName");
+        // Served from the query cache until any raw material changes
+        List<RawMaterial> rawMaterials = find("ORDER BY name ASC, id ASC")
+                .withHint(HibernateHints.HINT_CACHEABLE, true)
+                .list();
+        event.finish(rawMaterials.size());
+        return rawMaterials;
+    }
+
+    /**
+     * Up to {@code limit} raw materials matching the filters, starting after
+     * the given key and id in the sort order.
+     * Null filters and a null {@code afterId} are ignored.
+     */
+    public List<RawMaterial> findPage(String name, BigDecimal minStock, BigDecimal maxStock,
+                                      RawMaterialSort sort, Object afterKey, Long afterId, int limit) {
+        RepositoryReadEvent event = RepositoryReadEvent.start("RawMaterial.findPage");
+        List<RawMaterial> page = new KeysetQuery("RawMaterial")
+                .nameContains(name)
+                .atLeast("stockQuantity", minStock)
+                .atMost("stockQuantity", maxStock)
+                .list(getEntityManager(), RawMaterial.class, sort.property(), sort.isDescending(), afterKey, afterId, limit);
+        event.finish(page.size());
+        return page;
+    }
+
+    /**
+     * Id and name of every raw material, without loading the entities.
+     * Columns: id, name.
+     */
+    public List<Object[]> findIdsAndNames() {
+        return getEntityManager()
+                .createQuery("SELECT r.id, r.name FROM RawMaterial r", Object[].class)
+                .getResultList();
+    }
+
+    /**
+     * Ids of the raw materials with the given lower-cased names, keyed by lower-cased
+     * name, in one query per 1000 names.
+     */
+    public Map<String, Long> findIdsByLowerNames(Collection<String> lowerNames) {
+        Map<String, Long> ids = new HashMap<>();
+        for (List<String> names : InClause.partition(lowerNames)) {
+            getEntityManager()
+                    .createQuery("SELECT LOWER(r.name), r.id FROM RawMaterial r WHERE LOWER(r.name) IN :names", Object[].class)
+                    .setParameter("names", names)
+                    .getResultList()
+                    .forEach(row -> ids.put((String) row[0], (Long) row[1]));
+        }
+        return ids;
+    }
+
+    /**
+     * Names of the raw materials with the given ids, keyed by id, in one
+     * query per 1000 ids.
+     */
+    public Map<Long, String> findNamesByIds(Collection<Long> ids) {
+        Map<Long, String> names = new HashMap<>();
+        for (List<Long> part : InClause.partition(ids)) {
+            getEntityManager()
+                    .createQuery("SELECT r.id, r.name FROM RawMaterial r WHERE r.id IN :ids", Object[].class)
+                    .setParameter("ids", part)
+                    .getResultList()
+                    .forEach(row -> names.put((Long) row[0], (String) row[1]));
+        }
+        return names;
+    }
+
+    /**
+     * Proxy for associations, without loading the row.
+     */
+    public RawMaterial reference(Long id) {
+        return getEntityManager().getReference(RawMaterial.class, id);
+    }
+
+    /**
+     * The subset of the given ids that exist.
+     */
+    public Set<Long> findExistingIds(Collection<Long> ids) {
+        Set<Long> existing = new HashSet<>();
+        for (List<Long> part : InClause.partition(ids)) {
+            existing.addAll(getEntityManager()
+                    .createQuery("SELECT r.id FROM RawMaterial r WHERE r.id IN :ids", Long.class)
+                    .setParameter("ids", part)
+                    .getResultList());
+        }
+        return existing;
     }
 }
@@ -0,0 +1,58 @@
+package com.autoflex.inventory.repository;
+
+import com.autoflex.inventory.entity.RawMaterial;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Sort orders of the raw material listing. Each one is backed by an index on
+ * (column, id) so keyset pages are index range scans.
+ */
+public enum RawMaterialSort {
+
+    NAME("name", "name", false),
+    NAME_DESC("-name", "name", true),
+    STOCK("stock", "stockQuantity", false),
+    STOCK_DESC("-stock", "stockQuantity", true);
+
+    private final String parameter;
+    private final String property;
+    private final boolean descending;
+
+    RawMaterialSort(String parameter, String property, boolean descending) {
+        this.parameter = parameter;
+        this.property = property;
+        this.descending = descending;
+    }
+
+    public static Optional<RawMaterialSort> fromParameter(String parameter) {
+        return Arrays.stream(values()).filter(s -> s.parameter.equals(parameter)).findFirst();
+    }
+
+    public String parameter() {
+        return parameter;
+    }
+
+    String property() {
+        return property;
+    }
+
+    boolean isDescending() {
+        return descending;
+    }
+
+    /**
+     * Sort key of a raw material, as stored in a {@link KeysetCursor}.
+     */
+    public String keyOf(RawMaterial rawMaterial) {
+        return property.equals("name") ? rawMaterial.getName() : rawMaterial.getStockQuantity().toPlainString();
+    }
+
+    /**
+     * @throws NumberFormatException when a stock key is not a number
+     */
+    public Object parseKey(String key) {
+        return property.equals("name") ? key : new BigDecimal(key);
+    }
+}
@@ -0,0 +1,138 @@
+package com.autoflex.inventory.repository;
+
+import com.autoflex.inventory.dto.BomLineDTO;
+import com.autoflex.inventory.dto.ComponentLineDTO;
+import com.autoflex.inventory.dto.ProductDTO;
+import com.autoflex.inventory.dto.ProductRawMaterialDTO;
+import com.autoflex.inventory.dto.RawMaterialDTO;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.vertx.mutiny.pgclient.PgPool;
+import io.vertx.mutiny.sqlclient.Row;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The whole-catalog reads on the Vert.x PostgreSQL client instead of JDBC.
+ *
+ * Queries do not hold a connection while the caller waits: a handful of
+ * event-loop connections carry every request, pipelined, so concurrent
+ * readers do not each need a pooled JDBC connection. Results are the same
+ * DTOs, in the same order, as the blocking repositories and mappers produce.
+ *
+ * Only available when a reactive datasource is configured
+ * ({@code quarkus.datasource.reactive.url}).
+ */
+@ApplicationScoped
+public class ReactiveCatalogRepository {
+
+    private static final String RAW_MATERIALS =
+            "SELECT id, name, stock_quantity FROM raw_materials ORDER BY name, id";
+
+    private static final String PRODUCTS_WITH_RAW_MATERIALS =
+            "SELECT p.id AS product_id, p.name AS product_name, p.value AS product_value, "
+            + "prm.id AS line_id, rm.id AS raw_material_id, rm.name AS raw_material_name, prm.required_quantity "
+            + "FROM products p "
+            + "LEFT JOIN product_raw_materials prm ON prm.product_id = p.id "
+            + "LEFT JOIN raw_materials rm ON rm.id = prm.raw_material_id "
+            + "ORDER BY p.id, prm.id";
+
+    private static final String BOM_LINES =
+            "SELECT p.id AS product_id, p.name AS product_name, p.value AS product_value, "
+            + "rm.id AS raw_material_id, prm.required_quantity, rm.stock_quantity "
+            + "FROM products p "
+            + "LEFT JOIN product_raw_materials prm ON prm.product_id = p.id "
+            + "LEFT JOIN raw_materials rm ON rm.id = prm.raw_material_id "
+            + "ORDER BY p.value DESC, p.id, prm.id";
+
+    private static final String COMPONENT_LINES =
+            "SELECT product_id, component_id, required_quantity FROM product_components ORDER BY product_id, id";
+
+    @Inject
+    Instance<PgPool> pools;
+
+    public boolean isAvailable() {
+        return pools.isResolvable();
+    }
+
+    /**
+     * Every raw material, by name.
+     */
+    public Uni<List<RawMaterialDTO>> findAllRawMaterialsOrderByName() {
+        return pool().query(RAW_MATERIALS).execute().map(rows -> {
+            List<RawMaterialDTO> rawMaterials = new ArrayList<>(rows.size());
+            for (Row row : rows) {
+                rawMaterials.add(new RawMaterialDTO(
+                        row.getLong("id"), row.getString("name"), row.getBigDecimal("stock_quantity")));
+            }
+            return rawMaterials;
+        });
+    }
+
+    /**
+     * Every product with its bill of materials, by id, in one query.
+     */
+    public Uni<List<ProductDTO>> findAllProductsWithRawMaterials() {
+        return pool().query(PRODUCTS_WITH_RAW_MATERIALS).execute().map(rows -> {
+            List<ProductDTO> products = new ArrayList<>();
+            ProductDTO product = null;
+            for (Row row : rows) {
+                Long productId = row.getLong("product_id");
+                if (product == null || !product.getId().equals(productId)) {
+                    product = new ProductDTO(productId, row.getString("product_name"),
+                            row.getBigDecimal("product_value"), new ArrayList<>());
+                    products.add(product);
+                }
+                // Products without raw materials come as one row with null line columns
+                Long lineId = row.getLong("line_id");
+                if (lineId != null) {
+                    product.getRawMaterials().add(new ProductRawMaterialDTO(lineId, row.getLong("raw_material_id"),
+                            row.getString("raw_material_name"), row.getBigDecimal("required_quantity")));
+                }
+            }
+            return products;
+        });
+    }
+
+    /**
+     * Every bill of materials line with its product and stock, like
+     * {@link ProductRepository#streamBomLinesOrderByValueDesc()}.
+     * The lines are emitted once the query has completed.
+     */
+    public Multi<BomLineDTO> streamBomLinesOrderByValueDesc() {
+        return pool().query(BOM_LINES).execute()
+                .onItem().transformToMulti(rows -> Multi.createFrom().iterable(rows))
+                .map(row -> new BomLineDTO(
+                        row.getLong("product_id"),
+                        row.getString("product_name"),
+                        row.getBigDecimal("product_value"),
+                        row.getLong("raw_material_id"),
+                        row.getBigDecimal("required_quantity"),
+                        row.getBigDecimal("stock_quantity")));
+    }
+
+    /**
+     * Every component line of the multi-level bills of materials, like
+     * {@link ProductRepository#findComponentLines()}.
+     */
+    public Uni<List<ComponentLineDTO>> findComponentLines() {
+        return pool().query(COMPONENT_LINES).execute().map(rows -> {
+            List<ComponentLineDTO> lines = new ArrayList<>(rows.size());
+            for (Row row : rows) {
+                lines.add(new ComponentLineDTO(row.getLong("product_id"), row.getLong("component_id"),
+                        row.getBigDecimal("required_quantity")));
+            }
+            return lines;
+        });
+    }
+
+    private PgPool pool() {
+        if (!pools.isResolvable()) {
+            throw new IllegalStateException("No reactive datasource configured (quarkus.datasource.reactive.url)");
+        }
+        return pools.get();
+    }
+}
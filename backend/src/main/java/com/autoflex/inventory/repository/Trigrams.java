@@ -0,0 +1,81 @@
+package com.autoflex.inventory.repository;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Trigram similarity as pg_trgm computes it, for databases without the
+ * extension.
+ *
+ * Words are runs of letters and digits, lower-cased and padded with two
+ * spaces in front and one behind, so "Steel" gives "  s", " st", "ste", "tee",
+ * "eel" and "el ".
+ */
+final class Trigrams {
+
+    private Trigrams() {
+    }
+
+    /**
+     * pg_trgm's strict_word_similarity: the best similarity between the
+     * trigrams of {@code term} and those of any run of whole words of
+     * {@code text}.
+     */
+    static double strictWordSimilarity(String term, String text) {
+        Set<String> termTrigrams = new HashSet<>();
+        for (String word : words(term)) {
+            addTrigrams(word, termTrigrams);
+        }
+        if (termTrigrams.isEmpty()) {
+            return 0;
+        }
+
+        List<String> words = words(text);
+        double best = 0;
+        for (int start = 0; start < words.size(); start++) {
+            Set<String> extent = new HashSet<>();
+            for (int end = start; end < words.size(); end++) {
+                addTrigrams(words.get(end), extent);
+                best = Math.max(best, similarity(termTrigrams, extent));
+            }
+        }
+        return best;
+    }
+
+    private static double similarity(Set<String> a, Set<String> b) {
+        int common = 0;
+        for (String trigram : a) {
+            if (b.contains(trigram)) {
+                common++;
+            }
+        }
+        return (double) common / (a.size() + b.size() - common);
+    }
+
+    private static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                word.append(Character.toLowerCase(c));
+            } else if (word.length() > 0) {
+                words.add(word.toString());
+                word.setLength(0);
+            }
+        }
+        if (word.length() > 0) {
+            words.add(word.toString());
+        }
+        return words;
+    }
+
+    private static void addTrigrams(String word, Set<String> trigrams) {
+        String padded = "  " + word + " ";
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            trigrams.add(padded.substring(i, i + 3));
+        }
+    }
+}
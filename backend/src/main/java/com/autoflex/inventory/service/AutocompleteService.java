@@ -0,0 +1,178 @@
+package com.autoflex.inventory.service;
+
+import com.autoflex.inventory.dto.AutocompleteIndexStatsDTO;
+import com.autoflex.inventory.dto.AutocompleteStatsDTO;
+import com.autoflex.inventory.dto.NameSuggestionDTO;
+import com.autoflex.inventory.event.CatalogChangedEvent;
+import com.autoflex.inventory.exception.BusinessException;
+import com.autoflex.inventory.repository.ProductRepository;
+import com.autoflex.inventory.repository.RawMaterialRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Name autocomplete for products and raw materials, served from in-memory
+ * prefix indexes instead of the database.
+ *
+ * Each index is loaded on its first lookup. Afterwards catalog changes update
+ * it in place once their transaction commits; a bulk import, which does not
+ * say which names it added, drops it until the next lookup.
+ */
+@ApplicationScoped
+public class AutocompleteService {
+
+    static final int DEFAULT_LIMIT = 10;
+    static final int MAX_LIMIT = 50;
+
+    @Inject
+    ProductRepository productRepository;
+
+    @Inject
+    RawMaterialRepository rawMaterialRepository;
+
+    private final Catalog products = new Catalog(() -> productRepository.findIdsAndNames());
+    private final Catalog rawMaterials = new Catalog(() -> rawMaterialRepository.findIdsAndNames());
+
+    /**
+     * Products with a word of their name starting with {@code prefix}, those
+     * whose name starts with it first.
+     *
+     * @param limit maximum suggestions, 10 when null
+     */
+    public List<NameSuggestionDTO> suggestProducts(String prefix, Integer limit) {
+        return products.index().lookup(prefix != null ? prefix : "", limit(limit));
+    }
+
+    /**
+     * Raw materials with a word of their name starting with {@code prefix},
+     * those whose name starts with it first.
+     *
+     * @param limit maximum suggestions, 10 when null
+     */
+    public List<NameSuggestionDTO> suggestRawMaterials(String prefix, Integer limit) {
+        return rawMaterials.index().lookup(prefix != null ? prefix : "", limit(limit));
+    }
+
+    public AutocompleteStatsDTO getStats() {
+        return new AutocompleteStatsDTO(products.stats(), rawMaterials.stats());
+    }
+
+    void onCatalogChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) CatalogChangedEvent event) {
+        switch (event.getType()) {
+            case RAW_MATERIAL_CREATED:
+            case RAW_MATERIAL_UPDATED:
+                rawMaterials.put(event);
+                break;
+            case RAW_MATERIAL_DELETED:
+                rawMaterials.remove(event);
+                break;
+            case PRODUCT_CREATED:
+            case PRODUCT_UPDATED:
+                products.put(event);
+                break;
+            case PRODUCT_DELETED:
+                products.remove(event);
+                break;
+            default:
+                // Bills of materials do not change names
+        }
+    }
+
+    private static int limit(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_LIMIT;
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new BusinessException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        return limit;
+    }
+
+    /**
+     * The index of one catalog. Lookups read the current index without
+     * locking; loads and changes are serialized, so a change committed while
+     * the index loads is applied to it right after. The lock is not a monitor
+     * because loading blocks on JDBC, which would pin a virtual thread.
+     */
+    private static final class Catalog {
+
+        private final Supplier<List<Object[]>> loader;
+        private final ReentrantLock lock = new ReentrantLock();
+        private volatile NamePrefixIndex index;
+
+        private final LongAdder rebuilds = new LongAdder();
+        private final LongAdder updates = new LongAdder();
+
+        Catalog(Supplier<List<Object[]>> loader) {
+            this.loader = loader;
+        }
+
+        NamePrefixIndex index() {
+            NamePrefixIndex current = index;
+            return current != null ? current : load();
+        }
+
+        void put(CatalogChangedEvent event) {
+            lock.lock();
+            try {
+                if (event.getId() == null || event.getName() == null) {
+                    index = null;
+                } else if (index != null) {
+                    index = index.with(event.getId(), event.getName());
+                    updates.increment();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void remove(CatalogChangedEvent event) {
+            lock.lock();
+            try {
+                if (event.getId() == null) {
+                    index = null;
+                } else if (index != null) {
+                    index = index.without(event.getId());
+                    updates.increment();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        AutocompleteIndexStatsDTO stats() {
+            NamePrefixIndex current = index;
+            if (current == null) {
+                return new AutocompleteIndexStatsDTO(false, 0, 0, 0, rebuilds.sum(), updates.sum());
+            }
+            return new AutocompleteIndexStatsDTO(true, current.nameCount(), current.keyCount(),
+                    current.estimatedBytes(), rebuilds.sum(), updates.sum());
+        }
+
+        private NamePrefixIndex load() {
+            lock.lock();
+            try {
+                if (index == null) {
+                    List<Object[]> rows = loader.get();
+                    long[] ids = new long[rows.size()];
+                    String[] names = new String[rows.size()];
+                    for (int i = 0; i < ids.length; i++) {
+                        ids[i] = (Long) rows.get(i)[0];
+                        names[i] = (String) rows.get(i)[1];
+                    }
+                    index = NamePrefixIndex.build(ids, names);
+                    rebuilds.increment();
+                }
+                return index;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package com.autoflex.inventory.service;
+
+import com.autoflex.inventory.dto.BomLineDTO;
+import com.autoflex.inventory.dto.ComponentLineDTO;
+import com.autoflex.inventory.dto.ProductRawMaterialDTO;
+import com.autoflex.inventory.event.CatalogChangedEvent;
+import com.autoflex.inventory.exception.BusinessException;
+import com.autoflex.inventory.exception.NotFoundException;
+import com.autoflex.inventory.planner.BomCycleException;
+import com.autoflex.inventory.planner.BomExplosion;
+import com.autoflex.inventory.repository.ProductComponentRepository;
+import com.autoflex.inventory.repository.ProductRepository;
+import com.autoflex.inventory.repository.RawMaterialRepository;
+import jakarta.annotation.Priority;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import jakarta.interceptor.Interceptor;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+import org.jboss.logging.Logger;
+
+/**
+ * Multi-level bills of materials, exploded to the raw materials they take.
+ *
+ * One {@link BomExplosion} memo serves the whole application: the planner's
+ * loads and the explosion endpoint share it, and a committed change to a
+ * product's bill of materials drops that product and the products containing
+ * it, nothing else.
+ */
+@ApplicationScoped
+public class BomExplosionService {
+
+    private static final Logger LOG = Logger.getLogger(BomExplosionService.class);
+
+    @Inject
+    ProductRepository productRepository;
+
+    @Inject
+    ProductComponentRepository productComponentRepository;
+
+    @Inject
+    RawMaterialRepository rawMaterialRepository;
+
+    final BomExplosion explosion = new BomExplosion();
+
+    /**
+     * Stamp to take before reading the lines passed to
+     * {@link #explode(Stream, List, long)}.
+     */
+    public long stamp() {
+        return explosion.stamp();
+    }
+
+    /**
+     * Raw materials one unit of a product needs, through all levels of its
+     * components.
+     */
+    public List<ProductRawMaterialDTO> explode(Long productId) {
+        if (productRepository.findByIdOptional(productId).isEmpty()) {
+            throw new NotFoundException("Product not found with id: " + productId);
+        }
+
+        long stamp = explosion.stamp();
+        BomExplosion.Requirements requirements = explosion.cached(productId);
+        if (requirements == null) {
+            try {
+                requirements = explosion.explode(productId, readDefinitions(List.of(productId)), stamp);
+            } catch (BomCycleException e) {
+                throw new BusinessException("Product " + productId + " contains itself through products " + e.getCycle());
+            }
+        }
+
+        List<Long> rawMaterialIds = new ArrayList<>(requirements.size());
+        for (int i = 0; i < requirements.size(); i++) {
+            rawMaterialIds.add(requirements.materialId(i));
+        }
+        Map<Long, String> names = rawMaterialRepository.findNamesByIds(rawMaterialIds);
+        List<ProductRawMaterialDTO> exploded = new ArrayList<>(requirements.size());
+        for (int i = 0; i < requirements.size(); i++) {
+            exploded.add(new ProductRawMaterialDTO(null, requirements.materialId(i),
+                    names.get(requirements.materialId(i)), requirements.quantity(i)));
+        }
+        return exploded;
+    }
+
+    /**
+     * The products among the given ones whose bill of materials contains a
+     * cycle, each with the cycle found. {@link #explode(Stream, List, long)}
+     * leaves these out, so they are missing from the planner's matrix just
+     * like products that need nothing.
+     */
+    public Map<Long, List<Long>> findCycles(Collection<Long> productIds) {
+        Map<Long, List<Long>> cycles = new TreeMap<>();
+        if (productIds.isEmpty()) {
+            return cycles;
+        }
+        long stamp = explosion.stamp();
+        BomExplosion.Definitions definitions = readDefinitions(productIds);
+        for (Long productId : productIds) {
+            try {
+                explosion.explode(productId, definitions, stamp);
+            } catch (BomCycleException e) {
+                cycles.put(productId, e.getCycle());
+            }
+        }
+        return cycles;
+    }
+
+    /**
+     * Bill of materials lines with the components of each product replaced by
+     * the raw materials they take, products in the same order, ready for
+     * {@link com.autoflex.inventory.planner.BomMatrix#compile(Stream)}.
+     * Products that contain themselves are left out.
+     *
+     * @param lines      every product's raw material lines, grouped by product
+     * @param components every component line
+     * @param stamp      {@link #stamp()} taken before both were read
+     */
+    public Stream<BomLineDTO> explode(Stream<BomLineDTO> lines, List<ComponentLineDTO> components, long stamp) {
+        // Products in order, by their first line, and what each one takes directly
+        List<BomLineDTO> products = new ArrayList<>();
+        Map<Long, Map<Long, BigDecimal>> materials = new HashMap<>();
+        Map<Long, BigDecimal> stock = new HashMap<>();
+        for (Iterator<BomLineDTO> it = lines.iterator(); it.hasNext(); ) {
+            BomLineDTO line = it.next();
+            if (products.isEmpty() || !products.get(products.size() - 1).getProductId().equals(line.getProductId())) {
+                products.add(line);
+            }
+            if (line.getRawMaterialId() != null) {
+                materials.computeIfAbsent(line.getProductId(), id -> new LinkedHashMap<>())
+                        .merge(line.getRawMaterialId(), line.getRequiredQuantity(), BigDecimal::add);
+                stock.putIfAbsent(line.getRawMaterialId(), line.getStockQuantity());
+            }
+        }
+        Map<Long, Map<Long, BigDecimal>> componentsByProduct = new HashMap<>();
+        for (ComponentLineDTO line : components) {
+            componentsByProduct.computeIfAbsent(line.getProductId(), id -> new LinkedHashMap<>())
+                    .merge(line.getComponentId(), line.getRequiredQuantity(), BigDecimal::add);
+        }
+        BomExplosion.Definitions definitions = definitions(materials, componentsByProduct);
+
+        List<BomLineDTO> exploded = new ArrayList<>();
+        for (BomLineDTO product : products) {
+            Long productId = product.getProductId();
+            if (!componentsByProduct.containsKey(productId)) {
+                for (Map.Entry<Long, BigDecimal> line : definitions.materials(productId).entrySet()) {
+                    exploded.add(line(product, line.getKey(), line.getValue(), stock));
+                }
+                continue;
+            }
+            BomExplosion.Requirements requirements;
+            try {
+                requirements = explosion.explode(productId, definitions, stamp);
+            } catch (BomCycleException e) {
+                LOG.warnf("Product %d left out of the plan: %s", productId, e.getMessage());
+                continue;
+            }
+            for (int i = 0; i < requirements.size(); i++) {
+                exploded.add(line(product, requirements.materialId(i), requirements.quantity(i), stock));
+            }
+        }
+        return exploded.stream();
+    }
+
+    // Before the suggestion cache drops its plan, so the next plan does not
+    // reuse explosions the change replaced
+    void onCatalogChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS)
+                          @Priority(Interceptor.Priority.APPLICATION) CatalogChangedEvent event) {
+        switch (event.getType()) {
+            case PRODUCT_UPDATED:
+            case PRODUCT_DELETED:
+            case BILL_OF_MATERIALS_CHANGED:
+                if (event.getId() == null) {
+                    explosion.clear(); // A bulk import
+                } else {
+                    explosion.invalidate(event.getId());
+                }
+                break;
+            default:
+                // Stock and new products change nothing any product takes
+        }
+    }
+
+    /**
+     * Reads the direct bill of materials of some products and everything below
+     * them, one level per round of queries.
+     */
+    private BomExplosion.Definitions readDefinitions(Collection<Long> productIds) {
+        Map<Long, Map<Long, BigDecimal>> materials = new HashMap<>();
+        Map<Long, Map<Long, BigDecimal>> components = new HashMap<>();
+        Set<Long> read = new HashSet<>();
+        List<Long> level = new ArrayList<>(productIds);
+        while (!level.isEmpty()) {
+            read.addAll(level);
+            for (BomLineDTO line : productRepository.findBomLinesByProductIds(level)) {
+                materials.computeIfAbsent(line.getProductId(), id -> new LinkedHashMap<>())
+                        .merge(line.getRawMaterialId(), line.getRequiredQuantity(), BigDecimal::add);
+            }
+            Set<Long> next = new HashSet<>();
+            for (ComponentLineDTO line : productComponentRepository.findLinesByProductIds(level)) {
+                components.computeIfAbsent(line.getProductId(), id -> new LinkedHashMap<>())
+                        .merge(line.getComponentId(), line.getRequiredQuantity(), BigDecimal::add);
+                if (!read.contains(line.getComponentId())) {
+                    next.add(line.getComponentId());
+                }
+            }
+            level = new ArrayList<>(next);
+        }
+        return definitions(materials, components);
+    }
+
+    private static BomExplosion.Definitions definitions(Map<Long, Map<Long, BigDecimal>> materials,
+                                                        Map<Long, Map<Long, BigDecimal>> components) {
+        return new BomExplosion.Definitions() {
+            @Override
+            public Map<Long, BigDecimal> materials(long productId) {
+                return materials.getOrDefault(productId, Map.of());
+            }
+
+            @Override
+            public Map<Long, BigDecimal> components(long productId) {
+                return components.getOrDefault(productId, Map.of());
+            }
+        };
+    }
+
+    private static BomLineDTO line(BomLineDTO product, Long rawMaterialId, BigDecimal quantity,
+                                   Map<Long, BigDecimal> stock) {
+        return new BomLineDTO(product.getProductId(), product.getProductName(), product.getProductValue(),
+                rawMaterialId, quantity, stock.get(rawMaterialId));
+    }
+}
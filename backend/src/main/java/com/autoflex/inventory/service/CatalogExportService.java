@@ -0,0 +1,192 @@
+package com.autoflex.inventory.service;
+
+import com.autoflex.inventory.repository.ProductRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.ScrollableResults;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+
+/**
+ * Streams the whole catalog with its bills of materials.
+ *
+ * Rows come from a forward-only cursor on a stateless session and are written
+ * as they are read, so nothing is kept per product and memory use does not
+ * depend on the catalog size. Writes block while the client is slow to read.
+ */
+@ApplicationScoped
+public class CatalogExportService {
+
+    @Inject
+    SessionFactory sessionFactory;
+
+    @Inject
+    ProductRepository productRepository;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @ConfigProperty(name = "inventory.export.transaction-timeout-seconds", defaultValue = "3600")
+    int transactionTimeoutSeconds;
+
+    /**
+     * One JSON object per line and product, shaped like {@code ProductDTO}.
+     */
+    public void exportNdjson(OutputStream output) {
+        export(new NdjsonWriter(objectMapper, output));
+    }
+
+    /**
+     * One line per bill of materials line, with a header row.
+     */
+    public void exportCsv(OutputStream output) {
+        export(new CsvWriter(output));
+    }
+
+    private void export(CatalogWriter writer) {
+        // The cursor needs a transaction: PostgreSQL only streams with autocommit off
+        QuarkusTransaction.requiringNew().timeout(transactionTimeoutSeconds).run(() -> {
+            try (StatelessSession session = sessionFactory.openStatelessSession();
+                 ScrollableResults<Object[]> rows = productRepository.scrollCatalogLines(session)) {
+                while (rows.next()) {
+                    writer.row(rows.get());
+                }
+                writer.finish();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private interface CatalogWriter {
+
+        void row(Object[] row) throws IOException;
+
+        void finish() throws IOException;
+    }
+
+    private static final class NdjsonWriter implements CatalogWriter {
+
+        private final JsonGenerator json;
+        private Long currentProductId;
+
+        NdjsonWriter(ObjectMapper objectMapper, OutputStream output) {
+            try {
+                json = objectMapper.getFactory().createGenerator(output);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            json.setPrettyPrinter(new MinimalPrettyPrinter("\n"));
+        }
+
+        @Override
+        public void row(Object[] row) throws IOException {
+            Long productId = (Long) row[0];
+            if (!productId.equals(currentProductId)) {
+                if (currentProductId != null) {
+                    endProduct();
+                }
+                currentProductId = productId;
+                json.writeStartObject();
+                json.writeNumberField("id", productId);
+                json.writeStringField("name", (String) row[1]);
+                json.writeNumberField("value", (BigDecimal) row[2]);
+                json.writeArrayFieldStart("rawMaterials");
+            }
+            if (row[3] != null) {
+                json.writeStartObject();
+                json.writeNumberField("id", (Long) row[3]);
+                json.writeNumberField("rawMaterialId", (Long) row[4]);
+                json.writeStringField("rawMaterialName", (String) row[5]);
+                json.writeNumberField("requiredQuantity", (BigDecimal) row[6]);
+                json.writeEndObject();
+            }
+        }
+
+        @Override
+        public void finish() throws IOException {
+            if (currentProductId != null) {
+                endProduct();
+                json.writeRaw('\n');
+            }
+            json.close();
+        }
+
+        private void endProduct() throws IOException {
+            json.writeEndArray();
+            json.writeEndObject();
+        }
+    }
+
+    private static final class CsvWriter implements CatalogWriter {
+
+        private static final String HEADER =
+                "product_id,product_name,product_value,raw_material_id,raw_material_name,required_quantity\n";
+
+        private final Writer out;
+        private boolean headerWritten;
+
+        CsvWriter(OutputStream output) {
+            this.out = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), 64 * 1024);
+        }
+
+        @Override
+        public void row(Object[] row) throws IOException {
+            writeHeader();
+            out.write(row[0].toString());
+            out.write(',');
+            writeText((String) row[1]);
+            out.write(',');
+            out.write(((BigDecimal) row[2]).toPlainString());
+            out.write(',');
+            if (row[3] != null) {
+                out.write(row[4].toString());
+                out.write(',');
+                writeText((String) row[5]);
+                out.write(',');
+                out.write(((BigDecimal) row[6]).toPlainString());
+            } else {
+                out.write(",,");
+            }
+            out.write('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            writeHeader();
+            out.flush();
+        }
+
+        private void writeHeader() throws IOException {
+            if (!headerWritten) {
+                out.write(HEADER);
+                headerWritten = true;
+            }
+        }
+
+        private void writeText(String value) throws IOException {
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                    && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                out.write(value);
+                return;
+            }
+            out.write('"');
+            out.write(value.replace("\"", "\"\""));
+            out.write('"');
+        }
+    }
+}
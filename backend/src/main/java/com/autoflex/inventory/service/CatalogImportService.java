@@ -0,0 +1,401 @@
+package com.autoflex.inventory.service;
+
+import com.autoflex.inventory.dto.BomLineImportDTO;
+import com.autoflex.inventory.dto.ImportErrorDTO;
+import com.autoflex.inventory.dto.ImportResultDTO;
+import com.autoflex.inventory.dto.ProductDTO;
+import com.autoflex.inventory.dto.ProductRawMaterialDTO;
+import com.autoflex.inventory.dto.RawMaterialDTO;
+import com.autoflex.inventory.entity.Product;
+import com.autoflex.inventory.entity.ProductRawMaterial;
+import com.autoflex.inventory.entity.RawMaterial;
+import com.autoflex.inventory.event.CatalogChangedEvent;
+import com.autoflex.inventory.metrics.CountStatements;
+import com.autoflex.inventory.repository.ProductRawMaterialRepository;
+import com.autoflex.inventory.repository.ProductRepository;
+import com.autoflex.inventory.repository.RawMaterialRepository;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.inject.Inject;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+/**
+ * Bulk import of raw materials, products and bill of materials lines.
+ *
+ * Every row is checked up front with a fixed number of set-based queries:
+ * names against the existing catalog, and referenced products and raw
+ * materials resolved in one batch. Rows that fail are reported and skipped.
+ * The rest is inserted in chunks of {@code inventory.import.chunk-size} rows,
+ * each in its own transaction, so one failing chunk does not undo the others.
+ */
+@ApplicationScoped
+@CountStatements
+public class CatalogImportService {
+
+    private static final Logger LOG = Logger.getLogger(CatalogImportService.class);
+
+    @Inject
+    RawMaterialRepository rawMaterialRepository;
+
+    @Inject
+    ProductRepository productRepository;
+
+    @Inject
+    ProductRawMaterialRepository productRawMaterialRepository;
+
+    @Inject
+    Validator validator;
+
+    @Inject
+    Event<CatalogChangedEvent> catalogEvents;
+
+    @ConfigProperty(name = "inventory.import.chunk-size", defaultValue = "500")
+    int chunkSize;
+
+    public ImportResultDTO importRawMaterials(List<RawMaterialDTO> rawMaterials) {
+        return importRawMaterials(Batch.of(rawMaterials));
+    }
+
+    /**
+     * CSV with the header {@code name,stock_quantity}.
+     */
+    public ImportResultDTO importRawMaterialsCsv(String csv) {
+        return importRawMaterials(Batch.fromCsv(CsvParser.parse(csv, "name", "stock_quantity"), 2,
+                record -> new RawMaterialDTO(null, text(record[0]), decimal(record[1], "stock_quantity"))));
+    }
+
+    public ImportResultDTO importProducts(List<ProductDTO> products) {
+        return importProducts(Batch.of(products));
+    }
+
+    /**
+     * CSV with the header {@code name,value}. Bills of materials are imported
+     * separately, see {@link #importBomLinesCsv(String)}.
+     */
+    public ImportResultDTO importProductsCsv(String csv) {
+        return importProducts(Batch.fromCsv(CsvParser.parse(csv, "name", "value"), 2,
+                record -> new ProductDTO(null, text(record[0]), decimal(record[1], "value"))));
+    }
+
+    public ImportResultDTO importBomLines(List<BomLineImportDTO> lines) {
+        return importBomLines(Batch.of(lines));
+    }
+
+    /**
+     * CSV with the header {@code product_name,raw_material_name,required_quantity}.
+     */
+    public ImportResultDTO importBomLinesCsv(String csv) {
+        return importBomLines(Batch.fromCsv(
+                CsvParser.parse(csv, "product_name", "raw_material_name", "required_quantity"), 3,
+                record -> new BomLineImportDTO(text(record[0]), text(record[1]), decimal(record[2], "required_quantity"))));
+    }
+
+    private ImportResultDTO importRawMaterials(Batch<RawMaterialDTO> batch) {
+        List<Row<RawMaterialDTO>> rows = validate(batch);
+        rows = withNewNames(rows, RawMaterialDTO::getName, rawMaterialRepository::findIdsByLowerNames,
+                "Raw material", batch.errors);
+
+        int imported = persistInChunks(rows,
+                dto -> rawMaterialRepository.persist(new RawMaterial(dto.getName(), dto.getStockQuantity())),
+                CatalogChangedEvent.Type.RAW_MATERIAL_CREATED, batch.errors);
+        return batch.result(imported);
+    }
+
+    private ImportResultDTO importProducts(Batch<ProductDTO> batch) {
+        List<Row<ProductDTO>> rows = validate(batch);
+
+        // Bill of materials lines: valid, no raw material twice, and every raw material exists
+        List<Row<ProductDTO>> withValidLines = new ArrayList<>();
+        Set<Long> referenced = new HashSet<>();
+        for (Row<ProductDTO> row : rows) {
+            String error = lineError(row.value.getRawMaterials());
+            if (error != null) {
+                batch.errors.add(new ImportErrorDTO(row.number, error));
+            } else {
+                withValidLines.add(row);
+                rawMaterialIds(row.value).forEach(referenced::add);
+            }
+        }
+        Set<Long> existing = rawMaterialRepository.findExistingIds(referenced);
+        rows = new ArrayList<>();
+        for (Row<ProductDTO> row : withValidLines) {
+            Optional<Long> missing = rawMaterialIds(row.value).filter(id -> !existing.contains(id)).findFirst();
+            if (missing.isPresent()) {
+                batch.errors.add(new ImportErrorDTO(row.number, "Raw material not found with id: " + missing.get()));
+            } else {
+                rows.add(row);
+            }
+        }
+
+        rows = withNewNames(rows, ProductDTO::getName, productRepository::findIdsByLowerNames, "Product", batch.errors);
+
+        int imported = persistInChunks(rows, dto -> {
+            Product product = new Product(dto.getName(), dto.getValue());
+            if (dto.getRawMaterials() != null) {
+                for (ProductRawMaterialDTO line : dto.getRawMaterials()) {
+                    product.getRawMaterials().add(new ProductRawMaterial(
+                            product, rawMaterialRepository.reference(line.getRawMaterialId()), line.getRequiredQuantity()));
+                }
+            }
+            // Lines are persisted through the cascade
+            productRepository.persist(product);
+        }, CatalogChangedEvent.Type.PRODUCT_CREATED, batch.errors);
+        return batch.result(imported);
+    }
+
+    private ImportResultDTO importBomLines(Batch<BomLineImportDTO> batch) {
+        List<Row<BomLineImportDTO>> rows = validate(batch);
+
+        Map<String, Long> productIds = productRepository.findIdsByLowerNames(
+                rows.stream().map(row -> lower(row.value.getProductName())).collect(Collectors.toSet()));
+        Map<String, Long> rawMaterialIds = rawMaterialRepository.findIdsByLowerNames(
+                rows.stream().map(row -> lower(row.value.getRawMaterialName())).collect(Collectors.toSet()));
+        Map<Long, Set<Long>> existingLines = productRawMaterialRepository.findRawMaterialIdsByProductIds(productIds.values());
+
+        List<Row<ResolvedLine>> resolved = new ArrayList<>();
+        Map<Long, Set<Long>> importedLines = new HashMap<>();
+        for (Row<BomLineImportDTO> row : rows) {
+            BomLineImportDTO line = row.value;
+            Long productId = productIds.get(lower(line.getProductName()));
+            Long rawMaterialId = rawMaterialIds.get(lower(line.getRawMaterialName()));
+            String error = null;
+            if (productId == null) {
+                error = "Product not found with name: " + line.getProductName();
+            } else if (rawMaterialId == null) {
+                error = "Raw material not found with name: " + line.getRawMaterialName();
+            } else if (existingLines.getOrDefault(productId, Set.of()).contains(rawMaterialId)) {
+                error = "Raw material is already associated with this product";
+            } else if (!importedLines.computeIfAbsent(productId, id -> new HashSet<>()).add(rawMaterialId)) {
+                error = "Duplicate bill of materials line in this import";
+            }
+
+            if (error != null) {
+                batch.errors.add(new ImportErrorDTO(row.number, error));
+            } else {
+                resolved.add(new Row<>(row.number, new ResolvedLine(productId, rawMaterialId, line.getRequiredQuantity())));
+            }
+        }
+
+        int imported = persistInChunks(resolved, line -> productRawMaterialRepository.persist(new ProductRawMaterial(
+                        productRepository.reference(line.productId),
+                        rawMaterialRepository.reference(line.rawMaterialId),
+                        line.requiredQuantity)),
+                CatalogChangedEvent.Type.BILL_OF_MATERIALS_CHANGED, batch.errors);
+        return batch.result(imported);
+    }
+
+    /**
+     * Keeps the rows that pass bean validation, like the single-item endpoints.
+     */
+    private <T> List<Row<T>> validate(Batch<T> batch) {
+        List<Row<T>> valid = new ArrayList<>();
+        for (Row<T> row : batch.rows) {
+            Set<ConstraintViolation<T>> violations = validator.validate(row.value);
+            if (violations.isEmpty()) {
+                valid.add(row);
+            } else {
+                batch.errors.add(new ImportErrorDTO(row.number, violations.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.joining("; "))));
+            }
+        }
+        return valid;
+    }
+
+    /**
+     * Drops rows whose name already exists, checked in one query per 1000
+     * names, or repeats an earlier row of the same import.
+     */
+    private <T> List<Row<T>> withNewNames(List<Row<T>> rows, Function<T, String> name,
+                                          Function<Set<String>, Map<String, Long>> findExisting,
+                                          String label, List<ImportErrorDTO> errors) {
+        Set<String> existing = findExisting.apply(
+                rows.stream().map(row -> lower(name.apply(row.value))).collect(Collectors.toSet())).keySet();
+
+        Set<String> seen = new HashSet<>();
+        List<Row<T>> unique = new ArrayList<>();
+        for (Row<T> row : rows) {
+            String rowName = name.apply(row.value);
+            String key = lower(rowName);
+            if (existing.contains(key)) {
+                errors.add(new ImportErrorDTO(row.number, label + " with name '" + rowName + "' already exists"));
+            } else if (!seen.add(key)) {
+                errors.add(new ImportErrorDTO(row.number, "Duplicate name '" + rowName + "' in this import"));
+            } else {
+                unique.add(row);
+            }
+        }
+        return unique;
+    }
+
+    private String lineError(List<ProductRawMaterialDTO> lines) {
+        if (lines == null) {
+            return null;
+        }
+        Set<Long> seen = new HashSet<>();
+        for (ProductRawMaterialDTO line : lines) {
+            if (line == null) {
+                return "Bill of materials line is empty";
+            }
+            Set<ConstraintViolation<ProductRawMaterialDTO>> violations = validator.validate(line);
+            if (!violations.isEmpty()) {
+                return violations.iterator().next().getMessage();
+            }
+            if (!seen.add(line.getRawMaterialId())) {
+                return "Raw material " + line.getRawMaterialId() + " appears twice in the bill of materials";
+            }
+        }
+        return null;
+    }
+
+    private static Stream<Long> rawMaterialIds(ProductDTO dto) {
+        return dto.getRawMaterials() == null
+                ? Stream.empty()
+                : dto.getRawMaterials().stream().map(ProductRawMaterialDTO::getRawMaterialId);
+    }
+
+    /**
+     * Inserts the rows in chunks, one transaction each. Every chunk flushes its
+     * inserts in JDBC batches on commit and fires one catalog event.
+     *
+     * @return the number of rows committed
+     */
+    private <T> int persistInChunks(List<Row<T>> rows, Consumer<T> persister,
+                                    CatalogChangedEvent.Type eventType, List<ImportErrorDTO> errors) {
+        int imported = 0;
+        for (int from = 0; from < rows.size(); from += chunkSize) {
+            List<Row<T>> chunk = rows.subList(from, Math.min(rows.size(), from + chunkSize));
+            try {
+                QuarkusTransaction.requiringNew().run(() -> {
+                    for (Row<T> row : chunk) {
+                        persister.accept(row.value);
+                    }
+                    catalogEvents.fire(CatalogChangedEvent.of(eventType, null));
+                });
+                imported += chunk.size();
+            } catch (RuntimeException e) {
+                LOG.warnf(e, "Import chunk of rows %d to %d rolled back", chunk.get(0).number, chunk.get(chunk.size() - 1).number);
+                String message = "Not imported, its chunk was rolled back: " + rootMessage(e);
+                for (Row<T> row : chunk) {
+                    errors.add(new ImportErrorDTO(row.number, message));
+                }
+            }
+        }
+        return imported;
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable root = e;
+        while (root.getCause() != null) {
+            root = root.getCause();
+        }
+        return root.getMessage() != null ? root.getMessage() : root.getClass().getSimpleName();
+    }
+
+    private static String lower(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    private static String text(String field) {
+        String trimmed = field.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    private static BigDecimal decimal(String field, String column) {
+        String trimmed = field.trim();
+        if (trimmed.isEmpty()) {
+            return null;
+        }
+        try {
+            return new BigDecimal(trimmed);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number in " + column + ": '" + trimmed + "'");
+        }
+    }
+
+    private static final class Row<T> {
+
+        final int number;
+        final T value;
+
+        Row(int number, T value) {
+            this.number = number;
+            this.value = value;
+        }
+    }
+
+    private static final class ResolvedLine {
+
+        final long productId;
+        final long rawMaterialId;
+        final BigDecimal requiredQuantity;
+
+        ResolvedLine(long productId, long rawMaterialId, BigDecimal requiredQuantity) {
+            this.productId = productId;
+            this.rawMaterialId = rawMaterialId;
+            this.requiredQuantity = requiredQuantity;
+        }
+    }
+
+    /**
+     * Input rows numbered from 1, with the errors found so far.
+     */
+    private static final class Batch<T> {
+
+        final int received;
+        final List<Row<T>> rows = new ArrayList<>();
+        final List<ImportErrorDTO> errors = new ArrayList<>();
+
+        private Batch(int received) {
+            this.received = received;
+        }
+
+        static <T> Batch<T> of(List<T> items) {
+            if (items == null) {
+                return new Batch<>(0);
+            }
+            Batch<T> batch = new Batch<>(items.size());
+            for (int i = 0; i < items.size(); i++) {
+                if (items.get(i) == null) {
+                    batch.errors.add(new ImportErrorDTO(i + 1, "Row is empty"));
+                } else {
+                    batch.rows.add(new Row<>(i + 1, items.get(i)));
+                }
+            }
+            return batch;
+        }
+
+        static <T> Batch<T> fromCsv(List<String[]> records, int columns, Function<String[], T> converter) {
+            Batch<T> batch = new Batch<>(records.size());
+            for (int i = 0; i < records.size(); i++) {
+                String[] record = records.get(i);
+                if (record.length != columns) {
+                    batch.errors.add(new ImportErrorDTO(i + 1, "Expected " + columns + " columns, found " + record.length));
+                    continue;
+                }
+                try {
+                    batch.rows.add(new Row<>(i + 1, converter.apply(record)));
+                } catch (IllegalArgumentException e) {
+                    batch.errors.add(new ImportErrorDTO(i + 1, e.getMessage()));
+                }
+            }
+            return batch;
+        }
+
+        ImportResultDTO result(int imported) {
+            errors.sort(Comparator.comparingInt(ImportErrorDTO::getRow));
+            return new ImportResultDTO(received, imported, errors);
+        }
+    }
+}
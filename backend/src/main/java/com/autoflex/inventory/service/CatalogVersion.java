@@ -0,0 +1,47 @@
+package com.autoflex.inventory.service;
+
+import com.autoflex.inventory.event.CatalogChangedEvent;
+import jakarta.annotation.Priority;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.interceptor.Interceptor;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Monotonic version of the catalog: products, raw materials, their stock and
+ * the bills of materials. Every committed change bumps it, so reads that
+ * started at the same version returned the same data, and the version can
+ * validate a response without reading the database.
+ *
+ * Local to this instance. Tags carry the instance's start time, so tags of
+ * another instance or an earlier run never match.
+ */
+@ApplicationScoped
+public class CatalogVersion {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+    private final AtomicLong version = new AtomicLong();
+
+    /**
+     * The current version. Read it before reading the data it will describe:
+     * the data is then at least as recent as the version.
+     */
+    public long current() {
+        return version.get();
+    }
+
+    /**
+     * Opaque tag of the given version, for an ETag.
+     */
+    public String tag(long version) {
+        return epoch + "-" + version;
+    }
+
+    // After the other catalog observers: once the new version is visible,
+    // caches of derived data have already dropped what it replaces
+    void onCatalogChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS)
+                          @Priority(Interceptor.Priority.APPLICATION + 1000) CatalogChangedEvent event) {
+        version.incrementAndGet();
+    }
+}
@@ -0,0 +1,92 @@
+package com.autoflex.inventory.service;
+
+import com.autoflex.inventory.exception.BusinessException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Minimal RFC 4180 reader for the import endpoints: comma separated, fields
+ * optionally quoted with doubled quotes inside, LF or CRLF line endings.
+ */
+final class CsvParser {
+
+    private CsvParser() {
+    }
+
+    /**
+     * Parses {@code text} and checks that its first record is {@code header}
+     * (case-insensitive). Blank lines are skipped.
+     *
+     * @return the data records, without the header
+     */
+    static List<String[]> parse(String text, String... header) {
+        List<String[]> records = records(text);
+        if (records.isEmpty() || !matchesHeader(records.get(0), header)) {
+            throw new BusinessException("CSV must start with the header: " + String.join(",", header));
+        }
+        return records.subList(1, records.size());
+    }
+
+    private static boolean matchesHeader(String[] record, String[] header) {
+        if (record.length != header.length) {
+            return false;
+        }
+        for (int i = 0; i < header.length; i++) {
+            if (!record[i].trim().toLowerCase(Locale.ROOT).equals(header[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static List<String[]> records(String text) {
+        List<String[]> records = new ArrayList<>();
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean blankLine = true;
+
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+                blankLine = false;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+                blankLine = false;
+            } else if (c == '\n' || c == '\r') {
+                if (c == '\r' && i + 1 < text.length() && text.charAt(i + 1) == '\n') {
+                    i++;
+                }
+                if (!blankLine) {
+                    fields.add(field.toString());
+                    records.add(fields.toArray(new String[0]));
+                }
+                fields.clear();
+                field.setLength(0);
+                blankLine = true;
+            } else {
+                field.append(c);
+                if (!Character.isWhitespace(c)) {
+                    blankLine = false;
+                }
+            }
+        }
+        if (!blankLine) {
+            fields.add(field.toString());
+            records.add(fields.toArray(new String[0]));
+        }
+        return records;
+    }
+}
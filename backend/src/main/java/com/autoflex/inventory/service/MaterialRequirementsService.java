@@ -0,0 +1,134 @@
+package com.autoflex.inventory.service;
+
+import com.autoflex.inventory.dto.DemandLineDTO;
+import com.autoflex.inventory.dto.MaterialRequirementDTO;
+import com.autoflex.inventory.dto.MaterialRequirementsDTO;
+import com.autoflex.inventory.exception.BusinessException;
+import com.autoflex.inventory.planner.BomMatrix;
+import com.autoflex.inventory.repository.ProductRepository;
+import com.autoflex.inventory.repository.RawMaterialRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Material requirements planning: the raw materials a production target
+ * takes, netted against stock into the quantities to buy.
+ *
+ * Works from the compiled bill of materials the planner uses, so products
+ * made of other products are already exploded to raw materials. The demand
+ * is first added up per product, then every line of the matrix is visited
+ * once; the cost grows with the size of the demand plus that of the catalog,
+ * with no query per demand line. Requirements are rounded up and stock down,
+ * as in the plan, so the purchases err on the side of enough.
+ */
+@ApplicationScoped
+public class MaterialRequirementsService {
+
+    @Inject
+    ProductionSuggestionCache productionSuggestionCache;
+
+    @Inject
+    ProductRepository productRepository;
+
+    @Inject
+    RawMaterialRepository rawMaterialRepository;
+
+    @Inject
+    BomExplosionService bomExplosionService;
+
+    @ConfigProperty(name = "inventory.mrp.max-demand-lines", defaultValue = "200000")
+    int maxDemandLines;
+
+    /**
+     * Gross and net raw material requirements of making the given quantities.
+     */
+    public MaterialRequirementsDTO plan(List<DemandLineDTO> demand) {
+        if (demand.size() > maxDemandLines) {
+            throw new BusinessException("At most " + maxDemandLines + " demand lines can be planned at once");
+        }
+
+        // Units per product; repeated products add up
+        Map<Long, Long> units = new HashMap<>();
+        for (DemandLineDTO line : demand) {
+            units.merge(line.getProductId(), line.getQuantity().longValue(), Long::sum);
+        }
+
+        BomMatrix matrix = productionSuggestionCache.getMatrix();
+        long[] gross = new long[matrix.materialCount()];
+        Set<Long> unplanned = new HashSet<>(units.keySet());
+        try {
+            for (int p = 0; p < matrix.productCount(); p++) {
+                Long quantity = units.get(matrix.productId(p));
+                if (quantity == null) {
+                    continue;
+                }
+                unplanned.remove(matrix.productId(p));
+                for (int line = matrix.rowStart(p); line < matrix.rowStart(p + 1); line++) {
+                    int m = matrix.materialIndex(line);
+                    gross[m] = Math.addExact(gross[m], Math.multiplyExact(matrix.required(line), quantity));
+                }
+            }
+        } catch (ArithmeticException e) {
+            throw new BusinessException("Demand too large to plan");
+        }
+
+        // Products outside the matrix take no raw material, as long as they exist
+        // and were not left out for containing themselves
+        if (!unplanned.isEmpty()) {
+            Set<Long> existing = productRepository.findExistingIds(unplanned);
+            unplanned.removeAll(existing);
+            if (!unplanned.isEmpty()) {
+                throw new BusinessException("Products not found: " + unplanned.stream()
+                        .sorted()
+                        .limit(10)
+                        .collect(Collectors.toList()));
+            }
+            Map<Long, List<Long>> cycles = bomExplosionService.findCycles(existing);
+            if (!cycles.isEmpty()) {
+                Map.Entry<Long, List<Long>> cycle = cycles.entrySet().iterator().next();
+                throw new BusinessException("Product " + cycle.getKey() + " contains a cycle through products "
+                        + cycle.getValue());
+            }
+        }
+
+        List<Long> rawMaterialIds = new ArrayList<>();
+        for (int m = 0; m < gross.length; m++) {
+            if (gross[m] > 0) {
+                rawMaterialIds.add(matrix.materialId(m));
+            }
+        }
+        Map<Long, String> names = rawMaterialRepository.findNamesByIds(rawMaterialIds);
+
+        List<MaterialRequirementDTO> materials = new ArrayList<>(rawMaterialIds.size());
+        for (int m = 0; m < gross.length; m++) {
+            if (gross[m] > 0) {
+                materials.add(new MaterialRequirementDTO(
+                        matrix.materialId(m),
+                        names.get(matrix.materialId(m)),
+                        toQuantity(gross[m]),
+                        toQuantity(matrix.stock(m)),
+                        toQuantity(Math.max(0, gross[m] - matrix.stock(m)))
+                ));
+            }
+        }
+        // What has to be bought first
+        materials.sort(Comparator.comparing(MaterialRequirementDTO::getPurchaseQuantity, Comparator.reverseOrder())
+                .thenComparing(MaterialRequirementDTO::getRawMaterialId));
+
+        return new MaterialRequirementsDTO(units.size(), materials);
+    }
+
+    private static BigDecimal toQuantity(long fixed) {
+        return BigDecimal.valueOf(fixed, BomMatrix.QUANTITY_SCALE);
+    }
+}
@@ -0,0 +1,318 @@
+package com.autoflex.inventory.service;
+
+import com.autoflex.inventory.dto.NameSuggestionDTO;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Immutable prefix index over catalog names, for autocomplete.
+ *
+ * Names are normalized (lower case, accents removed, words separated by one
+ * space) and every word start is a key, so "Stainless steel bolt" is found by
+ * "sta", "ste" and "bol". Keys are not copied strings but (name slot, offset)
+ * pairs into the normalized name, kept sorted in int arrays: a lookup is a
+ * binary search followed by a scan of the matching range. Keys at the start
+ * of a name and keys inside it are kept apart, so names that start with the
+ * prefix come first.
+ *
+ * A change copies the arrays and inserts or drops the keys of one name,
+ * without sorting again. A removed name leaves its slot free until more than
+ * half of the slots are free, when the index is compacted.
+ */
+final class NamePrefixIndex {
+
+    static final NamePrefixIndex EMPTY = build(new long[0], new String[0]);
+
+    private final long[] ids;
+    private final String[] names;
+    private final String[] normalized;
+    private final int liveNames;
+    private final Keys starts;
+    private final Keys words;
+
+    private NamePrefixIndex(long[] ids, String[] names, String[] normalized, int liveNames, Keys starts, Keys words) {
+        this.ids = ids;
+        this.names = names;
+        this.normalized = normalized;
+        this.liveNames = liveNames;
+        this.starts = starts;
+        this.words = words;
+    }
+
+    static NamePrefixIndex build(long[] ids, String[] names) {
+        String[] normalized = new String[names.length];
+        List<int[]> startKeys = new ArrayList<>(names.length);
+        List<int[]> wordKeys = new ArrayList<>();
+        for (int slot = 0; slot < names.length; slot++) {
+            normalized[slot] = normalize(names[slot]);
+            addKeys(slot, normalized[slot], startKeys, wordKeys);
+        }
+        return new NamePrefixIndex(ids.clone(), names.clone(), normalized, names.length,
+                Keys.sorted(startKeys, normalized), Keys.sorted(wordKeys, normalized));
+    }
+
+    /**
+     * Lower case, without accents, with runs of anything but letters and digits
+     * turned into one space.
+     */
+    static String normalize(String name) {
+        String decomposed = Normalizer.normalize(name, Normalizer.Form.NFD);
+        StringBuilder normalized = new StringBuilder(decomposed.length());
+        boolean separator = false;
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (Character.isLetterOrDigit(c)) {
+                if (separator && normalized.length() > 0) {
+                    normalized.append(' ');
+                }
+                separator = false;
+                normalized.append(Character.toLowerCase(c));
+            } else {
+                separator = true;
+            }
+        }
+        return normalized.toString();
+    }
+
+    /**
+     * Up to {@code limit} names with a word starting with {@code prefix}:
+     * first those whose name starts with it, each group in name order.
+     */
+    List<NameSuggestionDTO> lookup(String prefix, int limit) {
+        String key = normalize(prefix);
+        List<NameSuggestionDTO> matches = new ArrayList<>(Math.min(limit, 16));
+        if (key.isEmpty()) {
+            return matches;
+        }
+        Set<Integer> seen = new HashSet<>();
+        collect(starts, key, limit, matches, seen);
+        if (matches.size() < limit) {
+            collect(words, key, limit, matches, seen);
+        }
+        return matches;
+    }
+
+    /**
+     * This index with {@code name} under {@code id}, replacing its previous name.
+     */
+    NamePrefixIndex with(long id, String name) {
+        NamePrefixIndex base = without(id);
+        int slot = base.ids.length;
+
+        long[] ids = Arrays.copyOf(base.ids, slot + 1);
+        String[] names = Arrays.copyOf(base.names, slot + 1);
+        String[] normalized = Arrays.copyOf(base.normalized, slot + 1);
+        ids[slot] = id;
+        names[slot] = name;
+        normalized[slot] = normalize(name);
+
+        List<int[]> startKeys = new ArrayList<>(1);
+        List<int[]> wordKeys = new ArrayList<>();
+        addKeys(slot, normalized[slot], startKeys, wordKeys);
+        return new NamePrefixIndex(ids, names, normalized, base.liveNames + 1,
+                base.starts.insert(startKeys, normalized), base.words.insert(wordKeys, normalized));
+    }
+
+    /**
+     * This index without the name of {@code id}; the same index when it has none.
+     */
+    NamePrefixIndex without(long id) {
+        int slot = slotOf(id);
+        if (slot < 0) {
+            return this;
+        }
+        int live = liveNames - 1;
+        if (ids.length - live > live) {
+            return compactedWithout(slot);
+        }
+        long[] ids = this.ids.clone();
+        String[] names = this.names.clone();
+        String[] normalized = this.normalized.clone();
+        names[slot] = null;
+        normalized[slot] = null;
+        return new NamePrefixIndex(ids, names, normalized, liveNames - 1,
+                starts.remove(slot), words.remove(slot));
+    }
+
+    int nameCount() {
+        return liveNames;
+    }
+
+    int keyCount() {
+        return starts.size() + words.size();
+    }
+
+    /**
+     * Approximate heap size of the index, assuming compressed references.
+     */
+    long estimatedBytes() {
+        long bytes = arrayBytes(ids.length, 8) + 2 * arrayBytes(names.length, 4)
+                + starts.estimatedBytes() + words.estimatedBytes();
+        for (int slot = 0; slot < names.length; slot++) {
+            if (names[slot] != null) {
+                bytes += stringBytes(names[slot]);
+                if (!normalized[slot].equals(names[slot])) {
+                    bytes += stringBytes(normalized[slot]);
+                }
+            }
+        }
+        return bytes;
+    }
+
+    private void collect(Keys keys, String prefix, int limit, List<NameSuggestionDTO> matches, Set<Integer> seen) {
+        for (int i = keys.lowerBound(prefix, normalized); i < keys.size() && matches.size() < limit; i++) {
+            int slot = keys.slots[i];
+            if (!normalized[slot].startsWith(prefix, keys.offsets[i])) {
+                return;
+            }
+            if (seen.add(slot)) {
+                matches.add(new NameSuggestionDTO(ids[slot], names[slot]));
+            }
+        }
+    }
+
+    private int slotOf(long id) {
+        for (int slot = 0; slot < ids.length; slot++) {
+            if (ids[slot] == id && names[slot] != null) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private NamePrefixIndex compactedWithout(int removed) {
+        long[] remainingIds = new long[liveNames - 1];
+        String[] remainingNames = new String[remainingIds.length];
+        int n = 0;
+        for (int slot = 0; slot < ids.length; slot++) {
+            if (slot != removed && names[slot] != null) {
+                remainingIds[n] = ids[slot];
+                remainingNames[n] = names[slot];
+                n++;
+            }
+        }
+        return build(remainingIds, remainingNames);
+    }
+
+    private static void addKeys(int slot, String normalized, List<int[]> startKeys, List<int[]> wordKeys) {
+        if (normalized.isEmpty()) {
+            return;
+        }
+        startKeys.add(new int[] {slot, 0});
+        for (int i = normalized.indexOf(' '); i >= 0; i = normalized.indexOf(' ', i + 1)) {
+            wordKeys.add(new int[] {slot, i + 1});
+        }
+    }
+
+    private static long arrayBytes(int length, int elementBytes) {
+        return 16 + (long) length * elementBytes;
+    }
+
+    private static long stringBytes(String s) {
+        boolean latin1 = s.chars().allMatch(c -> c <= 0xFF);
+        return 24 + arrayBytes(s.length(), latin1 ? 1 : 2);
+    }
+
+    /**
+     * Keys sorted by the normalized text they point to: key i is
+     * {@code normalized[slots[i]].substring(offsets[i])}.
+     */
+    private static final class Keys {
+
+        final int[] slots;
+        final int[] offsets;
+
+        Keys(int[] slots, int[] offsets) {
+            this.slots = slots;
+            this.offsets = offsets;
+        }
+
+        static Keys sorted(List<int[]> keys, String[] normalized) {
+            keys.sort((a, b) -> compare(normalized[a[0]], a[1], normalized[b[0]], b[1]));
+            int[] slots = new int[keys.size()];
+            int[] offsets = new int[keys.size()];
+            for (int i = 0; i < slots.length; i++) {
+                slots[i] = keys.get(i)[0];
+                offsets[i] = keys.get(i)[1];
+            }
+            return new Keys(slots, offsets);
+        }
+
+        int size() {
+            return slots.length;
+        }
+
+        /**
+         * First position whose key is not less than {@code text}.
+         */
+        int lowerBound(String text, String[] normalized) {
+            int low = 0;
+            int high = slots.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (compare(normalized[slots[mid]], offsets[mid], text, 0) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        Keys insert(List<int[]> keys, String[] normalized) {
+            Keys result = this;
+            for (int[] key : keys) {
+                String text = normalized[key[0]].substring(key[1]);
+                int at = result.lowerBound(text, normalized);
+                int[] slots = new int[result.size() + 1];
+                int[] offsets = new int[result.size() + 1];
+                System.arraycopy(result.slots, 0, slots, 0, at);
+                System.arraycopy(result.offsets, 0, offsets, 0, at);
+                slots[at] = key[0];
+                offsets[at] = key[1];
+                System.arraycopy(result.slots, at, slots, at + 1, result.size() - at);
+                System.arraycopy(result.offsets, at, offsets, at + 1, result.size() - at);
+                result = new Keys(slots, offsets);
+            }
+            return result;
+        }
+
+        Keys remove(int slot) {
+            int[] slots = new int[this.slots.length];
+            int[] offsets = new int[this.slots.length];
+            int n = 0;
+            for (int i = 0; i < this.slots.length; i++) {
+                if (this.slots[i] != slot) {
+                    slots[n] = this.slots[i];
+                    offsets[n] = this.offsets[i];
+                    n++;
+                }
+            }
+            return new Keys(Arrays.copyOf(slots, n), Arrays.copyOf(offsets, n));
+        }
+
+        long estimatedBytes() {
+            return 2 * arrayBytes(slots.length, 4);
+        }
+
+        private static int compare(String a, int aOffset, String b, int bOffset) {
+            int aLength = a.length() - aOffset;
+            int bLength = b.length() - bOffset;
+            int length = Math.min(aLength, bLength);
+            for (int i = 0; i < length; i++) {
+                int diff = a.charAt(aOffset + i) - b.charAt(bOffset + i);
+                if (diff != 0) {
+                    return diff;
+                }
+            }
+            return aLength - bLength;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.autoflex.inventory.service;
+
+import com.autoflex.inventory.exception.BusinessException;
+import com.autoflex.inventory.repository.KeysetCursor;
+import java.util.function.Function;
+
+/**
+ * Validation shared by the paginated listings and searches.
+ */
+final class Pagination {
+
+    static final int DEFAULT_LIMIT = 50;
+    static final int MAX_LIMIT = 500;
+
+    private Pagination() {
+    }
+
+    static int pageSize(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_LIMIT;
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new BusinessException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        return limit;
+    }
+
+    /**
+     * @return the decoded cursor, or null for the first page
+     */
+    static KeysetCursor cursor(String after, String sort) {
+        if (after == null || after.isEmpty()) {
+            return null;
+        }
+        KeysetCursor cursor = KeysetCursor.decode(after)
+                .orElseThrow(() -> new BusinessException("Invalid cursor"));
+        if (!cursor.getSort().equals(sort)) {
+            throw new BusinessException("Cursor was issued for sort '" + cursor.getSort() + "', not '" + sort + "'");
+        }
+        return cursor;
+    }
+
+    /**
+     * Decodes the cursor of a ranked search, the offset of its next page.
+     *
+     * @return 0 for the first page
+     */
+    static int offset(String after) {
+        if (after == null || after.isEmpty()) {
+            return 0;
+        }
+        try {
+            int offset = Integer.parseInt(after);
+            if (offset >= 0) {
+                return offset;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        throw new BusinessException("Invalid cursor");
+    }
+
+    /**
+     * Parses the sort key stored in a cursor.
+     */
+    static Object key(KeysetCursor cursor, Function<String, Object> parser) {
+        try {
+            return parser.apply(cursor.getKey());
+        } catch (NumberFormatException e) {
+            throw new BusinessException("Invalid cursor");
+        }
+    }
+}
@@ -1,22 +1,38 @@
 package com.autoflex.inventory.service;
 
+import com.autoflex.inventory.dto.ComponentLineDTO;
+import com.autoflex.inventory.dto.PageDTO;
+import com.autoflex.inventory.dto.ProductComponentDTO;
 import com.autoflex.inventory.dto.ProductDTO;
 import com.autoflex.inventory.dto.ProductRawMaterialDTO;
 import com.autoflex.inventory.entity.Product;
+import com.autoflex.inventory.entity.ProductComponent;
 import com.autoflex.inventory.entity.ProductRawMaterial;
 import com.autoflex.inventory.entity.RawMaterial;
+import com.autoflex.inventory.event.CatalogChangedEvent;
 import com.autoflex.inventory.exception.BusinessException;
 import com.autoflex.inventory.exception.NotFoundException;
 import com.autoflex.inventory.mapper.ProductMapper;
+import com.autoflex.inventory.metrics.CountStatements;
+import com.autoflex.inventory.repository.KeysetCursor;
+import com.autoflex.inventory.repository.ProductComponentRepository;
 import com.autoflex.inventory.repository.ProductRawMaterialRepository;
 import com.autoflex.inventory.repository.ProductRepository;
+import com.autoflex.inventory.repository.ProductSort;
 import com.autoflex.inventory.repository.RawMaterialRepository;
+import com.autoflex.inventory.repository.ReactiveCatalogRepository;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 @ApplicationScoped
+@CountStatements
 public class ProductService {
 
     @Inject
@@ -28,13 +44,81 @@ public class ProductService {
     @Inject
     ProductRawMaterialRepository productRawMaterialRepository;
 
+    @Inject
+    ProductComponentRepository productComponentRepository;
+
     @Inject
     ProductMapper productMapper;
 
+    @Inject
+    ReactiveCatalogRepository reactiveCatalogRepository;
+
+    @Inject
+    ReadPath readPath;
+
+    @Inject
+    Event<CatalogChangedEvent> catalogEvents;
+
     public List<ProductDTO> findAll() {
+        if (readPath.isReactive()) {
+            return readPath.await(reactiveCatalogRepository.findAllProductsWithRawMaterials());
+        }
         return productMapper.toDTOList(productRepository.findAllWithRawMaterials());
     }
 
+    /**
+     * One keyset page of products, optionally filtered by name (contains,
+     * case-insensitive) and value range.
+     *
+     * @param sort name, -name, value or -value; name when null
+     * @param after cursor of the previous page, null for the first page
+     * @param limit page size, 50 when null
+     */
+    public PageDTO<ProductDTO> findPage(String name, BigDecimal minValue, BigDecimal maxValue,
+                                        String sort, String after, Integer limit) {
+        ProductSort order = ProductSort.fromParameter(sort != null ? sort : ProductSort.NAME.parameter())
+                .orElseThrow(() -> new BusinessException("Invalid sort '" + sort + "'; use name, -name, value or -value"));
+        int pageSize = Pagination.pageSize(limit);
+        KeysetCursor cursor = Pagination.cursor(after, order.parameter());
+
+        // One extra row tells whether another page follows
+        List<Product> products = cursor == null
+                ? productRepository.findPage(name, minValue, maxValue, order, null, null, pageSize + 1)
+                : productRepository.findPage(name, minValue, maxValue, order,
+                        Pagination.key(cursor, order::parseKey), cursor.getId(), pageSize + 1);
+
+        String nextCursor = null;
+        if (products.size() > pageSize) {
+            products = products.subList(0, pageSize);
+            Product last = products.get(pageSize - 1);
+            nextCursor = new KeysetCursor(order.parameter(), order.keyOf(last), last.getId()).encode();
+        }
+        return new PageDTO<>(productMapper.toDTOList(products), nextCursor);
+    }
+
+    /**
+     * One page of the products whose name contains or resembles
+     * {@code name}, best match first. Tolerates typos.
+     *
+     * @param after cursor of the previous page, null for the first page
+     * @param limit page size, 50 when null
+     */
+    public PageDTO<ProductDTO> search(String name, String after, Integer limit) {
+        int pageSize = Pagination.pageSize(limit);
+        int offset = Pagination.offset(after);
+        if (name == null || name.isBlank()) {
+            return new PageDTO<>(List.of(), null);
+        }
+
+        List<Product> products = productRepository.search(name.trim(), offset, pageSize + 1);
+        String nextCursor = null;
+        if (products.size() > pageSize) {
+            products = products.subList(0, pageSize);
+            nextCursor = String.valueOf(offset + pageSize);
+        }
+        return new PageDTO<>(productMapper.toDTOList(products), nextCursor);
+    }
+
     public ProductDTO findById(Long id) {
         Product product = productRepository.findByIdOptional(id)
                 .orElseThrow(() -> new NotFoundException("Product not found with id: " + id));
@@ -54,6 +138,8 @@ public class ProductService {
             }
         }
         
+        catalogEvents.fire(CatalogChangedEvent.of(CatalogChangedEvent.Type.PRODUCT_CREATED,
+                product.getId(), product.getName()));
         return productMapper.toDTO(product);
     }
 
@@ -67,9 +153,12 @@ public class ProductService {
         
         // Update raw materials
         if (dto.getRawMaterials() != null) {
-            // Remove existing associations
+            // Remove existing associations. Orphan removal deletes them one by
+            // one, evicting only their own cache entries where a bulk delete
+            // would drop every cached bill of materials; flushed so the new
+            // lines can reuse the same raw materials
             product.getRawMaterials().clear();
-            productRawMaterialRepository.deleteByProductId(id);
+            productRawMaterialRepository.flush();
             
             // Add new associations
             for (ProductRawMaterialDTO rawMaterialDTO : dto.getRawMaterials()) {
@@ -78,6 +167,7 @@ public class ProductService {
         }
         
         productRepository.persist(product);
+        catalogEvents.fire(CatalogChangedEvent.of(CatalogChangedEvent.Type.PRODUCT_UPDATED, id, product.getName()));
         return productMapper.toDTO(product);
     }
 
@@ -86,8 +176,14 @@ public class ProductService {
         Product product = productRepository.findByIdOptional(id)
                 .orElseThrow(() -> new NotFoundException("Product not found with id: " + id));
         
-        productRawMaterialRepository.deleteByProductId(id);
+        if (productComponentRepository.existsByComponentId(id)) {
+            throw new BusinessException("Cannot delete product that is a component of other products");
+        }
+        
+        // The raw material lines go with it through the cascade
+        productComponentRepository.deleteByProductId(id);
         productRepository.delete(product);
+        catalogEvents.fire(CatalogChangedEvent.of(CatalogChangedEvent.Type.PRODUCT_DELETED, id));
     }
 
     @Transactional
@@ -103,6 +199,7 @@ public class ProductService {
         addRawMaterialToProduct(product, dto);
         productRepository.persist(product);
         
+        catalogEvents.fire(CatalogChangedEvent.of(CatalogChangedEvent.Type.BILL_OF_MATERIALS_CHANGED, productId));
         return productMapper.toDTO(product);
     }
 
@@ -118,6 +215,7 @@ public class ProductService {
         prm.setRequiredQuantity(dto.getRequiredQuantity());
         productRawMaterialRepository.persist(prm);
         
+        catalogEvents.fire(CatalogChangedEvent.of(CatalogChangedEvent.Type.BILL_OF_MATERIALS_CHANGED, productId));
         return productMapper.toDTO(product);
     }
 
@@ -133,9 +231,60 @@ public class ProductService {
         product.getRawMaterials().remove(prm);
         productRawMaterialRepository.delete(prm);
         
+        catalogEvents.fire(CatalogChangedEvent.of(CatalogChangedEvent.Type.BILL_OF_MATERIALS_CHANGED, productId));
         return productMapper.toDTO(product);
     }
 
+    public List<ProductComponentDTO> findComponents(Long productId) {
+        if (productRepository.findByIdOptional(productId).isEmpty()) {
+            throw new NotFoundException("Product not found with id: " + productId);
+        }
+        return productMapper.toProductComponentDTOList(productComponentRepository.findByProductId(productId));
+    }
+
+    @Transactional
+    public List<ProductComponentDTO> addComponent(Long productId, ProductComponentDTO dto) {
+        Product product = productRepository.findByIdOptional(productId)
+                .orElseThrow(() -> new NotFoundException("Product not found with id: " + productId));
+        Product component = productRepository.findByIdOptional(dto.getComponentId())
+                .orElseThrow(() -> new NotFoundException("Product not found with id: " + dto.getComponentId()));
+        
+        if (productComponentRepository.findByProductIdAndComponentId(productId, dto.getComponentId()).isPresent()) {
+            throw new BusinessException("Component is already associated with this product");
+        }
+        validateComponent(productId, dto.getComponentId());
+        
+        productComponentRepository.persist(new ProductComponent(product, component, dto.getRequiredQuantity()));
+        
+        catalogEvents.fire(CatalogChangedEvent.of(CatalogChangedEvent.Type.BILL_OF_MATERIALS_CHANGED, productId));
+        return productMapper.toProductComponentDTOList(productComponentRepository.findByProductId(productId));
+    }
+
+    @Transactional
+    public List<ProductComponentDTO> updateComponent(Long productId, Long componentId, ProductComponentDTO dto) {
+        ProductComponent pc = productComponentRepository
+                .findByProductIdAndComponentId(productId, componentId)
+                .orElseThrow(() -> new NotFoundException("Component association not found"));
+        
+        pc.setRequiredQuantity(dto.getRequiredQuantity());
+        productComponentRepository.persist(pc);
+        
+        catalogEvents.fire(CatalogChangedEvent.of(CatalogChangedEvent.Type.BILL_OF_MATERIALS_CHANGED, productId));
+        return productMapper.toProductComponentDTOList(productComponentRepository.findByProductId(productId));
+    }
+
+    @Transactional
+    public List<ProductComponentDTO> removeComponent(Long productId, Long componentId) {
+        ProductComponent pc = productComponentRepository
+                .findByProductIdAndComponentId(productId, componentId)
+                .orElseThrow(() -> new NotFoundException("Component association not found"));
+        
+        productComponentRepository.delete(pc);
+        
+        catalogEvents.fire(CatalogChangedEvent.of(CatalogChangedEvent.Type.BILL_OF_MATERIALS_CHANGED, productId));
+        return productMapper.toProductComponentDTOList(productComponentRepository.findByProductId(productId));
+    }
+
     private void addRawMaterialToProduct(Product product, ProductRawMaterialDTO dto) {
         RawMaterial rawMaterial = rawMaterialRepository.findByIdOptional(dto.getRawMaterialId())
                 .orElseThrow(() -> new NotFoundException("Raw material not found with id: " + dto.getRawMaterialId()));
@@ -145,6 +294,40 @@ public class ProductService {
         productRawMaterialRepository.persist(prm);
     }
 
+    /**
+     * Rejects a component that is the product itself or already contains it,
+     * walking the component's bill of materials one level per query.
+     *
+     * Every product on the walk is locked before its lines are read. A
+     * concurrent write that could close a cycle adds a line to one of these
+     * products, so one of the two waits for the other to commit and then
+     * sees its line. The database fails one of them if they deadlock.
+     */
+    private void validateComponent(Long productId, Long componentId) {
+        if (productId.equals(componentId)) {
+            throw new BusinessException("A product cannot be a component of itself");
+        }
+        productRepository.lockByIds(List.of(productId, componentId));
+        Set<Long> seen = new HashSet<>();
+        List<Long> level = List.of(componentId);
+        while (!level.isEmpty()) {
+            if (!level.contains(componentId)) {
+                productRepository.lockByIds(level);
+            }
+            List<Long> next = new ArrayList<>();
+            for (ComponentLineDTO line : productComponentRepository.findLinesByProductIds(level)) {
+                if (line.getComponentId().equals(productId)) {
+                    throw new BusinessException("Product " + componentId + " already contains product "
+                            + productId + "; it cannot be its component");
+                }
+                if (seen.add(line.getComponentId())) {
+                    next.add(line.getComponentId());
+                }
+            }
+            level = next;
+        }
+    }
+
     private void validateProductName(String name, Long excludeId) {
         if (excludeId == null) {
             if (productRepository.existsByName(name)) {
@@ -0,0 +1,128 @@
+package com.autoflex.inventory.service;
+
+import com.autoflex.inventory.dto.MaterialAnalysisDTO;
+import com.autoflex.inventory.dto.ProductionAnalysisDTO;
+import com.autoflex.inventory.dto.ProductionItemDTO;
+import com.autoflex.inventory.dto.ProductionSuggestionDTO;
+import com.autoflex.inventory.planner.BomMatrix;
+import com.autoflex.inventory.planner.ShadowPrices;
+import com.autoflex.inventory.repository.RawMaterialRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicReference;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Which raw materials limit production, and what one more unit of each is
+ * worth.
+ *
+ * Works from the cached suggestion and the compiled bill of materials it was
+ * planned from: leftover stock comes from the suggested quantities, and the
+ * marginal values of all materials from one LP solve per component of the
+ * catalog ({@link ShadowPrices}). Those are kept until the compiled bill of
+ * materials or its stock changes, so repeated calls only walk the matrix.
+ */
+@ApplicationScoped
+public class ProductionAnalysisService {
+
+    @Inject
+    ProductionSuggestionCache productionSuggestionCache;
+
+    @Inject
+    RawMaterialRepository rawMaterialRepository;
+
+    @ConfigProperty(name = "inventory.planner.time-budget-ms", defaultValue = "2000")
+    long timeBudgetMs;
+
+    // Shadow prices of the last matrix analyzed
+    private final AtomicReference<Prices> lastPrices = new AtomicReference<>();
+
+    public ProductionAnalysisDTO analyze() {
+        ProductionSuggestionCache.Planned planned = productionSuggestionCache.getPlanned();
+        BomMatrix matrix = planned.getMatrix();
+        ProductionSuggestionDTO suggestion = planned.getSuggestion();
+        double[] prices = shadowPrices(matrix);
+
+        // Stock left after the suggested production
+        Map<Long, Integer> units = new HashMap<>();
+        for (ProductionItemDTO item : suggestion.getItems()) {
+            units.put(item.getProductId(), item.getQuantity());
+        }
+        long[] leftover = new long[matrix.materialCount()];
+        matrix.copyStock(leftover);
+        for (int p = 0; p < matrix.productCount(); p++) {
+            matrix.consume(p, units.getOrDefault(matrix.productId(p), 0), leftover);
+        }
+
+        List<Long> rawMaterialIds = new ArrayList<>(matrix.materialCount());
+        for (int m = 0; m < matrix.materialCount(); m++) {
+            rawMaterialIds.add(matrix.materialId(m));
+        }
+        Map<Long, String> names = rawMaterialRepository.findNamesByIds(rawMaterialIds);
+
+        List<MaterialAnalysisDTO> materials = new ArrayList<>(matrix.materialCount());
+        for (int m = 0; m < matrix.materialCount(); m++) {
+            BigDecimal shadowPrice = toMoney(prices[m]);
+            materials.add(new MaterialAnalysisDTO(
+                    matrix.materialId(m),
+                    names.get(matrix.materialId(m)),
+                    toQuantity(matrix.stock(m)),
+                    toQuantity(matrix.stock(m) - leftover[m]),
+                    toQuantity(leftover[m]),
+                    shadowPrice,
+                    shadowPrice != null && shadowPrice.signum() > 0
+            ));
+        }
+        materials.sort(Comparator.comparing(MaterialAnalysisDTO::getShadowPrice,
+                        Comparator.nullsLast(Comparator.reverseOrder()))
+                .thenComparing(MaterialAnalysisDTO::getRawMaterialId));
+
+        return new ProductionAnalysisDTO(suggestion.getTotalValue(), suggestion.isOptimal(), materials);
+    }
+
+    private double[] shadowPrices(BomMatrix matrix) {
+        Prices last = lastPrices.get();
+        if (last != null && last.matrix == matrix) {
+            return last.prices;
+        }
+        double[] prices = ShadowPrices.compute(matrix, ForkJoinPool.commonPool(),
+                System.nanoTime() + timeBudgetMs * 1_000_000L);
+        lastPrices.set(new Prices(matrix, prices));
+        return prices;
+    }
+
+    /**
+     * Cents per fixed-point unit to currency per unit of stock.
+     */
+    private static BigDecimal toMoney(double centsPerFixedUnit) {
+        if (Double.isNaN(centsPerFixedUnit)) {
+            return null;
+        }
+        return BigDecimal.valueOf(centsPerFixedUnit)
+                .movePointRight(BomMatrix.QUANTITY_SCALE - BomMatrix.VALUE_SCALE)
+                .setScale(BomMatrix.VALUE_SCALE, RoundingMode.HALF_UP);
+    }
+
+    private static BigDecimal toQuantity(long fixed) {
+        return BigDecimal.valueOf(fixed, BomMatrix.QUANTITY_SCALE);
+    }
+
+    private static final class Prices {
+
+        final BomMatrix matrix;
+        final double[] prices;
+
+        Prices(BomMatrix matrix, double[] prices) {
+            this.matrix = matrix;
+            this.prices = prices;
+        }
+    }
+}
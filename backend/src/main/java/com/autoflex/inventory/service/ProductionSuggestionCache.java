@@ -0,0 +1,305 @@
+package com.autoflex.inventory.service;
+
+import com.autoflex.inventory.dto.ProductionSuggestionDTO;
+import com.autoflex.inventory.dto.SuggestionCacheStatsDTO;
+import com.autoflex.inventory.event.CatalogChangedEvent;
+import com.autoflex.inventory.planner.BomMatrix;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+/**
+ * Keeps the last production suggestion together with the compiled bill of
+ * materials it was planned from.
+ *
+ * Catalog changes invalidate it after their transaction commits. A stock
+ * update of a raw material is repaired in place: the compiled matrix gets the
+ * new stock and only the plan is recomputed, without reading the database.
+ *
+ * At most one computation runs per catalog generation. Callers that miss
+ * while it runs wait for it and share its result instead of loading and
+ * planning again. Within {@code inventory.planner.suggestion-staleness-ms} of
+ * the change that invalidated it, they are answered at once with the previous
+ * suggestion instead, marked stale.
+ */
+@ApplicationScoped
+public class ProductionSuggestionCache {
+
+    private static final Logger LOG = Logger.getLogger(ProductionSuggestionCache.class);
+
+    @Inject
+    ProductionSuggestionService productionSuggestionService;
+
+    @Inject
+    MeterRegistry registry;
+
+    @ConfigProperty(name = "inventory.planner.suggestion-staleness-ms", defaultValue = "0")
+    long stalenessMs;
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.EMPTY);
+    // The computation in progress, if any; waiting on its future parks a
+    // virtual thread without pinning its carrier
+    private final AtomicReference<Flight> flight = new AtomicReference<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder stale = new LongAdder();
+    private final LongAdder recomputes = new LongAdder();
+    private final LongAdder repairs = new LongAdder();
+
+    @PostConstruct
+    void init() {
+        registerMeters();
+    }
+
+    void registerMeters() {
+        registerRequestCounter("hit", hits);
+        registerRequestCounter("computed", misses);
+        registerRequestCounter("coalesced", coalesced);
+        registerRequestCounter("stale", stale);
+    }
+
+    private void registerRequestCounter(String result, LongAdder adder) {
+        FunctionCounter.builder("inventory.planner.suggestion.requests", adder, LongAdder::sum)
+                .description("Production suggestion requests by how they were answered")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    public ProductionSuggestionDTO getSuggestion() {
+        return lookup().getSuggestion();
+    }
+
+    /**
+     * The current suggestion, or the previous one while it is being
+     * recomputed and still within the staleness window.
+     */
+    public Result lookup() {
+        State current = state.get();
+        if (current.suggestion != null) {
+            hits.increment();
+            return new Result(current.suggestion, false);
+        }
+
+        Flight running = flight.get();
+        if (running != null && running.generation == current.generation) {
+            if (current.previous != null && System.nanoTime() - current.staleSince < TimeUnit.MILLISECONDS.toNanos(stalenessMs)) {
+                stale.increment();
+                return new Result(current.previous, true);
+            }
+            coalesced.increment();
+            return new Result(await(running), false);
+        }
+
+        Flight mine = new Flight(current.generation);
+        if (!flight.compareAndSet(running, mine)) {
+            // Another caller started one first; go again and most likely join it
+            return lookup();
+        }
+        misses.increment();
+        try {
+            ProductionSuggestionDTO suggestion = recompute(current);
+            mine.result.complete(suggestion);
+            return new Result(suggestion, false);
+        } catch (RuntimeException | Error e) {
+            mine.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            flight.compareAndSet(mine, null);
+        }
+    }
+
+    /**
+     * The current suggestion together with the compiled bill of materials it
+     * was planned from.
+     */
+    public Planned getPlanned() {
+        for (int attempt = 0; attempt < 3; attempt++) {
+            ProductionSuggestionDTO suggestion = getSuggestion();
+            State current = state.get();
+            if (current.suggestion == suggestion) {
+                return new Planned(current.matrix, suggestion);
+            }
+        }
+        // The catalog keeps changing meanwhile; plan a copy of our own
+        BomMatrix matrix = productionSuggestionService.loadBomMatrix();
+        return new Planned(matrix, productionSuggestionService.calculateProductionSuggestion(matrix));
+    }
+
+    /**
+     * The compiled bill of materials of the current catalog: the cached one
+     * when there is one, otherwise freshly read (and not cached, so a
+     * computation in progress is not disturbed).
+     */
+    public BomMatrix getMatrix() {
+        BomMatrix matrix = state.get().matrix;
+        return matrix != null ? matrix : productionSuggestionService.loadBomMatrix();
+    }
+
+    public SuggestionCacheStatsDTO getStats() {
+        return new SuggestionCacheStatsDTO(hits.sum(), misses.sum(), coalesced.sum(), stale.sum(),
+                recomputes.sum(), repairs.sum());
+    }
+
+    void onCatalogChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) CatalogChangedEvent event) {
+        switch (event.getType()) {
+            case RAW_MATERIAL_CREATED:
+            case RAW_MATERIAL_DELETED:
+                // A new material is in no bill of materials yet, and only unused ones can be deleted
+                break;
+            case RAW_MATERIAL_UPDATED:
+                repairStock(event);
+                break;
+            default:
+                invalidate();
+        }
+    }
+
+    private ProductionSuggestionDTO recompute(State current) {
+        BomMatrix matrix = current.matrix != null ? current.matrix : productionSuggestionService.loadBomMatrix();
+        ProductionSuggestionDTO suggestion = productionSuggestionService.calculateProductionSuggestion(matrix);
+        recomputes.increment();
+
+        // Only keep it if no change arrived while computing
+        if (!state.compareAndSet(current, new State(current.generation, matrix, suggestion, null, 0))) {
+            LOG.debug("Catalog changed during production suggestion; result not cached");
+        }
+        return suggestion;
+    }
+
+    private static ProductionSuggestionDTO await(Flight running) {
+        try {
+            return running.result.join();
+        } catch (CompletionException e) {
+            // Rethrow what the computing caller got, so it maps to the same response
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void invalidate() {
+        state.updateAndGet(current -> current.next(null));
+    }
+
+    private void repairStock(CatalogChangedEvent event) {
+        while (true) {
+            State current = state.get();
+            State next;
+            if (current.matrix == null) {
+                // Nothing compiled to repair; also discards a load that may predate the change
+                next = current.next(null);
+            } else {
+                BomMatrix repaired = current.matrix.withStock(event.getId(), event.getStockQuantity());
+                if (repaired == current.matrix) {
+                    return; // No product uses this material, or its stock did not change
+                }
+                next = current.next(repaired);
+            }
+            if (state.compareAndSet(current, next)) {
+                if (next.matrix != null) {
+                    repairs.increment();
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * A suggestion and whether it predates the latest catalog change.
+     */
+    public static final class Result {
+
+        private final ProductionSuggestionDTO suggestion;
+        private final boolean stale;
+
+        Result(ProductionSuggestionDTO suggestion, boolean stale) {
+            this.suggestion = suggestion;
+            this.stale = stale;
+        }
+
+        public ProductionSuggestionDTO getSuggestion() {
+            return suggestion;
+        }
+
+        public boolean isStale() {
+            return stale;
+        }
+    }
+
+    /**
+     * A suggestion and the bill of materials it was planned from.
+     */
+    public static final class Planned {
+
+        private final BomMatrix matrix;
+        private final ProductionSuggestionDTO suggestion;
+
+        Planned(BomMatrix matrix, ProductionSuggestionDTO suggestion) {
+            this.matrix = matrix;
+            this.suggestion = suggestion;
+        }
+
+        public BomMatrix getMatrix() {
+            return matrix;
+        }
+
+        public ProductionSuggestionDTO getSuggestion() {
+            return suggestion;
+        }
+    }
+
+    private static final class State {
+
+        static final State EMPTY = new State(0, null, null, null, 0);
+
+        final long generation;
+        final BomMatrix matrix;
+        final ProductionSuggestionDTO suggestion;
+        // Last suggestion computed, and since when (System.nanoTime) it is out of date
+        final ProductionSuggestionDTO previous;
+        final long staleSince;
+
+        State(long generation, BomMatrix matrix, ProductionSuggestionDTO suggestion,
+              ProductionSuggestionDTO previous, long staleSince) {
+            this.generation = generation;
+            this.matrix = matrix;
+            this.suggestion = suggestion;
+            this.previous = previous;
+            this.staleSince = staleSince;
+        }
+
+        /**
+         * The state after a change, keeping the last suggestion and when it first went stale.
+         */
+        State next(BomMatrix matrix) {
+            if (suggestion != null) {
+                return new State(generation + 1, matrix, null, suggestion, System.nanoTime());
+            }
+            return new State(generation + 1, matrix, null, previous, staleSince);
+        }
+    }
+
+    private static final class Flight {
+
+        final long generation;
+        final CompletableFuture<ProductionSuggestionDTO> result = new CompletableFuture<>();
+
+        Flight(long generation) {
+            this.generation = generation;
+        }
+    }
+}
@@ -1,142 +1,210 @@
 package com.autoflex.inventory.service;
 
+import com.autoflex.inventory.dto.BomLineDTO;
+import com.autoflex.inventory.dto.ComponentLineDTO;
 import com.autoflex.inventory.dto.ProductionItemDTO;
 import com.autoflex.inventory.dto.ProductionSuggestionDTO;
-import com.autoflex.inventory.entity.Product;
-import com.autoflex.inventory.entity.ProductRawMaterial;
+import com.autoflex.inventory.jfr.BomLoadEvent;
+import com.autoflex.inventory.jfr.PlanEvent;
+import com.autoflex.inventory.metrics.CountStatements;
+import com.autoflex.inventory.planner.BomMatrix;
+import com.autoflex.inventory.planner.ComponentOptimizer;
+import com.autoflex.inventory.planner.ProductionOptimizer;
+import com.autoflex.inventory.planner.ProductionPlan;
 import com.autoflex.inventory.repository.ProductRepository;
+import com.autoflex.inventory.repository.ReactiveCatalogRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Any;
+import jakarta.enterprise.inject.Instance;
+import jakarta.enterprise.inject.literal.NamedLiteral;
 import jakarta.inject.Inject;
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 
 @ApplicationScoped
+@CountStatements
 public class ProductionSuggestionService {
 
     @Inject
     ProductRepository productRepository;
 
+    @Inject
+    ReactiveCatalogRepository reactiveCatalogRepository;
+
+    @Inject
+    ReadPath readPath;
+
+    @Inject
+    BomExplosionService bomExplosionService;
+
+    @Inject
+    @Any
+    Instance<ProductionOptimizer> optimizers;
+
+    @Inject
+    MeterRegistry registry;
+
+    @ConfigProperty(name = "inventory.planner.optimizer", defaultValue = "branch-and-bound")
+    String optimizerName;
+
+    @ConfigProperty(name = "inventory.planner.time-budget-ms", defaultValue = "2000")
+    long timeBudgetMs;
+
+    @ConfigProperty(name = "inventory.planner.parallel-components", defaultValue = "true")
+    boolean parallelComponents;
+
+    ProductionOptimizer optimizer;
+
+    Timer loadTimer;
+    Timer optimizeTimer;
+    DistributionSummary optimizerIterations;
+    private final AtomicInteger catalogProducts = new AtomicInteger();
+    private final AtomicInteger catalogMaterials = new AtomicInteger();
+    private final AtomicInteger catalogLines = new AtomicInteger();
+
+    @PostConstruct
+    void init() {
+        Instance<ProductionOptimizer> selected = optimizers.select(NamedLiteral.of(optimizerName));
+        if (!selected.isResolvable()) {
+            throw new IllegalStateException("Unknown production optimizer: " + optimizerName);
+        }
+        optimizer = selected.get();
+        if (parallelComponents) {
+            optimizer = new ComponentOptimizer(optimizer, ForkJoinPool.commonPool());
+        }
+        registerMeters();
+    }
+
+    void registerMeters() {
+        loadTimer = Timer.builder("inventory.planner.load")
+                .description("Reading and compiling the bill of materials")
+                .register(registry);
+        optimizeTimer = Timer.builder("inventory.planner.optimize")
+                .description("Planning production for a compiled bill of materials")
+                .tag("optimizer", optimizerName)
+                .register(registry);
+        optimizerIterations = DistributionSummary.builder("inventory.planner.iterations")
+                .description("Passes of the optimizer's main loop per plan")
+                .tag("optimizer", optimizerName)
+                .register(registry);
+        // Size of the catalog last planned
+        Gauge.builder("inventory.planner.catalog.products", catalogProducts, AtomicInteger::get).register(registry);
+        Gauge.builder("inventory.planner.catalog.materials", catalogMaterials, AtomicInteger::get).register(registry);
+        Gauge.builder("inventory.planner.catalog.lines", catalogLines, AtomicInteger::get).register(registry);
+    }
+
     /**
      * Calculates which products can be produced with available raw materials.
-     * Prioritizes products with higher value.
-     * 
+     * Maximizes the total value of the production.
+     *
      * Algorithm:
-     * 1. Get all products ordered by value (descending)
-     * 2. For each product, calculate how many units can be produced
-     * 3. Reserve raw materials and add to suggestion
-     * 4. Continue until no more products can be made
-     * 
+     * 1. Stream all bill of materials lines, products ordered by value (descending),
+     *    in a single query
+     * 2. Explode products made of other products into the raw materials their
+     *    components take, reusing memoized explosions
+     * 3. Compile them into a primitive-array BOM matrix with the available stock
+     * 4. Let the configured optimizer choose the units of each product,
+     *    within the configured time budget; products that share no raw
+     *    material are planned separately, in parallel
+     * 5. Return the products with quantities, highest value first
+     *
      * @return ProductionSuggestionDTO with items and total value
      */
     public ProductionSuggestionDTO calculateProductionSuggestion() {
-        // Get products ordered by value (highest first for priority)
-        List<Product> products = productRepository.findAllOrderByValueDesc();
-        
-        // Track available stock (copy to avoid modifying actual entities)
-        Map<Long, BigDecimal> availableStock = new HashMap<>();
-        
-        // Initialize available stock from raw materials
-        for (Product product : products) {
-            for (ProductRawMaterial prm : product.getRawMaterials()) {
-                Long rawMaterialId = prm.getRawMaterial().getId();
-                if (!availableStock.containsKey(rawMaterialId)) {
-                    availableStock.put(rawMaterialId, prm.getRawMaterial().getStockQuantity());
-                }
-            }
-        }
-        
-        List<ProductionItemDTO> productionItems = new ArrayList<>();
-        BigDecimal totalValue = BigDecimal.ZERO;
-        
-        // Keep trying to produce until no more products can be made
-        boolean producedSomething;
-        do {
-            producedSomething = false;
-            
-            for (Product product : products) {
-                if (product.getRawMaterials().isEmpty()) {
-                    continue; // Skip products without raw materials
-                }
-                
-                // Calculate how many units can be produced
-                int maxUnits = calculateMaxProducibleUnits(product, availableStock);
-                
-                if (maxUnits > 0) {
-                    // Reserve raw materials
-                    reserveRawMaterials(product, maxUnits, availableStock);
-                    
-                    // Add to production items or update existing
-                    updateProductionItems(productionItems, product, maxUnits);
-                    
-                    // Update total value
-                    totalValue = totalValue.add(product.getValue().multiply(BigDecimal.valueOf(maxUnits)));
-                    
-                    producedSomething = true;
-                }
-            }
-        } while (producedSomething);
-        
-        return new ProductionSuggestionDTO(productionItems, totalValue);
+        return calculateProductionSuggestion(loadBomMatrix());
     }
 
     /**
-     * Calculate maximum units that can be produced for a product
-     * based on available raw materials.
+     * Reads the current bill of materials and stock from the database.
      */
-    private int calculateMaxProducibleUnits(Product product, Map<Long, BigDecimal> availableStock) {
-        int maxUnits = Integer.MAX_VALUE;
-        
-        for (ProductRawMaterial prm : product.getRawMaterials()) {
-            Long rawMaterialId = prm.getRawMaterial().getId();
-            BigDecimal available = availableStock.getOrDefault(rawMaterialId, BigDecimal.ZERO);
-            BigDecimal required = prm.getRequiredQuantity();
-            
-            if (required.compareTo(BigDecimal.ZERO) <= 0) {
-                continue;
+    public BomMatrix loadBomMatrix() {
+        return loadTimer.record(this::readBomMatrix);
+    }
+
+    private BomMatrix readBomMatrix() {
+        BomLoadEvent event = BomLoadEvent.start(readPath.isReactive() ? ReadPath.REACTIVE : ReadPath.BLOCKING);
+        long stamp = bomExplosionService.stamp();
+        BomMatrix matrix;
+        if (readPath.isReactive()) {
+            List<ComponentLineDTO> components = readPath.await(reactiveCatalogRepository.findComponentLines());
+            matrix = readPath.await(reactiveCatalogRepository.streamBomLinesOrderByValueDesc()
+                    .collect().asList()
+                    .map(lines -> BomMatrix.compile(explode(lines.stream(), components, stamp))));
+        } else {
+            List<ComponentLineDTO> components = productRepository.findComponentLines();
+            // One projection query instead of walking lazy product and raw material associations
+            try (Stream<BomLineDTO> lines = productRepository.streamBomLinesOrderByValueDesc()) {
+                matrix = BomMatrix.compile(explode(lines, components, stamp));
             }
-            
-            // Calculate how many units can be made with this raw material
-            int possibleUnits = available.divide(required, 0, RoundingMode.DOWN).intValue();
-            maxUnits = Math.min(maxUnits, possibleUnits);
         }
-        
-        return maxUnits == Integer.MAX_VALUE ? 0 : maxUnits;
+        event.finish(matrix);
+        return matrix;
+    }
+
+    private Stream<BomLineDTO> explode(Stream<BomLineDTO> lines, List<ComponentLineDTO> components, long stamp) {
+        // Single-level catalogs compile straight from the query
+        return components.isEmpty() ? lines : bomExplosionService.explode(lines, components, stamp);
     }
 
     /**
-     * Reserve raw materials by deducting from available stock.
+     * Plans production for an already compiled bill of materials.
      */
-    private void reserveRawMaterials(Product product, int units, Map<Long, BigDecimal> availableStock) {
-        for (ProductRawMaterial prm : product.getRawMaterials()) {
-            Long rawMaterialId = prm.getRawMaterial().getId();
-            BigDecimal required = prm.getRequiredQuantity().multiply(BigDecimal.valueOf(units));
-            BigDecimal current = availableStock.getOrDefault(rawMaterialId, BigDecimal.ZERO);
-            availableStock.put(rawMaterialId, current.subtract(required));
-        }
+    public ProductionSuggestionDTO calculateProductionSuggestion(BomMatrix matrix) {
+        ProductionSuggestionDTO suggestion = plan(matrix, System.nanoTime() + timeBudgetMs * 1_000_000L);
+        catalogProducts.set(matrix.productCount());
+        catalogMaterials.set(matrix.materialCount());
+        catalogLines.set(matrix.rowStart(matrix.productCount()));
+        return suggestion;
     }
 
     /**
-     * Update production items list with new production.
+     * Plans production for a hypothetical bill of materials, such as a what-if
+     * scenario derived from the real one. Unlike
+     * {@link #calculateProductionSuggestion(BomMatrix)} it leaves the catalog
+     * size gauges alone.
+     *
+     * @param deadline {@link System#nanoTime()} value after which the best plan
+     *                 found so far is returned
      */
-    private void updateProductionItems(List<ProductionItemDTO> items, Product product, int additionalUnits) {
-        // Check if product already exists in list
-        Optional<ProductionItemDTO> existing = items.stream()
-                .filter(item -> item.getProductId().equals(product.getId()))
-                .findFirst();
-        
-        if (existing.isPresent()) {
-            ProductionItemDTO item = existing.get();
-            int newQuantity = item.getQuantity() + additionalUnits;
-            item.setQuantity(newQuantity);
-            item.setSubtotal(product.getValue().multiply(BigDecimal.valueOf(newQuantity)));
-        } else {
-            items.add(new ProductionItemDTO(
-                    product.getId(),
-                    product.getName(),
-                    product.getValue(),
-                    additionalUnits
-            ));
+    public ProductionSuggestionDTO planScenario(BomMatrix matrix, long deadline) {
+        return plan(matrix, deadline);
+    }
+
+    private ProductionSuggestionDTO plan(BomMatrix matrix, long deadline) {
+        long start = System.nanoTime();
+        PlanEvent event = PlanEvent.start(optimizerName, matrix.productCount());
+        ProductionPlan plan = optimizer.optimize(matrix, deadline);
+        event.finish(plan);
+        optimizeTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        optimizerIterations.record(plan.iterations());
+
+        List<ProductionItemDTO> productionItems = new ArrayList<>();
+        BigDecimal totalValue = BigDecimal.ZERO;
+
+        for (int p = 0; p < matrix.productCount(); p++) {
+            int units = plan.quantity(p);
+            if (units > 0) {
+                BigDecimal value = matrix.productValue(p);
+                productionItems.add(new ProductionItemDTO(
+                        matrix.productId(p),
+                        matrix.productName(p),
+                        value,
+                        units
+                ));
+                totalValue = totalValue.add(value.multiply(BigDecimal.valueOf(units)));
+            }
         }
+
+        return new ProductionSuggestionDTO(productionItems, totalValue, plan.isOptimal());
     }
 }
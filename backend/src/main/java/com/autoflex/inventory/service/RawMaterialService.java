@@ -1,18 +1,27 @@
 package com.autoflex.inventory.service;
 
+import com.autoflex.inventory.dto.PageDTO;
 import com.autoflex.inventory.dto.RawMaterialDTO;
 import com.autoflex.inventory.entity.RawMaterial;
+import com.autoflex.inventory.event.CatalogChangedEvent;
 import com.autoflex.inventory.exception.BusinessException;
 import com.autoflex.inventory.exception.NotFoundException;
 import com.autoflex.inventory.mapper.RawMaterialMapper;
+import com.autoflex.inventory.metrics.CountStatements;
+import com.autoflex.inventory.repository.KeysetCursor;
 import com.autoflex.inventory.repository.ProductRawMaterialRepository;
 import com.autoflex.inventory.repository.RawMaterialRepository;
+import com.autoflex.inventory.repository.RawMaterialSort;
+import com.autoflex.inventory.repository.ReactiveCatalogRepository;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
+import java.math.BigDecimal;
 import java.util.List;
 
 @ApplicationScoped
+@CountStatements
 public class RawMaterialService {
 
     @Inject
@@ -24,10 +33,52 @@ public class RawMaterialService {
     @Inject
     RawMaterialMapper rawMaterialMapper;
 
+    @Inject
+    ReactiveCatalogRepository reactiveCatalogRepository;
+
+    @Inject
+    ReadPath readPath;
+
+    @Inject
+    Event<CatalogChangedEvent> catalogEvents;
+
     public List<RawMaterialDTO> findAll() {
+        if (readPath.isReactive()) {
+            return readPath.await(reactiveCatalogRepository.findAllRawMaterialsOrderByName());
+        }
         return rawMaterialMapper.toDTOList(rawMaterialRepository.findAllOrderByName());
     }
 
+    /**
+     * One keyset page of raw materials, optionally filtered by name (contains,
+     * case-insensitive) and stock range.
+     *
+     * @param sort name, -name, stock or -stock; name when null
+     * @param after cursor of the previous page, null for the first page
+     * @param limit page size, 50 when null
+     */
+    public PageDTO<RawMaterialDTO> findPage(String name, BigDecimal minStock, BigDecimal maxStock,
+                                            String sort, String after, Integer limit) {
+        RawMaterialSort order = RawMaterialSort.fromParameter(sort != null ? sort : RawMaterialSort.NAME.parameter())
+                .orElseThrow(() -> new BusinessException("Invalid sort '" + sort + "'; use name, -name, stock or -stock"));
+        int pageSize = Pagination.pageSize(limit);
+        KeysetCursor cursor = Pagination.cursor(after, order.parameter());
+
+        // One extra row tells whether another page follows
+        List<RawMaterial> rawMaterials = cursor == null
+                ? rawMaterialRepository.findPage(name, minStock, maxStock, order, null, null, pageSize + 1)
+                : rawMaterialRepository.findPage(name, minStock, maxStock, order,
+                        Pagination.key(cursor, order::parseKey), cursor.getId(), pageSize + 1);
+
+        String nextCursor = null;
+        if (rawMaterials.size() > pageSize) {
+            rawMaterials = rawMaterials.subList(0, pageSize);
+            RawMaterial last = rawMaterials.get(pageSize - 1);
+            nextCursor = new KeysetCursor(order.parameter(), order.keyOf(last), last.getId()).encode();
+        }
+        return new PageDTO<>(rawMaterialMapper.toDTOList(rawMaterials), nextCursor);
+    }
+
     public RawMaterialDTO findById(Long id) {
         RawMaterial rawMaterial = rawMaterialRepository.findByIdOptional(id)
                 .orElseThrow(() -> new NotFoundException("Raw material not found with id: " + id));
@@ -41,6 +92,8 @@ public class RawMaterialService {
         RawMaterial rawMaterial = rawMaterialMapper.toEntity(dto);
         rawMaterialRepository.persist(rawMaterial);
         
+        catalogEvents.fire(CatalogChangedEvent.of(CatalogChangedEvent.Type.RAW_MATERIAL_CREATED,
+                rawMaterial.getId(), rawMaterial.getName()));
         return rawMaterialMapper.toDTO(rawMaterial);
     }
 
@@ -53,6 +106,7 @@ public class RawMaterialService {
         rawMaterialMapper.updateEntity(rawMaterial, dto);
         rawMaterialRepository.persist(rawMaterial);
         
+        catalogEvents.fire(CatalogChangedEvent.rawMaterialUpdated(id, rawMaterial.getName(), rawMaterial.getStockQuantity()));
         return rawMaterialMapper.toDTO(rawMaterial);
     }
 
@@ -67,10 +121,30 @@ public class RawMaterialService {
         }
         
         rawMaterialRepository.delete(rawMaterial);
+        catalogEvents.fire(CatalogChangedEvent.of(CatalogChangedEvent.Type.RAW_MATERIAL_DELETED, id));
     }
 
-    public List<RawMaterialDTO> search(String name) {
-        return rawMaterialMapper.toDTOList(rawMaterialRepository.findByNameContaining(name));
+    /**
+     * One page of the raw materials whose name contains or resembles
+     * {@code name}, best match first. Tolerates typos.
+     *
+     * @param after cursor of the previous page, null for the first page
+     * @param limit page size, 50 when null
+     */
+    public PageDTO<RawMaterialDTO> search(String name, String after, Integer limit) {
+        int pageSize = Pagination.pageSize(limit);
+        int offset = Pagination.offset(after);
+        if (name == null || name.isBlank()) {
+            return new PageDTO<>(List.of(), null);
+        }
+
+        List<RawMaterial> rawMaterials = rawMaterialRepository.search(name.trim(), offset, pageSize + 1);
+        String nextCursor = null;
+        if (rawMaterials.size() > pageSize) {
+            rawMaterials = rawMaterials.subList(0, pageSize);
+            nextCursor = String.valueOf(offset + pageSize);
+        }
+        return new PageDTO<>(rawMaterialMapper.toDTOList(rawMaterials), nextCursor);
     }
 
     private void validateRawMaterialName(String name, Long excludeId) {
@@ -0,0 +1,56 @@
+package com.autoflex.inventory.service;
+
+import com.autoflex.inventory.repository.ReactiveCatalogRepository;
+import io.smallrye.mutiny.Uni;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.time.Duration;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Selects how the whole-catalog reads (product and raw material listings and
+ * the production planner's bill of materials) reach the database:
+ * {@code blocking}, through Hibernate and the JDBC pool, or {@code reactive},
+ * through {@link ReactiveCatalogRepository}.
+ *
+ * Resources stay imperative either way; on the reactive path the request
+ * thread waits for the result without holding a database connection.
+ */
+@ApplicationScoped
+public class ReadPath {
+
+    static final String BLOCKING = "blocking";
+    static final String REACTIVE = "reactive";
+
+    @Inject
+    ReactiveCatalogRepository reactiveCatalogRepository;
+
+    @ConfigProperty(name = "inventory.read-path", defaultValue = BLOCKING)
+    String readPath;
+
+    @ConfigProperty(name = "inventory.read-path.timeout-ms", defaultValue = "30000")
+    long timeoutMs;
+
+    @PostConstruct
+    void init() {
+        if (!BLOCKING.equals(readPath) && !REACTIVE.equals(readPath)) {
+            throw new IllegalStateException("Unknown read path: " + readPath);
+        }
+        if (REACTIVE.equals(readPath) && !reactiveCatalogRepository.isAvailable()) {
+            throw new IllegalStateException("The reactive read path needs a reactive datasource");
+        }
+    }
+
+    public boolean isReactive() {
+        return REACTIVE.equals(readPath);
+    }
+
+    /**
+     * Waits for a reactive read. Callers run on worker or virtual threads,
+     * never on the event loop.
+     */
+    public <T> T await(Uni<T> read) {
+        return read.await().atMost(Duration.ofMillis(timeoutMs));
+    }
+}
@@ -0,0 +1,181 @@
+package com.autoflex.inventory.service;
+
+import com.autoflex.inventory.dto.ProductionSuggestionDTO;
+import com.autoflex.inventory.dto.ScenarioComparisonDTO;
+import com.autoflex.inventory.dto.ScenarioDTO;
+import com.autoflex.inventory.dto.ScenarioResultDTO;
+import com.autoflex.inventory.dto.StockChangeDTO;
+import com.autoflex.inventory.exception.BusinessException;
+import com.autoflex.inventory.planner.BomMatrix;
+import com.autoflex.inventory.repository.RawMaterialRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * What-if planning: production suggestions for hypothetical stock changes and
+ * product exclusions, compared with the current catalog.
+ *
+ * The current suggestion and the compiled bill of materials it was planned
+ * from come from the suggestion cache, and every scenario of a batch is
+ * derived from that matrix, so they all see the same catalog and nothing is
+ * written. Scenarios are planned in parallel on a pool of
+ * {@code inventory.scenarios.parallelism} threads. Each gets the planner's
+ * time budget from when its planning starts, but no later than the batch's
+ * own deadline ({@code inventory.scenarios.batch-time-budget-ms}), so a
+ * batch takes about as long as a single suggestion. Scenarios that run out
+ * of time report {@code optimal: false}.
+ */
+@ApplicationScoped
+public class ScenarioService {
+
+    @Inject
+    ProductionSuggestionCache productionSuggestionCache;
+
+    @Inject
+    ProductionSuggestionService productionSuggestionService;
+
+    @Inject
+    RawMaterialRepository rawMaterialRepository;
+
+    @ConfigProperty(name = "inventory.scenarios.parallelism", defaultValue = "0")
+    int parallelism;
+
+    @ConfigProperty(name = "inventory.scenarios.max-batch-size", defaultValue = "500")
+    int maxBatchSize;
+
+    @ConfigProperty(name = "inventory.planner.time-budget-ms", defaultValue = "2000")
+    long timeBudgetMs;
+
+    @ConfigProperty(name = "inventory.scenarios.batch-time-budget-ms", defaultValue = "2000")
+    long batchTimeBudgetMs;
+
+    ForkJoinPool pool;
+
+    @PostConstruct
+    void init() {
+        // 0 means one thread per core
+        pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Plans every scenario against the snapshot the current suggestion was
+     * planned from. Stock changes must name existing raw materials; those of
+     * materials no product uses are accepted and change nothing.
+     */
+    public ScenarioComparisonDTO compare(List<ScenarioDTO> scenarios) {
+        if (scenarios.size() > maxBatchSize) {
+            throw new BusinessException("At most " + maxBatchSize + " scenarios can be compared at once");
+        }
+        checkRawMaterialsExist(scenarios);
+
+        ProductionSuggestionCache.Planned planned = productionSuggestionCache.getPlanned();
+        BomMatrix snapshot = planned.getMatrix();
+        ProductionSuggestionDTO current = planned.getSuggestion();
+
+        long batchDeadline = System.nanoTime() + batchTimeBudgetMs * 1_000_000L;
+        List<Callable<ProductionSuggestionDTO>> plans = new ArrayList<>(scenarios.size());
+        for (ScenarioDTO scenario : scenarios) {
+            plans.add(() -> productionSuggestionService.planScenario(apply(snapshot, scenario),
+                    earliest(System.nanoTime() + timeBudgetMs * 1_000_000L, batchDeadline)));
+        }
+        List<ProductionSuggestionDTO> results = invokeAll(plans);
+
+        ScenarioResultDTO baseline = toResult("Current", current, current.getTotalValue());
+        List<ScenarioResultDTO> compared = new ArrayList<>(scenarios.size());
+        for (int i = 0; i < scenarios.size(); i++) {
+            compared.add(toResult(scenarios.get(i).getName(), results.get(i), current.getTotalValue()));
+        }
+        return new ScenarioComparisonDTO(baseline, compared);
+    }
+
+    /**
+     * One query for the whole batch: a typo in a raw material id would
+     * otherwise give a scenario identical to the current catalog.
+     */
+    private void checkRawMaterialsExist(List<ScenarioDTO> scenarios) {
+        Set<Long> ids = new HashSet<>();
+        for (ScenarioDTO scenario : scenarios) {
+            if (scenario.getStockChanges() != null) {
+                for (StockChangeDTO change : scenario.getStockChanges()) {
+                    ids.add(change.getRawMaterialId());
+                }
+            }
+        }
+        if (ids.isEmpty()) {
+            return;
+        }
+        ids.removeAll(rawMaterialRepository.findExistingIds(ids));
+        if (!ids.isEmpty()) {
+            throw new BusinessException("Raw materials not found: " + ids.stream().sorted().collect(Collectors.toList()));
+        }
+    }
+
+    static BomMatrix apply(BomMatrix snapshot, ScenarioDTO scenario) {
+        BomMatrix matrix = snapshot;
+        if (scenario.getStockChanges() != null && !scenario.getStockChanges().isEmpty()) {
+            Map<Long, BigDecimal> deltas = new HashMap<>();
+            for (StockChangeDTO change : scenario.getStockChanges()) {
+                // Several changes to one material add up
+                deltas.merge(change.getRawMaterialId(), change.getQuantity(), BigDecimal::add);
+            }
+            try {
+                matrix = matrix.withStockDeltas(deltas);
+            } catch (ArithmeticException e) {
+                throw new BusinessException("Stock changes of scenario '" + scenario.getName() + "' are too large");
+            }
+        }
+        if (scenario.getExcludedProductIds() != null && !scenario.getExcludedProductIds().isEmpty()) {
+            Set<Long> excluded = new HashSet<>(scenario.getExcludedProductIds());
+            matrix = matrix.withoutProducts(excluded);
+        }
+        return matrix;
+    }
+
+    private List<ProductionSuggestionDTO> invokeAll(List<Callable<ProductionSuggestionDTO>> plans) {
+        try {
+            List<ProductionSuggestionDTO> results = new ArrayList<>(plans.size());
+            for (Future<ProductionSuggestionDTO> plan : pool.invokeAll(plans)) {
+                results.add(plan.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while planning scenarios", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Scenario planning failed", e.getCause());
+        }
+    }
+
+    // Deadlines are nanoTime values, compared by difference in case of overflow
+    private static long earliest(long deadline, long other) {
+        return deadline - other < 0 ? deadline : other;
+    }
+
+    private static ScenarioResultDTO toResult(String name, ProductionSuggestionDTO suggestion, BigDecimal baseline) {
+        return new ScenarioResultDTO(name, suggestion.getTotalValue(),
+                suggestion.getTotalValue().subtract(baseline), suggestion.isOptimal(), suggestion.getItems());
+    }
+}
@@ -0,0 +1,22 @@
+-- Schema as Hibernate created it before migrations were versioned.
+-- Databases that already have these tables are baselined at version 1 and
+-- start from V2.
+
+CREATE TABLE raw_materials (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name           VARCHAR(255)   NOT NULL,
+    stock_quantity NUMERIC(15, 4) NOT NULL
+);
+
+CREATE TABLE products (
+    id    BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name  VARCHAR(255)   NOT NULL,
+    value NUMERIC(15, 2) NOT NULL
+);
+
+CREATE TABLE product_raw_materials (
+    id                BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    product_id        BIGINT         NOT NULL REFERENCES products (id),
+    raw_material_id   BIGINT         NOT NULL REFERENCES raw_materials (id),
+    required_quantity NUMERIC(15, 4) NOT NULL
+);
@@ -0,0 +1,26 @@
+-- Moves products, raw_materials and product_raw_materials from IDENTITY ids
+-- to pooled sequences (allocationSize = 50 in the entities).
+--
+-- Existing ids are kept: each sequence starts past the current maximum id,
+-- with room for the first pooled block. Safe on databases where this script
+-- was already run by hand.
+
+-- Keep ids stable and stop the identity columns from generating new ones
+ALTER TABLE products ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE raw_materials ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE product_raw_materials ALTER COLUMN id DROP IDENTITY IF EXISTS;
+-- Databases created as serial columns have a nextval default instead
+ALTER TABLE products ALTER COLUMN id DROP DEFAULT;
+ALTER TABLE raw_materials ALTER COLUMN id DROP DEFAULT;
+ALTER TABLE product_raw_materials ALTER COLUMN id DROP DEFAULT;
+
+-- INCREMENT BY must match allocationSize: Hibernate's pooled optimizer treats
+-- each value as the top of a block of 50 ids
+CREATE SEQUENCE IF NOT EXISTS products_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS raw_materials_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS product_raw_materials_seq INCREMENT BY 50;
+
+-- The first block handed out is (next value - 49) .. next value
+SELECT setval('products_seq', COALESCE((SELECT MAX(id) FROM products), 0) + 50, false);
+SELECT setval('raw_materials_seq', COALESCE((SELECT MAX(id) FROM raw_materials), 0) + 50, false);
+SELECT setval('product_raw_materials_seq', COALESCE((SELECT MAX(id) FROM product_raw_materials), 0) + 50, false);
@@ -0,0 +1,21 @@
+-- Indexes for the query paths of the API.
+
+-- Case-insensitive name lookups: import resolves names with lower(name) IN (...)
+CREATE INDEX IF NOT EXISTS idx_products_lower_name ON products (lower(name));
+CREATE INDEX IF NOT EXISTS idx_raw_materials_lower_name ON raw_materials (lower(name));
+
+-- A product lists each raw material once. Also serves lookups by product_id.
+CREATE UNIQUE INDEX IF NOT EXISTS ux_product_raw_materials_product_material
+    ON product_raw_materials (product_id, raw_material_id);
+-- Foreign key side used when checking whether a raw material is in use
+CREATE INDEX IF NOT EXISTS idx_product_raw_materials_raw_material
+    ON product_raw_materials (raw_material_id);
+
+-- Production suggestion reads products highest value first
+CREATE INDEX IF NOT EXISTS idx_products_value_desc ON products (value DESC, id);
+
+-- Keyset pagination: sort key plus id as tie-breaker
+CREATE INDEX IF NOT EXISTS idx_products_name_id ON products (name, id);
+CREATE INDEX IF NOT EXISTS idx_products_value_id ON products (value, id);
+CREATE INDEX IF NOT EXISTS idx_raw_materials_name_id ON raw_materials (name, id);
+CREATE INDEX IF NOT EXISTS idx_raw_materials_stock_id ON raw_materials (stock_quantity, id);
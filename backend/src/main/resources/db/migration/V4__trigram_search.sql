@@ -0,0 +1,11 @@
+-- Trigram indexes for name search (contains and typo-tolerant matching).
+-- They index lower(name), so the case-insensitive LIKE filters of the
+-- listings use them too. Creating the extension needs a superuser or the
+-- database owner on PostgreSQL 13+.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_products_name_trgm
+    ON products USING gin (lower(name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_raw_materials_name_trgm
+    ON raw_materials USING gin (lower(name) gin_trgm_ops);
@@ -0,0 +1,19 @@
+-- Multi-level bills of materials: products used as components of other
+-- products. Raw material lines stay in product_raw_materials.
+
+CREATE SEQUENCE IF NOT EXISTS product_components_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS product_components (
+    id                BIGINT         PRIMARY KEY,
+    product_id        BIGINT         NOT NULL REFERENCES products (id),
+    component_id      BIGINT         NOT NULL REFERENCES products (id),
+    required_quantity NUMERIC(15, 4) NOT NULL,
+    CONSTRAINT ck_product_components_not_self CHECK (product_id <> component_id)
+);
+
+-- A product lists each component once. Also serves lookups by product_id.
+CREATE UNIQUE INDEX IF NOT EXISTS ux_product_components_product_component
+    ON product_components (product_id, component_id);
+-- Foreign key side used when checking whether a product is a component of others
+CREATE INDEX IF NOT EXISTS idx_product_components_component
+    ON product_components (component_id);
@@ -0,0 +1,117 @@
+package com.autoflex.inventory.controller;
+
+import com.autoflex.inventory.dto.RawMaterialDTO;
+import com.autoflex.inventory.event.CatalogChangedEvent;
+import com.autoflex.inventory.metrics.StatementBudget;
+import com.autoflex.inventory.service.RawMaterialService;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.enterprise.event.Event;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.EntityTag;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Conditional GET against the real services: a 304 runs no query, and only
+ * committed catalog changes produce a new ETag.
+ */
+@QuarkusTest
+class ConditionalGetTest {
+
+    @Inject
+    RawMaterialService rawMaterialService;
+
+    @Inject
+    SessionFactory sessionFactory;
+
+    @Inject
+    Event<CatalogChangedEvent> catalogEvents;
+
+    @Test
+    void testProducts_NotModifiedRunsNoQuery() {
+        assertNotModifiedWithoutQueries("/api/products");
+    }
+
+    @Test
+    void testRawMaterials_NotModifiedRunsNoQuery() {
+        assertNotModifiedWithoutQueries("/api/raw-materials");
+    }
+
+    @Test
+    void testProductionSuggestion_NotModifiedRunsNoQuery() {
+        assertNotModifiedWithoutQueries("/api/production/suggestion");
+    }
+
+    @Test
+    void testCommittedChange_ChangesETag() {
+        String etag = given().when().get("/api/raw-materials").then().statusCode(200).extract().header("ETag");
+
+        // A change rolled back leaves the version alone
+        QuarkusTransaction.requiringNew().run(() -> {
+            catalogEvents.fire(CatalogChangedEvent.of(CatalogChangedEvent.Type.RAW_MATERIAL_DELETED, -1L));
+            QuarkusTransaction.setRollbackOnly();
+        });
+        given()
+            .header("If-None-Match", etag)
+            .when().get("/api/raw-materials")
+            .then()
+                .statusCode(304);
+
+        Long id = rawMaterialService.create(
+                new RawMaterialDTO(null, "Conditional GET test steel", new BigDecimal("10"))).getId();
+        try {
+            given()
+                .header("If-None-Match", etag)
+                .when().get("/api/raw-materials")
+                .then()
+                    .statusCode(200)
+                    .header("ETag", not(equalTo(etag)));
+        } finally {
+            rawMaterialService.delete(id);
+        }
+    }
+
+    @Test
+    void testMatches_UsesWeakComparison() {
+        EntityTag etag = new EntityTag("abc-7");
+
+        assertTrue(CatalogETagFilter.matches("\"abc-7\"", etag));
+        assertTrue(CatalogETagFilter.matches("W/\"abc-7\"", etag));
+        assertTrue(CatalogETagFilter.matches("\"abc-6\", \"abc-7\"", etag));
+        assertTrue(CatalogETagFilter.matches("*", etag));
+        assertFalse(CatalogETagFilter.matches("\"abc-6\"", etag));
+        assertFalse(CatalogETagFilter.matches("abc-7", etag));
+        assertFalse(CatalogETagFilter.matches(null, etag));
+    }
+
+    private void assertNotModifiedWithoutQueries(String path) {
+        String etag = given()
+            .when().get(path)
+            .then()
+                .statusCode(200)
+                .extract().header("ETag");
+
+        Statistics statistics = sessionFactory.getStatistics();
+        statistics.clear();
+
+        given()
+            .header("If-None-Match", "\"other\", " + etag)
+            .when().get(path)
+            .then()
+                .statusCode(304)
+                .header("ETag", equalTo(etag))
+                .header("Cache-Control", equalTo("no-cache"))
+                .header(StatementBudget.HEADER, equalTo("0"));
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+}
@@ -1,20 +1,36 @@
 package com.autoflex.inventory.controller;
 
+import com.autoflex.inventory.dto.PageDTO;
 import com.autoflex.inventory.dto.ProductDTO;
+import com.autoflex.inventory.event.CatalogChangedEvent;
+import com.autoflex.inventory.metrics.StatementBudget;
+import com.autoflex.inventory.service.CatalogExportService;
 import com.autoflex.inventory.service.ProductService;
 import io.quarkus.test.junit.QuarkusTest;
 import io.quarkus.test.junit.mockito.InjectMock;
 import io.restassured.http.ContentType;
+import jakarta.enterprise.event.Event;
+import jakarta.inject.Inject;
 import org.junit.jupiter.api.Test;
 
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Collections;
 
 import static io.restassured.RestAssured.given;
 import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @QuarkusTest
@@ -23,6 +39,12 @@ class ProductControllerTest {
     @InjectMock
     ProductService productService;
 
+    @InjectMock
+    CatalogExportService catalogExportService;
+
+    @Inject
+    Event<CatalogChangedEvent> catalogEvents;
+
     @Test
     void testGetAllProducts() {
         ProductDTO product1 = new ProductDTO(1L, "Product 1", new BigDecimal("100.00"));
@@ -35,7 +57,9 @@ class ProductControllerTest {
                 .statusCode(200)
                 .body("size()", is(2))
                 .body("[0].name", equalTo("Product 1"))
-                .body("[1].name", equalTo("Product 2"));
+                .body("[1].name", equalTo("Product 2"))
+                // The service is mocked: the resource itself runs no SQL
+                .header(StatementBudget.HEADER, StatementBudget.headerAtMost(0));
     }
 
     @Test
@@ -49,6 +73,116 @@ class ProductControllerTest {
                 .body("size()", is(0));
     }
 
+    @Test
+    void testGetAllProducts_NotModifiedWhileCatalogUnchanged() {
+        when(productService.findAll()).thenReturn(Collections.singletonList(
+                new ProductDTO(1L, "Product 1", new BigDecimal("100.00"))));
+
+        String etag = given()
+            .when().get("/api/products")
+            .then()
+                .statusCode(200)
+                .header("Cache-Control", containsString("no-cache"))
+                .extract().header("ETag");
+
+        given()
+            .header("If-None-Match", etag)
+            .when().get("/api/products")
+            .then()
+                .statusCode(304)
+                .header("ETag", equalTo(etag));
+        verify(productService, times(1)).findAll();
+
+        // Outside a transaction the event is observed at once, as after a commit
+        catalogEvents.fire(CatalogChangedEvent.of(CatalogChangedEvent.Type.BILL_OF_MATERIALS_CHANGED, null));
+
+        given()
+            .header("If-None-Match", etag)
+            .when().get("/api/products")
+            .then()
+                .statusCode(200)
+                .header("ETag", not(equalTo(etag)))
+                .body("[0].name", equalTo("Product 1"));
+        verify(productService, times(2)).findAll();
+    }
+
+    @Test
+    void testGetProductsPage() {
+        ProductDTO product = new ProductDTO(3L, "Product 3", new BigDecimal("300.00"));
+        when(productService.findPage(isNull(), isNull(), isNull(), eq("-value"), isNull(), eq(1)))
+                .thenReturn(new PageDTO<>(Collections.singletonList(product), "next-cursor"));
+
+        given()
+            .queryParam("sort", "-value")
+            .queryParam("limit", 1)
+            .when().get("/api/products")
+            .then()
+                .statusCode(200)
+                .header("X-Next-Cursor", equalTo("next-cursor"))
+                .header("Link", containsString("after=next-cursor"))
+                .body("size()", is(1))
+                .body("[0].name", equalTo("Product 3"));
+    }
+
+    @Test
+    void testGetProductsPage_LastPage() {
+        when(productService.findPage(isNull(), isNull(), isNull(), isNull(), eq("last-cursor"), isNull()))
+                .thenReturn(new PageDTO<>(Collections.emptyList(), null));
+
+        given()
+            .queryParam("after", "last-cursor")
+            .when().get("/api/products")
+            .then()
+                .statusCode(200)
+                .header("X-Next-Cursor", nullValue())
+                .body("size()", is(0));
+    }
+
+    @Test
+    void testSearchProducts() {
+        ProductDTO product = new ProductDTO(1L, "Steel bracket", new BigDecimal("100.00"));
+        when(productService.search(eq("stel"), isNull(), eq(1)))
+                .thenReturn(new PageDTO<>(Collections.singletonList(product), "1"));
+
+        given()
+            .queryParam("name", "stel")
+            .queryParam("limit", 1)
+            .when().get("/api/products/search")
+            .then()
+                .statusCode(200)
+                .header("X-Next-Cursor", equalTo("1"))
+                .header("Link", containsString("after=1"))
+                .body("size()", is(1))
+                .body("[0].name", equalTo("Steel bracket"));
+    }
+
+    @Test
+    void testExportCatalog_Csv() {
+        doAnswer(invocation -> {
+            OutputStream output = invocation.getArgument(0);
+            output.write("product_id,product_name\n1,Product 1\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(catalogExportService).exportCsv(any(OutputStream.class));
+
+        given()
+            .queryParam("format", "csv")
+            .when().get("/api/products/export")
+            .then()
+                .statusCode(200)
+                .contentType(containsString("text/csv"))
+                .header("Content-Disposition", containsString("catalog.csv"))
+                .body(containsString("1,Product 1"));
+    }
+
+    @Test
+    void testExportCatalog_UnknownFormat() {
+        given()
+            .queryParam("format", "xml")
+            .when().get("/api/products/export")
+            .then()
+                .statusCode(400);
+    }
+
     @Test
     void testGetProductById() {
         ProductDTO product = new ProductDTO(1L, "Product 1", new BigDecimal("100.00"));
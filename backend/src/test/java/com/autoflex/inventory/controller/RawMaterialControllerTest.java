@@ -1,6 +1,8 @@
 package com.autoflex.inventory.controller;
 
+import com.autoflex.inventory.dto.PageDTO;
 import com.autoflex.inventory.dto.RawMaterialDTO;
+import com.autoflex.inventory.metrics.StatementBudget;
 import com.autoflex.inventory.service.RawMaterialService;
 import io.quarkus.test.junit.QuarkusTest;
 import io.quarkus.test.junit.mockito.InjectMock;
@@ -15,6 +17,8 @@ import static io.restassured.RestAssured.given;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.when;
 
 @QuarkusTest
@@ -35,7 +39,9 @@ class RawMaterialControllerTest {
                 .statusCode(200)
                 .body("size()", is(2))
                 .body("[0].name", equalTo("Steel"))
-                .body("[1].name", equalTo("Aluminum"));
+                .body("[1].name", equalTo("Aluminum"))
+                // The service is mocked: the resource itself runs no SQL
+                .header(StatementBudget.HEADER, StatementBudget.headerAtMost(0));
     }
 
     @Test
@@ -115,7 +121,8 @@ class RawMaterialControllerTest {
     @Test
     void testSearchRawMaterials() {
         RawMaterialDTO rm = new RawMaterialDTO(1L, "Steel", new BigDecimal("100.0000"));
-        when(rawMaterialService.search("steel")).thenReturn(Arrays.asList(rm));
+        when(rawMaterialService.search(eq("steel"), isNull(), isNull()))
+                .thenReturn(new PageDTO<>(Arrays.asList(rm), null));
 
         given()
             .queryParam("name", "steel")
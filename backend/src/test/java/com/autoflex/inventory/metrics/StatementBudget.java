@@ -0,0 +1,62 @@
+package com.autoflex.inventory.metrics;
+
+import org.hamcrest.Description;
+import org.hamcrest.Matcher;
+import org.hamcrest.TypeSafeMatcher;
+
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * SQL statement budgets for tests. A code path that runs more statements
+ * than declared fails, naming the statement that ran most often, which for
+ * a regression is usually the query of an N+1.
+ */
+public final class StatementBudget {
+
+    /**
+     * Response header with the statement count of a request, sent in tests.
+     */
+    public static final String HEADER = SqlStatementMetricsFilter.HEADER;
+
+    private StatementBudget() {
+    }
+
+    /**
+     * Runs {@code code} on this thread and fails when it ran more than
+     * {@code max} SQL statements.
+     */
+    public static <T> T atMost(int max, Supplier<T> code) {
+        StatementCounter.Count count = StatementCounter.start(true);
+        T result;
+        try {
+            result = code.get();
+        } finally {
+            StatementCounter.stop();
+        }
+        if (count.statements() > max) {
+            String repeated = count.mostRepeated();
+            fail(String.format("Expected at most %d SQL statements, ran %d; ran %d times: %s",
+                    max, count.statements(), count.runs(repeated), repeated));
+        }
+        return result;
+    }
+
+    /**
+     * Matches a {@link #HEADER} value of at most {@code max} statements.
+     */
+    public static Matcher<String> headerAtMost(int max) {
+        return new TypeSafeMatcher<>() {
+            @Override
+            protected boolean matchesSafely(String statements) {
+                return Long.parseLong(statements) <= max;
+            }
+
+            @Override
+            public void describeTo(Description description) {
+                description.appendText("at most " + max + " SQL statements");
+            }
+        };
+    }
+}
@@ -0,0 +1,141 @@
+package com.autoflex.inventory.planner;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BomExplosionTest {
+
+    private static final long STEEL = 7L;
+    private static final long GLASS = 8L;
+
+    private CountingDefinitions definitions;
+    private BomExplosion explosion;
+
+    @BeforeEach
+    void setUp() {
+        // Product 1 takes 2 of product 2, 1 of product 3 and 1 steel; 2 and 3 both use product 4
+        definitions = new CountingDefinitions();
+        definitions.material(1L, STEEL, "1");
+        definitions.component(1L, 2L, "2");
+        definitions.component(1L, 3L, "1");
+        definitions.component(2L, 4L, "3");
+        definitions.component(3L, 4L, "1");
+        definitions.material(3L, GLASS, "2");
+        definitions.material(4L, STEEL, "0.5");
+        definitions.material(5L, GLASS, "1");
+        explosion = new BomExplosion();
+    }
+
+    @Test
+    void testExplode_AddsUpEveryPathToTheRawMaterials() {
+        BomExplosion.Requirements requirements = explode(1L);
+
+        // 1 + 2 x 3 x 0.5 + 1 x 0.5 steel, 2 glass through product 3
+        assertEquals(2, requirements.size());
+        assertEquals(STEEL, requirements.materialId(0));
+        assertEquals(new BigDecimal("4.5000"), requirements.quantity(0));
+        assertEquals(GLASS, requirements.materialId(1));
+        assertEquals(new BigDecimal("2.0000"), requirements.quantity(1));
+    }
+
+    @Test
+    void testExplode_SharedComponentExplodedOnce() {
+        explode(1L);
+        explode(1L);
+        explode(2L);
+
+        assertEquals(1, definitions.reads(4L));
+        assertEquals(1, definitions.reads(1L));
+    }
+
+    @Test
+    void testExplode_DetectsCycles() {
+        definitions.component(4L, 1L, "1");
+
+        BomCycleException e = assertThrows(BomCycleException.class, () -> explode(1L));
+
+        assertEquals(List.of(1L, 2L, 4L, 1L), e.getCycle());
+    }
+
+    @Test
+    void testInvalidate_DropsTheProductAndWhatContainsIt() {
+        explode(1L);
+        explode(5L);
+
+        explosion.invalidate(4L);
+
+        assertNull(explosion.cached(4L));
+        assertNull(explosion.cached(2L));
+        assertNull(explosion.cached(3L));
+        assertNull(explosion.cached(1L));
+        assertNotNull(explosion.cached(5L));
+
+        definitions.material(4L, STEEL, "0.5"); // Now 1 steel per unit
+        assertEquals(new BigDecimal("8.0000"), explode(1L).quantity(0));
+    }
+
+    @Test
+    void testExplode_ReadOvertakenByInvalidationIsNotMemoized() {
+        long stamp = explosion.stamp();
+        explosion.invalidate(2L);
+
+        explosion.explode(1L, definitions, stamp);
+
+        assertNull(explosion.cached(1L));
+        assertNull(explosion.cached(2L));
+        // Products the invalidation did not reach are still memoized
+        assertNotNull(explosion.cached(4L));
+    }
+
+    @Test
+    void testClear_DropsEverything() {
+        explode(1L);
+
+        explosion.clear();
+
+        assertNull(explosion.cached(1L));
+        assertNull(explosion.cached(4L));
+    }
+
+    private BomExplosion.Requirements explode(long productId) {
+        return explosion.explode(productId, definitions, explosion.stamp());
+    }
+
+    private static final class CountingDefinitions implements BomExplosion.Definitions {
+
+        private final Map<Long, Map<Long, BigDecimal>> materials = new HashMap<>();
+        private final Map<Long, Map<Long, BigDecimal>> components = new HashMap<>();
+        private final Map<Long, Integer> reads = new HashMap<>();
+
+        void material(long productId, long materialId, String quantity) {
+            materials.computeIfAbsent(productId, id -> new HashMap<>())
+                    .merge(materialId, new BigDecimal(quantity), BigDecimal::add);
+        }
+
+        void component(long productId, long componentId, String quantity) {
+            components.computeIfAbsent(productId, id -> new HashMap<>()).put(componentId, new BigDecimal(quantity));
+        }
+
+        int reads(long productId) {
+            return reads.getOrDefault(productId, 0);
+        }
+
+        @Override
+        public Map<Long, BigDecimal> materials(long productId) {
+            reads.merge(productId, 1, Integer::sum);
+            return materials.getOrDefault(productId, Map.of());
+        }
+
+        @Override
+        public Map<Long, BigDecimal> components(long productId) {
+            return components.getOrDefault(productId, Map.of());
+        }
+    }
+}
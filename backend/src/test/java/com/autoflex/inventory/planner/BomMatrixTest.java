@@ -0,0 +1,167 @@
+package com.autoflex.inventory.planner;
+
+import com.autoflex.inventory.dto.BomLineDTO;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BomMatrixTest {
+
+    @Test
+    void testCompile_IndexesMaterialsDenselyInFixedPoint() {
+        // Gadget takes 20.25 steel (id 10) and 2 glass (id 20), widget 10 steel
+        BomMatrix matrix = BomMatrix.compile(Stream.of(
+                line(1L, "Gadget", "120.00", 10L, "20.25", "100.5"),
+                line(1L, "Gadget", "120.00", 20L, "2", "3"),
+                line(2L, "Widget", "50.00", 10L, "10", "100.5")));
+
+        assertEquals(2, matrix.productCount());
+        assertEquals(2, matrix.materialCount());
+        assertEquals(10L, matrix.materialId(0));
+        assertEquals(20L, matrix.materialId(1));
+        assertEquals(1_005_000L, matrix.stock(0));
+        assertEquals(12000L, matrix.valueCents(0));
+
+        assertEquals(0, matrix.rowStart(0));
+        assertEquals(2, matrix.rowStart(1));
+        assertEquals(3, matrix.rowStart(2));
+        assertEquals(202_500L, matrix.required(0));
+        assertEquals(0, matrix.materialIndex(2));
+
+        long[] available = new long[matrix.materialCount()];
+        matrix.copyStock(available);
+        assertEquals(1, matrix.maxUnits(0, available)); // Limited by glass
+        assertEquals(10, matrix.maxUnits(1, available));
+    }
+
+    @Test
+    void testCompile_SkipsProductsWithoutRequirementsAndMergesDuplicateLines() {
+        // A product without raw materials comes as one line with null line columns
+        BomMatrix matrix = BomMatrix.compile(Stream.of(
+                line(1L, "Empty", "10.00", null, null, null),
+                line(2L, "Doubled", "5.00", 1L, "10", "100"),
+                line(2L, "Doubled", "5.00", 1L, "10", "100")));
+
+        assertEquals(1, matrix.productCount());
+        assertEquals(2L, matrix.productId(0));
+        assertEquals(1, matrix.rowStart(1));
+
+        long[] available = new long[matrix.materialCount()];
+        matrix.copyStock(available);
+        assertEquals(5, matrix.maxUnits(0, available));
+    }
+
+    @Test
+    void testComponents_GroupsProductsSharingMaterialsTransitively() {
+        // 1-2 share material 10, 2-4 share 30; 3 and 5 stand alone
+        BomMatrix matrix = BomMatrix.builder()
+                .startProduct(1L, "A", new BigDecimal("50.00"))
+                .addRequirement(10L, BigDecimal.ONE, new BigDecimal("100"))
+                .startProduct(2L, "B", new BigDecimal("40.00"))
+                .addRequirement(20L, BigDecimal.ONE, new BigDecimal("100"))
+                .addRequirement(10L, BigDecimal.ONE, new BigDecimal("100"))
+                .addRequirement(30L, BigDecimal.ONE, new BigDecimal("100"))
+                .startProduct(3L, "C", new BigDecimal("30.00"))
+                .addRequirement(40L, BigDecimal.ONE, new BigDecimal("100"))
+                .startProduct(4L, "D", new BigDecimal("20.00"))
+                .addRequirement(30L, BigDecimal.ONE, new BigDecimal("100"))
+                .startProduct(5L, "E", new BigDecimal("10.00"))
+                .addRequirement(50L, BigDecimal.ONE, new BigDecimal("100"))
+                .build();
+
+        int[][] components = matrix.components();
+
+        assertEquals(3, components.length);
+        assertArrayEquals(new int[]{0, 1, 3}, components[0]);
+        assertArrayEquals(new int[]{2}, components[1]);
+        assertArrayEquals(new int[]{4}, components[2]);
+    }
+
+    @Test
+    void testSubMatrix_KeepsOnlyTheMaterialsOfItsProducts() {
+        BomMatrix matrix = BomMatrix.builder()
+                .startProduct(1L, "A", new BigDecimal("50.00"))
+                .addRequirement(10L, new BigDecimal("2"), new BigDecimal("100"))
+                .startProduct(2L, "B", new BigDecimal("40.00"))
+                .addRequirement(20L, new BigDecimal("3"), new BigDecimal("30"))
+                .addRequirement(30L, new BigDecimal("1"), new BigDecimal("5"))
+                .startProduct(3L, "C", new BigDecimal("30.00"))
+                .addRequirement(30L, new BigDecimal("4"), new BigDecimal("5"))
+                .build();
+
+        BomMatrix sub = matrix.subMatrix(new int[]{1, 2});
+
+        assertEquals(2, sub.productCount());
+        assertEquals(2L, sub.productId(0));
+        assertEquals(3L, sub.productId(1));
+        assertEquals(3000L, sub.valueCents(1));
+        assertEquals(2, sub.materialCount());
+        assertEquals(20L, sub.materialId(0));
+        assertEquals(30L, sub.materialId(1));
+        assertEquals(50_000L, sub.stock(1));
+        assertEquals(2, sub.rowStart(1));
+        assertEquals(3, sub.rowStart(2));
+        assertEquals(1, sub.materialIndex(2));
+        assertEquals(40_000L, sub.required(2));
+    }
+
+    @Test
+    void testWithStockDeltas_AddsToStockWithoutGoingNegative() {
+        BomMatrix matrix = BomMatrix.builder()
+                .startProduct(1L, "A", new BigDecimal("50.00"))
+                .addRequirement(10L, BigDecimal.ONE, new BigDecimal("100"))
+                .addRequirement(20L, BigDecimal.ONE, new BigDecimal("5"))
+                .build();
+
+        BomMatrix changed = matrix.withStockDeltas(Map.of(10L, new BigDecimal("2.5"), 20L, new BigDecimal("-8"), 99L, BigDecimal.TEN));
+
+        assertEquals(1_025_000L, changed.stock(0));
+        assertEquals(0L, changed.stock(1));
+        assertEquals(1_000_000L, matrix.stock(0));
+        assertSame(matrix, matrix.withStockDeltas(Map.of(99L, BigDecimal.TEN)));
+    }
+
+    @Test
+    void testWithStockDeltas_RejectsOverflowInsteadOfWrapping() {
+        BomMatrix matrix = BomMatrix.builder()
+                .startProduct(1L, "A", new BigDecimal("50.00"))
+                .addRequirement(10L, BigDecimal.ONE, new BigDecimal("100"))
+                .build();
+
+        // Fits a fixed-point long on its own, not added to the stock
+        assertThrows(ArithmeticException.class,
+                () -> matrix.withStockDeltas(Map.of(10L, BigDecimal.valueOf(Long.MAX_VALUE, BomMatrix.QUANTITY_SCALE))));
+        assertThrows(ArithmeticException.class, () -> matrix.withStockDeltas(Map.of(10L, new BigDecimal("1e20"))));
+    }
+
+    @Test
+    void testWithoutProducts_DropsProductsAndTheirOwnMaterials() {
+        BomMatrix matrix = BomMatrix.builder()
+                .startProduct(1L, "A", new BigDecimal("50.00"))
+                .addRequirement(10L, BigDecimal.ONE, new BigDecimal("100"))
+                .addRequirement(20L, BigDecimal.ONE, new BigDecimal("100"))
+                .startProduct(2L, "B", new BigDecimal("40.00"))
+                .addRequirement(20L, BigDecimal.ONE, new BigDecimal("100"))
+                .build();
+
+        BomMatrix without = matrix.withoutProducts(Set.of(1L, 99L));
+
+        assertEquals(1, without.productCount());
+        assertEquals(2L, without.productId(0));
+        assertEquals(1, without.materialCount());
+        assertEquals(20L, without.materialId(0));
+        assertSame(matrix, matrix.withoutProducts(Set.of(99L)));
+    }
+
+    private BomLineDTO line(Long productId, String productName, String productValue,
+                            Long rawMaterialId, String requiredQuantity, String stockQuantity) {
+        return new BomLineDTO(productId, productName, new BigDecimal(productValue), rawMaterialId,
+                requiredQuantity != null ? new BigDecimal(requiredQuantity) : null,
+                stockQuantity != null ? new BigDecimal(stockQuantity) : null);
+    }
+}
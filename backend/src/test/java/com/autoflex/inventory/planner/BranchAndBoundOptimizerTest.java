@@ -0,0 +1,62 @@
+package com.autoflex.inventory.planner;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BranchAndBoundOptimizerTest {
+
+    private GreedyOptimizer greedy;
+    private BranchAndBoundOptimizer branchAndBound;
+
+    @BeforeEach
+    void setUp() {
+        greedy = new GreedyOptimizer();
+        branchAndBound = new BranchAndBoundOptimizer();
+        branchAndBound.greedyOptimizer = greedy;
+    }
+
+    @Test
+    void testOptimize_CatalogOverTheTableauLimitGetsTheGreedyPlan() {
+        // Every product takes screws and one material of its own: a single component
+        int products = 2_400;
+        BomMatrix.Builder builder = BomMatrix.builder();
+        for (int p = 0; p < products; p++) {
+            builder.startProduct(p + 1L, "Product " + (p + 1), BigDecimal.valueOf(p % 50 + 10L))
+                    .addRequirement(1L, BigDecimal.ONE, new BigDecimal("1000"))
+                    .addRequirement(p + 2L, new BigDecimal("2"), new BigDecimal("3"));
+        }
+        BomMatrix matrix = builder.build();
+        assertFalse(LinearRelaxation.fits(matrix));
+
+        ProductionPlan plan = branchAndBound.optimize(matrix, deadline());
+
+        assertFalse(plan.isOptimal());
+        assertArrayEquals(greedy.optimize(matrix, deadline()).quantities(), plan.quantities());
+    }
+
+    @Test
+    void testOptimize_ExpiredDeadlineGetsTheGreedyPlan() {
+        BomMatrix matrix = BomMatrix.builder()
+                .startProduct(1L, "A", new BigDecimal("50.00"))
+                .addRequirement(10L, new BigDecimal("3"), new BigDecimal("10"))
+                .startProduct(2L, "B", new BigDecimal("40.00"))
+                .addRequirement(10L, new BigDecimal("2"), new BigDecimal("10"))
+                .build();
+
+        ProductionPlan plan = branchAndBound.optimize(matrix, System.nanoTime() - 1);
+
+        assertFalse(plan.isOptimal());
+        assertArrayEquals(greedy.optimize(matrix, deadline()).quantities(), plan.quantities());
+        // Given time, 5 units of B are worth more than greedy's 3 of A
+        assertEquals(20_000L, matrix.totalCents(branchAndBound.optimize(matrix, deadline()).quantities()));
+    }
+
+    private long deadline() {
+        return System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    }
+}
@@ -0,0 +1,96 @@
+package com.autoflex.inventory.planner;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ComponentOptimizerTest {
+
+    @Test
+    void testOptimize_GreedyPlanMatchesWholeCatalog() {
+        BomMatrix matrix = catalog(400, 40);
+        GreedyOptimizer greedy = new GreedyOptimizer();
+
+        ProductionPlan whole = greedy.optimize(matrix, deadline());
+        ProductionPlan merged = new ComponentOptimizer(greedy, ForkJoinPool.commonPool()).optimize(matrix, deadline());
+
+        assertArrayEquals(whole.quantities(), merged.quantities());
+        assertEquals(400, merged.iterations());
+    }
+
+    @Test
+    void testOptimize_BranchAndBoundReachesTheSameValue() {
+        BomMatrix matrix = catalog(36, 7);
+        BranchAndBoundOptimizer branchAndBound = new BranchAndBoundOptimizer();
+        branchAndBound.greedyOptimizer = new GreedyOptimizer();
+
+        ProductionPlan whole = branchAndBound.optimize(matrix, deadline());
+        ProductionPlan merged = new ComponentOptimizer(branchAndBound, ForkJoinPool.commonPool())
+                .optimize(matrix, deadline());
+
+        assertTrue(whole.isOptimal());
+        assertTrue(merged.isOptimal());
+        assertEquals(matrix.totalCents(whole.quantities()), matrix.totalCents(merged.quantities()));
+        assertFeasible(matrix, merged);
+    }
+
+    @Test
+    void testOptimize_SingleComponentIsPlannedAsIs() {
+        // Both products need material 10
+        BomMatrix matrix = BomMatrix.builder()
+                .startProduct(1L, "A", new BigDecimal("50.00"))
+                .addRequirement(10L, BigDecimal.ONE, new BigDecimal("100"))
+                .startProduct(2L, "B", new BigDecimal("40.00"))
+                .addRequirement(20L, BigDecimal.ONE, new BigDecimal("100"))
+                .addRequirement(10L, BigDecimal.ONE, new BigDecimal("100"))
+                .build();
+        ProductionOptimizer whole = (planned, deadline) -> {
+            assertSame(matrix, planned);
+            return new ProductionPlan(new int[planned.productCount()], true);
+        };
+
+        ProductionPlan plan = new ComponentOptimizer(whole, ForkJoinPool.commonPool()).optimize(matrix, deadline());
+
+        assertEquals(2, plan.quantities().length);
+    }
+
+    /**
+     * Products in {@code families} groups; a product only uses its family's
+     * materials, so no component spans two families.
+     */
+    private BomMatrix catalog(int productCount, int families) {
+        Random random = new Random(42);
+        int materialsPerFamily = 4;
+        BomMatrix.Builder builder = BomMatrix.builder();
+        for (int p = 0; p < productCount; p++) {
+            int family = p % families;
+            builder.startProduct(p + 1L, "Product " + (p + 1), BigDecimal.valueOf(productCount - p + 10L));
+            for (int k = 0; k < 2; k++) {
+                long material = family * materialsPerFamily + random.nextInt(materialsPerFamily) + 1L;
+                builder.addRequirement(material, BigDecimal.valueOf(random.nextInt(9) + 1L),
+                        BigDecimal.valueOf(20 + material % 7));
+            }
+        }
+        return builder.build();
+    }
+
+    private void assertFeasible(BomMatrix matrix, ProductionPlan plan) {
+        long[] available = new long[matrix.materialCount()];
+        matrix.copyStock(available);
+        for (int p = 0; p < matrix.productCount(); p++) {
+            matrix.consume(p, plan.quantity(p), available);
+        }
+        for (long left : available) {
+            assertTrue(left >= 0);
+        }
+    }
+
+    private long deadline() {
+        return System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    }
+}
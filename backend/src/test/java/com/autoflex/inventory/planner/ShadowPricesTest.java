@@ -0,0 +1,111 @@
+package com.autoflex.inventory.planner;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShadowPricesTest {
+
+    // Cents per fixed-point unit to currency per unit of stock
+    private static final double PER_UNIT = Math.pow(10, BomMatrix.QUANTITY_SCALE - BomMatrix.VALUE_SCALE);
+
+    @Test
+    void testCompute_PricesBindingMaterialsFromTheirProducts() {
+        // Tables pay 10 per steel; windows pay 60 for 5 steel and 5 glass, so glass is worth 2
+        BomMatrix matrix = BomMatrix.builder()
+                .startProduct(1L, "Table", new BigDecimal("100.00"))
+                .addRequirement(7L, new BigDecimal("10"), new BigDecimal("100"))
+                .startProduct(2L, "Window", new BigDecimal("60.00"))
+                .addRequirement(7L, new BigDecimal("5"), new BigDecimal("100"))
+                .addRequirement(8L, new BigDecimal("5"), new BigDecimal("20"))
+                .build();
+
+        double[] prices = ShadowPrices.compute(matrix, ForkJoinPool.commonPool(), deadline());
+
+        assertEquals(10.0, prices[0] * PER_UNIT, 1e-6);
+        assertEquals(2.0, prices[1] * PER_UNIT, 1e-6);
+    }
+
+    @Test
+    void testCompute_LeftoverMaterialIsWorthNothing() {
+        // Glass runs out first; steel is left over
+        BomMatrix matrix = BomMatrix.builder()
+                .startProduct(1L, "Window", new BigDecimal("30.00"))
+                .addRequirement(7L, new BigDecimal("1"), new BigDecimal("100"))
+                .addRequirement(8L, new BigDecimal("2"), new BigDecimal("10"))
+                .startProduct(2L, "Bolt", new BigDecimal("1.00"))
+                .addRequirement(9L, new BigDecimal("4"), new BigDecimal("10"))
+                .build();
+
+        double[] prices = ShadowPrices.compute(matrix, ForkJoinPool.commonPool(), deadline());
+
+        assertEquals(0.0, prices[0] * PER_UNIT, 1e-6);
+        assertEquals(15.0, prices[1] * PER_UNIT, 1e-6);
+        assertEquals(0.25, prices[2] * PER_UNIT, 1e-6);
+    }
+
+    @Test
+    void testCompute_ComponentOverTheTableauLimitIsLeftUnpriced() {
+        // Screws join every product into one component; a separate one stays small
+        BomMatrix.Builder builder = BomMatrix.builder()
+                .startProduct(1L, "Table", new BigDecimal("100.00"))
+                .addRequirement(1L, new BigDecimal("10"), new BigDecimal("100"));
+        for (int p = 0; p < 2_400; p++) {
+            builder.startProduct(p + 2L, "Product " + (p + 2), BigDecimal.TEN)
+                    .addRequirement(2L, BigDecimal.ONE, new BigDecimal("1000"))
+                    .addRequirement(p + 3L, BigDecimal.ONE, BigDecimal.ONE);
+        }
+        BomMatrix matrix = builder.build();
+
+        double[] prices = ShadowPrices.compute(matrix, ForkJoinPool.commonPool(), deadline());
+
+        assertEquals(10.0, prices[0] * PER_UNIT, 1e-6);
+        for (int m = 1; m < prices.length; m++) {
+            assertTrue(Double.isNaN(prices[m]));
+        }
+    }
+
+    @Test
+    void testCompute_MatchesTheGainOfOneMoreUnit() {
+        BomMatrix matrix = BomMatrix.builder()
+                .startProduct(1L, "A", new BigDecimal("90.00"))
+                .addRequirement(1L, new BigDecimal("3"), new BigDecimal("50"))
+                .addRequirement(2L, new BigDecimal("2"), new BigDecimal("40"))
+                .startProduct(2L, "B", new BigDecimal("70.00"))
+                .addRequirement(2L, new BigDecimal("4"), new BigDecimal("40"))
+                .addRequirement(3L, new BigDecimal("1"), new BigDecimal("30"))
+                .startProduct(3L, "C", new BigDecimal("20.00"))
+                .addRequirement(1L, new BigDecimal("1"), new BigDecimal("50"))
+                .addRequirement(3L, new BigDecimal("1"), new BigDecimal("30"))
+                .build();
+
+        double[] prices = ShadowPrices.compute(matrix, ForkJoinPool.commonPool(), deadline());
+        double base = relaxationValue(matrix);
+
+        // A small extra quantity raises the LP value by its price, as long as the basis holds
+        for (int m = 0; m < matrix.materialCount(); m++) {
+            BomMatrix more = matrix.withStockDeltas(Map.of(matrix.materialId(m), new BigDecimal("0.01")));
+            double gain = relaxationValue(more) - base;
+            assertEquals(prices[m] * 100, gain, 1e-3, "material " + matrix.materialId(m));
+        }
+    }
+
+    private double relaxationValue(BomMatrix matrix) {
+        LinearRelaxation relaxation = new LinearRelaxation(matrix);
+        double[] upper = new double[matrix.productCount()];
+        Arrays.fill(upper, Double.POSITIVE_INFINITY);
+        assertEquals(LinearRelaxation.Status.OPTIMAL,
+                relaxation.solve(new double[matrix.productCount()], upper, deadline()));
+        return relaxation.objective();
+    }
+
+    private long deadline() {
+        return System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    }
+}
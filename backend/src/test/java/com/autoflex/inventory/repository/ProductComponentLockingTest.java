@@ -0,0 +1,85 @@
+package com.autoflex.inventory.repository;
+
+import com.autoflex.inventory.dto.ProductComponentDTO;
+import com.autoflex.inventory.dto.ProductDTO;
+import com.autoflex.inventory.exception.BusinessException;
+import com.autoflex.inventory.service.ProductService;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Component writes racing each other, each in its own committed transaction
+ * as concurrent requests would be.
+ */
+@QuarkusTest
+class ProductComponentLockingTest {
+
+    @Inject
+    ProductService productService;
+
+    @Inject
+    ProductRepository productRepository;
+
+    @Inject
+    ProductComponentRepository productComponentRepository;
+
+    @AfterEach
+    void cleanUp() {
+        QuarkusTransaction.requiringNew().run(() -> {
+            productComponentRepository.delete(
+                    "product.id IN (SELECT p.id FROM Product p WHERE p.name LIKE ?1)", "Lock test%");
+            productRepository.delete("name LIKE ?1", "Lock test%");
+        });
+    }
+
+    @Test
+    void testAddComponent_OppositeLinksCannotBothCommit() throws Exception {
+        Long a = createProduct("Lock test A");
+        Long b = createProduct("Lock test B");
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<List<ProductComponentDTO>>> writes = List.of(
+                    executor.submit(() -> addComponent(start, a, b)),
+                    executor.submit(() -> addComponent(start, b, a)));
+            start.countDown();
+
+            int added = 0;
+            for (Future<List<ProductComponentDTO>> write : writes) {
+                try {
+                    write.get(30, TimeUnit.SECONDS);
+                    added++;
+                } catch (ExecutionException e) {
+                    assertInstanceOf(BusinessException.class, e.getCause());
+                }
+            }
+            assertEquals(1, added);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private List<ProductComponentDTO> addComponent(CountDownLatch start, Long productId, Long componentId)
+            throws InterruptedException {
+        start.await();
+        return productService.addComponent(productId, new ProductComponentDTO(null, componentId, null, BigDecimal.ONE));
+    }
+
+    private Long createProduct(String name) {
+        return productService.create(new ProductDTO(null, name, new BigDecimal("10.00"), List.of())).getId();
+    }
+}
@@ -0,0 +1,205 @@
+package com.autoflex.inventory.repository;
+
+import com.autoflex.inventory.dto.PageDTO;
+import com.autoflex.inventory.dto.ProductDTO;
+import com.autoflex.inventory.dto.ProductionSuggestionDTO;
+import com.autoflex.inventory.entity.Product;
+import com.autoflex.inventory.entity.ProductRawMaterial;
+import com.autoflex.inventory.entity.RawMaterial;
+import com.autoflex.inventory.exception.BusinessException;
+import com.autoflex.inventory.metrics.StatementBudget;
+import com.autoflex.inventory.service.ProductService;
+import com.autoflex.inventory.service.ProductionSuggestionService;
+import io.quarkus.test.TestTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusTest
+class ProductRepositoryTest {
+
+    @Inject
+    ProductionSuggestionService productionSuggestionService;
+
+    @Inject
+    ProductService productService;
+
+    @Inject
+    EntityManager entityManager;
+
+    @Test
+    @TestTransaction
+    void testProductionSuggestion_ConstantStatementCountForAnyCatalogSize() {
+        List<RawMaterial> rawMaterials = createRawMaterials(5);
+
+        createProducts(10, rawMaterials);
+        long smallCatalogStatements = countSuggestionStatements();
+
+        createProducts(200, rawMaterials);
+        long largeCatalogStatements = countSuggestionStatements();
+
+        // The component lines, then the bill of materials lines: two queries whatever the catalog size
+        assertEquals(2, smallCatalogStatements);
+        assertEquals(2, largeCatalogStatements);
+    }
+
+    @Test
+    @TestTransaction
+    void testReads_StayWithinStatementBudget() {
+        List<RawMaterial> rawMaterials = createRawMaterials(5);
+        createProducts(20, rawMaterials);
+        Long id = productService.findAll().get(7).getId();
+
+        // Start from an empty persistence context, as a new request would
+        entityManager.flush();
+        entityManager.clear();
+
+        // One query however many raw materials the product has, not one per line
+        ProductDTO product = StatementBudget.atMost(1, () -> productService.findById(id));
+        assertEquals(2, product.getRawMaterials().size());
+        assertNotNull(product.getRawMaterials().get(0).getRawMaterialName());
+
+        entityManager.clear();
+        assertEquals(20, StatementBudget.atMost(1, () -> productService.findAll()).size());
+
+        entityManager.clear();
+        PageDTO<ProductDTO> page = StatementBudget.atMost(2,
+                () -> productService.findPage(null, null, null, null, null, 5));
+        assertEquals(5, page.getItems().size());
+    }
+
+    @Test
+    @TestTransaction
+    void testFindPage_WalksFilteredProductsInSortOrder() {
+        List<RawMaterial> rawMaterials = createRawMaterials(3);
+        createProducts(12, rawMaterials);
+        entityManager.flush();
+
+        // Values repeat every 7 products, so the id tie-breaker is exercised
+        List<ProductDTO> seen = new ArrayList<>();
+        String after = null;
+        int pages = 0;
+        do {
+            PageDTO<ProductDTO> page = productService.findPage("product", new BigDecimal("11"), null, "-value", after, 4);
+            seen.addAll(page.getItems());
+            after = page.getNextCursor();
+            pages++;
+        } while (after != null);
+
+        // Values 11..16, products with value 10 are filtered out
+        assertEquals(10, seen.size());
+        assertEquals(3, pages);
+        for (int i = 1; i < seen.size(); i++) {
+            ProductDTO previous = seen.get(i - 1);
+            ProductDTO current = seen.get(i);
+            int byValue = previous.getValue().compareTo(current.getValue());
+            assertTrue(byValue > 0 || (byValue == 0 && previous.getId() > current.getId()));
+        }
+        assertFalse(seen.get(0).getRawMaterials().isEmpty());
+    }
+
+    @Test
+    @TestTransaction
+    void testFindPage_NameFilterMatchesWildcardsLiterally() {
+        for (String name : List.of("Bolt_M8", "BoltXM8", "Bolt 100% steel", "Bolt 100 steel")) {
+            entityManager.persist(new Product(name, BigDecimal.TEN));
+        }
+        entityManager.flush();
+
+        List<ProductDTO> underscore = productService.findPage("bolt_m", null, null, "name", null, 10).getItems();
+        List<ProductDTO> percent = productService.findPage("100%", null, null, "name", null, 10).getItems();
+
+        assertEquals(List.of("Bolt_M8"), underscore.stream().map(ProductDTO::getName).collect(Collectors.toList()));
+        assertEquals(List.of("Bolt 100% steel"), percent.stream().map(ProductDTO::getName).collect(Collectors.toList()));
+    }
+
+    @Test
+    @TestTransaction
+    void testFindPage_RejectsCursorOfAnotherSort() {
+        createProducts(3, createRawMaterials(2));
+        entityManager.flush();
+
+        String cursor = productService.findPage(null, null, null, "name", null, 1).getNextCursor();
+
+        assertThrows(BusinessException.class,
+                () -> productService.findPage(null, null, null, "value", cursor, 1));
+        assertThrows(BusinessException.class,
+                () -> productService.findPage(null, null, null, "name", "not-a-cursor", 1));
+    }
+
+    @Test
+    @TestTransaction
+    void testSearch_RanksContainingNamesFirstAndToleratesTypos() {
+        for (String name : List.of("Steel bracket", "Stainless steel bolt", "Aluminium frame", "Stel hinge")) {
+            entityManager.persist(new Product(name, BigDecimal.TEN));
+        }
+        entityManager.flush();
+
+        List<String> names = new ArrayList<>();
+        String after = null;
+        do {
+            PageDTO<ProductDTO> page = productService.search("steel", after, 1);
+            page.getItems().forEach(product -> names.add(product.getName()));
+            after = page.getNextCursor();
+        } while (after != null);
+
+        // "Stel hinge" only resembles the term, so it comes after the names containing it
+        assertEquals(List.of("Stainless steel bolt", "Steel bracket", "Stel hinge"), names);
+
+        List<String> typo = productService.search("stel", null, 10).getItems().stream()
+                .map(ProductDTO::getName)
+                .toList();
+        assertEquals(List.of("Stel hinge", "Stainless steel bolt", "Steel bracket"), typo);
+
+        assertThrows(BusinessException.class, () -> productService.search("steel", "-1", 10));
+    }
+
+    private long countSuggestionStatements() {
+        // Start from an empty persistence context, as a new request would
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+
+        ProductionSuggestionDTO result = productionSuggestionService.calculateProductionSuggestion();
+        assertFalse(result.getItems().isEmpty());
+
+        return statistics.getPrepareStatementCount();
+    }
+
+    private List<RawMaterial> createRawMaterials(int count) {
+        List<RawMaterial> rawMaterials = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            RawMaterial rawMaterial = new RawMaterial("Material " + i, new BigDecimal("1000"));
+            entityManager.persist(rawMaterial);
+            rawMaterials.add(rawMaterial);
+        }
+        return rawMaterials;
+    }
+
+    private void createProducts(int count, List<RawMaterial> rawMaterials) {
+        for (int i = 0; i < count; i++) {
+            Product product = new Product("Product " + i, new BigDecimal(10 + i % 7));
+            entityManager.persist(product);
+            for (int k = 0; k < 2; k++) {
+                RawMaterial rawMaterial = rawMaterials.get((i + k) % rawMaterials.size());
+                ProductRawMaterial prm = new ProductRawMaterial(product, rawMaterial, new BigDecimal(1 + k));
+                product.getRawMaterials().add(prm);
+                entityManager.persist(prm);
+            }
+        }
+    }
+}
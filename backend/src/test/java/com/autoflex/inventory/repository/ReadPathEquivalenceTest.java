@@ -0,0 +1,143 @@
+package com.autoflex.inventory.repository;
+
+import com.autoflex.inventory.dto.BomLineDTO;
+import com.autoflex.inventory.entity.Product;
+import com.autoflex.inventory.entity.RawMaterial;
+import com.autoflex.inventory.mapper.ProductMapper;
+import com.autoflex.inventory.mapper.RawMaterialMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The reactive read path must return exactly what the blocking one does.
+ * H2 has no reactive client, so this runs only against a PostgreSQL given as
+ * {@code -Dtest.postgres.url=postgresql://host:port/database}.
+ */
+@QuarkusTest
+@TestProfile(ReadPathEquivalenceTest.PostgresProfile.class)
+@EnabledIfSystemProperty(named = "test.postgres.url", matches = ".+")
+class ReadPathEquivalenceTest {
+
+    @Inject
+    ReactiveCatalogRepository reactiveCatalogRepository;
+
+    @Inject
+    ProductRepository productRepository;
+
+    @Inject
+    RawMaterialRepository rawMaterialRepository;
+
+    @Inject
+    ProductMapper productMapper;
+
+    @Inject
+    RawMaterialMapper rawMaterialMapper;
+
+    @Inject
+    EntityManager entityManager;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        // Committed, so the reactive client's own connections see it
+        QuarkusTransaction.requiringNew().run(this::createCatalog);
+    }
+
+    @AfterEach
+    void tearDown() {
+        QuarkusTransaction.requiringNew().run(() -> {
+            entityManager.createQuery("DELETE FROM ProductRawMaterial").executeUpdate();
+            entityManager.createQuery("DELETE FROM Product").executeUpdate();
+            entityManager.createQuery("DELETE FROM RawMaterial").executeUpdate();
+        });
+    }
+
+    @Test
+    void testRawMaterials_SameOnBothPaths() throws Exception {
+        String blocking = QuarkusTransaction.requiringNew().call(
+                () -> json(rawMaterialMapper.toDTOList(rawMaterialRepository.findAllOrderByName())));
+        String reactive = json(reactiveCatalogRepository.findAllRawMaterialsOrderByName().await().indefinitely());
+
+        assertEquals(blocking, reactive);
+    }
+
+    @Test
+    void testProducts_SameOnBothPaths() throws Exception {
+        String blocking = QuarkusTransaction.requiringNew().call(
+                () -> json(productMapper.toDTOList(productRepository.findAllWithRawMaterials())));
+        String reactive = json(reactiveCatalogRepository.findAllProductsWithRawMaterials().await().indefinitely());
+
+        assertEquals(blocking, reactive);
+        assertTrue(reactive.contains("\"rawMaterials\":[]"), "product without raw materials is listed");
+    }
+
+    @Test
+    void testBomLines_SameOnBothPaths() throws Exception {
+        String blocking = QuarkusTransaction.requiringNew().call(() -> {
+            try (Stream<BomLineDTO> lines = productRepository.streamBomLinesOrderByValueDesc()) {
+                return json(lines.collect(Collectors.toList()));
+            }
+        });
+        String reactive = json(reactiveCatalogRepository.streamBomLinesOrderByValueDesc()
+                .collect().asList().await().indefinitely());
+
+        assertEquals(blocking, reactive);
+    }
+
+    private void createCatalog() {
+        // Repeated and accented names, repeated values and fractional quantities
+        List<RawMaterial> rawMaterials = new ArrayList<>();
+        String[] names = {"Steel", "Aço inox", "steel", "Zinc", "Ábaco", "Steel"};
+        for (int i = 0; i < names.length; i++) {
+            RawMaterial rawMaterial = new RawMaterial(names[i], new BigDecimal("100.5").multiply(BigDecimal.valueOf(i + 1)));
+            entityManager.persist(rawMaterial);
+            rawMaterials.add(rawMaterial);
+        }
+        for (int i = 0; i < 12; i++) {
+            Product product = new Product("Product " + i, BigDecimal.valueOf(10 + i % 4));
+            for (int k = 0; k < i % 4; k++) {
+                product.addRawMaterial(rawMaterials.get((i + k) % rawMaterials.size()), new BigDecimal("0.25").add(BigDecimal.valueOf(k)));
+            }
+            entityManager.persist(product);
+        }
+    }
+
+    private String json(Object value) throws Exception {
+        return objectMapper.writeValueAsString(value);
+    }
+
+    public static class PostgresProfile implements QuarkusTestProfile {
+
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            String url = System.getProperty("test.postgres.url");
+            return Map.of(
+                    "quarkus.datasource.db-kind", "postgresql",
+                    "quarkus.datasource.username", System.getProperty("test.postgres.username", "postgres"),
+                    "quarkus.datasource.password", System.getProperty("test.postgres.password", "postgres"),
+                    "quarkus.datasource.jdbc.url", "jdbc:" + url,
+                    "quarkus.datasource.reactive", "true",
+                    "quarkus.datasource.reactive.url", url);
+        }
+    }
+}
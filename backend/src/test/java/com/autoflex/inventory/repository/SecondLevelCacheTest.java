@@ -0,0 +1,143 @@
+package com.autoflex.inventory.repository;
+
+import com.autoflex.inventory.dto.ProductDTO;
+import com.autoflex.inventory.dto.ProductRawMaterialDTO;
+import com.autoflex.inventory.dto.RawMaterialDTO;
+import com.autoflex.inventory.metrics.StatementBudget;
+import com.autoflex.inventory.service.CatalogImportService;
+import com.autoflex.inventory.service.ProductService;
+import com.autoflex.inventory.service.RawMaterialService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Reads served from the second-level and query caches, and writes that must
+ * not leave them stale. Every step runs in its own committed transaction, as
+ * separate requests would.
+ */
+@QuarkusTest
+class SecondLevelCacheTest {
+
+    @Inject
+    ProductService productService;
+
+    @Inject
+    RawMaterialService rawMaterialService;
+
+    @Inject
+    CatalogImportService catalogImportService;
+
+    @Inject
+    ProductRepository productRepository;
+
+    @Inject
+    RawMaterialRepository rawMaterialRepository;
+
+    @Inject
+    ProductRawMaterialRepository productRawMaterialRepository;
+
+    @Inject
+    MeterRegistry registry;
+
+    @AfterEach
+    void cleanUp() {
+        QuarkusTransaction.requiringNew().run(() -> {
+            productRawMaterialRepository.delete(
+                    "product.id IN (SELECT p.id FROM Product p WHERE p.name LIKE ?1)", "Cache test%");
+            productRepository.delete("name LIKE ?1", "Cache test%");
+            rawMaterialRepository.delete("name LIKE ?1", "Cache test%");
+        });
+    }
+
+    @Test
+    void testRepeatedReads_RunNoStatements() {
+        Long steelId = createRawMaterial("Cache test steel");
+        Long glassId = createRawMaterial("Cache test glass");
+        Long id = createProduct("Cache test table", steelId, glassId);
+
+        inTransaction(() -> productService.findById(id));
+        inTransaction(() -> productService.findAll());
+        inTransaction(() -> rawMaterialService.findById(steelId));
+
+        ProductDTO product = StatementBudget.atMost(0, () -> inTransaction(() -> productService.findById(id)));
+        assertEquals(2, product.getRawMaterials().size());
+        StatementBudget.atMost(0, () -> inTransaction(() -> productService.findAll()));
+        assertEquals("Cache test steel",
+                StatementBudget.atMost(0, () -> inTransaction(() -> rawMaterialService.findById(steelId))).getName());
+
+        assertTrue(registry.get("inventory.hibernate.cache.hit.ratio")
+                .tag("region", "com.autoflex.inventory.entity.RawMaterial")
+                .gauge().value() > 0);
+    }
+
+    @Test
+    void testWrites_AreVisibleToCachedReads() {
+        Long steelId = createRawMaterial("Cache test steel");
+        Long glassId = createRawMaterial("Cache test glass");
+        Long id = createProduct("Cache test table", steelId);
+        inTransaction(() -> productService.findById(id));
+
+        productService.addRawMaterial(id, new ProductRawMaterialDTO(null, glassId, null, new BigDecimal("3")));
+        assertEquals(List.of("Cache test steel", "Cache test glass"), rawMaterialNames(id));
+
+        productService.updateRawMaterial(id, glassId, new ProductRawMaterialDTO(null, glassId, null, new BigDecimal("5")));
+        assertEquals(0, new BigDecimal("5").compareTo(
+                inTransaction(() -> productService.findById(id)).getRawMaterials().get(1).getRequiredQuantity()));
+
+        rawMaterialService.update(glassId, new RawMaterialDTO(glassId, "Cache test tempered glass", new BigDecimal("10")));
+        assertEquals(List.of("Cache test steel", "Cache test tempered glass"), rawMaterialNames(id));
+
+        productService.update(id, new ProductDTO(id, "Cache test table", new BigDecimal("100.00"),
+                List.of(new ProductRawMaterialDTO(null, glassId, null, new BigDecimal("1")))));
+        assertEquals(List.of("Cache test tempered glass"), rawMaterialNames(id));
+    }
+
+    @Test
+    void testImportedBomLine_EvictsCachedCollection() {
+        Long steelId = createRawMaterial("Cache test steel");
+        createRawMaterial("Cache test glass");
+        Long id = createProduct("Cache test table", steelId);
+
+        // Loaded through the entity and collection caches rather than a query
+        assertEquals(1, inTransaction(() -> productRepository.findById(id).getRawMaterials().size()));
+
+        // The import writes only the line's side of the association
+        catalogImportService.importBomLinesCsv("product_name,raw_material_name,required_quantity\n"
+                + "Cache test table,Cache test glass,2\n");
+
+        assertEquals(2, inTransaction(() -> productRepository.findById(id).getRawMaterials().size()));
+        assertEquals(List.of("Cache test steel", "Cache test glass"), rawMaterialNames(id));
+    }
+
+    private Long createRawMaterial(String name) {
+        return rawMaterialService.create(new RawMaterialDTO(null, name, new BigDecimal("100"))).getId();
+    }
+
+    private Long createProduct(String name, Long... rawMaterialIds) {
+        List<ProductRawMaterialDTO> lines = List.of(rawMaterialIds).stream()
+                .map(rawMaterialId -> new ProductRawMaterialDTO(null, rawMaterialId, null, new BigDecimal("2")))
+                .collect(Collectors.toList());
+        return productService.create(new ProductDTO(null, name, new BigDecimal("100.00"), lines)).getId();
+    }
+
+    private List<String> rawMaterialNames(Long productId) {
+        return inTransaction(() -> productService.findById(productId)).getRawMaterials().stream()
+                .map(ProductRawMaterialDTO::getRawMaterialName)
+                .collect(Collectors.toList());
+    }
+
+    private static <T> T inTransaction(Supplier<T> read) {
+        return QuarkusTransaction.requiringNew().call(read::get);
+    }
+}
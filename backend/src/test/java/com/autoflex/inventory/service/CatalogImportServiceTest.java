@@ -0,0 +1,133 @@
+package com.autoflex.inventory.service;
+
+import com.autoflex.inventory.dto.ImportErrorDTO;
+import com.autoflex.inventory.dto.ImportResultDTO;
+import com.autoflex.inventory.dto.ProductDTO;
+import com.autoflex.inventory.dto.ProductRawMaterialDTO;
+import com.autoflex.inventory.entity.Product;
+import com.autoflex.inventory.entity.RawMaterial;
+import com.autoflex.inventory.exception.BusinessException;
+import com.autoflex.inventory.repository.ProductRawMaterialRepository;
+import com.autoflex.inventory.repository.ProductRepository;
+import com.autoflex.inventory.repository.RawMaterialRepository;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusTest
+class CatalogImportServiceTest {
+
+    @Inject
+    CatalogImportService catalogImportService;
+
+    @Inject
+    RawMaterialRepository rawMaterialRepository;
+
+    @Inject
+    ProductRepository productRepository;
+
+    @Inject
+    ProductRawMaterialRepository productRawMaterialRepository;
+
+    @AfterEach
+    void cleanUp() {
+        // Imports commit their own transactions
+        QuarkusTransaction.requiringNew().run(() -> {
+            productRawMaterialRepository.delete(
+                    "product.id IN (SELECT p.id FROM Product p WHERE p.name LIKE ?1)", "Import test%");
+            productRepository.delete("name LIKE ?1", "Import test%");
+            rawMaterialRepository.delete("name LIKE ?1", "Import test%");
+        });
+    }
+
+    @Test
+    void testImportRawMaterialsCsv_ReportsInvalidRows() {
+        String csv = "name,stock_quantity\n"
+                + "Import test steel,100\n"
+                + "Import test aluminum,abc\n"
+                + "\"Import test steel\",5\n"
+                + "Import test glass,-1\n"
+                + "\"Import test rubber, natural\",10\n"
+                + "Import test plastic,1,2\n"
+                + "Import test copper,7\n";
+
+        ImportResultDTO result = catalogImportService.importRawMaterialsCsv(csv);
+
+        assertEquals(7, result.getReceived());
+        assertEquals(3, result.getImported());
+        assertEquals(Arrays.asList(2, 3, 4, 6), rows(result));
+        assertEquals("Duplicate name 'Import test steel' in this import", result.getErrors().get(1).getMessage());
+        assertEquals("Stock quantity cannot be negative", result.getErrors().get(2).getMessage());
+        assertTrue(rawMaterialRepository.existsByName("Import test copper"));
+    }
+
+    @Test
+    void testImportRawMaterialsCsv_MissingHeader() {
+        assertThrows(BusinessException.class,
+                () -> catalogImportService.importRawMaterialsCsv("Import test steel,100\n"));
+    }
+
+    @Test
+    void testImportProducts_ResolvesRawMaterialsInBatch() {
+        Long steelId = createRawMaterial("Import test steel");
+
+        List<ProductDTO> products = Arrays.asList(
+                new ProductDTO(null, "Import test table", new BigDecimal("100.00"),
+                        List.of(new ProductRawMaterialDTO(null, steelId, null, new BigDecimal("4")))),
+                new ProductDTO(null, "Import test chair", new BigDecimal("50.00"),
+                        List.of(new ProductRawMaterialDTO(null, -1L, null, new BigDecimal("2")))),
+                new ProductDTO(null, "Import test lamp", new BigDecimal("-5.00")),
+                new ProductDTO(null, "Import test shelf", new BigDecimal("80.00")));
+
+        ImportResultDTO result = catalogImportService.importProducts(products);
+
+        assertEquals(2, result.getImported());
+        assertEquals(Arrays.asList(2, 3), rows(result));
+        assertEquals("Raw material not found with id: -1", result.getErrors().get(0).getMessage());
+
+        Product table = productRepository.find("name", "Import test table").firstResult();
+        assertEquals(1, productRawMaterialRepository.findByProductId(table.getId()).size());
+    }
+
+    @Test
+    void testImportBomLinesCsv_ChecksExistingLines() {
+        Long steelId = createRawMaterial("Import test steel");
+        createRawMaterial("Import test glass");
+        catalogImportService.importProducts(List.of(new ProductDTO(null, "Import test table", new BigDecimal("100.00"),
+                List.of(new ProductRawMaterialDTO(null, steelId, null, new BigDecimal("4"))))));
+
+        String csv = "product_name,raw_material_name,required_quantity\n"
+                + "import test TABLE,Import test glass,2\n"
+                + "Import test table,Import test steel,1\n"
+                + "Import test desk,Import test glass,1\n"
+                + "Import test table,Import test glass,3\n";
+
+        ImportResultDTO result = catalogImportService.importBomLinesCsv(csv);
+
+        assertEquals(1, result.getImported());
+        assertEquals(Arrays.asList(2, 3, 4), rows(result));
+        assertEquals("Raw material is already associated with this product", result.getErrors().get(0).getMessage());
+        assertEquals("Product not found with name: Import test desk", result.getErrors().get(1).getMessage());
+    }
+
+    private Long createRawMaterial(String name) {
+        return QuarkusTransaction.requiringNew().call(() -> {
+            RawMaterial rawMaterial = new RawMaterial(name, new BigDecimal("100"));
+            rawMaterialRepository.persist(rawMaterial);
+            return rawMaterial.getId();
+        });
+    }
+
+    private List<Integer> rows(ImportResultDTO result) {
+        return result.getErrors().stream().map(ImportErrorDTO::getRow).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,148 @@
+package com.autoflex.inventory.service;
+
+import com.autoflex.inventory.dto.DemandLineDTO;
+import com.autoflex.inventory.dto.MaterialRequirementDTO;
+import com.autoflex.inventory.dto.MaterialRequirementsDTO;
+import com.autoflex.inventory.exception.BusinessException;
+import com.autoflex.inventory.planner.BomMatrix;
+import com.autoflex.inventory.repository.ProductRepository;
+import com.autoflex.inventory.repository.RawMaterialRepository;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.mockito.InjectMock;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@QuarkusTest
+class MaterialRequirementsServiceTest {
+
+    @Inject
+    MaterialRequirementsService materialRequirementsService;
+
+    @InjectMock
+    ProductionSuggestionCache productionSuggestionCache;
+
+    @InjectMock
+    ProductRepository productRepository;
+
+    @InjectMock
+    RawMaterialRepository rawMaterialRepository;
+
+    @InjectMock
+    BomExplosionService bomExplosionService;
+
+    @BeforeEach
+    void setUp() {
+        // Product 1 needs 10 steel (id 7), product 2 needs 5 steel and 5 glass (id 8)
+        BomMatrix matrix = BomMatrix.builder()
+                .startProduct(1L, "Table", new BigDecimal("100.00"))
+                .addRequirement(7L, new BigDecimal("10"), new BigDecimal("100"))
+                .startProduct(2L, "Window", new BigDecimal("60.00"))
+                .addRequirement(7L, new BigDecimal("5"), new BigDecimal("100"))
+                .addRequirement(8L, new BigDecimal("5"), new BigDecimal("20"))
+                .build();
+        when(productionSuggestionCache.getMatrix()).thenReturn(matrix);
+        when(rawMaterialRepository.findNamesByIds(anyCollection())).thenReturn(Map.of(7L, "Steel", 8L, "Glass"));
+    }
+
+    @Test
+    void testPlan_AddsUpRepeatedProductsAndNetsStock() {
+        MaterialRequirementsDTO requirements = materialRequirementsService.plan(List.of(
+                new DemandLineDTO(1L, 4),
+                new DemandLineDTO(2L, 6),
+                new DemandLineDTO(1L, 6)));
+
+        // 10 tables and 6 windows: 130 steel against 100, 30 glass against 20
+        assertEquals(2, requirements.getProducts());
+        List<MaterialRequirementDTO> materials = requirements.getMaterials();
+        assertEquals(2, materials.size());
+
+        MaterialRequirementDTO steel = materials.get(0);
+        assertEquals(7L, steel.getRawMaterialId());
+        assertEquals("Steel", steel.getRawMaterialName());
+        assertEquals(0, new BigDecimal("130").compareTo(steel.getGrossQuantity()));
+        assertEquals(0, new BigDecimal("100").compareTo(steel.getStockQuantity()));
+        assertEquals(0, new BigDecimal("30").compareTo(steel.getPurchaseQuantity()));
+
+        MaterialRequirementDTO glass = materials.get(1);
+        assertEquals(8L, glass.getRawMaterialId());
+        assertEquals(0, new BigDecimal("30").compareTo(glass.getGrossQuantity()));
+        assertEquals(0, new BigDecimal("10").compareTo(glass.getPurchaseQuantity()));
+        verify(productRepository, never()).findExistingIds(any());
+    }
+
+    @Test
+    void testPlan_NothingToBuyWhenStockCovers() {
+        List<MaterialRequirementDTO> materials = materialRequirementsService.plan(List.of(
+                new DemandLineDTO(1L, 5))).getMaterials();
+
+        // Glass is not needed at all, so it is left out
+        assertEquals(1, materials.size());
+        assertEquals(0, new BigDecimal("50").compareTo(materials.get(0).getGrossQuantity()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(materials.get(0).getPurchaseQuantity()));
+    }
+
+    @Test
+    void testPlan_ProductWithoutBillOfMaterialsNeedsNothing() {
+        when(productRepository.findExistingIds(Set.of(3L))).thenReturn(Set.of(3L));
+
+        MaterialRequirementsDTO requirements = materialRequirementsService.plan(List.of(
+                new DemandLineDTO(1L, 5),
+                new DemandLineDTO(3L, 100)));
+
+        assertEquals(2, requirements.getProducts());
+        assertEquals(1, requirements.getMaterials().size());
+        verify(bomExplosionService, times(1)).findCycles(Set.of(3L));
+    }
+
+    @Test
+    void testPlan_UnknownProduct() {
+        when(productRepository.findExistingIds(Set.of(99L))).thenReturn(Set.of());
+
+        assertThrows(BusinessException.class, () -> materialRequirementsService.plan(List.of(
+                new DemandLineDTO(1L, 5),
+                new DemandLineDTO(99L, 1))));
+    }
+
+    @Test
+    void testPlan_ProductLeftOutForACycle() {
+        // Product 3 is missing from the matrix because it contains itself through product 4
+        when(productRepository.findExistingIds(Set.of(3L))).thenReturn(Set.of(3L));
+        when(bomExplosionService.findCycles(Set.of(3L))).thenReturn(Map.of(3L, List.of(3L, 4L, 3L)));
+
+        BusinessException e = assertThrows(BusinessException.class, () -> materialRequirementsService.plan(List.of(
+                new DemandLineDTO(1L, 5),
+                new DemandLineDTO(3L, 10))));
+
+        assertTrue(e.getMessage().contains("Product 3"));
+        verify(rawMaterialRepository, never()).findNamesByIds(anyCollection());
+    }
+
+    @Test
+    void testPlan_LargeDemandReadsOnce() {
+        List<DemandLineDTO> demand = new ArrayList<>(100_000);
+        for (int i = 0; i < 100_000; i++) {
+            demand.add(new DemandLineDTO(i % 2 == 0 ? 1L : 2L, 1));
+        }
+
+        List<MaterialRequirementDTO> materials = materialRequirementsService.plan(demand).getMaterials();
+
+        // 50,000 of each: 750,000 steel and 250,000 glass
+        assertEquals(0, new BigDecimal("749900").compareTo(materials.get(0).getPurchaseQuantity()));
+        assertEquals(0, new BigDecimal("249980").compareTo(materials.get(1).getPurchaseQuantity()));
+        verify(productionSuggestionCache, times(1)).getMatrix();
+        verify(rawMaterialRepository, times(1)).findNamesByIds(anyCollection());
+        verifyNoInteractions(productRepository);
+    }
+}
@@ -0,0 +1,66 @@
+package com.autoflex.inventory.service;
+
+import com.autoflex.inventory.dto.NameSuggestionDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NamePrefixIndexTest {
+
+    private static final NamePrefixIndex INDEX = NamePrefixIndex.build(
+            new long[] {1L, 2L, 3L, 4L},
+            new String[] {"Stainless steel bolt", "Steel bracket", "Aço inox", "Alumínio-frame"});
+
+    @Test
+    void testLookup_NameStartsComeBeforeWordStarts() {
+        assertEquals(List.of("Stainless steel bolt", "Steel bracket"), names(INDEX.lookup("st", 10)));
+        assertEquals(List.of("Steel bracket", "Stainless steel bolt"), names(INDEX.lookup("Steel", 10)));
+        assertEquals(List.of("Stainless steel bolt"), names(INDEX.lookup("bol", 10)));
+        assertEquals(List.of("Stainless steel bolt"), names(INDEX.lookup("st", 1)));
+        assertTrue(INDEX.lookup("x", 10).isEmpty());
+        assertTrue(INDEX.lookup("  ", 10).isEmpty());
+    }
+
+    @Test
+    void testLookup_IgnoresCaseAccentsAndPunctuation() {
+        assertEquals(List.of("Aço inox"), names(INDEX.lookup("ACO", 10)));
+        assertEquals(List.of("Alumínio-frame"), names(INDEX.lookup("aluminio fr", 10)));
+        assertEquals(List.of("Alumínio-frame"), names(INDEX.lookup("frame", 10)));
+    }
+
+    @Test
+    void testWithAndWithout_UpdateWithoutRebuilding() {
+        NamePrefixIndex renamed = INDEX.with(2L, "Copper wire").with(5L, "Steel plate");
+
+        assertEquals(List.of("Steel plate", "Stainless steel bolt"), names(renamed.lookup("ste", 10)));
+        assertEquals(List.of(2L), renamed.lookup("cop", 10).stream().map(NameSuggestionDTO::getId).collect(Collectors.toList()));
+        assertEquals(5, renamed.nameCount());
+        // The original is untouched
+        assertEquals(List.of("Steel bracket", "Stainless steel bolt"), names(INDEX.lookup("ste", 10)));
+
+        NamePrefixIndex removed = renamed.without(1L).without(5L).without(42L);
+        assertEquals(3, removed.nameCount());
+        assertTrue(removed.lookup("ste", 10).isEmpty());
+
+        NamePrefixIndex empty = removed.without(2L).without(3L).without(4L);
+        assertEquals(0, empty.nameCount());
+        assertEquals(0, empty.keyCount());
+        assertEquals(List.of("Zinc"), names(empty.with(6L, "Zinc").lookup("z", 10)));
+    }
+
+    @Test
+    void testEstimatedBytes_GrowsWithNames() {
+        assertTrue(NamePrefixIndex.EMPTY.estimatedBytes() > 0);
+        assertTrue(INDEX.with(5L, "Steel plate").estimatedBytes() > INDEX.estimatedBytes());
+        assertEquals(4, INDEX.nameCount());
+        // One per name plus "steel bolt", "bolt", "bracket", "inox" and "frame"
+        assertEquals(9, INDEX.keyCount());
+    }
+
+    private static List<String> names(List<NameSuggestionDTO> suggestions) {
+        return suggestions.stream().map(NameSuggestionDTO::getName).collect(Collectors.toList());
+    }
+}
@@ -1,10 +1,14 @@
 package com.autoflex.inventory.service;
 
+import com.autoflex.inventory.dto.ComponentLineDTO;
+import com.autoflex.inventory.dto.ProductComponentDTO;
 import com.autoflex.inventory.dto.ProductDTO;
 import com.autoflex.inventory.entity.Product;
+import com.autoflex.inventory.entity.ProductComponent;
 import com.autoflex.inventory.exception.BusinessException;
 import com.autoflex.inventory.exception.NotFoundException;
 import com.autoflex.inventory.mapper.ProductMapper;
+import com.autoflex.inventory.repository.ProductComponentRepository;
 import com.autoflex.inventory.repository.ProductRawMaterialRepository;
 import com.autoflex.inventory.repository.ProductRepository;
 import com.autoflex.inventory.repository.RawMaterialRepository;
@@ -39,6 +43,9 @@ class ProductServiceTest {
     @InjectMock
     ProductRawMaterialRepository productRawMaterialRepository;
 
+    @InjectMock
+    ProductComponentRepository productComponentRepository;
+
     @Inject
     ProductMapper productMapper;
 
@@ -142,4 +149,52 @@ class ProductServiceTest {
 
         assertThrows(NotFoundException.class, () -> productService.delete(99L));
     }
+
+    @Test
+    void testDelete_UsedAsComponent() {
+        when(productRepository.findByIdOptional(1L)).thenReturn(Optional.of(testProduct));
+        when(productComponentRepository.existsByComponentId(1L)).thenReturn(true);
+
+        assertThrows(BusinessException.class, () -> productService.delete(1L));
+        verify(productRepository, never()).delete(any(Product.class));
+    }
+
+    @Test
+    void testAddComponent_Success() {
+        Product leg = new Product("Leg", new BigDecimal("20.00"));
+        leg.setId(2L);
+        when(productRepository.findByIdOptional(1L)).thenReturn(Optional.of(testProduct));
+        when(productRepository.findByIdOptional(2L)).thenReturn(Optional.of(leg));
+        when(productComponentRepository.findByProductId(1L))
+                .thenReturn(List.of(new ProductComponent(testProduct, leg, new BigDecimal("4"))));
+
+        List<ProductComponentDTO> components = productService.addComponent(1L,
+                new ProductComponentDTO(null, 2L, null, new BigDecimal("4")));
+
+        assertEquals(1, components.size());
+        assertEquals("Leg", components.get(0).getComponentName());
+        verify(productComponentRepository, times(1)).persist(any(ProductComponent.class));
+    }
+
+    @Test
+    void testAddComponent_RejectsCycle() {
+        // Product 2 already contains product 1 through product 3
+        Product other = new Product("Other", new BigDecimal("20.00"));
+        other.setId(2L);
+        when(productRepository.findByIdOptional(1L)).thenReturn(Optional.of(testProduct));
+        when(productRepository.findByIdOptional(2L)).thenReturn(Optional.of(other));
+        when(productComponentRepository.findLinesByProductIds(List.of(2L)))
+                .thenReturn(List.of(new ComponentLineDTO(2L, 3L, BigDecimal.ONE)));
+        when(productComponentRepository.findLinesByProductIds(List.of(3L)))
+                .thenReturn(List.of(new ComponentLineDTO(3L, 1L, BigDecimal.ONE)));
+
+        assertThrows(BusinessException.class, () -> productService.addComponent(1L,
+                new ProductComponentDTO(null, 2L, null, BigDecimal.ONE)));
+        assertThrows(BusinessException.class, () -> productService.addComponent(1L,
+                new ProductComponentDTO(null, 1L, null, BigDecimal.ONE)));
+        verify(productComponentRepository, never()).persist(any(ProductComponent.class));
+        // Each product on the walk is locked before its lines are read
+        verify(productRepository).lockByIds(List.of(1L, 2L));
+        verify(productRepository).lockByIds(List.of(3L));
+    }
 }
@@ -0,0 +1,102 @@
+package com.autoflex.inventory.service;
+
+import com.autoflex.inventory.dto.MaterialAnalysisDTO;
+import com.autoflex.inventory.dto.ProductionAnalysisDTO;
+import com.autoflex.inventory.dto.ProductionItemDTO;
+import com.autoflex.inventory.dto.ProductionSuggestionDTO;
+import com.autoflex.inventory.planner.BomMatrix;
+import com.autoflex.inventory.repository.RawMaterialRepository;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.mockito.InjectMock;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@QuarkusTest
+class ProductionAnalysisServiceTest {
+
+    @Inject
+    ProductionAnalysisService productionAnalysisService;
+
+    @InjectMock
+    ProductionSuggestionCache productionSuggestionCache;
+
+    @InjectMock
+    RawMaterialRepository rawMaterialRepository;
+
+    private BomMatrix matrix;
+
+    @BeforeEach
+    void setUp() {
+        // Product 1 needs 10 steel (id 7), product 2 needs 5 steel and 5 glass (id 8)
+        matrix = BomMatrix.builder()
+                .startProduct(1L, "Table", new BigDecimal("100.00"))
+                .addRequirement(7L, new BigDecimal("10"), new BigDecimal("100"))
+                .startProduct(2L, "Window", new BigDecimal("60.00"))
+                .addRequirement(7L, new BigDecimal("5"), new BigDecimal("100"))
+                .addRequirement(8L, new BigDecimal("5"), new BigDecimal("20"))
+                .build();
+        when(rawMaterialRepository.findNamesByIds(List.of(7L, 8L))).thenReturn(Map.of(7L, "Steel", 8L, "Glass"));
+    }
+
+    @Test
+    void testAnalyze_BothMaterialsBinding() {
+        // 4 windows use all the glass, 8 tables the rest of the steel
+        plan(List.of(
+                new ProductionItemDTO(1L, "Table", new BigDecimal("100.00"), 8),
+                new ProductionItemDTO(2L, "Window", new BigDecimal("60.00"), 4)), "1040.00");
+
+        ProductionAnalysisDTO analysis = productionAnalysisService.analyze();
+
+        assertEquals(0, new BigDecimal("1040.00").compareTo(analysis.getTotalValue()));
+        assertTrue(analysis.isOptimal());
+        List<MaterialAnalysisDTO> materials = analysis.getMaterials();
+        assertEquals(List.of(7L, 8L), materialIds(materials));
+
+        MaterialAnalysisDTO steel = materials.get(0);
+        assertEquals("Steel", steel.getRawMaterialName());
+        assertEquals(0, new BigDecimal("100").compareTo(steel.getUsedQuantity()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(steel.getLeftoverQuantity()));
+        assertEquals(new BigDecimal("10.00"), steel.getShadowPrice());
+        assertTrue(steel.isBinding());
+
+        MaterialAnalysisDTO glass = materials.get(1);
+        assertEquals("Glass", glass.getRawMaterialName());
+        assertEquals(new BigDecimal("2.00"), glass.getShadowPrice());
+        assertTrue(glass.isBinding());
+    }
+
+    @Test
+    void testAnalyze_LeftoverFromTheSuggestedQuantities() {
+        plan(List.of(new ProductionItemDTO(1L, "Table", new BigDecimal("100.00"), 6)), "600.00");
+
+        List<MaterialAnalysisDTO> materials = productionAnalysisService.analyze().getMaterials();
+
+        MaterialAnalysisDTO steel = materials.get(0);
+        assertEquals(0, new BigDecimal("60").compareTo(steel.getUsedQuantity()));
+        assertEquals(0, new BigDecimal("40").compareTo(steel.getLeftoverQuantity()));
+        MaterialAnalysisDTO glass = materials.get(1);
+        assertEquals(0, BigDecimal.ZERO.compareTo(glass.getUsedQuantity()));
+        assertEquals(0, new BigDecimal("20").compareTo(glass.getLeftoverQuantity()));
+        verify(productionSuggestionCache, times(1)).getPlanned();
+        verify(rawMaterialRepository, never()).findAllOrderByName();
+    }
+
+    private void plan(List<ProductionItemDTO> items, String totalValue) {
+        ProductionSuggestionDTO suggestion = new ProductionSuggestionDTO(items, new BigDecimal(totalValue), true);
+        when(productionSuggestionCache.getPlanned())
+                .thenReturn(new ProductionSuggestionCache.Planned(matrix, suggestion));
+    }
+
+    private List<Long> materialIds(List<MaterialAnalysisDTO> materials) {
+        return materials.stream().map(MaterialAnalysisDTO::getRawMaterialId).collect(Collectors.toList());
+    }
+}
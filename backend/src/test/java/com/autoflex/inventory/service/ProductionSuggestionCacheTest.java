@@ -0,0 +1,232 @@
+package com.autoflex.inventory.service;
+
+import com.autoflex.inventory.dto.ProductionSuggestionDTO;
+import com.autoflex.inventory.dto.SuggestionCacheStatsDTO;
+import com.autoflex.inventory.event.CatalogChangedEvent;
+import com.autoflex.inventory.planner.BomMatrix;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.mockito.InjectMock;
+import jakarta.enterprise.event.Event;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@QuarkusTest
+class ProductionSuggestionCacheTest {
+
+    @Inject
+    ProductionSuggestionCache productionSuggestionCache;
+
+    @Inject
+    Event<CatalogChangedEvent> catalogEvents;
+
+    @InjectMock
+    ProductionSuggestionService productionSuggestionService;
+
+    @Inject
+    MeterRegistry registry;
+
+    private BomMatrix matrix;
+
+    @BeforeEach
+    void setUp() {
+        // Product 1 needs 10 of raw material 7, which has 100 in stock
+        matrix = BomMatrix.builder()
+                .startProduct(1L, "Product A", new BigDecimal("100.00"))
+                .addRequirement(7L, new BigDecimal("10"), new BigDecimal("100"))
+                .build();
+        when(productionSuggestionService.loadBomMatrix()).thenReturn(matrix);
+        when(productionSuggestionService.calculateProductionSuggestion(any(BomMatrix.class)))
+                .thenAnswer(invocation -> new ProductionSuggestionDTO(Collections.emptyList(), BigDecimal.ZERO, true));
+
+        // Start every test from an empty cache
+        catalogEvents.fire(CatalogChangedEvent.of(CatalogChangedEvent.Type.PRODUCT_UPDATED, 1L));
+    }
+
+    @Test
+    void testGetSuggestion_SecondCallIsHit() {
+        SuggestionCacheStatsDTO before = productionSuggestionCache.getStats();
+
+        ProductionSuggestionDTO first = productionSuggestionCache.getSuggestion();
+        ProductionSuggestionDTO second = productionSuggestionCache.getSuggestion();
+
+        SuggestionCacheStatsDTO after = productionSuggestionCache.getStats();
+        assertSame(first, second);
+        assertEquals(1, after.getMisses() - before.getMisses());
+        assertEquals(1, after.getHits() - before.getHits());
+        assertEquals(1, after.getRecomputes() - before.getRecomputes());
+        verify(productionSuggestionService, times(1)).loadBomMatrix();
+    }
+
+    @Test
+    void testGetSuggestion_BillOfMaterialsChangeReloads() {
+        productionSuggestionCache.getSuggestion();
+
+        catalogEvents.fire(CatalogChangedEvent.of(CatalogChangedEvent.Type.BILL_OF_MATERIALS_CHANGED, 1L));
+        productionSuggestionCache.getSuggestion();
+
+        verify(productionSuggestionService, times(2)).loadBomMatrix();
+    }
+
+    @Test
+    void testGetSuggestion_StockChangeRepairsWithoutReloading() {
+        SuggestionCacheStatsDTO before = productionSuggestionCache.getStats();
+        productionSuggestionCache.getSuggestion();
+
+        catalogEvents.fire(CatalogChangedEvent.rawMaterialUpdated(7L, "Steel", new BigDecimal("30")));
+        productionSuggestionCache.getSuggestion();
+
+        verify(productionSuggestionService, times(1)).loadBomMatrix();
+        ArgumentCaptor<BomMatrix> planned = ArgumentCaptor.forClass(BomMatrix.class);
+        verify(productionSuggestionService, times(2)).calculateProductionSuggestion(planned.capture());
+        assertEquals(300_000L, planned.getAllValues().get(1).stock(0));
+        assertEquals(1, productionSuggestionCache.getStats().getRepairs() - before.getRepairs());
+    }
+
+    @Test
+    void testGetSuggestion_UnusedMaterialChangeKeepsCache() {
+        productionSuggestionCache.getSuggestion();
+
+        catalogEvents.fire(CatalogChangedEvent.rawMaterialUpdated(99L, "Unused", new BigDecimal("30")));
+        catalogEvents.fire(CatalogChangedEvent.of(CatalogChangedEvent.Type.RAW_MATERIAL_CREATED, 100L));
+        productionSuggestionCache.getSuggestion();
+
+        verify(productionSuggestionService, times(1)).calculateProductionSuggestion(any(BomMatrix.class));
+    }
+
+    @Test
+    void testGetSuggestion_ConcurrentMissesShareOneComputation() throws Exception {
+        int callers = 16;
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(productionSuggestionService.loadBomMatrix()).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return matrix;
+        });
+        SuggestionCacheStatsDTO before = productionSuggestionCache.getStats();
+        double coalescedBefore = coalescedRequests();
+
+        List<Future<ProductionSuggestionDTO>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            results.add(executor.submit(productionSuggestionCache::getSuggestion));
+            assertTrue(loading.await(10, TimeUnit.SECONDS));
+            for (int i = 1; i < callers; i++) {
+                results.add(executor.submit(productionSuggestionCache::getSuggestion));
+            }
+            // Release the computation once every other caller waits on it
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (productionSuggestionCache.getStats().getCoalesced() - before.getCoalesced() < callers - 1
+                    && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            ProductionSuggestionDTO first = results.get(0).get(10, TimeUnit.SECONDS);
+            for (Future<ProductionSuggestionDTO> result : results) {
+                assertSame(first, result.get(10, TimeUnit.SECONDS));
+            }
+        }
+
+        SuggestionCacheStatsDTO after = productionSuggestionCache.getStats();
+        assertEquals(1, after.getMisses() - before.getMisses());
+        assertEquals(callers - 1, after.getCoalesced() - before.getCoalesced());
+        assertEquals(callers - 1, coalescedRequests() - coalescedBefore);
+        verify(productionSuggestionService, times(1)).loadBomMatrix();
+        verify(productionSuggestionService, times(1)).calculateProductionSuggestion(any(BomMatrix.class));
+    }
+
+    @Test
+    void testGetSuggestion_FailedComputationFailsWaitingCallers() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(productionSuggestionService.loadBomMatrix()).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            throw new IllegalStateException("database down");
+        });
+        SuggestionCacheStatsDTO before = productionSuggestionCache.getStats();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<ProductionSuggestionDTO> computing = executor.submit(productionSuggestionCache::getSuggestion);
+            assertTrue(loading.await(10, TimeUnit.SECONDS));
+            Future<ProductionSuggestionDTO> waiting = executor.submit(productionSuggestionCache::getSuggestion);
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (productionSuggestionCache.getStats().getCoalesced() == before.getCoalesced()
+                    && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            assertInstanceOf(IllegalStateException.class, assertThrows(Exception.class, computing::get).getCause());
+            assertInstanceOf(IllegalStateException.class, assertThrows(Exception.class, waiting::get).getCause());
+        }
+
+        // Nothing cached; the next call computes again
+        when(productionSuggestionService.loadBomMatrix()).thenReturn(matrix);
+        assertNotNull(productionSuggestionCache.getSuggestion());
+        verify(productionSuggestionService, times(2)).loadBomMatrix();
+    }
+
+    @Test
+    void testLookup_PreviousSuggestionWithinStalenessWindow() throws Exception {
+        // A cache of its own, to give it a staleness window
+        ProductionSuggestionCache cache = new ProductionSuggestionCache();
+        cache.productionSuggestionService = productionSuggestionService;
+        cache.registry = new SimpleMeterRegistry();
+        cache.stalenessMs = 60_000;
+        cache.registerMeters();
+        ProductionSuggestionDTO previous = cache.getSuggestion();
+
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(productionSuggestionService.loadBomMatrix()).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return matrix;
+        });
+        cache.onCatalogChanged(CatalogChangedEvent.of(CatalogChangedEvent.Type.BILL_OF_MATERIALS_CHANGED, 1L));
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<ProductionSuggestionCache.Result> computing = executor.submit(cache::lookup);
+            assertTrue(loading.await(10, TimeUnit.SECONDS));
+
+            ProductionSuggestionCache.Result stale = cache.lookup();
+            assertTrue(stale.isStale());
+            assertSame(previous, stale.getSuggestion());
+
+            release.countDown();
+            ProductionSuggestionCache.Result fresh = computing.get(10, TimeUnit.SECONDS);
+            assertFalse(fresh.isStale());
+            assertNotSame(previous, fresh.getSuggestion());
+        }
+
+        assertSame(cache.getSuggestion(), cache.lookup().getSuggestion());
+        assertEquals(1, cache.getStats().getStale());
+        assertEquals(1.0, cache.registry.get("inventory.planner.suggestion.requests")
+                .tag("result", "stale").functionCounter().count());
+    }
+
+    private double coalescedRequests() {
+        return registry.get("inventory.planner.suggestion.requests")
+                .tag("result", "coalesced")
+                .functionCounter().count();
+    }
+}
@@ -1,11 +1,15 @@
 package com.autoflex.inventory.service;
 
+import com.autoflex.inventory.dto.BomLineDTO;
+import com.autoflex.inventory.dto.ComponentLineDTO;
 import com.autoflex.inventory.dto.ProductionItemDTO;
 import com.autoflex.inventory.dto.ProductionSuggestionDTO;
 import com.autoflex.inventory.entity.Product;
 import com.autoflex.inventory.entity.ProductRawMaterial;
 import com.autoflex.inventory.entity.RawMaterial;
+import com.autoflex.inventory.metrics.StatementBudget;
 import com.autoflex.inventory.repository.ProductRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.quarkus.test.junit.QuarkusTest;
 import io.quarkus.test.junit.mockito.InjectMock;
 import jakarta.inject.Inject;
@@ -17,6 +21,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -30,6 +35,9 @@ class ProductionSuggestionServiceTest {
     @InjectMock
     ProductRepository productRepository;
 
+    @Inject
+    MeterRegistry registry;
+
     private RawMaterial steel;
     private RawMaterial aluminum;
     private Product productA;
@@ -56,7 +64,7 @@ class ProductionSuggestionServiceTest {
 
     @Test
     void testCalculateProductionSuggestion_NoProducts() {
-        when(productRepository.findAllOrderByValueDesc()).thenReturn(Collections.emptyList());
+        when(productRepository.streamBomLinesOrderByValueDesc()).thenReturn(bomLines(Collections.emptyList()));
 
         ProductionSuggestionDTO result = productionSuggestionService.calculateProductionSuggestion();
 
@@ -67,7 +75,7 @@ class ProductionSuggestionServiceTest {
 
     @Test
     void testCalculateProductionSuggestion_ProductWithoutRawMaterials() {
-        when(productRepository.findAllOrderByValueDesc()).thenReturn(Arrays.asList(productA));
+        when(productRepository.streamBomLinesOrderByValueDesc()).thenReturn(bomLines(Arrays.asList(productA)));
 
         ProductionSuggestionDTO result = productionSuggestionService.calculateProductionSuggestion();
 
@@ -83,7 +91,7 @@ class ProductionSuggestionServiceTest {
         ProductRawMaterial prm = new ProductRawMaterial(productA, steel, new BigDecimal("10"));
         productA.getRawMaterials().add(prm);
 
-        when(productRepository.findAllOrderByValueDesc()).thenReturn(Arrays.asList(productA));
+        when(productRepository.streamBomLinesOrderByValueDesc()).thenReturn(bomLines(Arrays.asList(productA)));
 
         ProductionSuggestionDTO result = productionSuggestionService.calculateProductionSuggestion();
 
@@ -98,11 +106,12 @@ class ProductionSuggestionServiceTest {
     }
 
     @Test
-    void testCalculateProductionSuggestion_PrioritizeHigherValue() {
+    void testCalculateProductionSuggestion_MaximizesTotalValue() {
         // Product A (value=100) requires 10 steel
         // Product B (value=150) requires 20 steel
         // Stock has 100 steel
-        // Should prioritize Product B first (higher value)
+        // Product B has the higher value, but 10 units of Product A (1000)
+        // are worth more than 5 units of Product B (750)
         
         ProductRawMaterial prmA = new ProductRawMaterial(productA, steel, new BigDecimal("10"));
         productA.getRawMaterials().add(prmA);
@@ -111,20 +120,39 @@ class ProductionSuggestionServiceTest {
         productB.getRawMaterials().add(prmB);
 
         // Products sorted by value descending
-        when(productRepository.findAllOrderByValueDesc()).thenReturn(Arrays.asList(productB, productA));
+        when(productRepository.streamBomLinesOrderByValueDesc()).thenReturn(bomLines(Arrays.asList(productB, productA)));
 
         ProductionSuggestionDTO result = productionSuggestionService.calculateProductionSuggestion();
 
         assertNotNull(result);
-        assertEquals(2, result.getItems().size());
-        
-        // First item should be Product B (5 units, using 100 steel)
-        ProductionItemDTO itemB = result.getItems().get(0);
-        assertEquals("Product B", itemB.getProductName());
-        assertEquals(5, itemB.getQuantity());
+        assertEquals(1, result.getItems().size());
         
-        // No steel left for Product A after making 5 Product B
-        // But let's verify the items
+        ProductionItemDTO itemA = result.getItems().get(0);
+        assertEquals("Product A", itemA.getProductName());
+        assertEquals(10, itemA.getQuantity());
+        assertEquals(new BigDecimal("1000.00"), result.getTotalValue());
+        assertTrue(result.isOptimal());
+    }
+
+    @Test
+    void testCalculateProductionSuggestion_BeatsGreedyAllocation() {
+        // Product B (value=150) requires 40 steel
+        // Product A (value=100) requires 30 steel
+        // Stock has 100 steel
+        // Greedy makes 2 B and has 20 steel left (300); the best plan is 1 B + 2 A (350)
+        productB.getRawMaterials().add(new ProductRawMaterial(productB, steel, new BigDecimal("40")));
+        productA.getRawMaterials().add(new ProductRawMaterial(productA, steel, new BigDecimal("30")));
+
+        when(productRepository.streamBomLinesOrderByValueDesc()).thenReturn(bomLines(Arrays.asList(productB, productA)));
+
+        ProductionSuggestionDTO result = productionSuggestionService.calculateProductionSuggestion();
+
+        assertEquals(2, result.getItems().size());
+        assertEquals("Product B", result.getItems().get(0).getProductName());
+        assertEquals(1, result.getItems().get(0).getQuantity());
+        assertEquals("Product A", result.getItems().get(1).getProductName());
+        assertEquals(2, result.getItems().get(1).getQuantity());
+        assertEquals(new BigDecimal("350.00"), result.getTotalValue());
     }
 
     @Test
@@ -139,7 +167,7 @@ class ProductionSuggestionServiceTest {
         productA.getRawMaterials().add(prmSteel);
         productA.getRawMaterials().add(prmAluminum);
 
-        when(productRepository.findAllOrderByValueDesc()).thenReturn(Arrays.asList(productA));
+        when(productRepository.streamBomLinesOrderByValueDesc()).thenReturn(bomLines(Arrays.asList(productA)));
 
         ProductionSuggestionDTO result = productionSuggestionService.calculateProductionSuggestion();
 
@@ -157,7 +185,7 @@ class ProductionSuggestionServiceTest {
         ProductRawMaterial prm = new ProductRawMaterial(productA, steel, new BigDecimal("200"));
         productA.getRawMaterials().add(prm);
 
-        when(productRepository.findAllOrderByValueDesc()).thenReturn(Arrays.asList(productA));
+        when(productRepository.streamBomLinesOrderByValueDesc()).thenReturn(bomLines(Arrays.asList(productA)));
 
         ProductionSuggestionDTO result = productionSuggestionService.calculateProductionSuggestion();
 
@@ -165,4 +193,76 @@ class ProductionSuggestionServiceTest {
         assertTrue(result.getItems().isEmpty());
         assertEquals(BigDecimal.ZERO, result.getTotalValue());
     }
+
+    @Test
+    void testCalculateProductionSuggestion_RecordsPlannerMetrics() {
+        productB.getRawMaterials().add(new ProductRawMaterial(productB, steel, new BigDecimal("40")));
+        productA.getRawMaterials().add(new ProductRawMaterial(productA, steel, new BigDecimal("30")));
+        productA.getRawMaterials().add(new ProductRawMaterial(productA, aluminum, new BigDecimal("5")));
+
+        when(productRepository.streamBomLinesOrderByValueDesc()).thenReturn(bomLines(Arrays.asList(productB, productA)));
+        long loads = registry.get("inventory.planner.load").timer().count();
+        long plans = registry.get("inventory.planner.optimize").timer().count();
+
+        productionSuggestionService.calculateProductionSuggestion();
+
+        assertEquals(loads + 1, registry.get("inventory.planner.load").timer().count());
+        assertEquals(plans + 1, registry.get("inventory.planner.optimize").timer().count());
+        assertTrue(registry.get("inventory.planner.iterations").summary().totalAmount() > 0);
+        assertEquals(2, registry.get("inventory.planner.catalog.products").gauge().value());
+        assertEquals(2, registry.get("inventory.planner.catalog.materials").gauge().value());
+        assertEquals(3, registry.get("inventory.planner.catalog.lines").gauge().value());
+    }
+
+    @Test
+    void testCalculateProductionSuggestion_RunsNoStatementsBesidesTheBomQuery() {
+        productA.getRawMaterials().add(new ProductRawMaterial(productA, steel, new BigDecimal("10")));
+        productB.getRawMaterials().add(new ProductRawMaterial(productB, aluminum, new BigDecimal("10")));
+
+        when(productRepository.streamBomLinesOrderByValueDesc()).thenReturn(bomLines(Arrays.asList(productB, productA)));
+
+        // The bill of materials query is mocked, so planning must not touch the database at all
+        ProductionSuggestionDTO result = StatementBudget.atMost(0,
+                () -> productionSuggestionService.calculateProductionSuggestion());
+
+        assertEquals(2, result.getItems().size());
+        assertNotNull(registry.find("inventory.service.sql.statements")
+                .tag("method", "ProductionSuggestionService.calculateProductionSuggestion")
+                .summary());
+    }
+
+    @Test
+    void testCalculateProductionSuggestion_ExplodesComponents() {
+        // A table is 4 legs (2 steel each) and a top (5 wood), and has no raw material of its own
+        when(productRepository.streamBomLinesOrderByValueDesc()).thenReturn(Stream.of(
+                new BomLineDTO(3L, "Table", new BigDecimal("100.00"), null, null, null),
+                new BomLineDTO(4L, "Leg", new BigDecimal("20.00"), 1L, new BigDecimal("2"), new BigDecimal("20")),
+                new BomLineDTO(5L, "Top", new BigDecimal("10.00"), 2L, new BigDecimal("5"), new BigDecimal("10"))));
+        when(productRepository.findComponentLines()).thenReturn(List.of(
+                new ComponentLineDTO(3L, 4L, new BigDecimal("4")),
+                new ComponentLineDTO(3L, 5L, new BigDecimal("1"))));
+
+        ProductionSuggestionDTO result = productionSuggestionService.calculateProductionSuggestion();
+
+        // 2 tables take 16 steel and all the wood; the rest of the steel makes 2 legs
+        assertEquals(2, result.getItems().size());
+        assertEquals("Table", result.getItems().get(0).getProductName());
+        assertEquals(2, result.getItems().get(0).getQuantity());
+        assertEquals("Leg", result.getItems().get(1).getProductName());
+        assertEquals(2, result.getItems().get(1).getQuantity());
+        assertEquals(0, new BigDecimal("240.00").compareTo(result.getTotalValue()));
+    }
+
+    private Stream<BomLineDTO> bomLines(List<Product> products) {
+        // Same rows the projection query returns: one per product raw material
+        return products.stream()
+                .flatMap(product -> product.getRawMaterials().stream())
+                .map(prm -> new BomLineDTO(
+                        prm.getProduct().getId(),
+                        prm.getProduct().getName(),
+                        prm.getProduct().getValue(),
+                        prm.getRawMaterial().getId(),
+                        prm.getRequiredQuantity(),
+                        prm.getRawMaterial().getStockQuantity()));
+    }
 }
@@ -0,0 +1,152 @@
+package com.autoflex.inventory.service;
+
+import com.autoflex.inventory.dto.ProductionItemDTO;
+import com.autoflex.inventory.dto.ProductionSuggestionDTO;
+import com.autoflex.inventory.dto.ScenarioComparisonDTO;
+import com.autoflex.inventory.dto.ScenarioDTO;
+import com.autoflex.inventory.dto.ScenarioResultDTO;
+import com.autoflex.inventory.dto.StockChangeDTO;
+import com.autoflex.inventory.exception.BusinessException;
+import com.autoflex.inventory.planner.BomMatrix;
+import com.autoflex.inventory.repository.RawMaterialRepository;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.mockito.InjectMock;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@QuarkusTest
+class ScenarioServiceTest {
+
+    @Inject
+    ScenarioService scenarioService;
+
+    @InjectMock
+    ProductionSuggestionCache productionSuggestionCache;
+
+    @InjectMock
+    RawMaterialRepository rawMaterialRepository;
+
+    private BomMatrix matrix;
+
+    @BeforeEach
+    void setUp() {
+        // Product 1 needs 10 steel (id 7), product 2 needs 5 steel and 5 glass (id 8)
+        matrix = BomMatrix.builder()
+                .startProduct(1L, "Table", new BigDecimal("100.00"))
+                .addRequirement(7L, new BigDecimal("10"), new BigDecimal("100"))
+                .startProduct(2L, "Window", new BigDecimal("60.00"))
+                .addRequirement(7L, new BigDecimal("5"), new BigDecimal("100"))
+                .addRequirement(8L, new BigDecimal("5"), new BigDecimal("20"))
+                .build();
+        // 4 windows use all the glass, 8 tables the rest of the steel
+        ProductionSuggestionDTO current = new ProductionSuggestionDTO(List.of(
+                new ProductionItemDTO(1L, "Table", new BigDecimal("100.00"), 8),
+                new ProductionItemDTO(2L, "Window", new BigDecimal("60.00"), 4)), new BigDecimal("1040.00"), true);
+        when(productionSuggestionCache.getPlanned())
+                .thenReturn(new ProductionSuggestionCache.Planned(matrix, current));
+        // Material 9 exists but no product uses it
+        when(rawMaterialRepository.findExistingIds(anyCollection())).thenAnswer(invocation -> {
+            Set<Long> existing = new HashSet<>(invocation.<Collection<Long>>getArgument(0));
+            existing.retainAll(Set.of(7L, 8L, 9L));
+            return existing;
+        });
+    }
+
+    @Test
+    void testCompare_ScenariosAgainstTheSameSnapshot() {
+        ScenarioComparisonDTO comparison = scenarioService.compare(List.of(
+                scenario("More steel", List.of(new StockChangeDTO(7L, new BigDecimal("50"))), List.of()),
+                scenario("No tables", List.of(), List.of(1L)),
+                scenario("Glass shortage", List.of(new StockChangeDTO(8L, new BigDecimal("-100"))), List.of())));
+
+        ScenarioResultDTO baseline = comparison.getBaseline();
+        assertEquals(0, new BigDecimal("1040.00").compareTo(baseline.getTotalValue()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(baseline.getValueChange()));
+
+        List<ScenarioResultDTO> scenarios = comparison.getScenarios();
+        assertEquals(List.of("More steel", "No tables", "Glass shortage"),
+                scenarios.stream().map(ScenarioResultDTO::getName).collect(Collectors.toList()));
+        assertEquals(0, new BigDecimal("500.00").compareTo(scenarios.get(0).getValueChange()));
+        assertEquals(List.of(2L), productIds(scenarios.get(1)));
+        assertEquals(0, new BigDecimal("240.00").compareTo(scenarios.get(1).getTotalValue()));
+        assertEquals(0, new BigDecimal("-40.00").compareTo(scenarios.get(2).getValueChange()));
+
+        // One snapshot for the whole batch, and the baseline is not planned again
+        verify(productionSuggestionCache, times(1)).getPlanned();
+        verify(productionSuggestionCache, never()).getMatrix();
+        assertEquals(1_000_000L, matrix.stock(0));
+    }
+
+    @Test
+    void testCompare_ManyScenariosInParallel() {
+        List<ScenarioDTO> batch = new ArrayList<>();
+        for (int i = 1; i <= 200; i++) {
+            batch.add(scenario("+" + i, List.of(new StockChangeDTO(8L, BigDecimal.valueOf(i))), List.of()));
+        }
+
+        List<ScenarioResultDTO> scenarios = scenarioService.compare(batch).getScenarios();
+
+        assertEquals(200, scenarios.size());
+        for (int i = 0; i < scenarios.size(); i++) {
+            assertEquals("+" + (i + 1), scenarios.get(i).getName());
+            assertTrue(scenarios.get(i).getValueChange().signum() >= 0);
+        }
+    }
+
+    @Test
+    void testCompare_UnknownRawMaterial() {
+        List<ScenarioDTO> batch = List.of(
+                scenario("More steel", List.of(new StockChangeDTO(7L, new BigDecimal("50"))), List.of()),
+                scenario("Typo", List.of(new StockChangeDTO(77L, new BigDecimal("50"))), List.of()));
+
+        assertThrows(BusinessException.class, () -> scenarioService.compare(batch));
+        verify(productionSuggestionCache, never()).getPlanned();
+    }
+
+    @Test
+    void testCompare_UnusedRawMaterialChangesNothing() {
+        ScenarioResultDTO unused = scenarioService.compare(List.of(
+                scenario("More paint", List.of(new StockChangeDTO(9L, new BigDecimal("50"))), List.of())))
+                .getScenarios().get(0);
+
+        assertEquals(0, BigDecimal.ZERO.compareTo(unused.getValueChange()));
+    }
+
+    @Test
+    void testCompare_StockChangeTooLarge() {
+        List<ScenarioDTO> batch = List.of(
+                scenario("Huge", List.of(new StockChangeDTO(7L, new BigDecimal("1e20"))), List.of()));
+
+        assertThrows(BusinessException.class, () -> scenarioService.compare(batch));
+    }
+
+    @Test
+    void testCompare_TooManyScenarios() {
+        List<ScenarioDTO> batch = Collections.nCopies(501, scenario("Same", List.of(), List.of()));
+
+        assertThrows(BusinessException.class, () -> scenarioService.compare(batch));
+        verify(productionSuggestionCache, never()).getPlanned();
+    }
+
+    private ScenarioDTO scenario(String name, List<StockChangeDTO> stockChanges, List<Long> excludedProductIds) {
+        return new ScenarioDTO(name, stockChanges, excludedProductIds);
+    }
+
+    private List<Long> productIds(ScenarioResultDTO result) {
+        return result.getItems().stream().map(ProductionItemDTO::getProductId).collect(Collectors.toList());
+    }
+}
@@ -6,7 +6,7 @@
 -- Grant privileges
 GRANT ALL PRIVILEGES ON DATABASE inventory_db TO postgres;
 
--- Create schema (optional, Hibernate will create tables)
+-- Tables are created by the backend's Flyway migrations on startup
 -- If you want to pre-populate data, add INSERT statements here
 
 -- Example test data (uncomment to use):
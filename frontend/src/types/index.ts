@@ -29,6 +29,7 @@ export interface ProductionItem {
 export interface ProductionSuggestion {
   items: ProductionItem[];
   totalValue: number;
+  optimal?: boolean;
 }
 
 export interface ApiError {